@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.benchmark;
+
+import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.Variable;
+import com.alexandredias3d.jumpl.java.JavaModel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the constraint overloads. Each invocation creates a model with two variables per row
+ * and adds the rows with one of the overloads; {@link #baseline()} measures only the model and
+ * variable creation, which is included in every other benchmark.
+ *
+ * @author Alexandre H. T. Dias
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintBenchmark {
+
+  @Param({"1000", "100000"})
+  private int rows;
+
+  private Variable[] createVariables(Model model) {
+    double[] lowerBounds = new double[2 * rows];
+    double[] upperBounds = new double[2 * rows];
+    Arrays.fill(upperBounds, 1.0);
+    return model.addRealVariables(2 * rows, lowerBounds, upperBounds);
+  }
+
+  private LinearExpression createExpression(Model model, Variable[] variables, int row) {
+    LinearExpression expr = model.createEmptyLinearExpression();
+    expr.addTerm(1.0, variables[2 * row]);
+    expr.addTerm(2.0, variables[2 * row + 1]);
+    return expr;
+  }
+
+  @Benchmark
+  public Model baseline() {
+    var model = new JavaModel();
+    createVariables(model);
+    return model;
+  }
+
+  @Benchmark
+  public Model expressionAndConstant() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    for (int i = 0; i < rows; i++) {
+      model.addLessEqualConstraint(createExpression(model, variables, i), 1.0);
+    }
+    return model;
+  }
+
+  @Benchmark
+  public Model constantAndExpression() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    for (int i = 0; i < rows; i++) {
+      model.addGreaterEqualConstraint(1.0, createExpression(model, variables, i));
+    }
+    return model;
+  }
+
+  @Benchmark
+  public Model expressionAndVariable() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    for (int i = 0; i < rows; i++) {
+      LinearExpression expr = model.createEmptyLinearExpression();
+      expr.addTerm(1.0, variables[2 * i]);
+      model.addEqualConstraint(expr, variables[2 * i + 1]);
+    }
+    return model;
+  }
+
+  @Benchmark
+  public Model expressionAndExpression() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    for (int i = 0; i < rows; i++) {
+      LinearExpression expr = model.createEmptyLinearExpression();
+      expr.addTerm(1.0, variables[2 * i]);
+      LinearExpression other = model.createEmptyLinearExpression();
+      other.addTerm(2.0, variables[2 * i + 1]);
+      model.addLessEqualConstraint(expr, other);
+    }
+    return model;
+  }
+
+  @Benchmark
+  public Model variableAndVariable() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    for (int i = 0; i < rows; i++) {
+      model.addLessEqualConstraint(variables[2 * i], variables[2 * i + 1]);
+    }
+    return model;
+  }
+
+  @Benchmark
+  public Model variableAndConstant() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    for (int i = 0; i < rows; i++) {
+      model.addLessEqualConstraint(variables[2 * i], 1.0);
+    }
+    return model;
+  }
+
+  @Benchmark
+  public Model bulk() {
+    var model = new JavaModel();
+    Variable[] variables = createVariables(model);
+    int[] rowStart = new int[rows + 1];
+    int[] colIndex = new int[2 * rows];
+    double[] values = new double[2 * rows];
+    char[] sense = new char[rows];
+    double[] rhs = new double[rows];
+    Arrays.fill(sense, ModelData.LESS_EQUAL);
+    Arrays.fill(rhs, 1.0);
+    for (int i = 0; i < rows; i++) {
+      colIndex[2 * i] = variables[2 * i].getIndex();
+      values[2 * i] = 1.0;
+      colIndex[2 * i + 1] = variables[2 * i + 1].getIndex();
+      values[2 * i + 1] = 2.0;
+      rowStart[i + 1] = 2 * (i + 1);
+    }
+    model.addConstraints(rowStart, colIndex, values, sense, rhs);
+    return model;
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.benchmark;
+
+import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.Variable;
+import com.alexandredias3d.jumpl.java.JavaModel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the creation of linear expressions and the addition of terms and expressions to them.
+ *
+ * @author Alexandre H. T. Dias
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinearExpressionBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int size;
+
+  private JavaModel model;
+  private Variable[] variables;
+  private double[] coefficients;
+  private LinearExpression full;
+
+  @Setup
+  public void setUp() {
+    model = new JavaModel();
+    variables = model.addRealVariables(size, new double[size], new double[size]);
+    coefficients = new double[size];
+    for (int j = 0; j < size; j++) {
+      coefficients[j] = j + 1;
+    }
+    full = addTerms(model.createEmptyLinearExpression());
+  }
+
+  private LinearExpression addTerms(LinearExpression expr) {
+    for (int j = 0; j < size; j++) {
+      expr.addTerm(coefficients[j], variables[j]);
+    }
+    return expr;
+  }
+
+  @Benchmark
+  public LinearExpression createEmptyLinearExpression() {
+    return model.createEmptyLinearExpression();
+  }
+
+  @Benchmark
+  public LinearExpression addTerm() {
+    return addTerms(model.createEmptyLinearExpression());
+  }
+
+  @Benchmark
+  public LinearExpression addTermWithDuplicates() {
+    return addTerms(addTerms(model.createEmptyLinearExpression()));
+  }
+
+  @Benchmark
+  public LinearExpression add() {
+    LinearExpression expr = model.createEmptyLinearExpression();
+    expr.add(full);
+    return expr;
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.benchmark;
+
+import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.Variable;
+import java.util.Arrays;
+
+/**
+ * Populates a model with the lot-sizing formulation of the Minas Máquinas example for a {@link
+ * LotSizingInput} of any size. The model can be built either one variable and one row at a time,
+ * as the example originally did, or through the bulk variable and constraint calls.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class LotSizingGenerator {
+
+  private final LotSizingInput input;
+
+  private Variable[][] produced;
+  private Variable[][] stored;
+
+  public LotSizingGenerator(LotSizingInput input) {
+    this.input = input;
+  }
+
+  /**
+   * Populates the model one variable and one row at a time.
+   *
+   * @param model model to be populated
+   */
+  public void populateRowwise(Model model) {
+    produced = new Variable[input.numberOfItems][input.numberOfPeriods];
+    stored = new Variable[input.numberOfItems][input.numberOfPeriods];
+    for (int i = 0; i < input.numberOfItems; i++) {
+      for (int j = 0; j < input.numberOfPeriods; j++) {
+        produced[i][j] = model.addRealVariable(0, Double.POSITIVE_INFINITY);
+        stored[i][j] = model.addRealVariable(0, Double.POSITIVE_INFINITY);
+      }
+    }
+
+    for (int i = 0; i < input.numberOfItems; i++) {
+      for (int j = 0; j < input.numberOfPeriods; j++) {
+        LinearExpression expr = model.createEmptyLinearExpression();
+        if (j > 0) {
+          expr.addTerm(1, stored[i][j - 1]);
+        }
+        expr.addTerm(1, produced[i][j]);
+        expr.addTerm(-1, stored[i][j]);
+        model.addEqualConstraint(expr, input.itemDemandPerPeriod[i][j]);
+      }
+    }
+
+    for (int j = 0; j < input.numberOfPeriods; j++) {
+      LinearExpression expr = model.createEmptyLinearExpression();
+      for (int i = 0; i < input.numberOfItems; i++) {
+        expr.addTerm(input.resourcesPerItem[i], produced[i][j]);
+      }
+      model.addLessEqualConstraint(expr, input.resourcesPerPeriod[j]);
+    }
+
+    putObjectiveFunction(model);
+  }
+
+  /**
+   * Populates the model with a single call for the variables and one for each constraint block.
+   *
+   * @param model model to be populated
+   */
+  public void populateBulk(Model model) {
+    int numberOfCells = input.numberOfItems * input.numberOfPeriods;
+    double[] lowerBounds = new double[2 * numberOfCells];
+    double[] upperBounds = new double[2 * numberOfCells];
+    Arrays.fill(upperBounds, Double.POSITIVE_INFINITY);
+    Variable[] variables = model.addRealVariables(2 * numberOfCells, lowerBounds, upperBounds);
+
+    produced = new Variable[input.numberOfItems][input.numberOfPeriods];
+    stored = new Variable[input.numberOfItems][input.numberOfPeriods];
+    int k = 0;
+    for (int i = 0; i < input.numberOfItems; i++) {
+      for (int j = 0; j < input.numberOfPeriods; j++) {
+        produced[i][j] = variables[k++];
+        stored[i][j] = variables[k++];
+      }
+    }
+
+    int[] rowStart = new int[numberOfCells + 1];
+    int[] colIndex = new int[3 * numberOfCells];
+    double[] values = new double[3 * numberOfCells];
+    char[] sense = new char[numberOfCells];
+    double[] rhs = new double[numberOfCells];
+    Arrays.fill(sense, ModelData.EQUAL);
+    int row = 0;
+    k = 0;
+    for (int i = 0; i < input.numberOfItems; i++) {
+      for (int j = 0; j < input.numberOfPeriods; j++) {
+        if (j > 0) {
+          colIndex[k] = stored[i][j - 1].getIndex();
+          values[k++] = 1;
+        }
+        colIndex[k] = produced[i][j].getIndex();
+        values[k++] = 1;
+        colIndex[k] = stored[i][j].getIndex();
+        values[k++] = -1;
+        rhs[row] = input.itemDemandPerPeriod[i][j];
+        rowStart[++row] = k;
+      }
+    }
+    model.addConstraints(rowStart, colIndex, values, sense, rhs);
+
+    rowStart = new int[input.numberOfPeriods + 1];
+    colIndex = new int[numberOfCells];
+    values = new double[numberOfCells];
+    sense = new char[input.numberOfPeriods];
+    Arrays.fill(sense, ModelData.LESS_EQUAL);
+    k = 0;
+    for (int j = 0; j < input.numberOfPeriods; j++) {
+      for (int i = 0; i < input.numberOfItems; i++) {
+        colIndex[k] = produced[i][j].getIndex();
+        values[k++] = input.resourcesPerItem[i];
+      }
+      rowStart[j + 1] = k;
+    }
+    model.addConstraints(rowStart, colIndex, values, sense, input.resourcesPerPeriod.clone());
+
+    putObjectiveFunction(model);
+  }
+
+  private void putObjectiveFunction(Model model) {
+    LinearExpression objectiveFunction = model.createEmptyLinearExpression();
+    for (int i = 0; i < input.numberOfItems; i++) {
+      for (int j = 0; j < input.numberOfPeriods; j++) {
+        objectiveFunction.addTerm(input.productionCostPerPeriod[i][j], produced[i][j]);
+        objectiveFunction.addTerm(input.storageCostPerPeriod[i][j], stored[i][j]);
+      }
+    }
+    model.setObjectiveFunctionMinimize(objectiveFunction);
+  }
+
+}
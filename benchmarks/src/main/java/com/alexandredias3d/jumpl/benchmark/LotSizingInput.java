@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.benchmark;
+
+import java.util.Random;
+
+/**
+ * Randomly generated input of a lot-sizing problem with the same structure as the Minas Máquinas
+ * example, scaled to any number of items and periods. The same seed always yields the same input.
+ *
+ * @author Alexandre H. T. Dias
+ * @see com.alexandredias3d.jumpl.example.MinasMaquinasFormulation
+ */
+public final class LotSizingInput {
+
+  final int numberOfItems;
+  final int numberOfPeriods;
+
+  final double[][] productionCostPerPeriod;
+  final double[][] storageCostPerPeriod;
+  final double[] resourcesPerItem;
+  final double[] resourcesPerPeriod;
+  final double[][] itemDemandPerPeriod;
+
+  public LotSizingInput(int numberOfItems, int numberOfPeriods, long seed) {
+    this.numberOfItems = numberOfItems;
+    this.numberOfPeriods = numberOfPeriods;
+
+    var random = new Random(seed);
+    productionCostPerPeriod = new double[numberOfItems][numberOfPeriods];
+    storageCostPerPeriod = new double[numberOfItems][numberOfPeriods];
+    resourcesPerItem = new double[numberOfItems];
+    resourcesPerPeriod = new double[numberOfPeriods];
+    itemDemandPerPeriod = new double[numberOfItems][numberOfPeriods];
+
+    for (int i = 0; i < numberOfItems; i++) {
+      resourcesPerItem[i] = 0.2 + 0.15 * random.nextDouble();
+      for (int j = 0; j < numberOfPeriods; j++) {
+        productionCostPerPeriod[i][j] = 30 + random.nextInt(171);
+        storageCostPerPeriod[i][j] = 2 + 0.5 * random.nextInt(4);
+        itemDemandPerPeriod[i][j] = 20 + random.nextInt(81);
+        resourcesPerPeriod[j] += resourcesPerItem[i] * itemDemandPerPeriod[i][j];
+      }
+    }
+
+    // Leaves some slack so that the instances are feasible
+    for (int j = 0; j < numberOfPeriods; j++) {
+      resourcesPerPeriod[j] *= 1.2;
+    }
+  }
+
+}
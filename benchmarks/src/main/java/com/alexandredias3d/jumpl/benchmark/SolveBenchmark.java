@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.benchmark;
+
+import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import com.alexandredias3d.jumpl.java.JavaModel;
+import com.alexandredias3d.jumpl.java.LpAlgorithm;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the solution of lot-sizing linear programs by the pure-Java simplex and interior-point
+ * methods, from the model construction to the status of the optimization.
+ *
+ * @author Alexandre H. T. Dias
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+
+  @Param({"5", "20"})
+  private int numberOfItems;
+
+  @Param({"12", "52"})
+  private int numberOfPeriods;
+
+  @Param({"SIMPLEX", "BARRIER"})
+  private LpAlgorithm algorithm;
+
+  private LotSizingInput input;
+
+  @Setup
+  public void setUp() {
+    input = new LotSizingInput(numberOfItems, numberOfPeriods, 0);
+  }
+
+  @Benchmark
+  public SolveStatus solve() {
+    var model = new JavaModel();
+    model.setLpAlgorithm(algorithm);
+    new LotSizingGenerator(input).populateBulk(model);
+    model.solve();
+    return model.getSolveStatus();
+  }
+
+}
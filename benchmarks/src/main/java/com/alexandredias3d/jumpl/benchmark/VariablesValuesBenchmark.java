@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.benchmark;
+
+import com.alexandredias3d.jumpl.api.Variable;
+import com.alexandredias3d.jumpl.java.JavaModel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the retrieval of variable values after solving, one at a time and in bulk.
+ *
+ * @author Alexandre H. T. Dias
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariablesValuesBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int size;
+
+  private JavaModel model;
+  private Variable[] variables;
+  private double[] values;
+
+  @Setup
+  public void setUp() {
+    model = new JavaModel();
+    variables = model.addRealVariables(size, new double[size], new double[size]);
+    model.solve();
+    values = new double[size];
+  }
+
+  @Benchmark
+  public double[] getVariableValue() {
+    var result = new double[size];
+    for (int j = 0; j < size; j++) {
+      result[j] = model.getVariableValue(variables[j]);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public double[] getVariablesValues() {
+    return model.getVariablesValues(variables);
+  }
+
+  @Benchmark
+  public double[] getVariablesValuesInto() {
+    return model.getVariablesValues(variables, values);
+  }
+
+}
@@ -17,6 +17,8 @@
 
 package com.alexandredias3d.jumpl.api;
 
+import com.alexandredias3d.jumpl.java.CutGenerator;
+
 /**
  * Provides the basic structure of a formulation including model population and execution. Calls a
  * sequence of methods for model creation automatically whenever a formulation is instantiated. User
@@ -52,13 +54,14 @@ public abstract class BaseFormulation {
    * Executes all the steps needed to obtain a solution to the model. Firstly, calls {@link
    * #preOptimization()} to perform any pre-optimization procedure defined in subclasses.Secondly,
    * calls {@link #populateModel()} to populate the model with its decision variables, constraints
-   * and objective function. Thirdly, calls {@link #solveModel()} to solve the model in the solver.
-   * Lastly, calls {@link #postOptimization()} to perform any post-optimization procedure defined in
-   * subclasses.
+   * and objective function. Thirdly, calls {@link #putCuts()} to tighten the formulation. Then,
+   * calls {@link #solveModel()} to solve the model in the solver. Lastly, calls {@link
+   * #postOptimization()} to perform any post-optimization procedure defined in subclasses.
    */
   private void execute() {
     preOptimization();
     populateModel();
+    putCuts();
     solveModel();
     postOptimization();
   }
@@ -107,10 +110,30 @@ public abstract class BaseFormulation {
   protected abstract void putObjectiveFunction();
 
   /**
-   * Puts cuts in the model to tighten its formulation.
+   * Puts cuts in the model to tighten its formulation. The default implementation adds the generic
+   * cuts of a {@link CutGenerator} separated from the model data, in any solver, if {@link
+   * #usesGenericCuts()} is enabled and the model has integer variables. Subclasses may override it
+   * to put cuts specific to the problem.
+   *
+   * @see #execute()
    */
   protected void putCuts() {
-    throw new UnsupportedOperationException(getClass().getName() + ": not implemented yet.");
+    if (usesGenericCuts() && model.getModelData().getNumberOfIntegerVariables() > 0) {
+      var generator = new CutGenerator(model.getModelData());
+      generator.separate();
+      generator.addCuts(model);
+    }
+  }
+
+  /**
+   * Tells whether {@link #putCuts()} adds generic cuts to the model. Since it is called during the
+   * construction of the formulation, it must not depend on fields of subclasses. Disabled in the
+   * default implementation.
+   *
+   * @return whether generic cuts are added
+   */
+  protected boolean usesGenericCuts() {
+    return false;
   }
 
   /**
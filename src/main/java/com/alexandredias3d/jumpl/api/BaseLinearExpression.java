@@ -17,9 +17,15 @@
 
 package com.alexandredias3d.jumpl.api;
 
+import java.util.Arrays;
+
 /**
  * Base linear expression wrapper class. Provides implementation for {@link #getWrappee()}, which
- * returns the wrappee (underlying) object that represents a linear expression.
+ * returns the wrappee (underlying) object that represents a linear expression. Also mirrors the
+ * terms added through the wrapper as variable indices and coefficients, which are used to record
+ * constraints and objectives in the {@link ModelData} without querying the solver. Terms of
+ * variables that were not created by a {@link Model} have no index and are kept only in the
+ * wrappee.
  *
  * @param <T> type of wrappee linear expression
  * @author Alexandre H. T. Dias
@@ -31,6 +37,81 @@ public abstract class BaseLinearExpression<T> implements LinearExpression {
    */
   protected T expression;
 
+  /**
+   * Indices of the variables of the mirrored terms.
+   */
+  protected int[] indices = new int[4];
+
+  /**
+   * Coefficients of the mirrored terms.
+   */
+  protected double[] coefficients = new double[4];
+
+  /**
+   * Amount of mirrored terms.
+   */
+  protected int size;
+
+  /**
+   * Variables of the mirrored terms whose index is -1, i.e., variables that were not created by a
+   * model, or null if there is none. They are adopted by the model that uses the expression.
+   */
+  protected Variable[] unknown;
+
+  /**
+   * Mirrors a term (coefficient times variable) added to the wrappee.
+   *
+   * @param coefficient coefficient of the variable
+   * @param variable    variable added to the expression
+   */
+  protected void mirrorTerm(double coefficient, Variable variable) {
+    ensureCapacity();
+    int index = variable.getIndex();
+    if (index < 0) {
+      index = -1;
+      markUnknown(variable);
+    }
+    indices[size] = index;
+    coefficients[size] = coefficient;
+    size++;
+  }
+
+  /**
+   * Mirrors the terms of another expression added to the wrappee.
+   *
+   * @param other expression added to the current one
+   */
+  protected void mirrorExpression(LinearExpression other) {
+    var base = (BaseLinearExpression<?>) other;
+    int otherSize = base.size;
+    for (int k = 0; k < otherSize; k++) {
+      ensureCapacity();
+      if (base.indices[k] < 0) {
+        markUnknown(base.unknown[k]);
+      }
+      indices[size] = base.indices[k];
+      coefficients[size] = base.coefficients[k];
+      size++;
+    }
+  }
+
+  private void ensureCapacity() {
+    if (size == indices.length) {
+      indices = Arrays.copyOf(indices, size * 2);
+      coefficients = Arrays.copyOf(coefficients, size * 2);
+      if (unknown != null) {
+        unknown = Arrays.copyOf(unknown, size * 2);
+      }
+    }
+  }
+
+  private void markUnknown(Variable variable) {
+    if (unknown == null) {
+      unknown = new Variable[indices.length];
+    }
+    unknown[size] = variable;
+  }
+
   @Override
   public T getWrappee() {
     return expression;
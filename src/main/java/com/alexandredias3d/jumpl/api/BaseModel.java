@@ -17,10 +17,26 @@
 
 package com.alexandredias3d.jumpl.api;
 
+import com.alexandredias3d.jumpl.io.BinaryReader;
+import com.alexandredias3d.jumpl.io.BinaryWriter;
+import com.alexandredias3d.jumpl.io.LpReader;
+import com.alexandredias3d.jumpl.io.LpWriter;
+import com.alexandredias3d.jumpl.io.MpsReader;
+import com.alexandredias3d.jumpl.io.MpsWriter;
+import com.alexandredias3d.jumpl.io.SolutionReader;
+import com.alexandredias3d.jumpl.io.SolutionWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Base model wrapper class. Provides implementation for the method {@link #getWrappee()}, which
  * returns the wrappee (underlying) object that represents a model. Also provides the default naming
- * of variables and constraints.
+ * of variables and constraints, and records every variable, constraint and objective function in a
+ * solver-independent {@link ModelData}.
  *
  * @param <T> type of wrappee model
  * @author Alexandre H. T. Dias
@@ -42,6 +58,16 @@ public abstract class BaseModel<T> implements Model {
    */
   protected String outputFile;
 
+  /**
+   * Solver-independent copy of the model, filled as the formulation is built.
+   */
+  protected final ModelData data;
+
+  /**
+   * Variables created by (or adopted into) the model, indexed as in {@link #data}.
+   */
+  protected Variable[] variables;
+
   /**
    * Stores the current index to be used while naming variables.
    */
@@ -62,11 +88,85 @@ public abstract class BaseModel<T> implements Model {
    */
   private String constraintNameFormat;
 
+  /**
+   * Literal prefix of the variable name format when it is of type "prefix%d", otherwise null.
+   */
+  private String variableNamePrefix;
+
+  /**
+   * Literal prefix of the constraint name format when it is of type "prefix%d", otherwise null.
+   */
+  private String constraintNamePrefix;
+
+  /**
+   * Defines how unnamed variables and constraints are named.
+   */
+  private NamingStrategy namingStrategy;
+
+  /**
+   * Defines when the model is written to the output file.
+   */
+  private ExportPolicy exportPolicy;
+
+  /**
+   * Directory of the decompressed copies of compressed files, or null for the default temporary
+   * directory.
+   */
+  private Path temporaryDirectory;
+
+  /**
+   * Guards the background export of the model (see {@link ExportPolicy#ASYNC}).
+   */
+  private final Object exportLock = new Object();
+
+  /**
+   * Background thread writing the snapshots of the model, or null if there is nothing to write.
+   */
+  private Thread exporter;
+
+  /**
+   * Snapshot waiting to be written by the background thread, superseded by the next one.
+   */
+  private ModelData pendingSnapshot;
+
+  /**
+   * Output file of the pending snapshot.
+   */
+  private String pendingFile;
+
+  /**
+   * Error of the background exports since the last {@link #awaitExport()}, which throws it.
+   */
+  private UncheckedIOException exportFailure;
+
+  /**
+   * Set by {@link #terminate()} to stop the current or the next optimization.
+   */
+  private volatile boolean terminated;
+
   protected BaseModel() {
     variableIndex = -1;
     constraintIndex = -1;
     variableNameFormat = "x%d";
     constraintNameFormat = "c%d";
+    variableNamePrefix = "x";
+    constraintNamePrefix = "c";
+    namingStrategy = NamingStrategy.EAGER;
+    exportPolicy = ExportPolicy.ON_DEMAND;
+    data = new ModelData();
+    variables = new Variable[16];
+  }
+
+  /**
+   * Gets the literal prefix of a format of type "prefix%d", so names can be built by concatenation
+   * instead of String.format.
+   *
+   * @return prefix of the format or null if the format has any other conversion
+   */
+  private static String prefixOf(String format) {
+    int end = format.length() - 2;
+    return (format.endsWith("%d") && format.lastIndexOf('%', end - 1) < 0)
+        ? format.substring(0, end) : null;
   }
 
   /**
@@ -89,22 +189,65 @@ public abstract class BaseModel<T> implements Model {
 
   /**
    * Gets the current variable name. Default naming format is "x%d" where d is an auto-incremented
-   * integer.
+   * integer. Unless the naming strategy is {@link NamingStrategy#EAGER}, no name is built.
    *
-   * @return variable name using current format and index
+   * @return variable name using current format and index, or null
    */
   protected String getVariableName() {
-    return String.format(variableNameFormat, getVariableIndex());
+    if (namingStrategy != NamingStrategy.EAGER) {
+      return null;
+    }
+    return (variableNamePrefix != null) ? variableNamePrefix + getVariableIndex()
+        : String.format(variableNameFormat, getVariableIndex());
   }
 
   /**
-   * Gets the current constraint name. Default naming format is "c%d" where d is an auto-incremented
-   * integer.
+   * Gets the current constraint name. Default naming format is "c%d" where d is an
+   * auto-incremented integer. Unless the naming strategy is {@link NamingStrategy#EAGER}, no name
+   * is built.
    *
-   * @return constraint name using current format and index
+   * @return constraint name using current format and index, or null
    */
   protected String getConstraintName() {
-    return String.format(constraintNameFormat, getConstraintIndex());
+    if (namingStrategy != NamingStrategy.EAGER) {
+      return null;
+    }
+    return (constraintNamePrefix != null) ? constraintNamePrefix + getConstraintIndex()
+        : String.format(constraintNameFormat, getConstraintIndex());
+  }
+
+  /**
+   * Gets the next n variable names using the current format.
+   *
+   * @param n number of names
+   * @return array of variable names, or null if the naming strategy is not eager
+   */
+  protected String[] getVariableNames(int n) {
+    if (namingStrategy != NamingStrategy.EAGER) {
+      return null;
+    }
+    var names = new String[n];
+    for (int j = 0; j < n; j++) {
+      names[j] = getVariableName();
+    }
+    return names;
+  }
+
+  /**
+   * Gets the next n constraint names using the current format.
+   *
+   * @param n number of names
+   * @return array of constraint names, or null if the naming strategy is not eager
+   */
+  protected String[] getConstraintNames(int n) {
+    if (namingStrategy != NamingStrategy.EAGER) {
+      return null;
+    }
+    var names = new String[n];
+    for (int i = 0; i < n; i++) {
+      names[i] = getConstraintName();
+    }
+    return names;
   }
 
   /**
@@ -114,6 +257,8 @@ public abstract class BaseModel<T> implements Model {
    */
   public void setVariableNameFormat(String format) {
     variableNameFormat = format;
+    variableNamePrefix = prefixOf(format);
+    data.setNaming(namingStrategy, variableNameFormat, constraintNameFormat);
   }
 
   /**
@@ -123,6 +268,636 @@ public abstract class BaseModel<T> implements Model {
    */
   public void setConstraintNameFormat(String format) {
     constraintNameFormat = format;
+    constraintNamePrefix = prefixOf(format);
+    data.setNaming(namingStrategy, variableNameFormat, constraintNameFormat);
+  }
+
+  @Override
+  public void setNamingStrategy(NamingStrategy strategy) {
+    namingStrategy = strategy;
+    data.setNaming(namingStrategy, variableNameFormat, constraintNameFormat);
+  }
+
+  @Override
+  public NamingStrategy getNamingStrategy() {
+    return namingStrategy;
+  }
+
+  @Override
+  public void setExportPolicy(ExportPolicy policy) {
+    exportPolicy = policy;
+  }
+
+  @Override
+  public ExportPolicy getExportPolicy() {
+    return exportPolicy;
+  }
+
+  @Override
+  public void exportModel() {
+    exportModel(outputFile);
+  }
+
+  @Override
+  public void exportModel(String file) {
+    UncheckedIOException failure = collectExport();
+    try {
+      writeModel(file);
+    } catch (UncheckedIOException e) {
+      if (failure != null) {
+        e.addSuppressed(failure);
+      }
+      throw e;
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Writes the model to the given file. By default, the model data is written in MPS format if the
+   * file ends with ".mps", in the binary model format if it ends with ".jmd" and in LP format
+   * otherwise, without going through the solver. Text files with a further ".gz" extension are
+   * compressed while they are written. Subclasses
+   * may use the writer of the solver for the formats not supported by {@link #isDataFormat}.
+   *
+   * @param file path of the file
+   */
+  protected void writeModel(String file) {
+    try {
+      writeData(data, file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          getClass().getName() + ": error while writing the model to " + file + ".", e);
+    }
+  }
+
+  /**
+   * Checks whether a file is written from the model data by {@link #writeModel}, which is the case
+   * for the LP, MPS and binary model formats, the text ones possibly compressed with gzip.
+   *
+   * @param file path of the file
+   * @return true if the file has the ".lp", ".mps", ".lp.gz", ".mps.gz" or ".jmd" extension
+   */
+  protected static boolean isDataFormat(String file) {
+    String text = uncompressed(file);
+    return text.endsWith(".lp") || text.endsWith(".mps") || file.endsWith(".jmd");
+  }
+
+  /**
+   * Removes the ".gz" extension of a file name, if it has one.
+   */
+  private static String uncompressed(String file) {
+    return file.endsWith(".gz") ? file.substring(0, file.length() - ".gz".length()) : file;
+  }
+
+  private static void writeData(ModelData data, String file) throws IOException {
+    if (uncompressed(file).endsWith(".mps")) {
+      MpsWriter.write(data, Path.of(file));
+    } else if (file.endsWith(".jmd")) {
+      BinaryWriter.write(data, Path.of(file));
+    } else {
+      LpWriter.write(data, Path.of(file));
+    }
+  }
+
+  @Override
+  public void terminate() {
+    terminated = true;
+    terminateSolver();
+  }
+
+  /**
+   * Forgets a termination requested after the last optimization had already finished, so the
+   * next optimization is not skipped.
+   */
+  void clearTermination() {
+    terminated = false;
+  }
+
+  @Override
+  public CompletableFuture<SolveResult> solveAsync(Executor executor) {
+    var task = new AsyncSolve();
+    executor.execute(task);
+    return task;
+  }
+
+  @Override
+  public SolveResult getSolveResult() {
+    SolveStatus status = getSolveStatus();
+    if (!status.hasSolution()) {
+      return new SolveResult(status, Double.NaN, Double.NaN, solvingTime, new double[0]);
+    }
+    int n = data.getNumberOfVariables();
+    double[] values = getVariablesValues(Arrays.copyOf(variables, n), new double[n]);
+    return new SolveResult(status, getObjectiveFunctionValue(), getObjectiveBound(), solvingTime,
+        values);
+  }
+
+  @Override
+  public void writeSolution(String file) {
+    SolveResult result = getSolveResult();
+    if (!result.getStatus().hasSolution()) {
+      throw new IllegalStateException(
+          getClass().getName() + ": there is no solution to be written to " + file + ".");
+    }
+    try {
+      SolutionWriter.write(data, result.getValues(), result.getObjectiveValue(), Path.of(file));
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          getClass().getName() + ": error while writing the solution to " + file + ".", e);
+    }
+  }
+
+  @Override
+  public double[] readSolution(String file) {
+    try {
+      return SolutionReader.read(data, Path.of(file), temporaryDirectory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          getClass().getName() + ": error while reading the solution from " + file + ".", e);
+    }
+  }
+
+  /**
+   * Asks the solver to stop the running optimization. It is called from the thread that requested
+   * the termination. Nothing is performed in the default implementation.
+   */
+  protected void terminateSolver() {
+  }
+
+  /**
+   * Must be called right before the optimization. If the export policy is {@link
+   * ExportPolicy#ASYNC}, takes a snapshot of the model data and hands it to a background thread,
+   * which writes it to the output file, so the solve does not wait for any file I/O. A snapshot
+   * still waiting to be written is replaced by the new one.
+   *
+   * @return false if the model was terminated before the optimization, which must be skipped
+   */
+  protected boolean beforeSolve() {
+    if (terminated) {
+      terminated = false;
+      return false;
+    }
+    if (exportPolicy != ExportPolicy.ASYNC) {
+      return true;
+    }
+    ModelData snapshot = data.copy();
+    synchronized (exportLock) {
+      pendingSnapshot = snapshot;
+      pendingFile = outputFile;
+      if (exporter == null) {
+        exporter = new Thread(this::writeSnapshots, "jumpl-export");
+        exporter.setDaemon(true);
+        exporter.start();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the pending snapshots of the model until there is none left. Runs on the background
+   * thread of the {@link ExportPolicy#ASYNC} policy.
+   */
+  private void writeSnapshots() {
+    while (true) {
+      ModelData snapshot;
+      String file;
+      synchronized (exportLock) {
+        if (pendingSnapshot == null) {
+          exporter = null;
+          exportLock.notifyAll();
+          return;
+        }
+        snapshot = pendingSnapshot;
+        file = pendingFile;
+        pendingSnapshot = null;
+      }
+      try {
+        writeData(snapshot, file);
+      } catch (IOException e) {
+        var failure = new UncheckedIOException(
+            getClass().getName() + ": error while writing the model to " + file + ".", e);
+        synchronized (exportLock) {
+          if (exportFailure == null) {
+            exportFailure = failure;
+          } else {
+            exportFailure.addSuppressed(failure);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Must be called right after the optimization. If the export policy is {@link
+   * ExportPolicy#ON_FAILURE} and the optimization failed, writes the model to the output file.
+   *
+   * @param failed true if the optimization raised an error or found no feasible solution
+   */
+  protected void afterSolve(boolean failed) {
+    terminated = false;
+    if (failed && exportPolicy == ExportPolicy.ON_FAILURE) {
+      writeModel(outputFile);
+    }
+  }
+
+  /**
+   * Waits for the background export of the model, if there is one, to write every pending
+   * snapshot.
+   *
+   * @throws UncheckedIOException if the background export could not write a snapshot since the
+   *                              last call
+   */
+  protected void awaitExport() {
+    UncheckedIOException failure = collectExport();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Waits for the background export of the model, if there is one, to write every pending
+   * snapshot, and takes its error.
+   *
+   * @return error of the background export since the last call, or null if there is none
+   */
+  private UncheckedIOException collectExport() {
+    synchronized (exportLock) {
+      while (exporter != null) {
+        try {
+          exportLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      UncheckedIOException failure = exportFailure;
+      exportFailure = null;
+      return failure;
+    }
+  }
+
+  /**
+   * Waits for the background export of the model, if there is one, before the model is disposed.
+   *
+   * @return false if the background export could not write the model, true otherwise
+   */
+  protected boolean finishExport() {
+    try {
+      awaitExport();
+      return true;
+    } catch (UncheckedIOException e) {
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  /**
+   * Records a variable created by a subclass in the model data and binds the wrapper to it.
+   *
+   * @param variable   wrapper of the variable created in the solver
+   * @param lowerBound minimum value that can be assigned to the variable
+   * @param upperBound maximum value that can be assigned to the variable
+   * @param type       one of {@link ModelData#CONTINUOUS}, {@link ModelData#INTEGER} or {@link
+   *                   ModelData#BINARY}
+   * @param name       variable name
+   * @param <V>        type of variable wrapper
+   * @return the given variable wrapper
+   */
+  protected <V extends BaseVariable<?>> V recordVariable(V variable, double lowerBound,
+      double upperBound, char type, String name) {
+    int index = data.addVariable(lowerBound, upperBound, type, name);
+    variable.bind(data, index);
+    if (index == variables.length) {
+      variables = Arrays.copyOf(variables, index * 2);
+    }
+    variables[index] = variable;
+    return variable;
+  }
+
+  /**
+   * Records variables created in bulk by a subclass in the model data and binds the wrappers to
+   * them.
+   *
+   * @param wrappers    wrappers of the variables created in the solver
+   * @param lowerBounds minimum values that can be assigned to each variable
+   * @param upperBounds maximum values that can be assigned to each variable
+   * @param type        one of {@link ModelData#CONTINUOUS}, {@link ModelData#INTEGER} or {@link
+   *                    ModelData#BINARY}
+   * @param names       variable names
+   * @return the given array of wrappers
+   */
+  protected Variable[] recordVariables(BaseVariable<?>[] wrappers, double[] lowerBounds,
+      double[] upperBounds, char type, String[] names) {
+    int n = wrappers.length;
+    int first = data.addVariables(n, lowerBounds, upperBounds, type, names);
+    if (first + n > variables.length) {
+      variables = Arrays.copyOf(variables, Math.max(first + n, variables.length * 2));
+    }
+    for (int j = 0; j < n; j++) {
+      wrappers[j].bind(data, first + j);
+      variables[first + j] = wrappers[j];
+    }
+    return wrappers;
+  }
+
+  /**
+   * Fills null bounds of binary variables with their defaults.
+   *
+   * @param n      number of variables
+   * @param bounds given bounds, possibly null
+   * @param value  default bound value
+   * @return the given bounds or an array filled with value
+   */
+  protected static double[] binaryBounds(int n, double[] bounds, double value) {
+    if (bounds != null) {
+      return bounds;
+    }
+    var filled = new double[n];
+    Arrays.fill(filled, value);
+    return filled;
+  }
+
+  /**
+   * Gets the index of a variable in the model data. Variables that were not created by a model are
+   * adopted, i.e., recorded as continuous variables with their current bounds and name.
+   *
+   * @param variable variable wrapper
+   * @return index of the variable in the model data
+   */
+  protected int indexOf(Variable variable) {
+    int index = variable.getIndex();
+    if (index < 0) {
+      var base = (BaseVariable<?>) variable;
+      recordVariable(base, variable.getLowerBound(), variable.getUpperBound(),
+          ModelData.CONTINUOUS, variable.getName());
+      index = base.getIndex();
+    }
+    return index;
+  }
+
+  /**
+   * Adopts the variables of the mirrored terms of an expression that were not created by a model
+   * (see {@link #indexOf(Variable)}), replacing their unknown index by the adopted one.
+   *
+   * @param expr linear expression built by any model
+   * @return the expression as a base linear expression
+   */
+  private BaseLinearExpression<?> adoptVariables(LinearExpression expr) {
+    var base = (BaseLinearExpression<?>) expr;
+    if (base.unknown != null) {
+      for (int k = 0; k < base.size; k++) {
+        if (base.indices[k] < 0) {
+          base.indices[k] = indexOf(base.unknown[k]);
+        }
+      }
+      base.unknown = null;
+    }
+    return base;
+  }
+
+  /**
+   * Adds the mirrored terms of an expression, multiplied by sign, to the pending row.
+   *
+   * @return constant of the expression multiplied by sign
+   */
+  private double recordSide(LinearExpression expr, double sign) {
+    var base = adoptVariables(expr);
+    for (int k = 0; k < base.size; k++) {
+      data.addTerm(base.indices[k], sign * base.coefficients[k]);
+    }
+    return sign * expr.getConstant();
+  }
+
+  /**
+   * Adds a variable, multiplied by sign, to the pending row.
+   *
+   * @return zero, since a variable has no constant term
+   */
+  private double recordSide(Variable var, double sign) {
+    data.addTerm(indexOf(var), sign);
+    return 0.0;
+  }
+
+  /**
+   * Swaps the sense of a constraint, so that value (sense) expr becomes expr (flipped) value.
+   */
+  private static char flip(char sense) {
+    switch (sense) {
+      case ModelData.LESS_EQUAL:
+        return ModelData.GREATER_EQUAL;
+      case ModelData.GREATER_EQUAL:
+        return ModelData.LESS_EQUAL;
+      default:
+        return sense;
+    }
+  }
+
+  /**
+   * Records a constraint of type value (sense) expr in the model data.
+   */
+  protected void recordConstraint(double value, char sense, LinearExpression expr, String name) {
+    recordConstraint(expr, flip(sense), value, name);
+  }
+
+  /**
+   * Records a constraint of type expr (sense) value in the model data.
+   */
+  protected void recordConstraint(LinearExpression expr, char sense, double value, String name) {
+    double constant = recordSide(expr, 1.0);
+    data.addConstraint(sense, value - constant, name);
+  }
+
+  /**
+   * Records a constraint of type expr (sense) var in the model data.
+   */
+  protected void recordConstraint(LinearExpression expr, char sense, Variable var, String name) {
+    double constant = recordSide(expr, 1.0) + recordSide(var, -1.0);
+    data.addConstraint(sense, -constant, name);
+  }
+
+  /**
+   * Records a constraint of type var (sense) expr in the model data.
+   */
+  protected void recordConstraint(Variable var, char sense, LinearExpression expr, String name) {
+    double constant = recordSide(var, 1.0) + recordSide(expr, -1.0);
+    data.addConstraint(sense, -constant, name);
+  }
+
+  /**
+   * Records a constraint of type expr1 (sense) expr2 in the model data.
+   */
+  protected void recordConstraint(LinearExpression expr1, char sense, LinearExpression expr2,
+      String name) {
+    double constant = recordSide(expr1, 1.0) + recordSide(expr2, -1.0);
+    data.addConstraint(sense, -constant, name);
+  }
+
+  /**
+   * Records a constraint of type value (sense) var in the model data.
+   */
+  protected void recordConstraint(double value, char sense, Variable var, String name) {
+    recordConstraint(var, flip(sense), value, name);
+  }
+
+  /**
+   * Records a constraint of type var (sense) value in the model data.
+   */
+  protected void recordConstraint(Variable var, char sense, double value, String name) {
+    recordSide(var, 1.0);
+    data.addConstraint(sense, value, name);
+  }
+
+  /**
+   * Records a constraint of type var1 (sense) var2 in the model data.
+   */
+  protected void recordConstraint(Variable var1, char sense, Variable var2, String name) {
+    recordSide(var1, 1.0);
+    recordSide(var2, -1.0);
+    data.addConstraint(sense, 0.0, name);
+  }
+
+  /**
+   * Records a block of constraints added by a subclass in compressed sparse row format.
+   *
+   * @see Model#addConstraints(int[], int[], double[], char[], double[], String[])
+   */
+  protected void recordConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs, String[] names) {
+    data.addConstraints(sense.length, rowStart, colIndex, values, sense, rhs, names);
+  }
+
+  /**
+   * Records the objective function in the model data.
+   *
+   * @param sense either {@link ModelData#MINIMIZE} or {@link ModelData#MAXIMIZE}
+   * @param expr  linear expression to be optimized
+   */
+  protected void recordObjective(int sense, LinearExpression expr) {
+    var base = adoptVariables(expr);
+    data.setObjective(sense, base.indices, base.coefficients, base.size, expr.getConstant());
+  }
+
+  @Override
+  public ModelData getModelData() {
+    return data;
+  }
+
+  @Override
+  public Variable[] importModel(String file) {
+    ModelData source;
+    try {
+      source = readData(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          getClass().getName() + ": error while reading the model from " + file + ".", e);
+    }
+    return load(source);
+  }
+
+  private ModelData readData(String file) throws IOException {
+    if (uncompressed(file).endsWith(".mps")) {
+      return MpsReader.read(Path.of(file), temporaryDirectory);
+    } else if (file.endsWith(".jmd")) {
+      return BinaryReader.read(Path.of(file));
+    } else {
+      return LpReader.read(Path.of(file), temporaryDirectory);
+    }
+  }
+
+  @Override
+  public void setTemporaryDirectory(String directory) {
+    temporaryDirectory = (directory != null) ? Path.of(directory) : null;
+  }
+
+  @Override
+  public Variable[] load(ModelData source) {
+    int numberOfVariables = source.getNumberOfVariables();
+    var loaded = new Variable[numberOfVariables];
+    int start = 0;
+    while (start < numberOfVariables) {
+      char type = source.getType(start);
+      int end = start + 1;
+      while (end < numberOfVariables && source.getType(end) == type) {
+        end++;
+      }
+
+      int n = end - start;
+      double[] lowerBounds = Arrays.copyOfRange(source.getLowerBounds(), start, end);
+      double[] upperBounds = Arrays.copyOfRange(source.getUpperBounds(), start, end);
+      var names = new String[n];
+      boolean named = false;
+      for (int j = 0; j < n; j++) {
+        names[j] = source.hasVariableName(start + j) ? source.getVariableName(start + j)
+            : getVariableName();
+        named |= names[j] != null;
+      }
+      if (!named) {
+        names = null;
+      }
+
+      Variable[] added;
+      switch (type) {
+        case ModelData.BINARY:
+          added = addBinaryVariables(n, lowerBounds, upperBounds, names);
+          break;
+
+        case ModelData.INTEGER:
+          added = addIntegerVariables(n, lowerBounds, upperBounds, names);
+          break;
+
+        default:
+          added = addRealVariables(n, lowerBounds, upperBounds, names);
+          break;
+      }
+      System.arraycopy(added, 0, loaded, start, n);
+      start = end;
+    }
+
+    int numberOfConstraints = source.getNumberOfConstraints();
+    if (numberOfConstraints > 0) {
+      int[] rowStart = Arrays.copyOf(source.getRowStart(), numberOfConstraints + 1);
+      int[] columnIndices = source.getColumnIndices();
+      int offset = (numberOfVariables > 0) ? loaded[0].getIndex() : 0;
+      if (offset != 0) {
+        columnIndices = Arrays.copyOf(columnIndices, rowStart[numberOfConstraints]);
+        for (int k = 0; k < columnIndices.length; k++) {
+          columnIndices[k] += offset;
+        }
+      }
+
+      var names = new String[numberOfConstraints];
+      boolean named = false;
+      for (int i = 0; i < numberOfConstraints; i++) {
+        names[i] = source.hasConstraintName(i) ? source.getConstraintName(i)
+            : getConstraintName();
+        named |= names[i] != null;
+      }
+      if (!named) {
+        names = null;
+      }
+
+      addConstraints(rowStart, columnIndices, source.getValues(),
+          Arrays.copyOf(source.getSenses(), numberOfConstraints),
+          Arrays.copyOf(source.getRightHandSides(), numberOfConstraints), names);
+    }
+
+    LinearExpression objective = createEmptyLinearExpression();
+    for (int j = 0; j < loaded.length; j++) {
+      double coefficient = source.getObjectiveCoefficient(j);
+      if (coefficient != 0.0) {
+        objective.addTerm(coefficient, loaded[j]);
+      }
+    }
+    objective.addConstant(source.getObjectiveConstant());
+    if (source.getObjectiveSense() == ModelData.MAXIMIZE) {
+      setObjectiveFunctionMaximize(objective);
+    } else {
+      setObjectiveFunctionMinimize(objective);
+    }
+
+    return loaded;
   }
 
   @Override
@@ -135,4 +910,56 @@ public abstract class BaseModel<T> implements Model {
     return solvingTime;
   }
 
+  /**
+   * Optimization run by {@link #solveAsync(Executor)}, which is also the future of its result.
+   * Cancelling the future terminates the optimization only while it is running, so a late
+   * cancellation does not skip the next optimization of the model.
+   */
+  private final class AsyncSolve extends CompletableFuture<SolveResult> implements Runnable {
+
+    private final Object lock = new Object();
+    private boolean running;
+
+    @Override
+    public void run() {
+      synchronized (lock) {
+        if (isDone()) {
+          return;
+        }
+        running = true;
+      }
+      try {
+        solve();
+      } catch (RuntimeException e) {
+        completeExceptionally(e);
+      } finally {
+        synchronized (lock) {
+          running = false;
+          if (isCancelled()) {
+            terminated = false;
+          }
+        }
+      }
+      if (!isDone()) {
+        try {
+          complete(getSolveResult());
+        } catch (RuntimeException e) {
+          completeExceptionally(e);
+        }
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      synchronized (lock) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled && running) {
+          terminate();
+        }
+        return cancelled;
+      }
+    }
+
+  }
+
 }
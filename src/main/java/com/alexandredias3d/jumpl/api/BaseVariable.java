@@ -19,7 +19,8 @@ package com.alexandredias3d.jumpl.api;
 
 /**
  * Base variable wrapper class. Provides implementation for {@link #getWrappee()}, which returns the
- * wrappee (underlying) object that represents a variable.
+ * wrappee (underlying) object that represents a variable. Also keeps the position of the variable
+ * in the {@link ModelData} of its model, so changes made through the wrapper are reflected there.
  *
  * @param <T> type of wrappee variable
  * @author Alexandre H. T. Dias
@@ -31,6 +32,75 @@ public abstract class BaseVariable<T> implements Variable {
    */
   protected T variable;
 
+  /**
+   * Index of the variable in the model data, or -1 if it was not created by a model.
+   */
+  protected int index = -1;
+
+  /**
+   * Model data that stores the variable, or null if it was not created by a model.
+   */
+  protected ModelData data;
+
+  /**
+   * Binds the variable to its position in the given model data.
+   *
+   * @param data  model data that stores the variable
+   * @param index index of the variable in the model data
+   */
+  void bind(ModelData data, int index) {
+    this.data = data;
+    this.index = index;
+  }
+
+  /**
+   * Reflects a lower bound change in the model data, if the variable is bound to one.
+   *
+   * @param lowerBound new variable lower bound
+   */
+  protected void recordLowerBound(double lowerBound) {
+    if (data != null) {
+      data.setLowerBound(index, lowerBound);
+    }
+  }
+
+  /**
+   * Reflects an upper bound change in the model data, if the variable is bound to one.
+   *
+   * @param upperBound new variable upper bound
+   */
+  protected void recordUpperBound(double upperBound) {
+    if (data != null) {
+      data.setUpperBound(index, upperBound);
+    }
+  }
+
+  /**
+   * Reflects a name change in the model data, if the variable is bound to one.
+   *
+   * @param name new variable name
+   */
+  protected void recordName(String name) {
+    if (data != null) {
+      data.setVariableName(index, name);
+    }
+  }
+
+  /**
+   * Gets the name of the variable kept in the model data, which may be built lazily.
+   *
+   * @return name of the variable, or null if it is not bound or has no name
+   * @see ModelData#getVariableName(int)
+   */
+  protected String recordedName() {
+    return (data != null) ? data.getVariableName(index) : null;
+  }
+
+  @Override
+  public int getIndex() {
+    return index;
+  }
+
   @Override
   public T getWrappee() {
     return variable;
@@ -32,6 +32,15 @@ public enum DoubleParameter {
   /**
    * Maximum time (in seconds) that can be spent by the solver during optimization.
    */
-  TIME_LIMIT
+  TIME_LIMIT,
+
+  /**
+   * Memory (in gigabytes) used by the open nodes of the branch-and-bound tree before they are
+   * written to a node file on disk. In the pure-Java solver, the node file is only used by the
+   * deterministic search (see {@link IntParameter#DETERMINISTIC}), whose open nodes each store
+   * the bound changes of every branching from the root; the opportunistic search explores the
+   * tree depth first and keeps its few open nodes per level in memory.
+   */
+  NODE_FILE_START
 
 }
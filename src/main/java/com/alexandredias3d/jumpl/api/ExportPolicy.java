@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+/**
+ * Defines when a model is written to its output file.
+ *
+ * @author Alexandre H. T. Dias
+ * @see Model#setExportPolicy(ExportPolicy)
+ */
+public enum ExportPolicy {
+
+  /**
+   * The model is never written automatically, only when {@link Model#exportModel()} is called.
+   * This is the default policy, so solving a model does not perform any file I/O.
+   */
+  ON_DEMAND,
+
+  /**
+   * The model is written after an optimization that raised an error or did not find any feasible
+   * solution, so the failing model can be inspected. It is written to the output file like an
+   * explicit export (from the {@link ModelData} for the LP and MPS formats, by the solver for the
+   * other ones), once the solver has returned.
+   */
+  ON_FAILURE,
+
+  /**
+   * A snapshot of the {@link ModelData} is taken before each optimization and written by a
+   * background thread while the solver runs, so the optimization never waits for it. A snapshot
+   * not yet written when the next one is taken is superseded by it. An error while writing a
+   * snapshot is thrown by the next {@link Model#exportModel()}, or reported by {@link
+   * Model#dispose()}.
+   */
+  ASYNC
+
+}
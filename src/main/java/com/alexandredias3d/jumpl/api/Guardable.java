@@ -48,10 +48,20 @@ public interface Guardable {
 
   /**
    * Handles the given exception by printing information and exiting the program with an error.
+   * Inside a race of {@link ModelFactory#raceIn(Class, double, Solver...)}, the exception is
+   * thrown instead (wrapped in an {@link IllegalStateException} if it is checked), so only the
+   * run that raised it drops out.
    *
    * @param e raised exception
    */
   default void exceptionHandler(Exception e) {
+    if (ModelFactory.isRacing()) {
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      throw new IllegalStateException(
+          String.format("%s: %s", getClass().getName(), e.getMessage()), e);
+    }
     System.err.printf("Exception in class %s\n" + "\n%s",
         getClass().getSimpleName(),
         e.getMessage());
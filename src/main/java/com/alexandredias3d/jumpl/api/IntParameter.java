@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+public enum IntParameter {
+
+  /**
+   * Number of threads used by the solver, or 0 to use all available cores.
+   */
+  THREADS,
+
+  /**
+   * Seed of the random numbers used by the solver, e.g., by its heuristics.
+   */
+  RANDOM_SEED,
+
+  /**
+   * Whether the parallel optimization is deterministic (1), i.e., the same model solved with the
+   * same number of threads and seed always gives the same result, or opportunistic (0).
+   */
+  DETERMINISTIC
+
+}
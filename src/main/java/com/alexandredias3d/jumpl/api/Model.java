@@ -17,7 +17,9 @@
 
 package com.alexandredias3d.jumpl.api;
 
-import java.util.Arrays;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Wraps a concrete model type from solvers. Provides common functionality of models seen in
@@ -90,6 +92,62 @@ public interface Model extends Wrappable {
    */
   Variable addBinaryVariable();
 
+  /**
+   * Adds n real (continuous) variables in a single call to the solver.
+   *
+   * @param n           number of variables
+   * @param lowerBounds minimum real values that can be assigned to each variable
+   * @param upperBounds maximum real values that can be assigned to each variable
+   * @param names       variable names
+   * @return wrappers of the variables, in the given order
+   */
+  Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds, String[] names);
+
+  /**
+   * {@code names} default to "x" + an auto-incremented integer.
+   *
+   * @see Model#addRealVariables(int, double[], double[], String[])
+   */
+  Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds);
+
+  /**
+   * Adds n integer (discrete) variables in a single call to the solver.
+   *
+   * @param n           number of variables
+   * @param lowerBounds minimum integer values that can be assigned to each variable
+   * @param upperBounds maximum integer values that can be assigned to each variable
+   * @param names       variable names
+   * @return wrappers of the variables, in the given order
+   */
+  Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names);
+
+  /**
+   * {@code names} default to "x" + an auto-incremented integer.
+   *
+   * @see Model#addIntegerVariables(int, double[], double[], String[])
+   */
+  Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds);
+
+  /**
+   * Adds n binary (0-1) variables in a single call to the solver. Null bounds default to 0 and 1.
+   *
+   * @param n           number of variables
+   * @param lowerBounds lower bounds of each variable (0 or 1), or null
+   * @param upperBounds upper bounds of each variable (0 or 1), or null
+   * @param names       variable names
+   * @return wrappers of the variables, in the given order
+   */
+  Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names);
+
+  /**
+   * {@code names} default to "x" + an auto-incremented integer.
+   *
+   * @see Model#addBinaryVariables(int, double[], double[], String[])
+   */
+  Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds);
+
   /**
    * Adds a constraint of type value = expr.
    *
@@ -474,6 +532,30 @@ public interface Model extends Wrappable {
    */
   void addLessEqualConstraint(Variable var1, Variable var2);
 
+  /**
+   * Adds a block of constraints of type expr (sense) rhs given as a sparse matrix in compressed
+   * sparse row (CSR) format. The terms of row i are at positions rowStart[i] (inclusive) to
+   * rowStart[i + 1] (exclusive) of colIndex and values, where colIndex holds the index of each
+   * variable (see {@link Variable#getIndex()}).
+   *
+   * @param rowStart position of the first term of each row, plus one past the last term
+   * @param colIndex variable indices of the terms
+   * @param values   coefficients of the terms
+   * @param sense    one of {@link ModelData#EQUAL}, {@link ModelData#LESS_EQUAL} or {@link
+   *                 ModelData#GREATER_EQUAL} for each row
+   * @param rhs      right-hand side value of each row
+   * @param names    constraint names
+   */
+  void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense, double[] rhs,
+      String[] names);
+
+  /**
+   * {@code names} default to "c" + an auto-incremented integer.
+   *
+   * @see Model#addConstraints(int[], int[], double[], char[], double[], String[])
+   */
+  void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense, double[] rhs);
+
   /**
    * Creates an empty linear expression.
    *
@@ -481,15 +563,174 @@ public interface Model extends Wrappable {
    */
   LinearExpression createEmptyLinearExpression();
 
+  /**
+   * Sets how variables and constraints added without a name are named from now on.
+   *
+   * @param strategy naming strategy
+   * @see NamingStrategy
+   */
+  void setNamingStrategy(NamingStrategy strategy);
+
+  /**
+   * Gets the current naming strategy.
+   *
+   * @return naming strategy
+   */
+  NamingStrategy getNamingStrategy();
+
+  /**
+   * Gets the solver-independent representation of the model, which is filled as variables,
+   * constraints and the objective function are added.
+   *
+   * @return model data of the model
+   */
+  ModelData getModelData();
+
+  /**
+   * Loads (replays) all variables, constraints and the objective function of the given model data
+   * into this model in a single pass.
+   *
+   * @param source model data to be loaded
+   * @return the created variables, indexed as in the source
+   */
+  Variable[] load(ModelData source);
+
+  /**
+   * Reads a model from an LP, free MPS or binary model (".jmd") file, chosen by the extension of
+   * the file, and loads it into this model. LP and MPS files can be compressed with gzip, with a
+   * further ".gz" extension. The file is read by JUMPL itself, so it does not depend on the
+   * solver.
+   *
+   * <p>A compressed file is first decompressed into a temporary file, which takes as much disk
+   * space as the uncompressed file and is deleted once it is read. It is created in the directory
+   * given by {@link #setTemporaryDirectory(String)}, or else in the default temporary directory.
+   *
+   * @param file path of the file
+   * @return the created variables, in the order they are declared in the file
+   * @see com.alexandredias3d.jumpl.io.LpReader
+   * @see com.alexandredias3d.jumpl.io.MpsReader
+   * @see com.alexandredias3d.jumpl.io.BinaryReader
+   */
+  Variable[] importModel(String file);
+
+  /**
+   * Sets the directory of the temporary files created while reading compressed model and solution
+   * files, e.g., on a disk with enough free space for the uncompressed files.
+   *
+   * @param directory path of the directory, or null for the default temporary directory
+   * @see #importModel(String)
+   */
+  void setTemporaryDirectory(String directory);
+
   /**
    * Solves the model.
    */
   void solve();
 
   /**
-   * Releases all resources used by the model.
+   * Solves the model on the given executor. The model must not be modified until the returned
+   * future is completed. Cancelling the future terminates the optimization (see {@link
+   * #terminate()}).
    *
-   * @return true if no errors occurred during disposal, false otherwise
+   * @param executor executor that runs the optimization
+   * @return future completed with the result of the optimization
+   */
+  CompletableFuture<SolveResult> solveAsync(Executor executor);
+
+  /**
+   * Gets the result of the last optimization, including the values of all variables.
+   *
+   * @return result of the last optimization
+   */
+  SolveResult getSolveResult();
+
+  /**
+   * Writes the values of all variables in the last solution to a file: a binary file indexed by
+   * variable if the file ends with ".jsol", or else a text ".sol" file keyed by variable name
+   * (compressed with gzip if it ends with ".gz").
+   *
+   * @param file path of the solution file
+   * @throws IllegalStateException if the last optimization found no solution
+   * @see com.alexandredias3d.jumpl.io.SolutionWriter
+   */
+  void writeSolution(String file);
+
+  /**
+   * Reads a solution file written by {@link #writeSolution(String)}, possibly for another version
+   * of this model. Text files are matched by variable name, binary files by variable index.
+   *
+   * @param file path of the solution file
+   * @return values indexed as the variables of this model, NaN for variables not in the file
+   * @see com.alexandredias3d.jumpl.io.SolutionReader
+   */
+  double[] readSolution(String file);
+
+  /**
+   * Gives a start solution (MIP start) to the next optimizations, from which the solver tries to
+   * build its first incumbent. The values of integer variables are the ones that matter; NaN
+   * values are left for the solver to complete.
+   *
+   * @param values values indexed as the variables of this model, NaN for the unknown ones
+   */
+  void setMIPStart(double[] values);
+
+  /**
+   * Reads a solution file and gives it to the next optimizations as a start solution.
+   *
+   * @param file path of the solution file
+   * @see #readSolution(String)
+   * @see #setMIPStart(double[])
+   */
+  default void loadMIPStart(String file) {
+    setMIPStart(readSolution(file));
+  }
+
+  /**
+   * Requests the current optimization to stop as soon as possible, keeping the best solution found
+   * so far. If the model is not being optimized, its next optimization returns right away. Can be
+   * called from any thread.
+   */
+  void terminate();
+
+  /**
+   * Sets when the model is written to its output file.
+   *
+   * @param policy export policy
+   * @see ExportPolicy
+   */
+  void setExportPolicy(ExportPolicy policy);
+
+  /**
+   * Gets the current export policy.
+   *
+   * @return export policy
+   */
+  ExportPolicy getExportPolicy();
+
+  /**
+   * Writes the model to its output file, whatever the export policy.
+   *
+   * @throws UncheckedIOException if the model cannot be written, or if a background export of the
+   *                              {@link ExportPolicy#ASYNC} policy has failed since the last export
+   */
+  void exportModel();
+
+  /**
+   * Writes the model to the given file, whatever the export policy, which only governs the
+   * automatic exports. The file format is given by the file extension, as understood by the
+   * solver.
+   *
+   * @param file path of the file
+   * @throws UncheckedIOException if the model cannot be written, or if a background export of the
+   *                              {@link ExportPolicy#ASYNC} policy has failed since the last export
+   */
+  void exportModel(String file);
+
+  /**
+   * Releases all resources used by the model, after any background export has written the model.
+   *
+   * @return true if no errors occurred during disposal (including the background exports since the
+   *     last export), false otherwise
    */
   boolean dispose();
 
@@ -501,6 +742,14 @@ public interface Model extends Wrappable {
    */
   void setParameter(DoubleParameter parameter, double value);
 
+  /**
+   * Sets the given integer parameter to the given value.
+   *
+   * @param parameter the integer parameter to be set
+   * @param value     the new value of the parameter
+   */
+  void setParameter(IntParameter parameter, int value);
+
   /**
    * Gets the current objective function value.
    *
@@ -508,6 +757,14 @@ public interface Model extends Wrappable {
    */
   double getObjectiveFunctionValue();
 
+  /**
+   * Gets the best known bound on the objective function value. For models without integer
+   * variables, it is the objective function value itself.
+   *
+   * @return objective function bound
+   */
+  double getObjectiveBound();
+
   /**
    * Gets the current value of the given from the model.
    *
@@ -523,7 +780,24 @@ public interface Model extends Wrappable {
    * @return values of the variables
    */
   default double[] getVariablesValues(Variable[] variables) {
-    return Arrays.stream(variables).mapToDouble(this::getVariableValue).toArray();
+    return getVariablesValues(variables, new double[variables.length]);
+  }
+
+  /**
+   * Gets the current values of all the given variables from the model into the given array, so
+   * repeated queries can reuse the caller's array. The pure-Java model fills it without any
+   * allocation, while CPLEX and Gurobi still allocate the arrays of their own API (the native
+   * variables to query and the values returned), which are copied into it.
+   *
+   * @param variables the array of variables to query the values
+   * @param values    array with at least {@code variables.length} entries to be filled
+   * @return the given values array
+   */
+  default double[] getVariablesValues(Variable[] variables, double[] values) {
+    for (int j = 0; j < variables.length; j++) {
+      values[j] = getVariableValue(variables[j]);
+    }
+    return values;
   }
 
   /**
@@ -538,4 +812,11 @@ public interface Model extends Wrappable {
    */
   int getStatus();
 
+  /**
+   * Gets the outcome of the last optimization in a solver-independent way.
+   *
+   * @return status of the last optimization
+   */
+  SolveStatus getSolveStatus();
+
 }
\ No newline at end of file
@@ -0,0 +1,722 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import java.util.Arrays;
+
+/**
+ * Solver-independent representation of a model stored in primitive arrays. Variables are kept as
+ * columns (bounds, type, objective coefficient and name) and constraints as rows of a compressed
+ * sparse row (CSR) matrix together with their senses and right-hand sides. Every {@link BaseModel}
+ * fills one of these while the formulation is built, so the model can be inspected, hashed,
+ * exported and replayed into another backend without querying the solver.
+ *
+ * <p>Rows are built incrementally: {@link #addTerm(int, double)} appends to a pending row that
+ * is closed by {@link #addConstraint(char, double, String)}. Duplicate columns in a row are merged
+ * and zero coefficients are dropped when the row is closed.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public class ModelData {
+
+  /**
+   * Type of a real (continuous) variable.
+   */
+  public static final char CONTINUOUS = 'C';
+
+  /**
+   * Type of an integer (discrete) variable.
+   */
+  public static final char INTEGER = 'I';
+
+  /**
+   * Type of a binary (0-1) variable.
+   */
+  public static final char BINARY = 'B';
+
+  /**
+   * Sense of a constraint of type expr = rhs.
+   */
+  public static final char EQUAL = '=';
+
+  /**
+   * Sense of a constraint of type expr &le; rhs.
+   */
+  public static final char LESS_EQUAL = '<';
+
+  /**
+   * Sense of a constraint of type expr &ge; rhs.
+   */
+  public static final char GREATER_EQUAL = '>';
+
+  /**
+   * Objective sense for minimization problems.
+   */
+  public static final int MINIMIZE = 1;
+
+  /**
+   * Objective sense for maximization problems.
+   */
+  public static final int MAXIMIZE = -1;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int numberOfVariables;
+  private int numberOfIntegerVariables;
+  private double[] lowerBounds;
+  private double[] upperBounds;
+  private double[] objectiveCoefficients;
+  private char[] types;
+  private final NameTable variableNames;
+
+  private int numberOfConstraints;
+  private int numberOfNonZeros;
+  private int[] rowStart;
+  private int[] columnIndices;
+  private double[] values;
+  private char[] senses;
+  private double[] rightHandSides;
+  private final NameTable constraintNames;
+
+  private int objectiveSense;
+  private double objectiveConstant;
+
+  private NamingStrategy namingStrategy;
+  private String variableNameFormat;
+  private String constraintNameFormat;
+
+  /**
+   * Maps a column to its position in the pending row (or -1), used to merge duplicate terms.
+   */
+  private int[] rowPosition;
+
+  public ModelData() {
+    lowerBounds = new double[INITIAL_CAPACITY];
+    upperBounds = new double[INITIAL_CAPACITY];
+    objectiveCoefficients = new double[INITIAL_CAPACITY];
+    types = new char[INITIAL_CAPACITY];
+    variableNames = new NameTable(INITIAL_CAPACITY);
+
+    rowStart = new int[INITIAL_CAPACITY + 1];
+    columnIndices = new int[INITIAL_CAPACITY];
+    values = new double[INITIAL_CAPACITY];
+    senses = new char[INITIAL_CAPACITY];
+    rightHandSides = new double[INITIAL_CAPACITY];
+    constraintNames = new NameTable(INITIAL_CAPACITY);
+    rowPosition = new int[0];
+
+    objectiveSense = MINIMIZE;
+
+    namingStrategy = NamingStrategy.EAGER;
+    variableNameFormat = "x%d";
+    constraintNameFormat = "c%d";
+  }
+
+  /**
+   * Creates an independent copy of the given model data.
+   */
+  private ModelData(ModelData source) {
+    numberOfVariables = source.numberOfVariables;
+    numberOfIntegerVariables = source.numberOfIntegerVariables;
+    lowerBounds = source.lowerBounds.clone();
+    upperBounds = source.upperBounds.clone();
+    objectiveCoefficients = source.objectiveCoefficients.clone();
+    types = source.types.clone();
+    variableNames = new NameTable(source.variableNames);
+
+    numberOfConstraints = source.numberOfConstraints;
+    numberOfNonZeros = source.numberOfNonZeros;
+    rowStart = source.rowStart.clone();
+    columnIndices = source.columnIndices.clone();
+    values = source.values.clone();
+    senses = source.senses.clone();
+    rightHandSides = source.rightHandSides.clone();
+    constraintNames = new NameTable(source.constraintNames);
+    rowPosition = source.rowPosition.clone();
+
+    objectiveSense = source.objectiveSense;
+    objectiveConstant = source.objectiveConstant;
+
+    namingStrategy = source.namingStrategy;
+    variableNameFormat = source.variableNameFormat;
+    constraintNameFormat = source.constraintNameFormat;
+  }
+
+  /**
+   * Creates a snapshot of the model data, which is not affected by later changes to this one.
+   *
+   * @return independent copy of the model data
+   */
+  public ModelData copy() {
+    return new ModelData(this);
+  }
+
+  /**
+   * Creates model data that uses the given arrays as its backing arrays, without copying them. The
+   * length of the bounds gives the number of variables and the length of the senses the number of
+   * constraints. The rows must be in the form kept by this class, with no duplicate columns and no
+   * zero coefficients, such as the backing arrays of another model data; they are not checked.
+   *
+   * @param lowerBounds           lower bounds indexed by variable
+   * @param upperBounds           upper bounds indexed by variable
+   * @param objectiveCoefficients objective coefficients indexed by variable
+   * @param types                 types indexed by variable
+   * @param rowStart              row starts, with one entry per constraint plus one
+   * @param columnIndices         column indices of the constraint matrix
+   * @param values                coefficients of the constraint matrix
+   * @param senses                senses indexed by constraint
+   * @param rightHandSides        right-hand sides indexed by constraint
+   * @return model data backed by the arrays, minimizing an objective without constant
+   */
+  public static ModelData wrap(double[] lowerBounds, double[] upperBounds,
+      double[] objectiveCoefficients, char[] types, int[] rowStart, int[] columnIndices,
+      double[] values, char[] senses, double[] rightHandSides) {
+    var data = new ModelData();
+    data.numberOfVariables = lowerBounds.length;
+    data.lowerBounds = lowerBounds;
+    data.upperBounds = upperBounds;
+    data.objectiveCoefficients = objectiveCoefficients;
+    data.types = types;
+    data.variableNames.ensureCapacity(lowerBounds.length);
+    for (int j = 0; j < lowerBounds.length; j++) {
+      if (types[j] != CONTINUOUS) {
+        data.numberOfIntegerVariables++;
+      }
+    }
+
+    data.numberOfConstraints = senses.length;
+    data.numberOfNonZeros = rowStart[senses.length];
+    data.rowStart = rowStart;
+    data.columnIndices = columnIndices;
+    data.values = values;
+    data.senses = senses;
+    data.rightHandSides = rightHandSides;
+    data.constraintNames.ensureCapacity(senses.length);
+    return data;
+  }
+
+  /**
+   * Sets how unnamed variables and constraints are named when their names are queried.
+   *
+   * @param strategy             naming strategy
+   * @param variableNameFormat   format of default variable names
+   * @param constraintNameFormat format of default constraint names
+   */
+  void setNaming(NamingStrategy strategy, String variableNameFormat,
+      String constraintNameFormat) {
+    this.namingStrategy = strategy;
+    this.variableNameFormat = variableNameFormat;
+    this.constraintNameFormat = constraintNameFormat;
+  }
+
+  public NamingStrategy getNamingStrategy() {
+    return namingStrategy;
+  }
+
+  /**
+   * Ensures that the variable arrays can hold the given amount of variables.
+   *
+   * @param capacity minimum number of variables
+   */
+  private void ensureVariableCapacity(int capacity) {
+    if (capacity > lowerBounds.length) {
+      int newCapacity = Math.max(capacity, lowerBounds.length * 2);
+      lowerBounds = Arrays.copyOf(lowerBounds, newCapacity);
+      upperBounds = Arrays.copyOf(upperBounds, newCapacity);
+      objectiveCoefficients = Arrays.copyOf(objectiveCoefficients, newCapacity);
+      types = Arrays.copyOf(types, newCapacity);
+      variableNames.ensureCapacity(newCapacity);
+    }
+  }
+
+  /**
+   * Ensures that the constraint arrays can hold the given amount of constraints.
+   *
+   * @param capacity minimum number of constraints
+   */
+  private void ensureConstraintCapacity(int capacity) {
+    if (capacity > senses.length) {
+      int newCapacity = Math.max(capacity, senses.length * 2);
+      rowStart = Arrays.copyOf(rowStart, newCapacity + 1);
+      senses = Arrays.copyOf(senses, newCapacity);
+      rightHandSides = Arrays.copyOf(rightHandSides, newCapacity);
+      constraintNames.ensureCapacity(newCapacity);
+    }
+  }
+
+  /**
+   * Ensures that the matrix arrays can hold the given amount of non-zero entries.
+   *
+   * @param capacity minimum number of non-zeros
+   */
+  private void ensureNonZeroCapacity(int capacity) {
+    if (capacity > columnIndices.length) {
+      int newCapacity = Math.max(capacity, columnIndices.length * 2);
+      columnIndices = Arrays.copyOf(columnIndices, newCapacity);
+      values = Arrays.copyOf(values, newCapacity);
+    }
+  }
+
+  /**
+   * Adds a variable to the model data.
+   *
+   * @param lowerBound minimum value that can be assigned to the variable
+   * @param upperBound maximum value that can be assigned to the variable
+   * @param type       one of {@link #CONTINUOUS}, {@link #INTEGER} or {@link #BINARY}
+   * @param name       variable name (can be null)
+   * @return index of the new variable
+   */
+  public int addVariable(double lowerBound, double upperBound, char type, String name) {
+    ensureVariableCapacity(numberOfVariables + 1);
+    int index = numberOfVariables++;
+    lowerBounds[index] = lowerBound;
+    upperBounds[index] = upperBound;
+    types[index] = type;
+    variableNames.set(index, name);
+    if (type != CONTINUOUS) {
+      numberOfIntegerVariables++;
+    }
+    return index;
+  }
+
+  /**
+   * Adds n variables of the same type to the model data.
+   *
+   * @param n           number of variables
+   * @param lowerBounds minimum values that can be assigned to the variables
+   * @param upperBounds maximum values that can be assigned to the variables
+   * @param type        one of {@link #CONTINUOUS}, {@link #INTEGER} or {@link #BINARY}
+   * @param names       variable names (the array or its entries can be null)
+   * @return index of the first new variable
+   */
+  public int addVariables(int n, double[] lowerBounds, double[] upperBounds, char type,
+      String[] names) {
+    ensureVariableCapacity(numberOfVariables + n);
+    int first = numberOfVariables;
+    System.arraycopy(lowerBounds, 0, this.lowerBounds, first, n);
+    System.arraycopy(upperBounds, 0, this.upperBounds, first, n);
+    Arrays.fill(types, first, first + n, type);
+    if (names != null) {
+      for (int j = 0; j < n; j++) {
+        variableNames.set(first + j, names[j]);
+      }
+    }
+    numberOfVariables += n;
+    if (type != CONTINUOUS) {
+      numberOfIntegerVariables += n;
+    }
+    return first;
+  }
+
+  /**
+   * Adds a term to the pending row. The row is only part of the model after a call to {@link
+   * #addConstraint(char, double, String)}.
+   *
+   * @param column index of the variable
+   * @param value  coefficient of the variable
+   */
+  public void addTerm(int column, double value) {
+    if (value == 0.0) {
+      return;
+    }
+
+    if (column >= rowPosition.length) {
+      int oldLength = rowPosition.length;
+      rowPosition = Arrays.copyOf(rowPosition, Math.max(numberOfVariables, column + 1));
+      Arrays.fill(rowPosition, oldLength, rowPosition.length, -1);
+    }
+
+    int position = rowPosition[column];
+    if (position >= 0) {
+      values[position] += value;
+    } else {
+      ensureNonZeroCapacity(numberOfNonZeros + 1);
+      rowPosition[column] = numberOfNonZeros;
+      columnIndices[numberOfNonZeros] = column;
+      values[numberOfNonZeros] = value;
+      numberOfNonZeros++;
+    }
+  }
+
+  /**
+   * Closes the pending row, adding it as a constraint of type row (sense) rhs.
+   *
+   * @param sense          one of {@link #EQUAL}, {@link #LESS_EQUAL} or {@link #GREATER_EQUAL}
+   * @param rightHandSide  constant on the right-hand side of the constraint
+   * @param name           constraint name (can be null)
+   * @return index of the new constraint
+   */
+  public int addConstraint(char sense, double rightHandSide, String name) {
+    int start = rowStart[numberOfConstraints];
+    int end = start;
+    for (int k = start; k < numberOfNonZeros; k++) {
+      rowPosition[columnIndices[k]] = -1;
+      if (values[k] != 0.0) {
+        columnIndices[end] = columnIndices[k];
+        values[end] = values[k];
+        end++;
+      }
+    }
+    numberOfNonZeros = end;
+
+    ensureConstraintCapacity(numberOfConstraints + 1);
+    int index = numberOfConstraints++;
+    senses[index] = sense;
+    rightHandSides[index] = rightHandSide;
+    constraintNames.set(index, name);
+    rowStart[numberOfConstraints] = numberOfNonZeros;
+    return index;
+  }
+
+  /**
+   * Adds a constraint of type sum(coefficients[k] * x[columns[k]]) (sense) rhs.
+   *
+   * @param columns       indices of the variables
+   * @param coefficients  coefficients of the variables
+   * @param size          amount of terms to read from the arrays
+   * @param sense         one of {@link #EQUAL}, {@link #LESS_EQUAL} or {@link #GREATER_EQUAL}
+   * @param rightHandSide constant on the right-hand side of the constraint
+   * @param name          constraint name (can be null)
+   * @return index of the new constraint
+   */
+  public int addConstraint(int[] columns, double[] coefficients, int size, char sense,
+      double rightHandSide, String name) {
+    for (int k = 0; k < size; k++) {
+      addTerm(columns[k], coefficients[k]);
+    }
+    return addConstraint(sense, rightHandSide, name);
+  }
+
+  /**
+   * Adds a block of constraints given in compressed sparse row format.
+   *
+   * @param n              number of constraints
+   * @param rowStart       position of the first term of each row, plus one past the last term
+   * @param columns        indices of the variables
+   * @param coefficients   coefficients of the variables
+   * @param senses         sense of each constraint
+   * @param rightHandSides right-hand side of each constraint
+   * @param names          constraint names (the array or its entries can be null)
+   * @return index of the first new constraint
+   */
+  public int addConstraints(int n, int[] rowStart, int[] columns, double[] coefficients,
+      char[] senses, double[] rightHandSides, String[] names) {
+    ensureConstraintCapacity(numberOfConstraints + n);
+    ensureNonZeroCapacity(numberOfNonZeros + rowStart[n] - rowStart[0]);
+    int first = numberOfConstraints;
+    for (int i = 0; i < n; i++) {
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        addTerm(columns[k], coefficients[k]);
+      }
+      addConstraint(senses[i], rightHandSides[i], (names == null) ? null : names[i]);
+    }
+    return first;
+  }
+
+  /**
+   * Replaces the objective function by sum(coefficients[k] * x[columns[k]]) + constant.
+   *
+   * @param sense        either {@link #MINIMIZE} or {@link #MAXIMIZE}
+   * @param columns      indices of the variables
+   * @param coefficients coefficients of the variables
+   * @param size         amount of terms to read from the arrays
+   * @param constant     constant term of the objective function
+   */
+  public void setObjective(int sense, int[] columns, double[] coefficients, int size,
+      double constant) {
+    Arrays.fill(objectiveCoefficients, 0, numberOfVariables, 0.0);
+    for (int k = 0; k < size; k++) {
+      objectiveCoefficients[columns[k]] += coefficients[k];
+    }
+    objectiveSense = sense;
+    objectiveConstant = constant;
+  }
+
+  /**
+   * Sets the objective coefficient of a single variable.
+   *
+   * @param column index of the variable
+   * @param value  new objective coefficient
+   */
+  public void setObjectiveCoefficient(int column, double value) {
+    objectiveCoefficients[column] = value;
+  }
+
+  /**
+   * Sets the objective sense.
+   *
+   * @param sense either {@link #MINIMIZE} or {@link #MAXIMIZE}
+   */
+  public void setObjectiveSense(int sense) {
+    objectiveSense = sense;
+  }
+
+  /**
+   * Sets the constant term of the objective function.
+   *
+   * @param constant constant term
+   */
+  public void setObjectiveConstant(double constant) {
+    objectiveConstant = constant;
+  }
+
+  public void setLowerBound(int column, double lowerBound) {
+    lowerBounds[column] = lowerBound;
+  }
+
+  public void setUpperBound(int column, double upperBound) {
+    upperBounds[column] = upperBound;
+  }
+
+  public void setVariableName(int column, String name) {
+    variableNames.set(column, name);
+  }
+
+  public void setConstraintName(int row, String name) {
+    constraintNames.set(row, name);
+  }
+
+  public int getNumberOfVariables() {
+    return numberOfVariables;
+  }
+
+  /**
+   * @return amount of integer and binary variables
+   */
+  public int getNumberOfIntegerVariables() {
+    return numberOfIntegerVariables;
+  }
+
+  public int getNumberOfConstraints() {
+    return numberOfConstraints;
+  }
+
+  /**
+   * @return amount of non-zero entries in the constraint matrix
+   */
+  public int getNumberOfNonZeros() {
+    return rowStart[numberOfConstraints];
+  }
+
+  public double getLowerBound(int column) {
+    return lowerBounds[column];
+  }
+
+  public double getUpperBound(int column) {
+    return upperBounds[column];
+  }
+
+  public char getType(int column) {
+    return types[column];
+  }
+
+  public double getObjectiveCoefficient(int column) {
+    return objectiveCoefficients[column];
+  }
+
+  /**
+   * Gets the name of a variable. Unnamed variables get their default name if the naming strategy
+   * is {@link NamingStrategy#LAZY}, otherwise null.
+   *
+   * @param column index of the variable
+   * @return name of the variable (can be null)
+   */
+  public String getVariableName(int column) {
+    if (variableNames.has(column)) {
+      return variableNames.get(column);
+    }
+    return (namingStrategy == NamingStrategy.LAZY)
+        ? String.format(variableNameFormat, column) : null;
+  }
+
+  /**
+   * Checks whether a variable has a stored (user-given or eager) name.
+   *
+   * @param column index of the variable
+   * @return true if the variable has a stored name
+   */
+  public boolean hasVariableName(int column) {
+    return variableNames.has(column);
+  }
+
+  public char getSense(int row) {
+    return senses[row];
+  }
+
+  public double getRightHandSide(int row) {
+    return rightHandSides[row];
+  }
+
+  /**
+   * Gets the name of a constraint. Unnamed constraints get their default name if the naming
+   * strategy is {@link NamingStrategy#LAZY}, otherwise null.
+   *
+   * @param row index of the constraint
+   * @return name of the constraint (can be null)
+   */
+  public String getConstraintName(int row) {
+    if (constraintNames.has(row)) {
+      return constraintNames.get(row);
+    }
+    return (namingStrategy == NamingStrategy.LAZY)
+        ? String.format(constraintNameFormat, row) : null;
+  }
+
+  /**
+   * Checks whether a constraint has a stored (user-given or eager) name.
+   *
+   * @param row index of the constraint
+   * @return true if the constraint has a stored name
+   */
+  public boolean hasConstraintName(int row) {
+    return constraintNames.has(row);
+  }
+
+  public int getObjectiveSense() {
+    return objectiveSense;
+  }
+
+  public double getObjectiveConstant() {
+    return objectiveConstant;
+  }
+
+  /**
+   * Gets the backing array of lower bounds. Only the first {@link #getNumberOfVariables()} entries
+   * are meaningful.
+   *
+   * @return lower bounds indexed by variable
+   */
+  public double[] getLowerBounds() {
+    return lowerBounds;
+  }
+
+  /**
+   * Gets the backing array of upper bounds. Only the first {@link #getNumberOfVariables()} entries
+   * are meaningful.
+   *
+   * @return upper bounds indexed by variable
+   */
+  public double[] getUpperBounds() {
+    return upperBounds;
+  }
+
+  /**
+   * Gets the backing array of objective coefficients. Only the first {@link
+   * #getNumberOfVariables()} entries are meaningful.
+   *
+   * @return objective coefficients indexed by variable
+   */
+  public double[] getObjectiveCoefficients() {
+    return objectiveCoefficients;
+  }
+
+  /**
+   * Gets the backing array of variable types. Only the first {@link #getNumberOfVariables()}
+   * entries are meaningful.
+   *
+   * @return types indexed by variable
+   */
+  public char[] getTypes() {
+    return types;
+  }
+
+  /**
+   * Gets the backing array of row starts. Row i spans positions rowStart[i] (inclusive) to
+   * rowStart[i + 1] (exclusive) of {@link #getColumnIndices()} and {@link #getValues()}.
+   *
+   * @return row starts, with {@link #getNumberOfConstraints()} + 1 meaningful entries
+   */
+  public int[] getRowStart() {
+    return rowStart;
+  }
+
+  /**
+   * Gets the backing array of column indices of the constraint matrix.
+   *
+   * @return column indices, with {@link #getNumberOfNonZeros()} meaningful entries
+   */
+  public int[] getColumnIndices() {
+    return columnIndices;
+  }
+
+  /**
+   * Gets the backing array of coefficients of the constraint matrix.
+   *
+   * @return coefficients, with {@link #getNumberOfNonZeros()} meaningful entries
+   */
+  public double[] getValues() {
+    return values;
+  }
+
+  /**
+   * Gets the backing array of constraint senses.
+   *
+   * @return senses, with {@link #getNumberOfConstraints()} meaningful entries
+   */
+  public char[] getSenses() {
+    return senses;
+  }
+
+  /**
+   * Gets the backing array of right-hand sides.
+   *
+   * @return right-hand sides, with {@link #getNumberOfConstraints()} meaningful entries
+   */
+  public double[] getRightHandSides() {
+    return rightHandSides;
+  }
+
+  /**
+   * Computes a 64-bit fingerprint of the model content (bounds, types, objective, matrix, senses
+   * and right-hand sides). Names are not taken into account, so two models that only differ in
+   * naming have the same fingerprint.
+   *
+   * @return fingerprint of the model
+   */
+  public long fingerprint() {
+    long hash = 0xcbf29ce484222325L;
+    hash = mix(hash, numberOfVariables);
+    hash = mix(hash, numberOfConstraints);
+    hash = mix(hash, objectiveSense);
+    hash = mix(hash, Double.doubleToLongBits(objectiveConstant));
+    for (int j = 0; j < numberOfVariables; j++) {
+      hash = mix(hash, Double.doubleToLongBits(lowerBounds[j]));
+      hash = mix(hash, Double.doubleToLongBits(upperBounds[j]));
+      hash = mix(hash, Double.doubleToLongBits(objectiveCoefficients[j]));
+      hash = mix(hash, types[j]);
+    }
+    for (int i = 0; i < numberOfConstraints; i++) {
+      hash = mix(hash, senses[i]);
+      hash = mix(hash, Double.doubleToLongBits(rightHandSides[i]));
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        hash = mix(hash, columnIndices[k]);
+        hash = mix(hash, Double.doubleToLongBits(values[k]));
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Mixes a value into a running hash (FNV-1a step followed by a xorshift).
+   */
+  private static long mix(long hash, long value) {
+    hash = (hash ^ value) * 0x100000001b3L;
+    return hash ^ (hash >>> 29);
+  }
+
+}
@@ -19,10 +19,18 @@ package com.alexandredias3d.jumpl.api;
 
 import com.alexandredias3d.jumpl.cplex.CplexModel;
 import com.alexandredias3d.jumpl.gurobi.GurobiModel;
+import com.alexandredias3d.jumpl.java.JavaModel;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstracts model creation details and provides two ways to use the API. {@link #createModel}
@@ -38,11 +46,24 @@ public final class ModelFactory {
    */
   private static boolean VERBOSE = false;
 
+  /**
+   * Naming strategy given to every created model.
+   */
+  private static NamingStrategy NAMING_STRATEGY = NamingStrategy.EAGER;
+
   /**
    * Class name used as prefix in error messages.
    */
   private static final String errorPrefix = ModelFactory.class.getName();
 
+  /**
+   * Whether the current thread runs a race, in which solver errors are thrown rather than ending
+   * the program.
+   *
+   * @see Guardable#exceptionHandler(Exception)
+   */
+  private static final ThreadLocal<Boolean> racing = ThreadLocal.withInitial(() -> false);
+
   /**
    * Avoids class instantiation.
    */
@@ -57,18 +78,27 @@ public final class ModelFactory {
    * @return an Model instance for the given solver
    */
   public static Model createModel(Solver solver) {
+    Model model;
     switch (solver) {
       case CPLEX:
-        return new CplexModel(VERBOSE);
+        model = new CplexModel(VERBOSE);
+        break;
 
       case GUROBI:
-        return new GurobiModel(VERBOSE);
+        model = new GurobiModel(VERBOSE);
+        break;
+
+      case JAVA:
+        model = new JavaModel();
+        break;
 
       default:
         throw new IllegalArgumentException(String.format(
             "%s: solver must be a valid entry (see the Solver enum for supported entries).",
             errorPrefix));
     }
+    model.setNamingStrategy(NAMING_STRATEGY);
+    return model;
   }
 
   /**
@@ -102,7 +132,17 @@ public final class ModelFactory {
    */
   private static <T extends BaseFormulation> T instantiateFormulation(Class<T> formulationClass,
       Solver solver) {
-    Model model = createModel(solver);
+    return instantiateFormulation(formulationClass, createModel(solver));
+  }
+
+  /**
+   * Creates a formulation that modifies and solves the given model.
+   *
+   * @param model the model to be modified by the formulation
+   * @return the instance of the formulation
+   */
+  private static <T extends BaseFormulation> T instantiateFormulation(Class<T> formulationClass,
+      Model model) {
     T formulation = null;
     Constructor<T> constructor = getFormulationConstructor(formulationClass);
     try {
@@ -145,6 +185,256 @@ public final class ModelFactory {
     return formulationList;
   }
 
+  /**
+   * Creates the model described in formulation and solves it using all solvers in parallel. The
+   * solvers whose model cannot be created (because their library is missing, for instance) are
+   * skipped. See {@link #raceIn(Class, double, Solver...)}.
+   *
+   * @param formulationClass the subclass of BaseFormulation that describes the model
+   * @param timeLimit        deadline of the race (in seconds)
+   * @return the winning instance of the formulation, or null if no solver found a solution
+   */
+  public static <T extends BaseFormulation> T raceInAllSolvers(Class<T> formulationClass,
+      double timeLimit) {
+    return raceIn(formulationClass, timeLimit, Solver.values());
+  }
+
+  /**
+   * Creates the model described in formulation and solves it using the given solvers in parallel,
+   * one thread per solver. The first run that proves optimality wins and the other ones are
+   * terminated. When the deadline is reached, every run still going is terminated and the best
+   * solution found (according to the objective sense) wins. The models of the losing runs are
+   * disposed.
+   *
+   * <p>A solver whose model cannot be created, as well as a run that fails, drops out of the race
+   * without stopping the other runs: solver errors are thrown inside the race instead of ending
+   * the program (see {@link Guardable#exceptionHandler(Exception)}). If the calling thread is
+   * interrupted, the runs are terminated, every model is disposed once its run stops, and null is
+   * returned with the interrupt status restored.
+   *
+   * @param formulationClass the subclass of BaseFormulation that describes the model
+   * @param timeLimit        deadline of the race (in seconds)
+   * @param solvers          the solvers that will race to optimize the model
+   * @return the winning instance of the formulation, or null if no solver found a solution
+   * @throws IllegalStateException if every solver has dropped out, with the first failure as the
+   *                               cause and the other ones suppressed
+   */
+  public static <T extends BaseFormulation> T raceIn(Class<T> formulationClass, double timeLimit,
+      Solver... solvers) {
+    Constructor<T> constructor = getFormulationConstructor(formulationClass);
+    boolean outer = racing.get();
+    racing.set(true);
+    try {
+      return race(constructor, timeLimit, solvers);
+    } finally {
+      racing.set(outer);
+    }
+  }
+
+  /**
+   * Tells whether the current thread runs a race of {@link #raceIn(Class, double, Solver...)}.
+   *
+   * @return whether solver errors must be thrown rather than end the program
+   */
+  static boolean isRacing() {
+    return racing.get();
+  }
+
+  /**
+   * Runs a race of {@link #raceIn(Class, double, Solver...)} on the calling thread.
+   */
+  private static <T extends BaseFormulation> T race(Constructor<T> constructor, double timeLimit,
+      Solver... solvers) {
+    IllegalStateException failure = null;
+    var models = new ArrayList<Model>(solvers.length);
+    for (var solver : solvers) {
+      try {
+        models.add(createModel(solver));
+      } catch (RuntimeException | LinkageError ex) {
+        failure = dropOut(failure, ex);
+      }
+    }
+    if (models.isEmpty()) {
+      if (failure != null) {
+        throw failure;
+      }
+      return null;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(models.size(), runnable -> {
+      var thread = new Thread(runnable, "jumpl-race");
+      thread.setDaemon(true);
+      return thread;
+    });
+    var completion = new ExecutorCompletionService<T>(executor);
+    var runs = new HashMap<Future<T>, Model>();
+    for (var model : models) {
+      runs.put(completion.submit(() -> {
+        racing.set(true);
+        return raceFormulation(constructor, model);
+      }), model);
+    }
+    executor.shutdown();
+
+    long deadline = System.nanoTime() + (long) (timeLimit * 1e9);
+    var running = new ArrayList<>(models);
+    var finished = new ArrayList<T>(models.size());
+    int pending = models.size();
+    T winner = null;
+    boolean stopped = false;
+    boolean interrupted = false;
+    while (pending > 0) {
+      Future<T> future;
+      try {
+        future = stopped ? completion.take()
+            : completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        interrupted = true;
+        running.forEach(ModelFactory::terminate);
+        stopped = true;
+        continue;
+      }
+      if (future == null) {
+        running.forEach(ModelFactory::terminate);
+        stopped = true;
+        continue;
+      }
+
+      pending--;
+      running.remove(runs.get(future));
+      T formulation;
+      try {
+        formulation = getFormulation(future);
+      } catch (IllegalStateException ex) {
+        failure = dropOut(failure, ex.getCause());
+        dispose(runs.get(future));
+        continue;
+      }
+      finished.add(formulation);
+      if (!stopped && formulation.getModel().getSolveStatus() == SolveStatus.OPTIMAL) {
+        winner = formulation;
+        running.forEach(ModelFactory::terminate);
+        stopped = true;
+      }
+    }
+
+    if (interrupted) {
+      finished.forEach(formulation -> dispose(formulation.getModel()));
+      Thread.currentThread().interrupt();
+      return null;
+    }
+    if (finished.isEmpty()) {
+      throw failure;
+    }
+    if (winner == null) {
+      winner = best(finished);
+    }
+    for (var formulation : finished) {
+      if (formulation != winner) {
+        dispose(formulation.getModel());
+      }
+    }
+    if (winner != null && winner.getModel() instanceof BaseModel) {
+      ((BaseModel<?>) winner.getModel()).clearTermination();
+    }
+    return winner;
+  }
+
+  /**
+   * Records a solver that has dropped out of a race.
+   *
+   * @param failure failure of the race so far (or null if no solver has dropped out yet)
+   * @param cause   reason why the solver dropped out
+   * @return the failure of the race, with the given cause
+   */
+  private static IllegalStateException dropOut(IllegalStateException failure, Throwable cause) {
+    var dropout = new IllegalStateException(
+        String.format("%s: a solver has failed while racing.", errorPrefix), cause);
+    if (failure == null) {
+      return dropout;
+    }
+    failure.addSuppressed(dropout);
+    return failure;
+  }
+
+  /**
+   * Terminates a run of a race, ignoring a solver that fails to do so.
+   */
+  private static void terminate(Model model) {
+    try {
+      model.terminate();
+    } catch (RuntimeException ex) {
+      // The run is left to finish on its own.
+    }
+  }
+
+  /**
+   * Disposes the model of a run that did not win a race. A model that fails to release its
+   * resources does not change the outcome of the race.
+   */
+  private static void dispose(Model model) {
+    try {
+      model.dispose();
+    } catch (RuntimeException ex) {
+      // Nothing else can be done with the model.
+    }
+  }
+
+  /**
+   * Creates a formulation that modifies and solves the given model in a run of a race. Unlike
+   * {@link #instantiateFormulation(Class, Model)}, the exception thrown by the formulation is
+   * rethrown, so the race can stop the other runs.
+   */
+  private static <T extends BaseFormulation> T raceFormulation(Constructor<T> constructor,
+      Model model) throws Exception {
+    try {
+      return constructor.newInstance(model);
+    } catch (InvocationTargetException ex) {
+      if (ex.getCause() instanceof Exception) {
+        throw (Exception) ex.getCause();
+      }
+      throw (Error) ex.getCause();
+    }
+  }
+
+  /**
+   * Gets the formulation computed by a finished run of a race.
+   */
+  private static <T extends BaseFormulation> T getFormulation(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      throw new IllegalStateException(
+          String.format("%s: a solver has failed while racing.", errorPrefix), ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException(
+          String.format("%s: a solver has failed while racing.", errorPrefix), ex.getCause());
+    }
+  }
+
+  /**
+   * Gets the formulation with the best objective function value among the ones whose model has a
+   * solution.
+   *
+   * @return the best formulation, or null if no model has a solution
+   */
+  private static <T extends BaseFormulation> T best(List<T> formulations) {
+    T best = null;
+    double bestValue = Double.POSITIVE_INFINITY;
+    for (var formulation : formulations) {
+      Model model = formulation.getModel();
+      if (!model.getSolveStatus().hasSolution()) {
+        continue;
+      }
+      double value = model.getModelData().getObjectiveSense() * model.getObjectiveFunctionValue();
+      if (best == null || value < bestValue) {
+        best = formulation;
+        bestValue = value;
+      }
+    }
+    return best;
+  }
+
   /**
    * Enables the verbose output in console.
    */
@@ -159,4 +449,14 @@ public final class ModelFactory {
     ModelFactory.VERBOSE = false;
   }
 
+  /**
+   * Sets the naming strategy of the models created from now on.
+   *
+   * @param strategy naming strategy of unnamed variables and constraints
+   * @see NamingStrategy
+   */
+  public static void setNamingStrategy(NamingStrategy strategy) {
+    ModelFactory.NAMING_STRATEGY = strategy;
+  }
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import java.util.Arrays;
+
+/**
+ * Compact storage of the names of a {@link ModelData}. All characters are kept in a single buffer,
+ * and each entry is an offset and a length into it, instead of one String object per name. A
+ * negative length means that the entry has no name.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class NameTable {
+
+  private char[] characters;
+  private int used;
+  private int[] offsets;
+  private int[] lengths;
+
+  NameTable(int capacity) {
+    characters = new char[8 * capacity];
+    offsets = new int[capacity];
+    lengths = new int[capacity];
+    Arrays.fill(lengths, -1);
+  }
+
+  NameTable(NameTable source) {
+    characters = Arrays.copyOf(source.characters, source.used);
+    used = source.used;
+    offsets = source.offsets.clone();
+    lengths = source.lengths.clone();
+  }
+
+  /**
+   * Ensures that the table can hold the given amount of entries.
+   *
+   * @param capacity minimum number of entries
+   */
+  void ensureCapacity(int capacity) {
+    if (capacity > offsets.length) {
+      int length = offsets.length;
+      int newCapacity = Math.max(capacity, length * 2);
+      offsets = Arrays.copyOf(offsets, newCapacity);
+      lengths = Arrays.copyOf(lengths, newCapacity);
+      Arrays.fill(lengths, length, newCapacity, -1);
+    }
+  }
+
+  /**
+   * Sets the name of an entry. Characters of a replaced name are not reclaimed.
+   *
+   * @param i    index of the entry
+   * @param name new name (can be null)
+   */
+  void set(int i, String name) {
+    if (name == null) {
+      lengths[i] = -1;
+      return;
+    }
+    int length = name.length();
+    if (used + length > characters.length) {
+      characters = Arrays.copyOf(characters, Math.max(used + length, characters.length * 2));
+    }
+    name.getChars(0, length, characters, used);
+    offsets[i] = used;
+    lengths[i] = length;
+    used += length;
+  }
+
+  /**
+   * Gets the name of an entry.
+   *
+   * @param i index of the entry
+   * @return name of the entry, or null if it has none
+   */
+  String get(int i) {
+    int length = lengths[i];
+    return (length < 0) ? null : new String(characters, offsets[i], length);
+  }
+
+  /**
+   * Checks whether an entry has a name.
+   *
+   * @param i index of the entry
+   * @return true if the entry has a name
+   */
+  boolean has(int i) {
+    return lengths[i] >= 0;
+  }
+
+}
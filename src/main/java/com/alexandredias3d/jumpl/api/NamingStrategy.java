@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+/**
+ * Defines how variables and constraints that were not given a name by the user are named.
+ *
+ * @author Alexandre H. T. Dias
+ * @see BaseModel#setVariableNameFormat(String)
+ * @see BaseModel#setConstraintNameFormat(String)
+ */
+public enum NamingStrategy {
+
+  /**
+   * Unnamed variables and constraints have no name at all. The solver assigns its own default
+   * names, and {@link ModelData} reports them as null.
+   */
+  NONE,
+
+  /**
+   * Names are built only when they are needed, i.e., when a name is queried or the model data is
+   * exported. The default name of a variable (constraint) is its format applied to its index in
+   * the {@link ModelData}. The solver itself keeps its own default names.
+   */
+  LAZY,
+
+  /**
+   * Names are built with the current format and an auto-incremented integer as soon as the
+   * variable (constraint) is added, and are given to the solver. This is the default strategy.
+   */
+  EAGER
+
+}
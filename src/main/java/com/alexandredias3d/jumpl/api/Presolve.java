@@ -0,0 +1,622 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Solver-independent presolve of a {@link ModelData}. Builds a reduced copy of the model, with the
+ * same optimal solutions, by repeatedly:
+ *
+ * <ul>
+ *   <li>removing fixed variables, whose contribution moves to the right-hand sides and to the
+ *   objective constant;</li>
+ *   <li>removing empty constraints, and empty variables at their best bound;</li>
+ *   <li>turning singleton constraints into variable bounds;</li>
+ *   <li>tightening variable bounds by the minimum and maximum activities of the constraints, and
+ *   removing the constraints that cannot be violated within the bounds;</li>
+ *   <li>merging parallel constraints (multiples of each other) into a single one.</li>
+ * </ul>
+ *
+ * <p>The reduced model can be loaded into any model (see {@link Model#load(ModelData)}), so the
+ * backend never receives the redundant part. Since only variables are removed (at a fixed value)
+ * and bounds are tightened, the postsolve is exact: {@link #postsolve(SolveResult)} maps the
+ * solution of the reduced model back to the variables of the original one.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class Presolve {
+
+  /**
+   * Distance below which two bounds (or right-hand sides) are considered equal.
+   */
+  private static final double TOLERANCE = 1e-9;
+
+  /**
+   * Violation above which a bound or a constraint proves the model infeasible.
+   */
+  private static final double INFEASIBILITY_TOLERANCE = 1e-6;
+
+  /**
+   * Relative improvement below which an implied bound of a continuous variable is not applied.
+   */
+  private static final double TIGHTENING_THRESHOLD = 1e-3;
+
+  private static final int PASS_LIMIT = 20;
+
+  private final ModelData original;
+  private final int columns;
+  private final int rows;
+
+  private final double[] lower;
+  private final double[] upper;
+  private final double[] cost;
+  private final boolean[] integer;
+  private final char[] sense;
+  private final double[] rightHandSide;
+  private double objectiveConstant;
+
+  private final int[] rowStart;
+  private final int[] columnIndices;
+  private final double[] values;
+  private final int[] columnStart;
+  private final int[] rowIndices;
+  private final double[] columnValues;
+
+  private final boolean[] removedRow;
+  private final boolean[] removedColumn;
+  private final int[] rowLength;
+  private final int[] columnLength;
+  private final double[] fixedValue;
+
+  private boolean infeasible;
+  private boolean changed;
+  private final ModelData reduced;
+  private final int[] reducedIndex;
+  private final int[] originalIndex;
+
+  /**
+   * Presolves the given model data, which is not modified.
+   *
+   * @param original model data to be presolved
+   */
+  public Presolve(ModelData original) {
+    this.original = original;
+    columns = original.getNumberOfVariables();
+    rows = original.getNumberOfConstraints();
+
+    lower = Arrays.copyOf(original.getLowerBounds(), columns);
+    upper = Arrays.copyOf(original.getUpperBounds(), columns);
+    cost = Arrays.copyOf(original.getObjectiveCoefficients(), columns);
+    integer = new boolean[columns];
+    for (int j = 0; j < columns; j++) {
+      integer[j] = original.getType(j) != ModelData.CONTINUOUS;
+    }
+    sense = Arrays.copyOf(original.getSenses(), rows);
+    rightHandSide = Arrays.copyOf(original.getRightHandSides(), rows);
+    objectiveConstant = original.getObjectiveConstant();
+
+    rowStart = original.getRowStart();
+    columnIndices = original.getColumnIndices();
+    values = original.getValues();
+    int nonzeros = rowStart[rows];
+    columnStart = new int[columns + 1];
+    for (int k = 0; k < nonzeros; k++) {
+      columnStart[columnIndices[k] + 1]++;
+    }
+    for (int j = 0; j < columns; j++) {
+      columnStart[j + 1] += columnStart[j];
+    }
+    rowIndices = new int[nonzeros];
+    columnValues = new double[nonzeros];
+    int[] next = Arrays.copyOf(columnStart, columns);
+    for (int i = 0; i < rows; i++) {
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        int position = next[columnIndices[k]]++;
+        rowIndices[position] = i;
+        columnValues[position] = values[k];
+      }
+    }
+
+    removedRow = new boolean[rows];
+    removedColumn = new boolean[columns];
+    rowLength = new int[rows];
+    columnLength = new int[columns];
+    fixedValue = new double[columns];
+    for (int i = 0; i < rows; i++) {
+      rowLength[i] = rowStart[i + 1] - rowStart[i];
+    }
+    for (int j = 0; j < columns; j++) {
+      columnLength[j] = columnStart[j + 1] - columnStart[j];
+    }
+
+    for (int j = 0; j < columns && !infeasible; j++) {
+      roundBounds(j);
+    }
+    for (int pass = 0; pass < PASS_LIMIT && !infeasible; pass++) {
+      changed = false;
+      removeFixedColumns();
+      for (int i = 0; i < rows && !infeasible; i++) {
+        if (!removedRow[i]) {
+          reduceRow(i);
+        }
+      }
+      removeFixedColumns();
+      removeEmptyColumns();
+      if (!infeasible) {
+        mergeParallelRows();
+      }
+      if (!changed) {
+        break;
+      }
+    }
+
+    reducedIndex = new int[columns];
+    int count = 0;
+    for (int j = 0; j < columns; j++) {
+      reducedIndex[j] = removedColumn[j] ? -1 : count++;
+    }
+    originalIndex = new int[count];
+    for (int j = 0; j < columns; j++) {
+      if (reducedIndex[j] >= 0) {
+        originalIndex[reducedIndex[j]] = j;
+      }
+    }
+    reduced = buildReducedModel();
+  }
+
+  /**
+   * Gets the reduced model, to be loaded into the model that solves it.
+   *
+   * @return reduced model data
+   */
+  public ModelData getReducedModel() {
+    return reduced;
+  }
+
+  /**
+   * Checks whether the presolve proved the model infeasible, in which case the reduced model is
+   * meaningless and must not be solved.
+   *
+   * @return true if the model is infeasible
+   */
+  public boolean isInfeasible() {
+    return infeasible;
+  }
+
+  /**
+   * Gets the index, in the reduced model, of a variable of the original one.
+   *
+   * @param column index of the variable in the original model
+   * @return index in the reduced model, or -1 if the variable was removed
+   */
+  public int getReducedIndex(int column) {
+    return reducedIndex[column];
+  }
+
+  public int getNumberOfRemovedVariables() {
+    return columns - reduced.getNumberOfVariables();
+  }
+
+  public int getNumberOfRemovedConstraints() {
+    return rows - reduced.getNumberOfConstraints();
+  }
+
+  /**
+   * Maps the values of the variables of the reduced model to the variables of the original one.
+   *
+   * @param reducedValues values indexed as in the reduced model
+   * @return values indexed as in the original model
+   */
+  public double[] postsolve(double[] reducedValues) {
+    var result = new double[columns];
+    for (int j = 0; j < columns; j++) {
+      result[j] = (reducedIndex[j] >= 0) ? reducedValues[reducedIndex[j]] : fixedValue[j];
+    }
+    return result;
+  }
+
+  /**
+   * Maps the result of the optimization of the reduced model to the original one, so the values
+   * of the original variables can be queried with {@link SolveResult#getValue(Variable)}. The
+   * objective function value and bound are the same in both models.
+   *
+   * @param result result of the optimization of the reduced model
+   * @return result in terms of the original model
+   */
+  public SolveResult postsolve(SolveResult result) {
+    double[] mapped = result.getStatus().hasSolution() ? postsolve(result.getValues())
+        : new double[0];
+    return new SolveResult(result.getStatus(), result.getObjectiveValue(),
+        result.getObjectiveBound(), result.getSolvingTime(), mapped);
+  }
+
+  /**
+   * Loads the reduced model into the given (empty) model, solves it and maps its result back to
+   * the original model. If the presolve proved the model infeasible, the given model is not used.
+   *
+   * @param model model that solves the reduced model
+   * @return result in terms of the original model
+   */
+  public SolveResult solve(Model model) {
+    if (infeasible) {
+      return new SolveResult(SolveStatus.INFEASIBLE, Double.NaN, Double.NaN, 0.0, new double[0]);
+    }
+    model.load(reduced);
+    model.solve();
+    return postsolve(model.getSolveResult());
+  }
+
+  /**
+   * Rounds the bounds of an integer variable, and checks that they do not cross.
+   */
+  private void roundBounds(int j) {
+    if (integer[j]) {
+      lower[j] = Math.ceil(lower[j] - INFEASIBILITY_TOLERANCE);
+      upper[j] = Math.floor(upper[j] + INFEASIBILITY_TOLERANCE);
+    }
+    if (lower[j] > upper[j] + INFEASIBILITY_TOLERANCE) {
+      infeasible = true;
+    } else if (lower[j] > upper[j] - TOLERANCE) {
+      upper[j] = lower[j];
+    }
+  }
+
+  private void removeFixedColumns() {
+    for (int j = 0; j < columns; j++) {
+      if (!removedColumn[j] && lower[j] == upper[j]) {
+        fix(j, lower[j]);
+      }
+    }
+  }
+
+  /**
+   * Removes each variable that has no terms left at its best bound, unless the objective function
+   * is unbounded in its direction (which is left to the solver to report).
+   */
+  private void removeEmptyColumns() {
+    int objectiveSense = original.getObjectiveSense();
+    for (int j = 0; j < columns; j++) {
+      if (removedColumn[j] || columnLength[j] > 0) {
+        continue;
+      }
+      double direction = objectiveSense * cost[j];
+      double value;
+      if (direction > 0.0) {
+        value = lower[j];
+      } else if (direction < 0.0) {
+        value = upper[j];
+      } else if (lower[j] != Double.NEGATIVE_INFINITY) {
+        value = lower[j];
+      } else {
+        value = (upper[j] != Double.POSITIVE_INFINITY) ? upper[j] : 0.0;
+      }
+      if (!Double.isInfinite(value)) {
+        fix(j, value);
+      }
+    }
+  }
+
+  /**
+   * Removes a variable at the given value, moving its terms to the right-hand sides.
+   */
+  private void fix(int j, double value) {
+    removedColumn[j] = true;
+    fixedValue[j] = value;
+    objectiveConstant += cost[j] * value;
+    for (int k = columnStart[j]; k < columnStart[j + 1]; k++) {
+      int i = rowIndices[k];
+      if (!removedRow[i]) {
+        rightHandSide[i] -= columnValues[k] * value;
+        rowLength[i]--;
+      }
+    }
+    changed = true;
+  }
+
+  private void removeRow(int i) {
+    removedRow[i] = true;
+    for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+      int j = columnIndices[k];
+      if (!removedColumn[j]) {
+        columnLength[j]--;
+      }
+    }
+    changed = true;
+  }
+
+  /**
+   * Applies the reductions of a single constraint: empty and singleton constraints, redundancy and
+   * bound tightening by activity.
+   */
+  private void reduceRow(int i) {
+    double b = rightHandSide[i];
+    if (rowLength[i] == 0) {
+      if ((sense[i] != ModelData.GREATER_EQUAL && b < -INFEASIBILITY_TOLERANCE)
+          || (sense[i] != ModelData.LESS_EQUAL && b > INFEASIBILITY_TOLERANCE)) {
+        infeasible = true;
+      }
+      removeRow(i);
+      return;
+    }
+    if (rowLength[i] == 1) {
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        int j = columnIndices[k];
+        if (!removedColumn[j]) {
+          double bound = b / values[k];
+          boolean upperBound = (sense[i] == ModelData.LESS_EQUAL) == (values[k] > 0.0);
+          if (sense[i] == ModelData.EQUAL || upperBound) {
+            upper[j] = Math.min(upper[j], bound);
+          }
+          if (sense[i] == ModelData.EQUAL || !upperBound) {
+            lower[j] = Math.max(lower[j], bound);
+          }
+          removeRow(i);
+          roundBounds(j);
+          return;
+        }
+      }
+    }
+
+    double minimum = 0.0;
+    double maximum = 0.0;
+    int minimumInfinities = 0;
+    int maximumInfinities = 0;
+    for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+      int j = columnIndices[k];
+      if (removedColumn[j]) {
+        continue;
+      }
+      double a = values[k];
+      double low = (a > 0.0) ? lower[j] : upper[j];
+      double high = (a > 0.0) ? upper[j] : lower[j];
+      if (Double.isInfinite(low)) {
+        minimumInfinities++;
+      } else {
+        minimum += a * low;
+      }
+      if (Double.isInfinite(high)) {
+        maximumInfinities++;
+      } else {
+        maximum += a * high;
+      }
+    }
+
+    double slack = INFEASIBILITY_TOLERANCE * (1.0 + Math.abs(b));
+    boolean checkUpper = sense[i] != ModelData.GREATER_EQUAL;
+    boolean checkLower = sense[i] != ModelData.LESS_EQUAL;
+    if ((checkUpper && minimumInfinities == 0 && minimum > b + slack)
+        || (checkLower && maximumInfinities == 0 && maximum < b - slack)) {
+      infeasible = true;
+      return;
+    }
+    boolean upperRedundant = !checkUpper || (maximumInfinities == 0 && maximum <= b + TOLERANCE);
+    boolean lowerRedundant = !checkLower || (minimumInfinities == 0 && minimum >= b - TOLERANCE);
+    if (upperRedundant && lowerRedundant) {
+      removeRow(i);
+      return;
+    }
+
+    for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+      int j = columnIndices[k];
+      if (removedColumn[j]) {
+        continue;
+      }
+      double a = values[k];
+      double low = (a > 0.0) ? lower[j] : upper[j];
+      double high = (a > 0.0) ? upper[j] : lower[j];
+      if (checkUpper) {
+        double rest = residual(minimum, minimumInfinities, low, a);
+        if (!Double.isNaN(rest)) {
+          tighten(j, (b - rest) / a, a > 0.0);
+        }
+      }
+      if (checkLower) {
+        double rest = residual(maximum, maximumInfinities, high, a);
+        if (!Double.isNaN(rest)) {
+          tighten(j, (b - rest) / a, a < 0.0);
+        }
+      }
+      if (infeasible) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Gets the activity bound of a constraint without the contribution of one of its terms.
+   *
+   * @return activity bound of the other terms, or NaN if it is infinite
+   */
+  private static double residual(double activity, int infinities, double bound, double a) {
+    if (Double.isInfinite(bound)) {
+      return (infinities == 1) ? activity : Double.NaN;
+    }
+    return (infinities == 0) ? activity - a * bound : Double.NaN;
+  }
+
+  /**
+   * Replaces a bound of a variable by an implied one, if it is tighter.
+   *
+   * @param upperBound true if the implied bound is an upper bound
+   */
+  private void tighten(int j, double bound, boolean upperBound) {
+    double current = upperBound ? upper[j] : lower[j];
+    double improvement = upperBound ? current - bound : bound - current;
+    double threshold = integer[j] ? TOLERANCE
+        : TIGHTENING_THRESHOLD * Math.max(1.0, Math.abs(bound));
+    if (!(improvement > threshold)) {
+      return;
+    }
+    if (upperBound) {
+      upper[j] = bound;
+    } else {
+      lower[j] = bound;
+    }
+    roundBounds(j);
+    changed = true;
+  }
+
+  /**
+   * Merges each constraint whose coefficients are a multiple of the ones of an earlier constraint
+   * into it, unless together they form a range that a single constraint cannot express.
+   */
+  private void mergeParallelRows() {
+    Map<RowKey, RowKey> seen = new HashMap<>();
+    for (int i = 0; i < rows; i++) {
+      if (removedRow[i] || rowLength[i] < 2) {
+        continue;
+      }
+      var key = new RowKey(i);
+      RowKey kept = seen.putIfAbsent(key, key);
+      if (kept == null) {
+        continue;
+      }
+      int p = kept.row;
+      double keptLow = low(p, kept.scale);
+      double keptHigh = high(p, kept.scale);
+      double low = Math.max(keptLow, low(i, key.scale));
+      double high = Math.min(keptHigh, high(i, key.scale));
+      if (low == Double.NEGATIVE_INFINITY) {
+        setRow(p, kept.scale, ModelData.LESS_EQUAL, high);
+      } else if (high == Double.POSITIVE_INFINITY) {
+        setRow(p, kept.scale, ModelData.GREATER_EQUAL, low);
+      } else if (low > high + INFEASIBILITY_TOLERANCE * (1.0 + Math.abs(low))) {
+        infeasible = true;
+        return;
+      } else if (high - low <= TOLERANCE * (1.0 + Math.abs(low))) {
+        setRow(p, kept.scale, ModelData.EQUAL, low);
+      } else {
+        continue;
+      }
+      removeRow(i);
+    }
+  }
+
+  /**
+   * Gets the lower limit of the normalized constraint (the original one divided by the scale).
+   */
+  private double low(int i, double scale) {
+    char normalized = (scale > 0.0) ? sense[i] : flip(sense[i]);
+    return (normalized == ModelData.LESS_EQUAL) ? Double.NEGATIVE_INFINITY
+        : rightHandSide[i] / scale;
+  }
+
+  /**
+   * Gets the upper limit of the normalized constraint (the original one divided by the scale).
+   */
+  private double high(int i, double scale) {
+    char normalized = (scale > 0.0) ? sense[i] : flip(sense[i]);
+    return (normalized == ModelData.GREATER_EQUAL) ? Double.POSITIVE_INFINITY
+        : rightHandSide[i] / scale;
+  }
+
+  /**
+   * Sets the sense and right-hand side of a constraint from the ones of its normalized form.
+   */
+  private void setRow(int i, double scale, char normalizedSense, double normalizedRightHandSide) {
+    sense[i] = (scale > 0.0) ? normalizedSense : flip(normalizedSense);
+    rightHandSide[i] = normalizedRightHandSide * scale;
+  }
+
+  private static char flip(char sense) {
+    if (sense == ModelData.LESS_EQUAL) {
+      return ModelData.GREATER_EQUAL;
+    }
+    return (sense == ModelData.GREATER_EQUAL) ? ModelData.LESS_EQUAL : sense;
+  }
+
+  private ModelData buildReducedModel() {
+    var data = new ModelData();
+    for (int t = 0; t < originalIndex.length; t++) {
+      int j = originalIndex[t];
+      data.addVariable(lower[j], upper[j], original.getType(j),
+          original.hasVariableName(j) ? original.getVariableName(j) : null);
+      data.setObjectiveCoefficient(t, cost[j]);
+    }
+    for (int i = 0; i < rows; i++) {
+      if (removedRow[i]) {
+        continue;
+      }
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        int j = columnIndices[k];
+        if (!removedColumn[j]) {
+          data.addTerm(reducedIndex[j], values[k]);
+        }
+      }
+      data.addConstraint(sense[i], rightHandSide[i],
+          original.hasConstraintName(i) ? original.getConstraintName(i) : null);
+    }
+    data.setObjectiveSense(original.getObjectiveSense());
+    data.setObjectiveConstant(objectiveConstant);
+    return data;
+  }
+
+  /**
+   * Coefficients of a constraint normalized by the one of its first remaining variable (in index
+   * order), which identifies the constraints that are multiples of each other.
+   */
+  private final class RowKey {
+
+    private final int row;
+    private final int[] keyColumns;
+    private final double[] keyValues;
+    private final double scale;
+    private final int hash;
+
+    RowKey(int i) {
+      row = i;
+      int length = rowLength[i];
+      keyColumns = new int[length];
+      keyValues = new double[length];
+      long[] packed = new long[length];
+      int size = 0;
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        if (!removedColumn[columnIndices[k]]) {
+          packed[size++] = ((long) columnIndices[k] << 32) | (k - rowStart[i]);
+        }
+      }
+      Arrays.sort(packed);
+      scale = values[rowStart[i] + (int) packed[0]];
+      for (int t = 0; t < length; t++) {
+        keyColumns[t] = (int) (packed[t] >>> 32);
+        keyValues[t] = values[rowStart[i] + (int) packed[t]] / scale;
+      }
+      hash = 31 * Arrays.hashCode(keyColumns) + Arrays.hashCode(keyValues);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof RowKey)) {
+        return false;
+      }
+      var key = (RowKey) other;
+      return hash == key.hash && Arrays.equals(keyColumns, key.keyColumns)
+          && Arrays.equals(keyValues, key.keyValues);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+  }
+
+}
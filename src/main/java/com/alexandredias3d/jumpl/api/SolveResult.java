@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+/**
+ * Immutable outcome of an optimization: status, objective function value, bound, gap, solving
+ * time and the values of all variables of the model.
+ *
+ * @author Alexandre H. T. Dias
+ * @see Model#solveAsync(java.util.concurrent.Executor)
+ */
+public final class SolveResult {
+
+  private final SolveStatus status;
+  private final double objectiveValue;
+  private final double objectiveBound;
+  private final double solvingTime;
+  private final double[] values;
+
+  /**
+   * Creates a solve result.
+   *
+   * @param status         status of the optimization
+   * @param objectiveValue objective function value (NaN if there is no solution)
+   * @param objectiveBound best bound on the objective function value (NaN if unknown)
+   * @param solvingTime    amount of time needed to solve the model (in seconds)
+   * @param values         values of the variables, indexed as in the model data (the array is
+   *                       kept, not copied)
+   */
+  public SolveResult(SolveStatus status, double objectiveValue, double objectiveBound,
+      double solvingTime, double[] values) {
+    this.status = status;
+    this.objectiveValue = objectiveValue;
+    this.objectiveBound = objectiveBound;
+    this.solvingTime = solvingTime;
+    this.values = values;
+  }
+
+  public SolveStatus getStatus() {
+    return status;
+  }
+
+  public double getObjectiveValue() {
+    return objectiveValue;
+  }
+
+  public double getObjectiveBound() {
+    return objectiveBound;
+  }
+
+  /**
+   * Gets the relative gap between the objective function value and its bound, i.e., |bound -
+   * value| / |value|. A zero objective function value gives a zero gap if the bound is also zero,
+   * and an infinite gap otherwise.
+   *
+   * @return relative gap, or NaN if there is no solution
+   */
+  public double getGap() {
+    double difference = Math.abs(objectiveBound - objectiveValue);
+    if (objectiveValue == 0.0) {
+      return (difference == 0.0) ? 0.0 : Double.POSITIVE_INFINITY;
+    }
+    return difference / Math.abs(objectiveValue);
+  }
+
+  public double getSolvingTime() {
+    return solvingTime;
+  }
+
+  /**
+   * Gets the values of all variables, indexed as in the model data (see {@link
+   * Variable#getIndex()}). The array is empty if there is no solution.
+   *
+   * @return values of the variables
+   */
+  public double[] getValues() {
+    return values;
+  }
+
+  /**
+   * Gets the value of the given variable.
+   *
+   * @param variable variable of the solved model
+   * @return value of the variable
+   */
+  public double getValue(Variable variable) {
+    return values[variable.getIndex()];
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+/**
+ * Solver-independent outcome of the last optimization of a model.
+ *
+ * @author Alexandre H. T. Dias
+ * @see Model#getSolveStatus()
+ */
+public enum SolveStatus {
+
+  /**
+   * An optimal solution was found.
+   */
+  OPTIMAL,
+
+  /**
+   * A feasible solution was found, but it was not proven optimal (e.g., the optimization was
+   * stopped by a limit or terminated).
+   */
+  FEASIBLE,
+
+  /**
+   * The model was proven infeasible.
+   */
+  INFEASIBLE,
+
+  /**
+   * The model was proven unbounded.
+   */
+  UNBOUNDED,
+
+  /**
+   * The model was proven infeasible or unbounded, but the solver did not tell which.
+   */
+  INFEASIBLE_OR_UNBOUNDED,
+
+  /**
+   * No solution is available, either because the model was not solved yet or because the
+   * optimization stopped before finding one.
+   */
+  NO_SOLUTION;
+
+  /**
+   * Checks whether a solution can be queried from the model.
+   *
+   * @return true if the status is {@link #OPTIMAL} or {@link #FEASIBLE}
+   */
+  public boolean hasSolution() {
+    return this == OPTIMAL || this == FEASIBLE;
+  }
+
+}
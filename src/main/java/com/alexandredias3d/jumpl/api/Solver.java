@@ -23,6 +23,7 @@ package com.alexandredias3d.jumpl.api;
  * <ul>
  *  <li>{@link #CPLEX}</li>
  *  <li>{@link #GUROBI}</li>
+ *  <li>{@link #JAVA}</li>
  * </ul>
  *
  * @author Alexandre H. T. Dias
@@ -36,4 +37,8 @@ public enum Solver {
    * GUROBI solver entry.
    */
   GUROBI,
+  /**
+   * Pure-Java simplex solver, which needs no native library nor license.
+   */
+  JAVA,
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import java.util.Arrays;
+
+/**
+ * Solver-agnostic linear expression stored in growable primitive arrays of variable indices and
+ * coefficients. Terms of the same variable are merged in place and terms whose coefficient becomes
+ * zero are dropped. No solver object is created while the expression is built: each {@link Model}
+ * converts it to its native type only once, when it is used in a constraint or in the objective
+ * function.
+ *
+ * <p>Duplicate terms are found by a linear scan while the expression is small and by an
+ * open-addressing hash table of positions after that.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public class SparseLinearExpression extends BaseLinearExpression<SparseLinearExpression> {
+
+  /**
+   * Amount of terms above which duplicates are found with the hash table.
+   */
+  private static final int HASH_THRESHOLD = 16;
+
+  /**
+   * Model that owns the variables of the expression.
+   */
+  private final BaseModel<?> model;
+
+  /**
+   * Constant term of the expression.
+   */
+  private double constant;
+
+  /**
+   * Open-addressing table mapping a variable index to its position plus one (zero is empty).
+   */
+  private int[] table;
+
+  /**
+   * Amount of terms whose coefficient was merged to zero and not yet dropped.
+   */
+  private int zeros;
+
+  /**
+   * Creates an empty linear expression over the variables of the given model.
+   *
+   * @param model model that owns the variables (can be null if terms are only added by index)
+   */
+  public SparseLinearExpression(BaseModel<?> model) {
+    this.model = model;
+    this.expression = this;
+  }
+
+  @Override
+  public void add(LinearExpression expression) {
+    var base = (BaseLinearExpression<?>) expression;
+    int otherSize = base.size;
+    for (int k = 0; k < otherSize; k++) {
+      int index = base.indices[k];
+      addIndexTerm((index < 0) ? model.indexOf(base.unknown[k]) : index, base.coefficients[k]);
+    }
+    constant += expression.getConstant();
+  }
+
+  @Override
+  public void addConstant(double constant) {
+    this.constant += constant;
+  }
+
+  @Override
+  public void addTerm(double coefficient, Variable variable) {
+    if (coefficient != 0.0) {
+      addIndexTerm(model.indexOf(variable), coefficient);
+    }
+  }
+
+  /**
+   * Adds a term given by the index of its variable (see {@link Variable#getIndex()}).
+   *
+   * @param coefficient coefficient of the variable on the linear expression
+   * @param index       index of the variable in the model
+   */
+  public void addTerm(double coefficient, int index) {
+    if (coefficient != 0.0) {
+      addIndexTerm(index, coefficient);
+    }
+  }
+
+  @Override
+  public double getConstant() {
+    return constant;
+  }
+
+  /**
+   * Gets the amount of (non-zero) terms of the expression.
+   *
+   * @return amount of terms
+   */
+  public int getSize() {
+    compact();
+    return size;
+  }
+
+  /**
+   * Gets the backing array of variable indices. Only the first {@link #getSize()} entries are
+   * meaningful.
+   *
+   * @return variable indices of the terms
+   */
+  public int[] getIndices() {
+    compact();
+    return indices;
+  }
+
+  /**
+   * Gets the backing array of coefficients. Only the first {@link #getSize()} entries are
+   * meaningful.
+   *
+   * @return coefficients of the terms
+   */
+  public double[] getCoefficients() {
+    compact();
+    return coefficients;
+  }
+
+  /**
+   * Gets the variable of the k-th term.
+   *
+   * @param k position of the term
+   * @return variable wrapper created by the model
+   */
+  public Variable getVariable(int k) {
+    return model.variables[indices[k]];
+  }
+
+  /**
+   * Adds a term given by the index of its variable, merging it with an existing term of the same
+   * variable. Zero coefficients (e.g., of cancelled terms of another expression) are skipped.
+   */
+  private void addIndexTerm(int index, double coefficient) {
+    if (coefficient == 0.0) {
+      return;
+    }
+    int position = find(index);
+    if (position >= 0) {
+      double previous = coefficients[position];
+      coefficients[position] += coefficient;
+      if (coefficients[position] == 0.0) {
+        zeros++;
+      } else if (previous == 0.0) {
+        zeros--;
+      }
+      return;
+    }
+
+    if (size == indices.length) {
+      indices = Arrays.copyOf(indices, size * 2);
+      coefficients = Arrays.copyOf(coefficients, size * 2);
+    }
+    indices[size] = index;
+    coefficients[size] = coefficient;
+    size++;
+
+    if (table != null && 2 * size <= table.length) {
+      insert(index, size - 1);
+    } else if (size > HASH_THRESHOLD) {
+      rehash();
+    }
+  }
+
+  /**
+   * Finds the position of the term of the given variable.
+   *
+   * @return position of the term, or -1 if there is none
+   */
+  private int find(int index) {
+    if (table == null) {
+      for (int k = 0; k < size; k++) {
+        if (indices[k] == index) {
+          return k;
+        }
+      }
+      return -1;
+    }
+
+    int mask = table.length - 1;
+    for (int slot = hash(index) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      if (indices[table[slot] - 1] == index) {
+        return table[slot] - 1;
+      }
+    }
+    return -1;
+  }
+
+  private void insert(int index, int position) {
+    int mask = table.length - 1;
+    int slot = hash(index) & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = position + 1;
+  }
+
+  /**
+   * Rebuilds the hash table with room for twice the current amount of terms.
+   */
+  private void rehash() {
+    if (size <= HASH_THRESHOLD) {
+      table = null;
+      return;
+    }
+    table = new int[Integer.highestOneBit(size) << 2];
+    for (int k = 0; k < size; k++) {
+      insert(indices[k], k);
+    }
+  }
+
+  private static int hash(int index) {
+    int h = index * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Drops the terms whose coefficient was merged to zero.
+   */
+  private void compact() {
+    if (zeros == 0) {
+      return;
+    }
+    int n = 0;
+    for (int k = 0; k < size; k++) {
+      if (coefficients[k] != 0.0) {
+        indices[n] = indices[k];
+        coefficients[n] = coefficients[k];
+        n++;
+      }
+    }
+    size = n;
+    zeros = 0;
+    rehash();
+  }
+
+}
@@ -25,6 +25,13 @@ package com.alexandredias3d.jumpl.api;
  */
 public interface Variable extends Wrappable {
 
+  /**
+   * Gets the position of the variable in the {@link ModelData} of the model that created it.
+   *
+   * @return variable index or -1 if the variable was not created by a model
+   */
+  int getIndex();
+
   /**
    * @return variable name
    * @see #setName(String)
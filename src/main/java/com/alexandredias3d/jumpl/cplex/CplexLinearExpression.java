@@ -21,6 +21,7 @@ import com.alexandredias3d.jumpl.api.BaseLinearExpression;
 import com.alexandredias3d.jumpl.api.Guardable;
 import com.alexandredias3d.jumpl.api.LinearExpression;
 import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
 import com.alexandredias3d.jumpl.api.Variable;
 import ilog.concert.IloLinearNumExpr;
 
@@ -44,10 +45,21 @@ public class CplexLinearExpression extends BaseLinearExpression<IloLinearNumExpr
 
   @Override
   public void add(LinearExpression expression) {
+    if (expression instanceof SparseLinearExpression) {
+      var sparse = (SparseLinearExpression) expression;
+      double[] coefficients = sparse.getCoefficients();
+      for (int k = 0; k < sparse.getSize(); k++) {
+        addTerm(coefficients[k], sparse.getVariable(k));
+      }
+      addConstant(sparse.getConstant());
+      return;
+    }
+
     guard(() -> {
       this.expression.add(expression.getWrappee());
       return null;
     });
+    mirrorExpression(expression);
   }
 
   @Override
@@ -64,6 +76,7 @@ public class CplexLinearExpression extends BaseLinearExpression<IloLinearNumExpr
       expression.addTerm(coefficient, variable.getWrappee());
       return null;
     });
+    mirrorTerm(coefficient, variable);
   }
 
   @Override
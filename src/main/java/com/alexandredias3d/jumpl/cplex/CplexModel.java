@@ -20,10 +20,18 @@ package com.alexandredias3d.jumpl.cplex;
 import com.alexandredias3d.jumpl.api.BaseModel;
 import com.alexandredias3d.jumpl.api.DoubleParameter;
 import com.alexandredias3d.jumpl.api.Guardable;
+import com.alexandredias3d.jumpl.api.IntParameter;
 import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
 import com.alexandredias3d.jumpl.api.Variable;
 import ilog.concert.IloException;
+import ilog.concert.IloLPMatrix;
+import ilog.concert.IloLinearNumExpr;
+import ilog.concert.IloNumVar;
 import ilog.cplex.IloCplex;
+import ilog.cplex.IloCplex.ParallelMode;
 import ilog.cplex.IloCplex.Param;
 import ilog.cplex.IloCplex.Param.MIP.Tolerances;
 import java.io.FileNotFoundException;
@@ -38,6 +46,31 @@ import java.util.Arrays;
  */
 public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
+  /**
+   * Matrix that receives the constraints added in bulk, created on first use.
+   */
+  private IloLPMatrix matrix;
+
+  /**
+   * Maps the index of a variable to its column in the matrix (or -1 if not a column yet).
+   */
+  private int[] matrixColumns = new int[0];
+
+  /**
+   * Scratch array used to gather the IloNumVar of the variables queried in bulk.
+   */
+  private IloNumVar[] gathered = new IloNumVar[0];
+
+  /**
+   * Scratch array used to gather the IloNumVar of the terms of a converted expression.
+   */
+  private IloNumVar[] terms = new IloNumVar[0];
+
+  /**
+   * Aborter used by the model, so the optimization can be terminated from another thread.
+   */
+  private final IloCplex.Aborter aborter = new IloCplex.Aborter();
+
   public CplexModel() {
     this("", "jumpl-cplex.log", "jumpl-cplex.lp", true);
   }
@@ -57,6 +90,7 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
   public CplexModel(String inputFile, String logFile, String outputFile, boolean logToConsole) {
     try {
       model = this.guard(IloCplex::new);
+      model.use(aborter);
       if (!logToConsole) {
         model.setOut(null);
       }
@@ -73,17 +107,21 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
   @Override
   public void setObjectiveFunctionMinimize(LinearExpression expr) {
-    guard(() -> this.model.addMinimize(((CplexLinearExpression) expr).getWrappee()));
+    guard(() -> this.model.addMinimize(toNative(expr)));
+    recordObjective(ModelData.MINIMIZE, expr);
   }
 
   @Override
   public void setObjectiveFunctionMaximize(LinearExpression expr) {
-    guard(() -> this.model.addMaximize(((CplexLinearExpression) expr).getWrappee()));
+    guard(() -> this.model.addMaximize(toNative(expr)));
+    recordObjective(ModelData.MAXIMIZE, expr);
   }
 
   @Override
   public Variable addRealVariable(double lowerBound, double upperBound, String name) {
-    return new CplexVariable(guard(() -> this.model.numVar(lowerBound, upperBound, name)));
+    return recordVariable(
+        new CplexVariable(guard(() -> this.model.numVar(lowerBound, upperBound, name))),
+        lowerBound, upperBound, ModelData.CONTINUOUS, name);
   }
 
   @Override
@@ -93,8 +131,9 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
   @Override
   public Variable addIntegerVariable(double lowerBound, double upperBound, String name) {
-    return new CplexVariable(
-        guard(() -> this.model.intVar((int) lowerBound, (int) upperBound, name)));
+    return recordVariable(new CplexVariable(
+        guard(() -> this.model.intVar((int) lowerBound, (int) upperBound, name))),
+        lowerBound, upperBound, ModelData.INTEGER, name);
   }
 
   @Override
@@ -104,7 +143,8 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
   @Override
   public Variable addBinaryVariable(String name) {
-    return new CplexVariable(guard(() -> this.model.boolVar(name)));
+    return recordVariable(new CplexVariable(guard(() -> this.model.boolVar(name))), 0.0, 1.0,
+        ModelData.BINARY, name);
   }
 
   @Override
@@ -112,44 +152,124 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
     return addBinaryVariable(this.getVariableName());
   }
 
+  /**
+   * Wraps and records variables created by one of the IloCplex array methods.
+   */
+  private Variable[] recordVariables(IloNumVar[] vars, double[] lowerBounds,
+      double[] upperBounds, char type, String[] names) {
+    var wrappers = new CplexVariable[vars.length];
+    for (int j = 0; j < vars.length; j++) {
+      wrappers[j] = new CplexVariable(vars[j]);
+    }
+    return recordVariables(wrappers, lowerBounds, upperBounds, type, names);
+  }
+
+  @Override
+  public Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    IloNumVar[] vars = guard(() -> (names == null)
+        ? this.model.numVarArray(n, lowerBounds, upperBounds)
+        : this.model.numVarArray(n, lowerBounds, upperBounds, names));
+    return recordVariables(vars, lowerBounds, upperBounds, ModelData.CONTINUOUS, names);
+  }
+
+  @Override
+  public Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addRealVariables(n, lowerBounds, upperBounds, this.getVariableNames(n));
+  }
+
+  @Override
+  public Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    var min = new int[n];
+    var max = new int[n];
+    for (int j = 0; j < n; j++) {
+      min[j] = (int) lowerBounds[j];
+      max[j] = (int) upperBounds[j];
+    }
+    IloNumVar[] vars = guard(() -> (names == null) ? this.model.intVarArray(n, min, max)
+        : this.model.intVarArray(n, min, max, names));
+    return recordVariables(vars, lowerBounds, upperBounds, ModelData.INTEGER, names);
+  }
+
+  @Override
+  public Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addIntegerVariables(n, lowerBounds, upperBounds, this.getVariableNames(n));
+  }
+
+  @Override
+  public Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    IloNumVar[] vars = guard(() -> {
+      IloNumVar[] v = (names == null) ? this.model.boolVarArray(n)
+          : this.model.boolVarArray(n, names);
+      for (int j = 0; lowerBounds != null && j < n; j++) {
+        if (lowerBounds[j] != 0.0) {
+          v[j].setLB(lowerBounds[j]);
+        }
+      }
+      for (int j = 0; upperBounds != null && j < n; j++) {
+        if (upperBounds[j] != 1.0) {
+          v[j].setUB(upperBounds[j]);
+        }
+      }
+      return v;
+    });
+    return recordVariables(vars, binaryBounds(n, lowerBounds, 0.0),
+        binaryBounds(n, upperBounds, 1.0), ModelData.BINARY, names);
+  }
+
+  @Override
+  public Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addBinaryVariables(n, lowerBounds, upperBounds, this.getVariableNames(n));
+  }
+
   @Override
   public void addEqualConstraint(double value, LinearExpression expr, String name) {
-    guard(() -> this.model.addEq(value, expr.getWrappee(), name));
+    guard(() -> this.model.addEq(value, toNative(expr), name));
+    recordConstraint(value, ModelData.EQUAL, expr, name);
   }
 
   @Override
   public void addEqualConstraint(LinearExpression expr, double value, String name) {
-    guard(() -> this.model.addEq(expr.getWrappee(), value, name));
+    guard(() -> this.model.addEq(toNative(expr), value, name));
+    recordConstraint(expr, ModelData.EQUAL, value, name);
   }
 
   @Override
   public void addEqualConstraint(LinearExpression expr, Variable var, String name) {
-    guard(() -> this.model.addEq(expr.getWrappee(), var.getWrappee(), name));
+    guard(() -> this.model.addEq(toNative(expr), var.getWrappee(), name));
+    recordConstraint(expr, ModelData.EQUAL, var, name);
   }
 
   @Override
   public void addEqualConstraint(Variable var, LinearExpression expr, String name) {
-    guard(() -> this.model.addEq(var.getWrappee(), expr.getWrappee(), name));
+    guard(() -> this.model.addEq(var.getWrappee(), toNative(expr), name));
+    recordConstraint(var, ModelData.EQUAL, expr, name);
   }
 
   @Override
   public void addEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
-    guard(() -> this.model.addEq(expr1.getWrappee(), expr2.getWrappee(), name));
+    guard(() -> this.model.addEq(toNative(expr1), toNative(expr2), name));
+    recordConstraint(expr1, ModelData.EQUAL, expr2, name);
   }
 
   @Override
   public void addEqualConstraint(double value, Variable var, String name) {
     guard(() -> this.model.addEq(value, var.getWrappee(), name));
+    recordConstraint(value, ModelData.EQUAL, var, name);
   }
 
   @Override
   public void addEqualConstraint(Variable var, double value, String name) {
     guard(() -> this.model.addEq(var.getWrappee(), value, name));
+    recordConstraint(var, ModelData.EQUAL, value, name);
   }
 
   @Override
   public void addEqualConstraint(Variable var1, Variable var2, String name) {
     guard(() -> this.model.addEq(var1.getWrappee(), var2.getWrappee(), name));
+    recordConstraint(var1, ModelData.EQUAL, var2, name);
   }
 
   @Override
@@ -194,43 +314,51 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
   @Override
   public void addGreaterEqualConstraint(double value, LinearExpression expr, String name) {
-    guard(() -> this.model.addGe(value, expr.getWrappee(), name));
+    guard(() -> this.model.addGe(value, toNative(expr), name));
+    recordConstraint(value, ModelData.GREATER_EQUAL, expr, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(LinearExpression expr, double value, String name) {
-    guard(() -> this.model.addGe(expr.getWrappee(), value, name));
+    guard(() -> this.model.addGe(toNative(expr), value, name));
+    recordConstraint(expr, ModelData.GREATER_EQUAL, value, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(LinearExpression expr, Variable var, String name) {
-    guard(() -> this.model.addGe(expr.getWrappee(), var.getWrappee(), name));
+    guard(() -> this.model.addGe(toNative(expr), var.getWrappee(), name));
+    recordConstraint(expr, ModelData.GREATER_EQUAL, var, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(Variable var, LinearExpression expr, String name) {
-    guard(() -> this.model.addGe(var.getWrappee(), expr.getWrappee(), name));
+    guard(() -> this.model.addGe(var.getWrappee(), toNative(expr), name));
+    recordConstraint(var, ModelData.GREATER_EQUAL, expr, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(LinearExpression expr1, LinearExpression expr2,
       String name) {
-    guard(() -> this.model.addGe(expr1.getWrappee(), expr2.getWrappee(), name));
+    guard(() -> this.model.addGe(toNative(expr1), toNative(expr2), name));
+    recordConstraint(expr1, ModelData.GREATER_EQUAL, expr2, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(double value, Variable var, String name) {
     guard(() -> this.model.addGe(value, var.getWrappee(), name));
+    recordConstraint(value, ModelData.GREATER_EQUAL, var, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(Variable var, double value, String name) {
     guard(() -> this.model.addGe(var.getWrappee(), value, name));
+    recordConstraint(var, ModelData.GREATER_EQUAL, value, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(Variable var1, Variable var2, String name) {
     guard(() -> this.model.addGe(var1.getWrappee(), var2.getWrappee(), name));
+    recordConstraint(var1, ModelData.GREATER_EQUAL, var2, name);
   }
 
   @Override
@@ -275,43 +403,50 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
   @Override
   public void addLessEqualConstraint(double value, LinearExpression expr, String name) {
-    guard(() -> this.model.addLe(value, expr.getWrappee(), name));
+    guard(() -> this.model.addLe(value, toNative(expr), name));
+    recordConstraint(value, ModelData.LESS_EQUAL, expr, name);
   }
 
   @Override
   public void addLessEqualConstraint(LinearExpression expr, double value, String name) {
-    guard(() -> this.model.addLe(expr.getWrappee(), value, name));
-
+    guard(() -> this.model.addLe(toNative(expr), value, name));
+    recordConstraint(expr, ModelData.LESS_EQUAL, value, name);
   }
 
   @Override
   public void addLessEqualConstraint(LinearExpression expr, Variable var, String name) {
-    guard(() -> this.model.addLe(expr.getWrappee(), var.getWrappee(), name));
+    guard(() -> this.model.addLe(toNative(expr), var.getWrappee(), name));
+    recordConstraint(expr, ModelData.LESS_EQUAL, var, name);
   }
 
   @Override
   public void addLessEqualConstraint(Variable var, LinearExpression expr, String name) {
-    guard(() -> this.model.addLe(var.getWrappee(), expr.getWrappee(), name));
+    guard(() -> this.model.addLe(var.getWrappee(), toNative(expr), name));
+    recordConstraint(var, ModelData.LESS_EQUAL, expr, name);
   }
 
   @Override
   public void addLessEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
-    guard(() -> this.model.addLe(expr1.getWrappee(), expr2.getWrappee(), name));
+    guard(() -> this.model.addLe(toNative(expr1), toNative(expr2), name));
+    recordConstraint(expr1, ModelData.LESS_EQUAL, expr2, name);
   }
 
   @Override
   public void addLessEqualConstraint(double value, Variable var, String name) {
     guard(() -> this.model.addLe(value, var.getWrappee(), name));
+    recordConstraint(value, ModelData.LESS_EQUAL, var, name);
   }
 
   @Override
   public void addLessEqualConstraint(Variable var, double value, String name) {
     guard(() -> this.model.addLe(var.getWrappee(), value, name));
+    recordConstraint(var, ModelData.LESS_EQUAL, value, name);
   }
 
   @Override
   public void addLessEqualConstraint(Variable var1, Variable var2, String name) {
     guard(() -> this.model.addLe(var1.getWrappee(), var2.getWrappee(), name));
+    recordConstraint(var1, ModelData.LESS_EQUAL, var2, name);
   }
 
   @Override
@@ -354,26 +489,167 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
     addLessEqualConstraint(var1, var2, this.getConstraintName());
   }
 
+  /**
+   * Adds to the matrix, in a single call, the referenced variables that are not columns yet.
+   */
+  private void addMatrixColumns(int[] colIndex, int start, int end) throws IloException {
+    int numberOfVariables = getModelData().getNumberOfVariables();
+    if (matrixColumns.length < numberOfVariables) {
+      int length = matrixColumns.length;
+      matrixColumns = Arrays.copyOf(matrixColumns, numberOfVariables);
+      Arrays.fill(matrixColumns, length, numberOfVariables, -1);
+    }
+
+    var newColumns = new IloNumVar[end - start];
+    int count = 0;
+    int column = matrix.getNcols();
+    for (int k = start; k < end; k++) {
+      int j = colIndex[k];
+      if (matrixColumns[j] < 0) {
+        matrixColumns[j] = column++;
+        newColumns[count++] = ((CplexVariable) variables[j]).getWrappee();
+      }
+    }
+    if (count > 0) {
+      matrix.addCols(Arrays.copyOf(newColumns, count));
+    }
+  }
+
+  @Override
+  public void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs, String[] names) {
+    int numberOfRows = sense.length;
+    var lowerBounds = new double[numberOfRows];
+    var upperBounds = new double[numberOfRows];
+    var indices = new int[numberOfRows][];
+    var coefficients = new double[numberOfRows][];
+    for (int i = 0; i < numberOfRows; i++) {
+      switch (sense[i]) {
+        case ModelData.LESS_EQUAL:
+          lowerBounds[i] = Double.NEGATIVE_INFINITY;
+          upperBounds[i] = rhs[i];
+          break;
+
+        case ModelData.GREATER_EQUAL:
+          lowerBounds[i] = rhs[i];
+          upperBounds[i] = Double.POSITIVE_INFINITY;
+          break;
+
+        case ModelData.EQUAL:
+          lowerBounds[i] = rhs[i];
+          upperBounds[i] = rhs[i];
+          break;
+
+        default:
+          throw new IllegalArgumentException(
+              getClass().getName() + ": unknown constraint sense " + sense[i] + ".");
+      }
+      coefficients[i] = Arrays.copyOfRange(values, rowStart[i], rowStart[i + 1]);
+    }
+
+    guard(() -> {
+      if (matrix == null) {
+        matrix = this.model.addLPMatrix();
+      }
+      addMatrixColumns(colIndex, rowStart[0], rowStart[numberOfRows]);
+      for (int i = 0; i < numberOfRows; i++) {
+        indices[i] = new int[rowStart[i + 1] - rowStart[i]];
+        for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+          indices[i][k - rowStart[i]] = matrixColumns[colIndex[k]];
+        }
+      }
+
+      int first = matrix.addRows(lowerBounds, upperBounds, indices, coefficients);
+      for (int i = 0; names != null && i < numberOfRows; i++) {
+        matrix.getRange(first + i).setName(names[i]);
+      }
+      return first;
+    });
+    recordConstraints(rowStart, colIndex, values, sense, rhs, names);
+  }
+
+  @Override
+  public void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs) {
+    addConstraints(rowStart, colIndex, values, sense, rhs, this.getConstraintNames(sense.length));
+  }
+
+  /**
+   * Gets the IloLinearNumExpr of an expression. A {@link SparseLinearExpression} is converted with
+   * a single addTerms call over the gathered IloNumVar of its terms.
+   *
+   * @param expr linear expression created by this model
+   * @return native linear expression
+   */
+  private IloLinearNumExpr toNative(LinearExpression expr) throws IloException {
+    if (!(expr instanceof SparseLinearExpression)) {
+      return ((CplexLinearExpression) expr).getWrappee();
+    }
+
+    var sparse = (SparseLinearExpression) expr;
+    int size = sparse.getSize();
+    int[] indices = sparse.getIndices();
+    if (terms.length < size) {
+      terms = new IloNumVar[Math.max(size, 2 * terms.length)];
+    }
+    for (int k = 0; k < size; k++) {
+      terms[k] = ((CplexVariable) variables[indices[k]]).getWrappee();
+    }
+
+    IloLinearNumExpr converted = this.model.linearNumExpr(sparse.getConstant());
+    converted.addTerms(sparse.getCoefficients(), terms, 0, size);
+    return converted;
+  }
+
   @Override
   public LinearExpression createEmptyLinearExpression() {
-    return guard(() -> new CplexLinearExpression(this.model.linearNumExpr()));
+    return new SparseLinearExpression(this);
   }
 
   @Override
   public void solve() {
+    if (!beforeSolve()) {
+      return;
+    }
     guard(() -> {
-      model.exportModel("jumpl-cplex.lp");
       var startTime = System.currentTimeMillis();
-      model.solve();
+      boolean found;
+      try {
+        found = model.solve();
+      } catch (IloException e) {
+        afterSolve(true);
+        throw e;
+      } finally {
+        aborter.clear();
+      }
       solvingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+      afterSolve(!found);
+      return null;
+    });
+  }
+
+  @Override
+  protected void terminateSolver() {
+    aborter.abort();
+  }
+
+  @Override
+  protected void writeModel(String file) {
+    if (isDataFormat(file)) {
+      super.writeModel(file);
+      return;
+    }
+    guard(() -> {
+      model.exportModel(file);
       return null;
     });
   }
 
   @Override
   public boolean dispose() {
+    boolean exported = finishExport();
     model.end();
-    return true;
+    return exported;
   }
 
   @Override
@@ -391,6 +667,33 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
         case TIME_LIMIT:
           model.setParam(Param.TimeLimit, value);
           break;
+
+        case NODE_FILE_START:
+          // Nodes past the working memory go to a compressed node file on disk.
+          model.setParam(Param.WorkMem, value * 1024.0);
+          model.setParam(Param.MIP.Strategy.File, 3);
+          break;
+      }
+      return null;
+    });
+  }
+
+  @Override
+  public void setParameter(IntParameter parameter, int value) {
+    guard(() -> {
+      switch (parameter) {
+        case THREADS:
+          model.setParam(Param.Threads, value);
+          break;
+
+        case RANDOM_SEED:
+          model.setParam(Param.RandomSeed, value);
+          break;
+
+        case DETERMINISTIC:
+          model.setParam(Param.Parallel,
+              (value != 0) ? ParallelMode.Deterministic : ParallelMode.Opportunistic);
+          break;
       }
       return null;
     });
@@ -401,6 +704,14 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
     return guard(() -> model.getObjValue());
   }
 
+  @Override
+  public double getObjectiveBound() {
+    if (data.getNumberOfIntegerVariables() == 0) {
+      return getObjectiveFunctionValue();
+    }
+    return guard(() -> model.getBestObjValue());
+  }
+
   @Override
   public double getVariableValue(Variable variable) {
     return guard(() -> model.getValue(((CplexVariable) variable).getWrappee()));
@@ -408,7 +719,55 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
 
   @Override
   public double[] getVariablesValues(Variable[] variables) {
-    return Arrays.stream(variables).mapToDouble(this::getVariableValue).toArray();
+    return guard(() -> model.getValues(gather(variables)));
+  }
+
+  /**
+   * Copies the values read by a single query of the solver, which allocates the array of native
+   * variables and the one of values.
+   */
+  @Override
+  public double[] getVariablesValues(Variable[] variables, double[] values) {
+    double[] x = guard(() -> model.getValues(gather(variables)));
+    System.arraycopy(x, 0, values, 0, variables.length);
+    return values;
+  }
+
+  /**
+   * Replaces the MIP starts of the model by one with the variables that have a value.
+   */
+  @Override
+  public void setMIPStart(double[] values) {
+    int n = data.getNumberOfVariables();
+    var vars = new IloNumVar[n];
+    var start = new double[n];
+    int size = 0;
+    for (int j = 0; j < n; j++) {
+      if (!Double.isNaN(values[j])) {
+        vars[size] = ((CplexVariable) variables[j]).getWrappee();
+        start[size++] = values[j];
+      }
+    }
+    IloNumVar[] startVars = Arrays.copyOf(vars, size);
+    double[] startValues = Arrays.copyOf(start, size);
+    guard(() -> {
+      model.deleteMIPStarts(0, model.getNMIPStarts());
+      return model.addMIPStart(startVars, startValues);
+    });
+  }
+
+  /**
+   * Gathers the IloNumVar of the given variables in the scratch array, which is reused while the
+   * number of queried variables does not change.
+   */
+  private IloNumVar[] gather(Variable[] variables) {
+    if (gathered.length != variables.length) {
+      gathered = new IloNumVar[variables.length];
+    }
+    for (int j = 0; j < variables.length; j++) {
+      gathered[j] = ((CplexVariable) variables[j]).getWrappee();
+    }
+    return gathered;
   }
 
   @Override
@@ -430,4 +789,21 @@ public class CplexModel extends BaseModel<IloCplex> implements Guardable {
     return status;
   }
 
+  @Override
+  public SolveStatus getSolveStatus() {
+    IloCplex.Status status = guard(() -> model.getStatus());
+    if (status == IloCplex.Status.Optimal) {
+      return SolveStatus.OPTIMAL;
+    } else if (status == IloCplex.Status.Feasible) {
+      return SolveStatus.FEASIBLE;
+    } else if (status == IloCplex.Status.Infeasible) {
+      return SolveStatus.INFEASIBLE;
+    } else if (status == IloCplex.Status.Unbounded) {
+      return SolveStatus.UNBOUNDED;
+    } else if (status == IloCplex.Status.InfeasibleOrUnbounded) {
+      return SolveStatus.INFEASIBLE_OR_UNBOUNDED;
+    }
+    return SolveStatus.NO_SOLUTION;
+  }
+
 }
\ No newline at end of file
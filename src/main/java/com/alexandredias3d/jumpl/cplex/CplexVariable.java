@@ -40,12 +40,14 @@ public class CplexVariable extends BaseVariable<IloNumVar> implements Guardable
 
   @Override
   public String getName() {
-    return variable.getName();
+    String name = recordedName();
+    return (name != null) ? name : variable.getName();
   }
 
   @Override
   public void setName(String name) {
     variable.setName(name);
+    recordName(name);
   }
 
   @Override
@@ -59,6 +61,7 @@ public class CplexVariable extends BaseVariable<IloNumVar> implements Guardable
       variable.setLB(lowerBound);
       return null;
     });
+    recordLowerBound(lowerBound);
   }
 
   @Override
@@ -72,6 +75,7 @@ public class CplexVariable extends BaseVariable<IloNumVar> implements Guardable
       variable.setUB(upperBound);
       return null;
     });
+    recordUpperBound(upperBound);
   }
 
 }
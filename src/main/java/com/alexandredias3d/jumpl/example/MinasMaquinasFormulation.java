@@ -20,8 +20,10 @@ package com.alexandredias3d.jumpl.example;
 import com.alexandredias3d.jumpl.api.BaseFormulation;
 import com.alexandredias3d.jumpl.api.LinearExpression;
 import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.ModelData;
 import com.alexandredias3d.jumpl.api.ModelFactory;
 import com.alexandredias3d.jumpl.api.Variable;
+import java.util.Arrays;
 
 /**
  * Minas Máquinas problem formulation agnostic of the underlying solver. In this
@@ -57,32 +59,55 @@ public class MinasMaquinasFormulation extends BaseFormulation {
     produced = new Variable[input.numberOfItems][this.input.numberOfPeriods];
     stored = new Variable[input.numberOfItems][this.input.numberOfPeriods];
 
+    int n = 2 * input.numberOfItems * input.numberOfPeriods;
+    double[] lowerBounds = new double[n];
+    double[] upperBounds = new double[n];
+    Arrays.fill(upperBounds, Double.POSITIVE_INFINITY);
+    Variable[] variables = model.addRealVariables(n, lowerBounds, upperBounds);
+
+    int k = 0;
     for (int i = 0; i < input.numberOfItems; i++) {
       for (int j = 0; j < input.numberOfPeriods; j++) {
-        produced[i][j] = model.addRealVariable(0, Double.POSITIVE_INFINITY);
-        stored[i][j] = model.addRealVariable(0, Double.POSITIVE_INFINITY);
+        produced[i][j] = variables[k++];
+        stored[i][j] = variables[k++];
       }
     }
   }
 
   private void putStockBalanceConstraints() {
+    int numberOfRows = input.numberOfItems * input.numberOfPeriods;
+    int[] rowStart = new int[numberOfRows + 1];
+    int[] colIndex = new int[3 * numberOfRows];
+    double[] values = new double[3 * numberOfRows];
+    char[] sense = new char[numberOfRows];
+    double[] rhs = new double[numberOfRows];
+    Arrays.fill(sense, ModelData.EQUAL);
+
+    int row = 0;
+    int k = 0;
     for (int i = 0; i < input.numberOfItems; i++) {
-      LinearExpression expr = model.createEmptyLinearExpression();
-      expr.addTerm(1, produced[i][0]);
-      expr.addTerm(-1, stored[i][0]);
-      model.addEqualConstraint(expr, input.itemDemandPerPeriod[i][0]);
+      colIndex[k] = produced[i][0].getIndex();
+      values[k++] = 1;
+      colIndex[k] = stored[i][0].getIndex();
+      values[k++] = -1;
+      rhs[row] = input.itemDemandPerPeriod[i][0];
+      rowStart[++row] = k;
     }
 
     for (int i = 0; i < input.numberOfItems; i++) {
       for (int j = 1; j < input.numberOfPeriods; j++) {
-        LinearExpression expr = model.createEmptyLinearExpression();
-        expr.addTerm(1, stored[i][j - 1]);
-        expr.addTerm(1, produced[i][j]);
-        expr.addTerm(-1, stored[i][j]);
-        model.addEqualConstraint(expr, input.itemDemandPerPeriod[i][j]);
+        colIndex[k] = stored[i][j - 1].getIndex();
+        values[k++] = 1;
+        colIndex[k] = produced[i][j].getIndex();
+        values[k++] = 1;
+        colIndex[k] = stored[i][j].getIndex();
+        values[k++] = -1;
+        rhs[row] = input.itemDemandPerPeriod[i][j];
+        rowStart[++row] = k;
       }
     }
 
+    model.addConstraints(rowStart, colIndex, values, sense, rhs);
   }
 
   private void putResourceCapacityConstraints() {
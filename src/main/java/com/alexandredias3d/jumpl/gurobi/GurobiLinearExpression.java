@@ -20,6 +20,7 @@ import com.alexandredias3d.jumpl.api.BaseLinearExpression;
 import com.alexandredias3d.jumpl.api.Guardable;
 import com.alexandredias3d.jumpl.api.LinearExpression;
 import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
 import com.alexandredias3d.jumpl.api.Variable;
 import gurobi.GRBLinExpr;
 
@@ -41,10 +42,21 @@ public class GurobiLinearExpression extends BaseLinearExpression<GRBLinExpr> imp
 
   @Override
   public void add(LinearExpression expression) {
+    if (expression instanceof SparseLinearExpression) {
+      var sparse = (SparseLinearExpression) expression;
+      double[] coefficients = sparse.getCoefficients();
+      for (int k = 0; k < sparse.getSize(); k++) {
+        addTerm(coefficients[k], sparse.getVariable(k));
+      }
+      addConstant(sparse.getConstant());
+      return;
+    }
+
     guard(() -> {
       this.expression.add(expression.getWrappee());
       return null;
     });
+    mirrorExpression(expression);
   }
 
   @Override
@@ -55,6 +67,7 @@ public class GurobiLinearExpression extends BaseLinearExpression<GRBLinExpr> imp
   @Override
   public void addTerm(double coefficient, Variable variable) {
     expression.addTerm(coefficient, variable.getWrappee());
+    mirrorTerm(coefficient, variable);
   }
 
   @Override
@@ -19,7 +19,11 @@ package com.alexandredias3d.jumpl.gurobi;
 import com.alexandredias3d.jumpl.api.BaseModel;
 import com.alexandredias3d.jumpl.api.DoubleParameter;
 import com.alexandredias3d.jumpl.api.Guardable;
+import com.alexandredias3d.jumpl.api.IntParameter;
 import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
 import com.alexandredias3d.jumpl.api.Variable;
 import gurobi.GRB;
 import gurobi.GRB.DoubleAttr;
@@ -31,6 +35,8 @@ import gurobi.GRBEnv;
 import gurobi.GRBException;
 import gurobi.GRBLinExpr;
 import gurobi.GRBModel;
+import gurobi.GRBVar;
+import java.util.Arrays;
 
 /**
  * Concrete implementation of a wrapper for the Gurobi Model, called GRBModel.
@@ -41,6 +47,16 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
 
   private final GRBEnv env;
 
+  /**
+   * Scratch array used to gather the GRBVar of the variables queried in bulk.
+   */
+  private GRBVar[] gathered = new GRBVar[0];
+
+  /**
+   * Scratch array used to gather the GRBVar of the terms of a converted expression.
+   */
+  private GRBVar[] terms = new GRBVar[0];
+
   public GurobiModel() {
     this("", "jumpl-gurobi.log", "jumpl-gurobi.lp", true);
   }
@@ -73,23 +89,26 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
   @Override
   public void setObjectiveFunctionMinimize(LinearExpression expr) {
     guard(() -> {
-      model.setObjective(((GurobiLinearExpression) expr).getWrappee(), GRB.MINIMIZE);
+      model.setObjective(toNative(expr), GRB.MINIMIZE);
       return null;
     });
+    recordObjective(ModelData.MINIMIZE, expr);
   }
 
   @Override
   public void setObjectiveFunctionMaximize(LinearExpression expr) {
     guard(() -> {
-      model.setObjective(((GurobiLinearExpression) expr).getWrappee(), GRB.MAXIMIZE);
+      model.setObjective(toNative(expr), GRB.MAXIMIZE);
       return null;
     });
+    recordObjective(ModelData.MAXIMIZE, expr);
   }
 
   @Override
   public Variable addRealVariable(double lowerBound, double upperBound, String name) {
-    return new GurobiVariable(
-        guard(() -> model.addVar(lowerBound, upperBound, 0.0, GRB.CONTINUOUS, name)));
+    return recordVariable(new GurobiVariable(
+        guard(() -> model.addVar(lowerBound, upperBound, 0.0, GRB.CONTINUOUS, name))),
+        lowerBound, upperBound, ModelData.CONTINUOUS, name);
   }
 
   @Override
@@ -99,8 +118,9 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
 
   @Override
   public Variable addIntegerVariable(double lowerBound, double upperBound, String name) {
-    return new GurobiVariable(
-        guard(() -> model.addVar(lowerBound, upperBound, 0.0, GRB.INTEGER, name)));
+    return recordVariable(new GurobiVariable(
+        guard(() -> model.addVar(lowerBound, upperBound, 0.0, GRB.INTEGER, name))),
+        lowerBound, upperBound, ModelData.INTEGER, name);
   }
 
   @Override
@@ -110,7 +130,9 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
 
   @Override
   public Variable addBinaryVariable(String name) {
-    return new GurobiVariable(guard(() -> model.addVar(0.0, 1.0, 0.0, GRB.BINARY, name)));
+    return recordVariable(
+        new GurobiVariable(guard(() -> model.addVar(0.0, 1.0, 0.0, GRB.BINARY, name))), 0.0, 1.0,
+        ModelData.BINARY, name);
   }
 
   @Override
@@ -118,52 +140,110 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
     return addBinaryVariable(getVariableName());
   }
 
+  /**
+   * Adds n variables of the given type with a single call to GRBModel.addVars.
+   */
+  private Variable[] addVariables(int n, double[] lowerBounds, double[] upperBounds, char type,
+      String[] names) {
+    var types = new char[n];
+    Arrays.fill(types, type);
+    GRBVar[] vars = guard(() -> model.addVars(lowerBounds, upperBounds, null, types, names));
+
+    var wrappers = new GurobiVariable[n];
+    for (int j = 0; j < n; j++) {
+      wrappers[j] = new GurobiVariable(vars[j]);
+    }
+    return recordVariables(wrappers, lowerBounds, upperBounds, type, names);
+  }
+
+  @Override
+  public Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    return addVariables(n, lowerBounds, upperBounds, GRB.CONTINUOUS, names);
+  }
+
+  @Override
+  public Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addRealVariables(n, lowerBounds, upperBounds, getVariableNames(n));
+  }
+
+  @Override
+  public Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    return addVariables(n, lowerBounds, upperBounds, GRB.INTEGER, names);
+  }
+
+  @Override
+  public Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addIntegerVariables(n, lowerBounds, upperBounds, getVariableNames(n));
+  }
+
+  @Override
+  public Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    return addVariables(n, binaryBounds(n, lowerBounds, 0.0), binaryBounds(n, upperBounds, 1.0),
+        GRB.BINARY, names);
+  }
+
+  @Override
+  public Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addBinaryVariables(n, lowerBounds, upperBounds, getVariableNames(n));
+  }
+
   @Override
   public void addEqualConstraint(double value, LinearExpression expr, String name) {
     guard(() -> model
-        .addConstr(value, GRB.EQUAL, ((GurobiLinearExpression) expr).getWrappee(), name));
+        .addConstr(value, GRB.EQUAL, toNative(expr), name));
+    recordConstraint(value, ModelData.EQUAL, expr, name);
   }
 
   @Override
   public void addEqualConstraint(LinearExpression expr, double value, String name) {
     guard(() -> model
-        .addConstr(((GurobiLinearExpression) expr).getWrappee(), GRB.EQUAL, value, name));
+        .addConstr(toNative(expr), GRB.EQUAL, value, name));
+    recordConstraint(expr, ModelData.EQUAL, value, name);
   }
 
   @Override
   public void addEqualConstraint(LinearExpression expr, Variable var, String name) {
-    guard(() -> model.addConstr(((GurobiLinearExpression) expr).getWrappee(), GRB.EQUAL,
+    guard(() -> model.addConstr(toNative(expr), GRB.EQUAL,
         ((GurobiVariable) var).getWrappee(), name));
+    recordConstraint(expr, ModelData.EQUAL, var, name);
   }
 
   @Override
   public void addEqualConstraint(Variable var, LinearExpression expr, String name) {
     guard(() -> model.addConstr(((GurobiVariable) var).getWrappee(), GRB.EQUAL,
-        ((GurobiLinearExpression) expr).getWrappee(), name));
+        toNative(expr), name));
+    recordConstraint(var, ModelData.EQUAL, expr, name);
   }
 
   @Override
   public void addEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
-    guard(() -> model.addConstr(((GurobiLinearExpression) expr1).getWrappee(), GRB.EQUAL,
-        ((GurobiLinearExpression) expr2).getWrappee(), name));
+    guard(() -> model.addConstr(toNative(expr1), GRB.EQUAL,
+        toNative(expr2), name));
+    recordConstraint(expr1, ModelData.EQUAL, expr2, name);
   }
 
   @Override
   public void addEqualConstraint(double value, Variable var, String name) {
     guard(
         () -> model.addConstr(value, GRB.EQUAL, ((GurobiVariable) var).getWrappee(), name));
+    recordConstraint(value, ModelData.EQUAL, var, name);
   }
 
   @Override
   public void addEqualConstraint(Variable var, double value, String name) {
     guard(
         () -> model.addConstr(((GurobiVariable) var).getWrappee(), GRB.EQUAL, value, name));
+    recordConstraint(var, ModelData.EQUAL, value, name);
   }
 
   @Override
   public void addEqualConstraint(Variable var1, Variable var2, String name) {
     guard(() -> model.addConstr(((GurobiVariable) var1).getWrappee(), GRB.EQUAL,
         ((GurobiVariable) var2).getWrappee(), name));
+    recordConstraint(var1, ModelData.EQUAL, var2, name);
   }
 
   @Override
@@ -209,47 +289,54 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
   @Override
   public void addGreaterEqualConstraint(double value, LinearExpression expr, String name) {
     guard(() -> model
-        .addConstr(value, GRB.GREATER_EQUAL, ((GurobiLinearExpression) expr).getWrappee(), name));
+        .addConstr(value, GRB.GREATER_EQUAL, toNative(expr), name));
+    recordConstraint(value, ModelData.GREATER_EQUAL, expr, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(LinearExpression expr, double value, String name) {
     guard(() -> model
-        .addConstr(((GurobiLinearExpression) expr).getWrappee(), GRB.GREATER_EQUAL, value, name));
+        .addConstr(toNative(expr), GRB.GREATER_EQUAL, value, name));
+    recordConstraint(expr, ModelData.GREATER_EQUAL, value, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(LinearExpression expr, Variable var, String name) {
     guard(
-        () -> model.addConstr(((GurobiLinearExpression) expr).getWrappee(), GRB.GREATER_EQUAL,
+        () -> model.addConstr(toNative(expr), GRB.GREATER_EQUAL,
             ((GurobiVariable) var).getWrappee(), name));
+    recordConstraint(expr, ModelData.GREATER_EQUAL, var, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(Variable var, LinearExpression expr, String name) {
     guard(
         () -> model.addConstr(((GurobiVariable) var).getWrappee(), GRB.GREATER_EQUAL,
-            ((GurobiLinearExpression) expr).getWrappee(), name));
+            toNative(expr), name));
+    recordConstraint(var, ModelData.GREATER_EQUAL, expr, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(LinearExpression expr1, LinearExpression expr2,
       String name) {
     guard(() -> model
-        .addConstr(((GurobiLinearExpression) expr1).getWrappee(), GRB.GREATER_EQUAL,
-            ((GurobiLinearExpression) expr2).getWrappee(), name));
+        .addConstr(toNative(expr1), GRB.GREATER_EQUAL,
+            toNative(expr2), name));
+    recordConstraint(expr1, ModelData.GREATER_EQUAL, expr2, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(double value, Variable var, String name) {
     guard(() -> model
         .addConstr(value, GRB.GREATER_EQUAL, ((GurobiVariable) var).getWrappee(), name));
+    recordConstraint(value, ModelData.GREATER_EQUAL, var, name);
   }
 
   @Override
   public void addGreaterEqualConstraint(Variable var, double value, String name) {
     guard(() -> model
         .addConstr(((GurobiVariable) var).getWrappee(), GRB.GREATER_EQUAL, value, name));
+    recordConstraint(var, ModelData.GREATER_EQUAL, value, name);
   }
 
   @Override
@@ -257,6 +344,7 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
     guard(
         () -> model.addConstr(((GurobiVariable) var1).getWrappee(), GRB.GREATER_EQUAL,
             ((GurobiVariable) var2).getWrappee(), name));
+    recordConstraint(var1, ModelData.GREATER_EQUAL, var2, name);
   }
 
   @Override
@@ -302,52 +390,60 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
   @Override
   public void addLessEqualConstraint(double value, LinearExpression expr, String name) {
     guard(() -> model
-        .addConstr(value, GRB.LESS_EQUAL, ((GurobiLinearExpression) expr).getWrappee(), name));
+        .addConstr(value, GRB.LESS_EQUAL, toNative(expr), name));
+    recordConstraint(value, ModelData.LESS_EQUAL, expr, name);
   }
 
   @Override
   public void addLessEqualConstraint(LinearExpression expr, double value, String name) {
     guard(() -> model
-        .addConstr(((GurobiLinearExpression) expr).getWrappee(), GRB.LESS_EQUAL, value, name));
+        .addConstr(toNative(expr), GRB.LESS_EQUAL, value, name));
+    recordConstraint(expr, ModelData.LESS_EQUAL, value, name);
   }
 
   @Override
   public void addLessEqualConstraint(LinearExpression expr, Variable var, String name) {
     guard(
-        () -> model.addConstr(((GurobiLinearExpression) expr).getWrappee(), GRB.LESS_EQUAL,
+        () -> model.addConstr(toNative(expr), GRB.LESS_EQUAL,
             ((GurobiVariable) var).getWrappee(), name));
+    recordConstraint(expr, ModelData.LESS_EQUAL, var, name);
   }
 
   @Override
   public void addLessEqualConstraint(Variable var, LinearExpression expr, String name) {
     guard(
         () -> model.addConstr(((GurobiVariable) var).getWrappee(), GRB.LESS_EQUAL,
-            ((GurobiLinearExpression) expr).getWrappee(), name));
+            toNative(expr), name));
+    recordConstraint(var, ModelData.LESS_EQUAL, expr, name);
   }
 
   @Override
   public void addLessEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
     guard(
-        () -> model.addConstr(((GurobiLinearExpression) expr1).getWrappee(), GRB.LESS_EQUAL,
-            ((GurobiLinearExpression) expr2).getWrappee(), name));
+        () -> model.addConstr(toNative(expr1), GRB.LESS_EQUAL,
+            toNative(expr2), name));
+    recordConstraint(expr1, ModelData.LESS_EQUAL, expr2, name);
   }
 
   @Override
   public void addLessEqualConstraint(double value, Variable var, String name) {
     guard(() -> model
         .addConstr(value, GRB.LESS_EQUAL, ((GurobiVariable) var).getWrappee(), name));
+    recordConstraint(value, ModelData.LESS_EQUAL, var, name);
   }
 
   @Override
   public void addLessEqualConstraint(Variable var, double value, String name) {
     guard(() -> model
         .addConstr(((GurobiVariable) var).getWrappee(), GRB.LESS_EQUAL, value, name));
+    recordConstraint(var, ModelData.LESS_EQUAL, value, name);
   }
 
   @Override
   public void addLessEqualConstraint(Variable var1, Variable var2, String name) {
     guard(() -> model.addConstr(((GurobiVariable) var1).getWrappee(), GRB.LESS_EQUAL,
         ((GurobiVariable) var2).getWrappee(), name));
+    recordConstraint(var1, ModelData.LESS_EQUAL, var2, name);
   }
 
   @Override
@@ -392,28 +488,108 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
     addLessEqualConstraint(var1, var2, getConstraintName());
   }
 
+  @Override
+  public void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs, String[] names) {
+    int numberOfRows = sense.length;
+    var vars = new GRBVar[rowStart[numberOfRows]];
+    for (int k = rowStart[0]; k < vars.length; k++) {
+      vars[k] = ((GurobiVariable) variables[colIndex[k]]).getWrappee();
+    }
+
+    guard(() -> {
+      var exprs = new GRBLinExpr[numberOfRows];
+      for (int i = 0; i < numberOfRows; i++) {
+        exprs[i] = new GRBLinExpr();
+        exprs[i].addTerms(values, vars, rowStart[i], rowStart[i + 1] - rowStart[i]);
+      }
+      return model.addConstrs(exprs, sense, rhs, names);
+    });
+    recordConstraints(rowStart, colIndex, values, sense, rhs, names);
+  }
+
+  @Override
+  public void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs) {
+    addConstraints(rowStart, colIndex, values, sense, rhs, getConstraintNames(sense.length));
+  }
+
+  /**
+   * Gets the GRBLinExpr of an expression. A {@link SparseLinearExpression} is converted with a
+   * single addTerms call over the gathered GRBVar of its terms.
+   *
+   * @param expr linear expression created by this model
+   * @return native linear expression
+   */
+  private GRBLinExpr toNative(LinearExpression expr) throws GRBException {
+    if (!(expr instanceof SparseLinearExpression)) {
+      return ((GurobiLinearExpression) expr).getWrappee();
+    }
+
+    var sparse = (SparseLinearExpression) expr;
+    int size = sparse.getSize();
+    int[] indices = sparse.getIndices();
+    if (terms.length < size) {
+      terms = new GRBVar[Math.max(size, 2 * terms.length)];
+    }
+    for (int k = 0; k < size; k++) {
+      terms[k] = ((GurobiVariable) variables[indices[k]]).getWrappee();
+    }
+
+    var converted = new GRBLinExpr();
+    converted.addTerms(sparse.getCoefficients(), terms, 0, size);
+    converted.addConstant(sparse.getConstant());
+    return converted;
+  }
+
   @Override
   public LinearExpression createEmptyLinearExpression() {
-    return new GurobiLinearExpression(new GRBLinExpr());
+    return new SparseLinearExpression(this);
   }
 
   @Override
   public void solve() {
+    if (!beforeSolve()) {
+      return;
+    }
     guard(() -> {
-      model.write(outputFile);
       var startTime = System.currentTimeMillis();
-      model.optimize();
+      try {
+        model.optimize();
+      } catch (GRBException e) {
+        afterSolve(true);
+        throw e;
+      }
       solvingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+      afterSolve(model.get(IntAttr.SolCount) == 0);
+      return null;
+    });
+  }
+
+  @Override
+  protected void terminateSolver() {
+    model.terminate();
+  }
+
+  @Override
+  protected void writeModel(String file) {
+    if (isDataFormat(file)) {
+      super.writeModel(file);
+      return;
+    }
+    guard(() -> {
+      model.write(file);
       return null;
     });
   }
 
   @Override
   public boolean dispose() {
+    boolean exported = finishExport();
     try {
       model.dispose();
       env.dispose();
-      return true;
+      return exported;
     } catch (GRBException e) {
       e.printStackTrace();
       System.err.println(getClass().getName() + ": error while disposing the model.");
@@ -436,6 +612,33 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
         case TIME_LIMIT:
           model.set(DoubleParam.TimeLimit, value);
           break;
+
+        case NODE_FILE_START:
+          model.set(DoubleParam.NodefileStart, value);
+          break;
+      }
+      return null;
+    });
+  }
+
+  /**
+   * {@inheritDoc} The parallel optimization of Gurobi is always deterministic, so {@link
+   * IntParameter#DETERMINISTIC} is ignored.
+   */
+  @Override
+  public void setParameter(IntParameter parameter, int value) {
+    guard(() -> {
+      switch (parameter) {
+        case THREADS:
+          model.set(IntParam.Threads, value);
+          break;
+
+        case RANDOM_SEED:
+          model.set(IntParam.Seed, value);
+          break;
+
+        default:
+          break;
       }
       return null;
     });
@@ -446,14 +649,92 @@ public class GurobiModel extends BaseModel<GRBModel> implements Guardable {
     return guard(() -> model.get(DoubleAttr.ObjVal));
   }
 
+  @Override
+  public double getObjectiveBound() {
+    if (data.getNumberOfIntegerVariables() == 0) {
+      return getObjectiveFunctionValue();
+    }
+    return guard(() -> model.get(DoubleAttr.ObjBound));
+  }
+
   @Override
   public double getVariableValue(Variable variable) {
     return guard(() -> ((GurobiVariable) variable).getWrappee().get(DoubleAttr.X));
   }
 
+  @Override
+  public double[] getVariablesValues(Variable[] variables) {
+    return guard(() -> model.get(DoubleAttr.X, gather(variables)));
+  }
+
+  /**
+   * Copies the values read by a single query of the X attribute, which allocates the array of
+   * native variables and the one of values.
+   */
+  @Override
+  public double[] getVariablesValues(Variable[] variables, double[] values) {
+    double[] x = guard(() -> model.get(DoubleAttr.X, gather(variables)));
+    System.arraycopy(x, 0, values, 0, variables.length);
+    return values;
+  }
+
+  /**
+   * Sets the Start attribute of all variables, with NaN values left undefined.
+   */
+  @Override
+  public void setMIPStart(double[] values) {
+    int n = data.getNumberOfVariables();
+    var start = new double[n];
+    for (int j = 0; j < n; j++) {
+      start[j] = Double.isNaN(values[j]) ? GRB.UNDEFINED : values[j];
+    }
+    GRBVar[] vars = gather(Arrays.copyOf(variables, n));
+    guard(() -> {
+      model.set(DoubleAttr.Start, vars, start);
+      return null;
+    });
+  }
+
+  /**
+   * Gathers the GRBVar of the given variables in the scratch array, which is reused while the
+   * number of queried variables does not change.
+   */
+  private GRBVar[] gather(Variable[] variables) {
+    if (gathered.length != variables.length) {
+      gathered = new GRBVar[variables.length];
+    }
+    for (int j = 0; j < variables.length; j++) {
+      gathered[j] = ((GurobiVariable) variables[j]).getWrappee();
+    }
+    return gathered;
+  }
+
   @Override
   public int getStatus() {
     return guard(() -> model.get(IntAttr.Status));
   }
 
+  @Override
+  public SolveStatus getSolveStatus() {
+    return guard(() -> {
+      switch (model.get(IntAttr.Status)) {
+        case GRB.Status.OPTIMAL:
+          return SolveStatus.OPTIMAL;
+
+        case GRB.Status.INFEASIBLE:
+          return SolveStatus.INFEASIBLE;
+
+        case GRB.Status.UNBOUNDED:
+          return SolveStatus.UNBOUNDED;
+
+        case GRB.Status.INF_OR_UNBD:
+          return SolveStatus.INFEASIBLE_OR_UNBOUNDED;
+
+        default:
+          return (model.get(IntAttr.SolCount) > 0) ? SolveStatus.FEASIBLE
+              : SolveStatus.NO_SOLUTION;
+      }
+    });
+  }
+
 }
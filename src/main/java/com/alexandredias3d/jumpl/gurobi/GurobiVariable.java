@@ -40,7 +40,8 @@ public class GurobiVariable extends BaseVariable<GRBVar> implements Guardable {
 
   @Override
   public String getName() {
-    return guard(() -> variable.get(GRB.StringAttr.VarName));
+    String name = recordedName();
+    return (name != null) ? name : guard(() -> variable.get(GRB.StringAttr.VarName));
   }
 
   @Override
@@ -49,6 +50,7 @@ public class GurobiVariable extends BaseVariable<GRBVar> implements Guardable {
       variable.set(GRB.StringAttr.VarName, name);
       return null;
     });
+    recordName(name);
   }
 
   @Override
@@ -62,6 +64,7 @@ public class GurobiVariable extends BaseVariable<GRBVar> implements Guardable {
       variable.set(GRB.DoubleAttr.LB, lowerBound);
       return null;
     });
+    recordLowerBound(lowerBound);
   }
 
   @Override
@@ -75,6 +78,7 @@ public class GurobiVariable extends BaseVariable<GRBVar> implements Guardable {
       variable.set(GRB.DoubleAttr.UB, upperBound);
       return null;
     });
+    recordUpperBound(upperBound);
   }
 
 }
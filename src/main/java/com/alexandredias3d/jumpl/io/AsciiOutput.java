@@ -0,0 +1,266 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.NamingStrategy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered ASCII output over a {@link WritableByteChannel}. Text is encoded straight into a direct
+ * byte buffer that is handed to the channel whenever it fills up, so the writers use a fixed amount
+ * of memory regardless of the size of the model.
+ *
+ * <p>Integral numbers and default names are written digit by digit, without creating strings.
+ * Names with non-ASCII characters are written in UTF-8; a character is never split across two
+ * writes to the channel.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class AsciiOutput implements Closeable {
+
+  /**
+   * Size of the buffer handed to the channel on each write.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Largest magnitude of a number written as an integer.
+   */
+  private static final double MAX_INTEGRAL = 1e15;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private final byte[] digits = new byte[20];
+
+  private AsciiOutput(WritableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Opens an output to the given file, replacing it if it already exists. Files with the ".gz"
+   * extension are compressed on a background thread as they are written.
+   *
+   * @param file path of the file
+   * @return output that closes the file when closed
+   * @throws IOException if the file cannot be opened
+   */
+  static AsciiOutput open(Path file) throws IOException {
+    if (Gzip.isCompressed(file)) {
+      return new AsciiOutput(Gzip.compress(file));
+    }
+    return new AsciiOutput(FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+  }
+
+  /**
+   * Creates an output to the given writer. Closing the output flushes the writer, but does not
+   * close it.
+   *
+   * @param writer destination of the text
+   * @return output over the writer
+   */
+  static AsciiOutput of(Writer writer) {
+    return new AsciiOutput(new WriterChannel(writer));
+  }
+
+  /**
+   * Writes an ASCII character.
+   */
+  void write(char c) throws IOException {
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    buffer.put((byte) c);
+  }
+
+  void write(String text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        write(c);
+      } else {
+        int codePoint = text.codePointAt(i);
+        i += Character.charCount(codePoint) - 1;
+        writeUtf8(codePoint);
+      }
+    }
+  }
+
+  private void writeUtf8(int codePoint) throws IOException {
+    if (buffer.remaining() < 4) {
+      flush();
+    }
+    if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+      // Lone surrogate, which has no UTF-8 encoding, replaced as by String.getBytes
+      buffer.put((byte) '?');
+    } else if (codePoint < 0x800) {
+      buffer.put((byte) (0xc0 | (codePoint >> 6)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+    } else if (codePoint < 0x10000) {
+      buffer.put((byte) (0xe0 | (codePoint >> 12)));
+      buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+    } else {
+      buffer.put((byte) (0xf0 | (codePoint >> 18)));
+      buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+      buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+      buffer.put((byte) (0x80 | (codePoint & 0x3f)));
+    }
+  }
+
+  void newLine() throws IOException {
+    write('\n');
+  }
+
+  /**
+   * Writes an integer in decimal notation.
+   */
+  void write(long value) throws IOException {
+    if (value < 0) {
+      write('-');
+    }
+    int length = 0;
+    do {
+      digits[length++] = (byte) ('0' + Math.abs(value % 10));
+      value /= 10;
+    } while (value != 0);
+    if (buffer.remaining() < length) {
+      flush();
+    }
+    while (length > 0) {
+      buffer.put(digits[--length]);
+    }
+  }
+
+  /**
+   * Writes a number, with integral values written without a fractional part and infinite values
+   * written as "+inf" and "-inf".
+   */
+  void writeNumber(double value) throws IOException {
+    if (value == Double.POSITIVE_INFINITY) {
+      write("+inf");
+    } else if (value == Double.NEGATIVE_INFINITY) {
+      write("-inf");
+    } else if (value == Math.rint(value) && Math.abs(value) < MAX_INTEGRAL) {
+      write((long) value);
+    } else {
+      write(Double.toString(value));
+    }
+  }
+
+  /**
+   * Writes the name of a variable. Unnamed variables are written as "x" followed by their index,
+   * unless the model data formats default names itself.
+   */
+  void writeVariableName(ModelData data, int column) throws IOException {
+    if (data.hasVariableName(column) || data.getNamingStrategy() == NamingStrategy.LAZY) {
+      write(data.getVariableName(column));
+    } else {
+      write('x');
+      write(column);
+    }
+  }
+
+  /**
+   * Writes the name of a constraint. Unnamed constraints are written as "c" followed by their
+   * index, unless the model data formats default names itself.
+   */
+  void writeConstraintName(ModelData data, int row) throws IOException {
+    if (data.hasConstraintName(row) || data.getNamingStrategy() == NamingStrategy.LAZY) {
+      write(data.getConstraintName(row));
+    } else {
+      write('c');
+      write(row);
+    }
+  }
+
+  /**
+   * Hands the buffered bytes to the channel.
+   *
+   * @throws IOException if the channel fails
+   */
+  void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Channel that decodes UTF-8 bytes into a writer. Each write holds whole characters only.
+   */
+  private static final class WriterChannel implements WritableByteChannel {
+
+    private final Writer writer;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    WriterChannel(Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+      int written = source.remaining();
+      CoderResult result;
+      do {
+        result = decoder.decode(source, chars, true);
+        if (result.isError()) {
+          result.throwException();
+        }
+        writer.write(chars.array(), 0, chars.position());
+        chars.clear();
+      } while (result.isOverflow());
+      decoder.reset();
+      return written - source.remaining();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.flush();
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+/**
+ * Layout of the binary model format written by {@link BinaryWriter} and read by {@link
+ * BinaryReader}, and of the binary solution files of {@link SolutionWriter}. All values are
+ * little-endian. A model file starts with a header of {@link #HEADER_SIZE} bytes:
+ *
+ * <pre>
+ * offset  size  content
+ *      0     8  magic "JUMPLMDL"
+ *      8     4  version of the format
+ *     12     4  flags ({@link #VARIABLE_NAMES}, {@link #CONSTRAINT_NAMES})
+ *     16     4  number of variables n
+ *     20     4  number of constraints m
+ *     24     8  number of nonzeros nnz
+ *     32     4  objective sense
+ *     36     4  reserved (zero)
+ *     40     8  objective constant
+ *     48    16  reserved (zero)
+ * </pre>
+ *
+ * <p>It is followed by the arrays of the model, in this order: lower bounds, upper bounds and
+ * objective coefficients (n doubles each), types (n chars), row starts (m + 1 ints), column
+ * indices (nnz ints), coefficients (nnz doubles), senses (m chars) and right-hand sides (m
+ * doubles). Each array starts at a multiple of eight bytes, padded with zeros, so it can be viewed
+ * in place. When a names flag is set, the names follow as a length per entry (an int, -1 for no
+ * name) and then the UTF-16 characters of all names back to back, variables before constraints.
+ *
+ * <p>Binary solution files have a header of {@link #SOLUTION_HEADER_SIZE} bytes (magic "JUMPLSOL",
+ * version, reserved int, number of values n as a long and objective function value as a double)
+ * followed by the n values as doubles, indexed by variable.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class BinaryFormat {
+
+  static final byte[] MAGIC = {'J', 'U', 'M', 'P', 'L', 'M', 'D', 'L'};
+
+  /**
+   * Version written by this implementation. Readers reject files of other versions.
+   */
+  static final int VERSION = 1;
+
+  static final int HEADER_SIZE = 64;
+
+  static final byte[] SOLUTION_MAGIC = {'J', 'U', 'M', 'P', 'L', 'S', 'O', 'L'};
+
+  static final int SOLUTION_HEADER_SIZE = 32;
+
+  /**
+   * Flag set when the file holds variable names.
+   */
+  static final int VARIABLE_NAMES = 1;
+
+  /**
+   * Flag set when the file holds constraint names.
+   */
+  static final int CONSTRAINT_NAMES = 2;
+
+  /**
+   * Avoids class instantiation.
+   */
+  private BinaryFormat() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Rounds a size up to the alignment of the arrays.
+   */
+  static long align(long size) {
+    return (size + 7) & ~7L;
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Little-endian input of the binary files. The sections of the file are mapped one after the
+ * other, and each array is transferred with a single bulk get from a view of its mapping into an
+ * array of the exact size.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class BinaryInput implements Closeable {
+
+  /**
+   * Largest range of the file that is mapped at once, kept well below the 2 GB limit of a mapping.
+   */
+  private static final long MAX_MAPPING = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private final Class<?> owner;
+  private long position;
+
+  /**
+   * Opens a file for reading.
+   *
+   * @param file  path of the file
+   * @param owner class that reads the file, used in error messages
+   * @throws IOException if the file cannot be opened
+   */
+  BinaryInput(Path file, Class<?> owner) throws IOException {
+    this.owner = owner;
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    this.size = channel.size();
+  }
+
+  long size() {
+    return size;
+  }
+
+  /**
+   * Gets the position of the next section.
+   */
+  long position() {
+    return position;
+  }
+
+  /**
+   * Maps the next bytes of the file and moves past them.
+   */
+  ByteBuffer map(long length) throws IOException {
+    var buffer = channel.map(MapMode.READ_ONLY, position, length);
+    position += length;
+    return buffer.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  double[] doubles(int length) throws IOException {
+    var array = new double[length];
+    for (int k = 0; k < length; ) {
+      int count = (int) Math.min(length - k, MAX_MAPPING / Double.BYTES);
+      map((long) count * Double.BYTES).asDoubleBuffer().get(array, k, count);
+      k += count;
+    }
+    position = BinaryFormat.align(position);
+    return array;
+  }
+
+  int[] ints(int length) throws IOException {
+    var array = new int[length];
+    for (int k = 0; k < length; ) {
+      int count = (int) Math.min(length - k, MAX_MAPPING / Integer.BYTES);
+      map((long) count * Integer.BYTES).asIntBuffer().get(array, k, count);
+      k += count;
+    }
+    position = BinaryFormat.align(position);
+    return array;
+  }
+
+  char[] chars(int length) throws IOException {
+    var array = new char[length];
+    for (int k = 0; k < length; ) {
+      int count = (int) Math.min(length - k, MAX_MAPPING / Character.BYTES);
+      map((long) count * Character.BYTES).asCharBuffer().get(array, k, count);
+      k += count;
+    }
+    position = BinaryFormat.align(position);
+    return array;
+  }
+
+  /**
+   * Creates an exception about the content of the file.
+   *
+   * @param message description of the error
+   * @return exception to be thrown by the caller
+   */
+  IOException error(String message) {
+    return new IOException(owner.getName() + ": " + message + ".");
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+}
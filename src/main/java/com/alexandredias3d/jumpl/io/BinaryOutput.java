@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Little-endian output of the binary files, through a fixed-size buffer that is drained to the
+ * file whenever it fills up. Arrays are written with bulk puts into views of the buffer and padded
+ * to the alignment of {@link BinaryFormat}.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class BinaryOutput implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+
+  /**
+   * Opens an output to the given file, replacing it if it already exists.
+   */
+  BinaryOutput(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Gets the buffer, to put single values that fit in its remaining space.
+   */
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  void putDoubles(double[] array, int length) throws IOException {
+    for (int k = 0; k < length; ) {
+      int count = Math.min(length - k, room(Double.BYTES));
+      buffer.asDoubleBuffer().put(array, k, count);
+      buffer.position(buffer.position() + count * Double.BYTES);
+      k += count;
+    }
+    pad();
+  }
+
+  void putInts(int[] array, int length) throws IOException {
+    for (int k = 0; k < length; ) {
+      int count = Math.min(length - k, room(Integer.BYTES));
+      buffer.asIntBuffer().put(array, k, count);
+      buffer.position(buffer.position() + count * Integer.BYTES);
+      k += count;
+    }
+    pad();
+  }
+
+  void putChars(char[] array, int length) throws IOException {
+    for (int k = 0; k < length; ) {
+      int count = Math.min(length - k, room(Character.BYTES));
+      buffer.asCharBuffer().put(array, k, count);
+      buffer.position(buffer.position() + count * Character.BYTES);
+      k += count;
+    }
+    pad();
+  }
+
+  /**
+   * Writes the length of each name, or -1 for entries without one, followed by the characters
+   * of all names.
+   */
+  void putNames(int n, IntPredicate hasName, IntFunction<String> name) throws IOException {
+    for (int i = 0; i < n; i++) {
+      room(Integer.BYTES);
+      buffer.putInt(hasName.test(i) ? name.apply(i).length() : -1);
+    }
+    pad();
+    for (int i = 0; i < n; i++) {
+      if (hasName.test(i)) {
+        String text = name.apply(i);
+        for (int c = 0; c < text.length(); c++) {
+          room(Character.BYTES);
+          buffer.putChar(text.charAt(c));
+        }
+      }
+    }
+    pad();
+  }
+
+  /**
+   * Makes room in the buffer for at least one element of the given size.
+   *
+   * @return amount of elements that fit in the buffer
+   */
+  private int room(int size) throws IOException {
+    if (buffer.remaining() < size) {
+      drain();
+    }
+    return buffer.remaining() / size;
+  }
+
+  private void pad() throws IOException {
+    while ((buffer.position() & 7) != 0) {
+      room(1);
+      buffer.put((byte) 0);
+    }
+  }
+
+  private void drain() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      channel.close();
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads a model in the binary model format described in {@link BinaryFormat} into a {@link
+ * ModelData}, which can then be loaded into any backend with {@link
+ * com.alexandredias3d.jumpl.api.Model#load(ModelData)}.
+ *
+ * <p>The file is memory-mapped and each array is transferred with a single bulk get from a
+ * little-endian view of the mapping into an array of the exact size, which the model data then
+ * adopts with {@link ModelData#wrap} instead of copying it again. Nothing is parsed, so a model
+ * loads at about the speed of copying memory. Only the header and the row starts are checked;
+ * the rest of the file is trusted to have been written by {@link BinaryWriter}.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class BinaryReader {
+
+  /**
+   * Avoids class instantiation.
+   */
+  private BinaryReader() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Reads a binary model file.
+   *
+   * @param file path of the binary file
+   * @return model data read from the file
+   * @throws IOException if the file cannot be read or is not a valid binary model file
+   */
+  public static ModelData read(Path file) throws IOException {
+    try (var in = new BinaryInput(file, BinaryReader.class)) {
+      return read(in);
+    }
+  }
+
+  private static ModelData read(BinaryInput in) throws IOException {
+    if (in.size() < BinaryFormat.HEADER_SIZE) {
+      throw in.error("file too short for a binary model");
+    }
+    var header = in.map(BinaryFormat.HEADER_SIZE);
+    var magic = new byte[BinaryFormat.MAGIC.length];
+    header.get(magic);
+    if (!Arrays.equals(magic, BinaryFormat.MAGIC)) {
+      throw in.error("not a binary model file");
+    }
+    int version = header.getInt();
+    if (version != BinaryFormat.VERSION) {
+      throw in.error(
+          "unsupported version " + version + " (expected " + BinaryFormat.VERSION + ")");
+    }
+    int flags = header.getInt();
+    int n = header.getInt();
+    int m = header.getInt();
+    long nonZeros = header.getLong();
+    int objectiveSense = header.getInt();
+    header.getInt();
+    double objectiveConstant = header.getDouble();
+    if (n < 0 || m < 0 || nonZeros < 0 || nonZeros > Integer.MAX_VALUE - 8) {
+      throw in.error("invalid sizes in header");
+    }
+    int nnz = (int) nonZeros;
+    long required = BinaryFormat.HEADER_SIZE + 3 * BinaryFormat.align(8L * n)
+        + BinaryFormat.align(2L * n) + BinaryFormat.align(4L * (m + 1))
+        + BinaryFormat.align(4L * nnz) + BinaryFormat.align(8L * nnz)
+        + BinaryFormat.align(2L * m) + BinaryFormat.align(8L * m);
+    if (in.size() < required) {
+      throw in.error(
+          "truncated file (" + in.size() + " bytes, expected at least " + required + ")");
+    }
+
+    double[] lowerBounds = in.doubles(n);
+    double[] upperBounds = in.doubles(n);
+    double[] objectiveCoefficients = in.doubles(n);
+    char[] types = in.chars(n);
+    int[] rowStart = in.ints(m + 1);
+    if (rowStart[0] != 0 || rowStart[m] != nnz) {
+      throw in.error("row starts do not match the number of nonzeros");
+    }
+    int[] columnIndices = in.ints(nnz);
+    double[] values = in.doubles(nnz);
+    char[] senses = in.chars(m);
+    double[] rightHandSides = in.doubles(m);
+
+    var data = ModelData.wrap(lowerBounds, upperBounds, objectiveCoefficients, types, rowStart,
+        columnIndices, values, senses, rightHandSides);
+    data.setObjectiveSense(objectiveSense);
+    data.setObjectiveConstant(objectiveConstant);
+    if ((flags & BinaryFormat.VARIABLE_NAMES) != 0) {
+      String[] names = names(in, n);
+      for (int j = 0; j < n; j++) {
+        data.setVariableName(j, names[j]);
+      }
+    }
+    if ((flags & BinaryFormat.CONSTRAINT_NAMES) != 0) {
+      String[] names = names(in, m);
+      for (int i = 0; i < m; i++) {
+        data.setConstraintName(i, names[i]);
+      }
+    }
+    return data;
+  }
+
+  private static String[] names(BinaryInput in, int n) throws IOException {
+    int[] lengths = in.ints(n);
+    long total = 0;
+    for (int length : lengths) {
+      total += Math.max(length, 0);
+    }
+    if (total > Integer.MAX_VALUE - 8 || in.position() + 2 * total > in.size()) {
+      throw in.error("truncated names");
+    }
+    char[] characters = in.chars((int) total);
+    var names = new String[n];
+    for (int i = 0, offset = 0; i < n; i++) {
+      if (lengths[i] >= 0) {
+        names[i] = new String(characters, offset, lengths[i]);
+        offset += lengths[i];
+      }
+    }
+    return names;
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.IntPredicate;
+
+/**
+ * Writes a {@link ModelData} in the binary model format described in {@link BinaryFormat}. The
+ * backing arrays of the model data are copied in bulk into a fixed-size buffer and streamed to the
+ * file, so writing is bound by the disk rather than by formatting numbers. Only names that are
+ * stored in the model data are written.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class BinaryWriter {
+
+  /**
+   * Avoids class instantiation.
+   */
+  private BinaryWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes the model data to the given file, replacing it if it already exists.
+   *
+   * @param data model data to be written
+   * @param file path of the binary file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(ModelData data, Path file) throws IOException {
+    int n = data.getNumberOfVariables();
+    int m = data.getNumberOfConstraints();
+    int flags = 0;
+    if (hasAny(n, data::hasVariableName)) {
+      flags |= BinaryFormat.VARIABLE_NAMES;
+    }
+    if (hasAny(m, data::hasConstraintName)) {
+      flags |= BinaryFormat.CONSTRAINT_NAMES;
+    }
+
+    try (var out = new BinaryOutput(file)) {
+      var buffer = out.buffer();
+      buffer.put(BinaryFormat.MAGIC);
+      buffer.putInt(BinaryFormat.VERSION);
+      buffer.putInt(flags);
+      buffer.putInt(n);
+      buffer.putInt(m);
+      buffer.putLong(data.getNumberOfNonZeros());
+      buffer.putInt(data.getObjectiveSense());
+      buffer.putInt(0);
+      buffer.putDouble(data.getObjectiveConstant());
+      buffer.putLong(0);
+      buffer.putLong(0);
+
+      out.putDoubles(data.getLowerBounds(), n);
+      out.putDoubles(data.getUpperBounds(), n);
+      out.putDoubles(data.getObjectiveCoefficients(), n);
+      out.putChars(data.getTypes(), n);
+      out.putInts(data.getRowStart(), m + 1);
+      out.putInts(data.getColumnIndices(), data.getNumberOfNonZeros());
+      out.putDoubles(data.getValues(), data.getNumberOfNonZeros());
+      out.putChars(data.getSenses(), m);
+      out.putDoubles(data.getRightHandSides(), m);
+      if ((flags & BinaryFormat.VARIABLE_NAMES) != 0) {
+        out.putNames(n, data::hasVariableName, data::getVariableName);
+      }
+      if ((flags & BinaryFormat.CONSTRAINT_NAMES) != 0) {
+        out.putNames(m, data::hasConstraintName, data::getConstraintName);
+      }
+    }
+  }
+
+  private static boolean hasAny(int n, IntPredicate hasName) {
+    for (int i = 0; i < n; i++) {
+      if (hasName.test(i)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip compression of the text files, run as a two-stage pipeline. Blocks of a fixed size are
+ * handed between the two stages through a bounded queue, so compression overlaps with producing
+ * the text (or decompression with reading the compressed file), and only a few blocks are held in
+ * memory at any time, whatever the size of the file.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class Gzip {
+
+  /**
+   * Size of the blocks handed between the stages.
+   */
+  private static final int BLOCK_SIZE = 1 << 16;
+
+  /**
+   * Amount of blocks in flight between the stages.
+   */
+  private static final int BLOCKS = 8;
+
+  /**
+   * Compression level. The fastest level keeps up with the writers while still shrinking model
+   * files about threefold, only slightly less than the default level at a third of its cost.
+   */
+  private static final int LEVEL = Deflater.BEST_SPEED;
+
+  /**
+   * Avoids class instantiation.
+   */
+  private Gzip() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Checks whether a file is compressed, which is given by the ".gz" extension.
+   */
+  static boolean isCompressed(Path file) {
+    return file.getFileName().toString().endsWith(".gz");
+  }
+
+  /**
+   * Opens a channel that compresses everything written to it into the given file, replacing it if
+   * it already exists. Compression runs on a background thread; closing the channel waits for it
+   * to finish.
+   *
+   * @param file path of the compressed file
+   * @return channel to the file
+   * @throws IOException if the file cannot be opened
+   */
+  static WritableByteChannel compress(Path file) throws IOException {
+    var out = new GZIPOutputStream(Files.newOutputStream(file), BLOCK_SIZE) {
+      {
+        def.setLevel(LEVEL);
+      }
+    };
+    return new CompressingChannel(out);
+  }
+
+  /**
+   * Decompresses a file into a temporary file, while a background thread reads the compressed
+   * file ahead of the decompression. The temporary file takes as much disk space as the
+   * uncompressed data.
+   *
+   * @param file      path of the compressed file
+   * @param directory directory of the temporary file, or null for the default temporary directory
+   * @return path of the temporary file, which must be deleted by the caller
+   * @throws IOException if the file cannot be read or is not valid gzip data
+   */
+  static Path inflate(Path file, Path directory) throws IOException {
+    String name = file.getFileName().toString();
+    String suffix = name.substring(0, name.length() - ".gz".length());
+    suffix = suffix.substring(Math.max(0, suffix.lastIndexOf('.')));
+    Path inflated = (directory != null)
+        ? Files.createTempFile(directory, "jumpl", suffix)
+        : Files.createTempFile("jumpl", suffix);
+
+    var pipe = new Pipe();
+    var reader = new Thread(() -> pipe.fill(file), "jumpl-gunzip");
+    reader.setDaemon(true);
+    reader.start();
+    try (var in = new GZIPInputStream(new PipeInputStream(pipe), BLOCK_SIZE);
+        var out = FileChannel.open(inflated, StandardOpenOption.WRITE)) {
+      var buffer = new byte[BLOCK_SIZE];
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        var block = ByteBuffer.wrap(buffer, 0, read);
+        while (block.hasRemaining()) {
+          out.write(block);
+        }
+      }
+      return inflated;
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(inflated);
+      throw e;
+    } finally {
+      reader.interrupt();
+      join(reader);
+    }
+  }
+
+  private static void join(Thread thread) throws InterruptedIOException {
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(Gzip.class.getName() + ": interrupted while waiting for "
+          + thread.getName() + ".");
+    }
+  }
+
+  /**
+   * Bounded queue of blocks between a producer and a consumer thread. Empty blocks circulate back
+   * to the producer, so the blocks are allocated once. The first error of either side is kept and
+   * reported to the other one.
+   */
+  private static final class Pipe {
+
+    /**
+     * Block sent by the producer after the last one.
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BLOCKS + 1);
+    private final BlockingQueue<ByteBuffer> empty = new ArrayBlockingQueue<>(BLOCKS);
+    private volatile IOException failure;
+
+    Pipe() {
+      for (int b = 0; b < BLOCKS; b++) {
+        empty.add(ByteBuffer.allocate(BLOCK_SIZE));
+      }
+    }
+
+    /**
+     * Gets an empty block to be filled by the producer.
+     */
+    ByteBuffer acquire() throws IOException {
+      check();
+      ByteBuffer block = await(empty);
+      block.clear();
+      return block;
+    }
+
+    /**
+     * Hands a filled block, between its position and limit, to the consumer.
+     */
+    void send(ByteBuffer block) throws IOException {
+      check();
+      put(full, block);
+    }
+
+    /**
+     * Tells the consumer that no more blocks will be sent.
+     */
+    void finish() throws IOException {
+      put(full, END);
+    }
+
+    /**
+     * Gets the next filled block.
+     *
+     * @return block, or null after the last one
+     */
+    ByteBuffer receive() throws IOException {
+      ByteBuffer block = await(full);
+      if (block == END) {
+        check();
+        return null;
+      }
+      return block;
+    }
+
+    /**
+     * Gives a consumed block back to the producer.
+     */
+    void release(ByteBuffer block) throws IOException {
+      put(empty, block);
+    }
+
+    void fail(IOException e) {
+      if (failure == null) {
+        failure = e;
+      }
+    }
+
+    void check() throws IOException {
+      if (failure != null) {
+        throw new IOException(failure.getMessage(), failure);
+      }
+    }
+
+    /**
+     * Consumes all blocks into the given stream and closes it. After an error the remaining blocks
+     * are still consumed, so the producer is never blocked.
+     */
+    void drain(OutputStream out) {
+      try (out) {
+        for (ByteBuffer block = receive(); block != null; block = receive()) {
+          if (failure == null) {
+            try {
+              out.write(block.array(), block.position(), block.remaining());
+            } catch (IOException e) {
+              fail(e);
+            }
+          }
+          release(block);
+        }
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    /**
+     * Produces the blocks of the given file, until its end or until the thread is interrupted.
+     */
+    void fill(Path file) {
+      try (var in = FileChannel.open(file, StandardOpenOption.READ)) {
+        for (ByteBuffer block = acquire(); in.read(block) >= 0; block = acquire()) {
+          send(block.flip());
+        }
+      } catch (IOException e) {
+        fail(e);
+      } finally {
+        // The consumer stops at the first null block, whether the file ended or not.
+        full.offer(END);
+      }
+    }
+
+    private static ByteBuffer await(BlockingQueue<ByteBuffer> queue) throws IOException {
+      try {
+        return queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(Gzip.class.getName() + ": interrupted.");
+      }
+    }
+
+    private static void put(BlockingQueue<ByteBuffer> queue, ByteBuffer block) throws IOException {
+      try {
+        queue.put(block);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(Gzip.class.getName() + ": interrupted.");
+      }
+    }
+  }
+
+  /**
+   * Channel that copies the written bytes into blocks that are compressed by a background thread.
+   */
+  private static final class CompressingChannel implements WritableByteChannel {
+
+    private final Pipe pipe = new Pipe();
+    private final Thread compressor;
+    private boolean open = true;
+
+    CompressingChannel(OutputStream out) {
+      compressor = new Thread(() -> pipe.drain(out), "jumpl-gzip");
+      compressor.setDaemon(true);
+      compressor.start();
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+      int written = source.remaining();
+      while (source.hasRemaining()) {
+        ByteBuffer block = pipe.acquire();
+        int length = Math.min(block.remaining(), source.remaining());
+        block.put(source.slice().limit(length));
+        source.position(source.position() + length);
+        pipe.send(block.flip());
+      }
+      return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!open) {
+        return;
+      }
+      open = false;
+      pipe.finish();
+      join(compressor);
+      pipe.check();
+    }
+  }
+
+  /**
+   * Stream over the blocks received from a pipe.
+   */
+  private static final class PipeInputStream extends InputStream {
+
+    private final Pipe pipe;
+    private ByteBuffer block;
+    private boolean ended;
+
+    PipeInputStream(Pipe pipe) {
+      this.pipe = pipe;
+    }
+
+    @Override
+    public int read() throws IOException {
+      var single = new byte[1];
+      return (read(single, 0, 1) < 0) ? -1 : (single[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      while (block == null || !block.hasRemaining()) {
+        if (block != null) {
+          pipe.release(block);
+          block = null;
+        }
+        if (ended) {
+          return -1;
+        }
+        block = pipe.receive();
+        ended = block == null;
+      }
+      length = Math.min(length, block.remaining());
+      block.get(bytes, offset, length);
+      return length;
+    }
+  }
+
+}
@@ -0,0 +1,785 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a model in the LP file format written by CPLEX, Gurobi and {@link LpWriter} into a {@link
+ * ModelData}, which can then be loaded into any backend with {@link
+ * com.alexandredias3d.jumpl.api.Model#load(ModelData)}.
+ *
+ * <p>The file is memory-mapped and parsed in place. The section keywords, which must be alone in
+ * their lines, are located first, with the whole file split into chunks scanned in parallel. The
+ * constraints are then parsed in parallel as well: the section is split at lines that start with
+ * a constraint name, so files in which the constraints are unnamed are parsed by a single thread.
+ * The other sections are read sequentially.
+ *
+ * <p>Variables are numbered in the order they first appear in the file and bounds at or beyond
+ * 1e20 are infinite. Quadratic terms, ranged and indicator constraints, and the semi-continuous,
+ * SOS, lazy constraint and user cut sections are not supported.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class LpReader {
+
+  /**
+   * Magnitude from which bounds are infinite, as in CPLEX and Gurobi.
+   */
+  private static final double INFINITY = 1e20;
+
+  private enum Section {
+    MAXIMIZE, MINIMIZE, CONSTRAINTS, BOUNDS, GENERALS, BINARIES, END
+  }
+
+  private static final String[][] KEYWORDS = {
+      {"maximize", "maximise", "maximum", "max"},
+      {"minimize", "minimise", "minimum", "min"},
+      {"subject to", "such that", "st", "s.t.", "st."},
+      {"bounds", "bound"},
+      {"generals", "general", "gen"},
+      {"binaries", "binary", "bin"},
+      {"end"}};
+
+  private static final String[] UNSUPPORTED = {"semi-continuous", "semis", "semi", "sos",
+      "lazy constraints", "user cuts", "general constraints", "pwlobj"};
+
+  private static final int NAME = 0;
+  private static final int NUMBER = 1;
+  private static final int PLUS = 2;
+  private static final int MINUS = 3;
+  private static final int COLON = 4;
+  private static final int LESS = 5;
+  private static final int GREATER = 6;
+  private static final int EQUAL = 7;
+  private static final int OTHER = 8;
+  private static final int END = 9;
+
+  private final MappedText text;
+  private final MappedNameTable columns = new MappedNameTable();
+
+  private int objectiveSense = ModelData.MINIMIZE;
+  private double objectiveConstant;
+  private int[] objectiveColumns = new int[16];
+  private double[] objectiveValues = new double[16];
+  private int objectiveSize;
+
+  private List<ConstraintChunk> constraints = new ArrayList<>();
+  private char[] types = new char[0];
+  private double[] lowerBounds = new double[0];
+  private double[] upperBounds = new double[0];
+
+  private LpReader(MappedText text) {
+    this.text = text;
+  }
+
+  /**
+   * Reads the model in the given LP file, which is decompressed first into the default temporary
+   * directory if its name ends with ".gz" (see {@link #read(Path, Path)}).
+   *
+   * @param file path of the LP file
+   * @return model data of the file
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static ModelData read(Path file) throws IOException {
+    return read(file, null);
+  }
+
+  /**
+   * Reads the model in the given LP file. If its name ends with ".gz", it is decompressed first
+   * into a temporary file in the given directory, which takes as much disk space as the
+   * uncompressed file and is deleted once the file is read.
+   *
+   * @param file      path of the LP file
+   * @param directory directory of the temporary file, or null for the default temporary directory
+   * @return model data of the file
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static ModelData read(Path file, Path directory) throws IOException {
+    try (var text = new MappedText(file, directory, LpReader.class)) {
+      return new LpReader(text).read();
+    }
+  }
+
+  private ModelData read() throws IOException {
+    List<long[]> headers = new ArrayList<>();
+    for (List<long[]> found : text.parse(text.split(0, text.size()), LpReader::findHeaders)) {
+      headers.addAll(found);
+    }
+
+    // Each header holds the start of its line, the start of its data and its section.
+    for (int h = 0; h < headers.size(); h++) {
+      long[] header = headers.get(h);
+      long end = (h + 1 < headers.size()) ? headers.get(h + 1)[0] : text.size();
+      Section section = Section.values()[(int) header[2]];
+      switch (section) {
+        case MAXIMIZE:
+        case MINIMIZE:
+          objectiveSense = (section == Section.MAXIMIZE) ? ModelData.MAXIMIZE
+              : ModelData.MINIMIZE;
+          readObjective(new Lexer(text.cursor(header[1], end)));
+          break;
+
+        case CONSTRAINTS:
+          readConstraints(header[1], end);
+          break;
+
+        case BOUNDS:
+          readBounds(new Lexer(text.cursor(header[1], end)));
+          break;
+
+        case GENERALS:
+        case BINARIES:
+          readTypes(new Lexer(text.cursor(header[1], end)),
+              (section == Section.GENERALS) ? ModelData.INTEGER : ModelData.BINARY);
+          break;
+
+        default:
+          break;
+      }
+      if (section == Section.END) {
+        break;
+      }
+    }
+    return build();
+  }
+
+  /**
+   * Finds the section keywords of a chunk, which are the lines that hold nothing but a keyword.
+   */
+  private static List<long[]> findHeaders(TextCursor cursor) throws IOException {
+    List<long[]> headers = new ArrayList<>();
+    var buffer = cursor.buffer();
+    while (cursor.hasRemaining()) {
+      int lineStart = cursor.position();
+      if (!cursor.nextField() || !isKeywordStart(buffer.get(cursor.fieldStart()))) {
+        cursor.skipLine();
+        continue;
+      }
+      int start = cursor.fieldStart();
+      int end = cursor.fieldEnd();
+      if (cursor.nextField()) {
+        end = cursor.fieldEnd();
+        if (cursor.nextField() && buffer.get(cursor.fieldStart()) != '\\') {
+          cursor.skipLine();
+          continue;
+        }
+      }
+      cursor.setField(start, end);
+      int section = keyword(cursor);
+      cursor.skipLine();
+      if (section >= 0) {
+        headers.add(new long[]{cursor.offset() + lineStart, cursor.offset() + cursor.position(),
+            section});
+      }
+    }
+    return headers;
+  }
+
+  private static boolean isKeywordStart(byte c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  /**
+   * Gets the section of the keyword in the current field, in which words can be separated by any
+   * blanks.
+   *
+   * @return ordinal of the section, or -1 if the field is not a keyword
+   * @throws IOException if the keyword starts an unsupported section
+   */
+  private static int keyword(TextCursor cursor) throws IOException {
+    for (String unsupported : UNSUPPORTED) {
+      if (keywordIs(cursor, unsupported)) {
+        throw cursor.error("unsupported section " + unsupported);
+      }
+    }
+    for (int section = 0; section < KEYWORDS.length; section++) {
+      for (String keyword : KEYWORDS[section]) {
+        if (keywordIs(cursor, keyword)) {
+          return section;
+        }
+      }
+    }
+    return -1;
+  }
+
+  private static boolean keywordIs(TextCursor cursor, String keyword) {
+    var buffer = cursor.buffer();
+    int position = cursor.fieldStart();
+    for (int i = 0; i < keyword.length(); i++) {
+      if (keyword.charAt(i) == ' ') {
+        if (position >= cursor.fieldEnd() || !TextCursor.isBlank(buffer.get(position))) {
+          return false;
+        }
+        while (TextCursor.isBlank(buffer.get(position))) {
+          position++;
+        }
+        continue;
+      }
+      if (position >= cursor.fieldEnd()
+          || Character.toLowerCase(buffer.get(position++)) != keyword.charAt(i)) {
+        return false;
+      }
+    }
+    return position == cursor.fieldEnd();
+  }
+
+  /**
+   * Tokenizer of expressions, which can span several lines. Comments start with a backslash and
+   * go up to the end of the line.
+   */
+  private static final class Lexer {
+
+    private final TextCursor cursor;
+    private final ByteBuffer buffer;
+    private int token;
+
+    Lexer(TextCursor cursor) {
+      this.cursor = cursor;
+      this.buffer = cursor.buffer();
+    }
+
+    TextCursor cursor() {
+      return cursor;
+    }
+
+    int token() {
+      return token;
+    }
+
+    int next() {
+      byte c = cursor.peek();
+      while (cursor.hasRemaining() && (TextCursor.isBlank(c) || c == '\n' || c == '\\')) {
+        if (c == '\\') {
+          cursor.skipLine();
+        } else {
+          cursor.advance();
+        }
+        c = cursor.peek();
+      }
+      int start = cursor.position();
+      if (!cursor.hasRemaining()) {
+        cursor.setField(start, start);
+        return token = END;
+      }
+
+      cursor.advance();
+      switch (c) {
+        case '+':
+          token = PLUS;
+          break;
+
+        case '-':
+          token = MINUS;
+          break;
+
+        case ':':
+          token = COLON;
+          break;
+
+        case '<':
+        case '>':
+          token = (c == '<') ? LESS : GREATER;
+          if (cursor.peek() == '=') {
+            cursor.advance();
+          }
+          break;
+
+        case '=':
+          token = EQUAL;
+          if (cursor.peek() == '<' || cursor.peek() == '>') {
+            token = (cursor.peek() == '<') ? LESS : GREATER;
+            cursor.advance();
+          } else if (cursor.peek() == '=') {
+            cursor.advance();
+          }
+          break;
+
+        case '[':
+        case ']':
+        case '*':
+        case '^':
+          token = OTHER;
+          break;
+
+        default:
+          token = ((c >= '0' && c <= '9') || c == '.') ? readNumber() : readName();
+          break;
+      }
+      cursor.setField(start, cursor.position());
+      return token;
+    }
+
+    private int readNumber() {
+      skipDigits();
+      byte c = cursor.peek();
+      if (c == 'e' || c == 'E') {
+        int mark = cursor.position();
+        cursor.advance();
+        if (cursor.peek() == '+' || cursor.peek() == '-') {
+          cursor.advance();
+        }
+        if (cursor.peek() >= '0' && cursor.peek() <= '9') {
+          skipDigits();
+        } else {
+          // Not an exponent, but a name right after the number.
+          cursor.rewind(mark);
+        }
+      }
+      return NUMBER;
+    }
+
+    private void skipDigits() {
+      byte c = cursor.peek();
+      while (cursor.hasRemaining() && ((c >= '0' && c <= '9') || c == '.')) {
+        cursor.advance();
+        c = cursor.peek();
+      }
+    }
+
+    private int readName() {
+      while (cursor.hasRemaining() && !isDelimiter(buffer.get(cursor.position()))) {
+        cursor.advance();
+      }
+      return NAME;
+    }
+
+    private static boolean isDelimiter(byte c) {
+      switch (c) {
+        case ' ':
+        case '\t':
+        case '\r':
+        case '\n':
+        case '+':
+        case '-':
+        case ':':
+        case '<':
+        case '>':
+        case '=':
+        case '[':
+        case ']':
+        case '*':
+        case '^':
+        case '\\':
+          return true;
+
+        default:
+          return false;
+      }
+    }
+
+    /**
+     * Checks whether the next token is a colon, without moving past the current one.
+     */
+    boolean followedByColon() {
+      int mark = cursor.position();
+      byte c = cursor.peek();
+      while (cursor.hasRemaining() && (TextCursor.isBlank(c) || c == '\n' || c == '\\')) {
+        if (c == '\\') {
+          cursor.skipLine();
+        } else {
+          cursor.advance();
+        }
+        c = cursor.peek();
+      }
+      cursor.rewind(mark);
+      return c == ':';
+    }
+
+    /**
+     * Checks whether the current token is a name that stands for infinity.
+     */
+    boolean isInfinity() {
+      return token == NAME && (cursor.fieldIs("inf") || cursor.fieldIs("infinity"));
+    }
+
+    /**
+     * Reads a signed number, which can be infinite, starting at the current token.
+     */
+    double number() throws IOException {
+      double sign = 1.0;
+      while (token == PLUS || token == MINUS) {
+        sign = (token == MINUS) ? -sign : sign;
+        next();
+      }
+      if (token != NUMBER && !isInfinity()) {
+        throw cursor.error("number expected");
+      }
+      double value = isInfinity() ? Double.POSITIVE_INFINITY : cursor.fieldNumber();
+      next();
+      return sign * value;
+    }
+
+    IOException error(String message) {
+      return cursor.error(message);
+    }
+  }
+
+  /**
+   * Receives the terms of a linear expression.
+   */
+  @FunctionalInterface
+  private interface TermSink {
+
+    void add(TextCursor name, double coefficient) throws IOException;
+  }
+
+  /**
+   * Reads a linear expression starting at the current token, stopping at a sense, at the end of
+   * the range or right before a constraint name.
+   *
+   * @return constant of the expression
+   */
+  private static double readExpression(Lexer lexer, TermSink sink) throws IOException {
+    double constant = 0.0;
+    var cursor = lexer.cursor();
+    int token = lexer.token();
+    while (token != END && token != LESS && token != GREATER && token != EQUAL) {
+      double sign = 1.0;
+      while (token == PLUS || token == MINUS) {
+        sign = (token == MINUS) ? -sign : sign;
+        token = lexer.next();
+      }
+      if (token == NUMBER) {
+        double value = sign * cursor.fieldNumber();
+        token = lexer.next();
+        if (token == NAME) {
+          sink.add(cursor, value);
+          token = lexer.next();
+        } else {
+          constant += value;
+        }
+      } else if (token == NAME) {
+        if (lexer.followedByColon()) {
+          // Name of the next constraint.
+          return constant;
+        }
+        sink.add(cursor, sign);
+        token = lexer.next();
+      } else {
+        throw lexer.error((token == OTHER) ? "quadratic terms are not supported"
+            : "term expected");
+      }
+    }
+    return constant;
+  }
+
+  private void readObjective(Lexer lexer) throws IOException {
+    if (lexer.next() == NAME && lexer.followedByColon()) {
+      lexer.next();
+      lexer.next();
+    }
+    objectiveConstant = readExpression(lexer, (name, value) -> {
+      if (objectiveSize == objectiveColumns.length) {
+        objectiveColumns = Arrays.copyOf(objectiveColumns, 2 * objectiveSize);
+        objectiveValues = Arrays.copyOf(objectiveValues, 2 * objectiveSize);
+      }
+      objectiveColumns[objectiveSize] = columns.findOrAdd(name);
+      objectiveValues[objectiveSize++] = value;
+    });
+    if (lexer.token() != END) {
+      throw lexer.error("unexpected token in the objective function");
+    }
+    ensureColumns(columns.size());
+  }
+
+  /**
+   * Constraints of a chunk. Variables that are not in the objective function are numbered from
+   * zero in the chunk and stored complemented.
+   */
+  private static final class ConstraintChunk {
+
+    private final MappedNameTable localColumns = new MappedNameTable();
+    private final List<String> names = new ArrayList<>();
+    private char[] senses = new char[16];
+    private double[] rightHandSides = new double[16];
+    private int[] rowStart = new int[17];
+    private int size;
+    private int[] columns = new int[64];
+    private double[] values = new double[64];
+
+    int count() {
+      return names.size();
+    }
+
+    void add(int column, double value) {
+      if (size == columns.length) {
+        columns = Arrays.copyOf(columns, 2 * size);
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      columns[size] = column;
+      values[size++] = value;
+    }
+
+    void addRow(String name, char sense, double rightHandSide) {
+      int row = names.size();
+      if (row == senses.length) {
+        senses = Arrays.copyOf(senses, 2 * row);
+        rightHandSides = Arrays.copyOf(rightHandSides, 2 * row);
+        rowStart = Arrays.copyOf(rowStart, 2 * row + 1);
+      }
+      names.add(name);
+      senses[row] = sense;
+      rightHandSides[row] = rightHandSide;
+      rowStart[row + 1] = size;
+    }
+  }
+
+  /**
+   * Parses the constraints in parallel. The chunks are moved forward to the first line that starts
+   * with a constraint name, so that no constraint is split.
+   */
+  private void readConstraints(long start, long end) throws IOException {
+    long[] bounds = text.split(start, end);
+    List<Long> labels = text.parse(bounds, cursor -> {
+      while (cursor.hasRemaining()) {
+        int lineStart = cursor.position();
+        if (startsWithName(cursor)) {
+          return cursor.offset() + lineStart;
+        }
+        cursor.skipLine();
+      }
+      return -1L;
+    });
+    var starts = new ArrayList<Long>();
+    starts.add(start);
+    for (int c = 1; c < labels.size(); c++) {
+      if (labels.get(c) > starts.get(starts.size() - 1)) {
+        starts.add(labels.get(c));
+      }
+    }
+    starts.add(end);
+    bounds = starts.stream().mapToLong(Long::longValue).toArray();
+    constraints = text.parse(bounds, this::parseConstraints);
+    mergeConstraints();
+    ensureColumns(columns.size());
+  }
+
+  /**
+   * Checks whether the line at the cursor starts with a name followed by a colon.
+   */
+  private static boolean startsWithName(TextCursor cursor) {
+    cursor.skipBlanks();
+    byte c = cursor.peek();
+    if ((c >= '0' && c <= '9') || c == '.' || Lexer.isDelimiter(c)) {
+      return false;
+    }
+    while (cursor.hasRemaining() && !Lexer.isDelimiter(cursor.peek())) {
+      cursor.advance();
+    }
+    cursor.skipBlanks();
+    return cursor.peek() == ':';
+  }
+
+  private ConstraintChunk parseConstraints(TextCursor cursor) throws IOException {
+    var chunk = new ConstraintChunk();
+    var lexer = new Lexer(cursor);
+    TermSink sink = (name, value) -> {
+      int column = columns.find(name);
+      chunk.add((column >= 0) ? column : ~chunk.localColumns.findOrAdd(name), value);
+    };
+    int token = lexer.next();
+    while (token != END) {
+      String name = null;
+      if (token == NAME && lexer.followedByColon()) {
+        name = cursor.fieldString();
+        lexer.next();
+        lexer.next();
+      }
+      double constant = readExpression(lexer, sink);
+      char sense;
+      switch (lexer.token()) {
+        case LESS:
+          sense = ModelData.LESS_EQUAL;
+          break;
+
+        case GREATER:
+          sense = ModelData.GREATER_EQUAL;
+          break;
+
+        case EQUAL:
+          sense = ModelData.EQUAL;
+          break;
+
+        default:
+          throw lexer.error("constraint sense expected");
+      }
+      lexer.next();
+      double rightHandSide = lexer.number() - constant;
+      token = lexer.token();
+      if (token == LESS || token == GREATER || token == EQUAL) {
+        throw lexer.error("ranged constraints are not supported");
+      }
+      if (token == OTHER || (token == MINUS && cursor.peek() == '>')) {
+        throw lexer.error("indicator constraints are not supported");
+      }
+      chunk.addRow(name, sense, rightHandSide);
+    }
+    return chunk;
+  }
+
+  private void readBounds(Lexer lexer) throws IOException {
+    var cursor = lexer.cursor();
+    int token = lexer.next();
+    while (token != END) {
+      double lower = Double.NaN;
+      int sense = -1;
+      if (token != NAME || lexer.isInfinity()) {
+        lower = lexer.number();
+        sense = lexer.token();
+        if (sense != LESS && sense != GREATER && sense != EQUAL) {
+          throw lexer.error("bound sense expected");
+        }
+        token = lexer.next();
+      }
+      if (token != NAME) {
+        throw lexer.error("variable expected");
+      }
+      int column = column(cursor);
+      token = lexer.next();
+      if (!Double.isNaN(lower)) {
+        setBound(column, sense, lower, true);
+      }
+      if (token == NAME && cursor.fieldIs("free") && Double.isNaN(lower)) {
+        lowerBounds[column] = Double.NEGATIVE_INFINITY;
+        upperBounds[column] = Double.POSITIVE_INFINITY;
+        token = lexer.next();
+      } else if (token == LESS || token == GREATER || token == EQUAL) {
+        sense = token;
+        lexer.next();
+        setBound(column, sense, lexer.number(), false);
+        token = lexer.token();
+      } else if (Double.isNaN(lower)) {
+        throw lexer.error("bound expected");
+      }
+    }
+  }
+
+  /**
+   * Applies a bound given as "value sense variable" or, if the value is on the right, as
+   * "variable sense value".
+   */
+  private void setBound(int column, int sense, double value, boolean left) {
+    if (Math.abs(value) >= INFINITY) {
+      value = Math.copySign(Double.POSITIVE_INFINITY, value);
+    }
+    if (sense == EQUAL) {
+      lowerBounds[column] = value;
+      upperBounds[column] = value;
+    } else if ((sense == LESS) == left) {
+      lowerBounds[column] = value;
+    } else {
+      upperBounds[column] = value;
+    }
+  }
+
+  private void readTypes(Lexer lexer, char type) throws IOException {
+    var cursor = lexer.cursor();
+    while (lexer.next() != END) {
+      if (lexer.token() != NAME) {
+        throw lexer.error("variable expected");
+      }
+      int column = column(cursor);
+      types[column] = type;
+      if (type == ModelData.BINARY) {
+        lowerBounds[column] = Math.max(lowerBounds[column], 0.0);
+        upperBounds[column] = Math.min(upperBounds[column], 1.0);
+      }
+    }
+  }
+
+  /**
+   * Gets the index of the variable in the current field, adding it if needed.
+   */
+  private int column(TextCursor cursor) {
+    int column = columns.findOrAdd(cursor);
+    ensureColumns(columns.size());
+    return column;
+  }
+
+  private void ensureColumns(int size) {
+    int old = types.length;
+    if (size > old) {
+      int capacity = Math.max(size, 2 * old);
+      types = Arrays.copyOf(types, capacity);
+      lowerBounds = Arrays.copyOf(lowerBounds, capacity);
+      upperBounds = Arrays.copyOf(upperBounds, capacity);
+      Arrays.fill(types, old, capacity, ModelData.CONTINUOUS);
+      Arrays.fill(upperBounds, old, capacity, Double.POSITIVE_INFINITY);
+    }
+  }
+
+  /**
+   * Numbers the variables that first appear in the constraints and merges the chunks.
+   */
+  private void mergeConstraints() {
+    for (var chunk : constraints) {
+      var local = chunk.localColumns;
+      int[] map = new int[local.size()];
+      for (int j = 0; j < map.length; j++) {
+        String name = local.name(j);
+        int column = columns.find(name);
+        map[j] = (column >= 0) ? column : columns.add(name);
+      }
+      for (int k = 0; k < chunk.size; k++) {
+        if (chunk.columns[k] < 0) {
+          chunk.columns[k] = map[~chunk.columns[k]];
+        }
+      }
+    }
+  }
+
+  private ModelData build() {
+    ensureColumns(columns.size());
+    var data = new ModelData();
+    int numberOfVariables = columns.size();
+    String[] names = columns.names();
+    int start = 0;
+    while (start < numberOfVariables) {
+      int end = start + 1;
+      while (end < numberOfVariables && types[end] == types[start]) {
+        end++;
+      }
+      data.addVariables(end - start, Arrays.copyOfRange(lowerBounds, start, end),
+          Arrays.copyOfRange(upperBounds, start, end), types[start],
+          Arrays.copyOfRange(names, start, end));
+      start = end;
+    }
+
+    for (var chunk : constraints) {
+      data.addConstraints(chunk.count(), chunk.rowStart, chunk.columns, chunk.values,
+          chunk.senses, chunk.rightHandSides, chunk.names.toArray(new String[0]));
+    }
+
+    data.setObjectiveSense(objectiveSense);
+    data.setObjectiveConstant(objectiveConstant);
+    for (int k = 0; k < objectiveSize; k++) {
+      int column = objectiveColumns[k];
+      data.setObjectiveCoefficient(column, data.getObjectiveCoefficient(column)
+          + objectiveValues[k]);
+    }
+    return data;
+  }
+
+}
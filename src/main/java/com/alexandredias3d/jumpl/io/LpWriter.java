@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Writes a {@link ModelData} in the LP file format read by CPLEX and Gurobi. The model is streamed
+ * row by row through a fixed-size buffer, so no intermediate representation of the file is built
+ * in memory.
+ *
+ * <p>Variables and constraints without a name are written as "x" and "c" followed by their index.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class LpWriter {
+
+  /**
+   * Amount of terms written in each line of a long expression.
+   */
+  private static final int TERMS_PER_LINE = 8;
+
+  /**
+   * Avoids class instantiation.
+   */
+  private LpWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes the model data to the given file, replacing it if it already exists. The file is
+   * compressed with gzip if its name ends with ".gz".
+   *
+   * @param data model data to be written
+   * @param file path of the LP file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(ModelData data, Path file) throws IOException {
+    try (var out = AsciiOutput.open(file)) {
+      write(data, out);
+    }
+  }
+
+  /**
+   * Writes the model data to the given writer. The writer is flushed, but not closed.
+   *
+   * @param data   model data to be written
+   * @param writer destination of the LP text
+   * @throws IOException if the writer fails
+   */
+  public static void write(ModelData data, Writer writer) throws IOException {
+    try (var out = AsciiOutput.of(writer)) {
+      write(data, out);
+    }
+  }
+
+  private static void write(ModelData data, AsciiOutput out) throws IOException {
+    int numberOfVariables = data.getNumberOfVariables();
+
+    out.write((data.getObjectiveSense() == ModelData.MAXIMIZE) ? "Maximize" : "Minimize");
+    out.newLine();
+    out.write(" obj:");
+    double[] objective = data.getObjectiveCoefficients();
+    int written = 0;
+    for (int j = 0; j < numberOfVariables; j++) {
+      if (objective[j] != 0.0) {
+        writeTerm(out, data, objective[j], j, written++);
+      }
+    }
+    double constant = data.getObjectiveConstant();
+    if (constant != 0.0 || written == 0) {
+      out.write((constant < 0.0) ? " - " : " + ");
+      out.writeNumber(Math.abs(constant));
+    }
+    out.newLine();
+
+    out.write("Subject To");
+    out.newLine();
+    int[] rowStart = data.getRowStart();
+    int[] columns = data.getColumnIndices();
+    double[] values = data.getValues();
+    var appears = new boolean[numberOfVariables];
+    for (int j = 0; j < numberOfVariables; j++) {
+      appears[j] = objective[j] != 0.0 || data.getType(j) != ModelData.CONTINUOUS;
+    }
+    for (int i = 0; i < data.getNumberOfConstraints(); i++) {
+      out.write(' ');
+      out.writeConstraintName(data, i);
+      out.write(':');
+      if (rowStart[i] == rowStart[i + 1]) {
+        out.write(" 0 ");
+        out.writeVariableName(data, 0);
+        appears[0] = true;
+      }
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        writeTerm(out, data, values[k], columns[k], k - rowStart[i]);
+        appears[columns[k]] = true;
+      }
+      out.write(sense(data.getSense(i)));
+      out.writeNumber(data.getRightHandSide(i));
+      out.newLine();
+    }
+
+    out.write("Bounds");
+    out.newLine();
+    for (int j = 0; j < numberOfVariables; j++) {
+      writeBounds(out, data, j, appears[j]);
+    }
+
+    writeSection(out, data, "Generals", ModelData.INTEGER);
+    writeSection(out, data, "Binaries", ModelData.BINARY);
+
+    out.write("End");
+    out.newLine();
+  }
+
+  /**
+   * Writes a term of an expression, breaking the line every {@link #TERMS_PER_LINE} terms.
+   */
+  private static void writeTerm(AsciiOutput out, ModelData data, double coefficient, int column,
+      int position) throws IOException {
+    if (position > 0 && position % TERMS_PER_LINE == 0) {
+      out.newLine();
+      out.write("  ");
+    }
+    out.write((coefficient < 0.0) ? " - " : " + ");
+    out.writeNumber(Math.abs(coefficient));
+    out.write(' ');
+    out.writeVariableName(data, column);
+  }
+
+  /**
+   * Writes the bounds of a variable, skipping the default ones (zero and infinity for continuous
+   * and integer variables, zero and one for binary variables) of a variable that appears elsewhere
+   * in the file. A variable that appears nowhere else gets its bound line anyway, or it would be
+   * lost when the file is read.
+   */
+  private static void writeBounds(AsciiOutput out, ModelData data, int column, boolean appears)
+      throws IOException {
+    double lowerBound = data.getLowerBound(column);
+    double upperBound = data.getUpperBound(column);
+    boolean binary = data.getType(column) == ModelData.BINARY;
+    if (lowerBound == 0.0 && upperBound == (binary ? 1.0 : Double.POSITIVE_INFINITY)) {
+      if (!appears) {
+        out.write(' ');
+        out.writeVariableName(data, column);
+        out.write(" >= 0");
+        out.newLine();
+      }
+      return;
+    }
+
+    out.write(' ');
+    if (lowerBound == Double.NEGATIVE_INFINITY && upperBound == Double.POSITIVE_INFINITY) {
+      out.writeVariableName(data, column);
+      out.write(" free");
+    } else if (lowerBound == upperBound) {
+      out.writeVariableName(data, column);
+      out.write(" = ");
+      out.writeNumber(lowerBound);
+    } else {
+      out.writeNumber(lowerBound);
+      out.write(" <= ");
+      out.writeVariableName(data, column);
+      out.write(" <= ");
+      out.writeNumber(upperBound);
+    }
+    out.newLine();
+  }
+
+  /**
+   * Writes the section that lists the variables of the given type, if there is any.
+   */
+  private static void writeSection(AsciiOutput out, ModelData data, String section, char type)
+      throws IOException {
+    int written = 0;
+    for (int j = 0; j < data.getNumberOfVariables(); j++) {
+      if (data.getType(j) != type) {
+        continue;
+      }
+      if (written == 0) {
+        out.write(section);
+        out.newLine();
+      }
+      out.write(' ');
+      out.writeVariableName(data, j);
+      if (++written % TERMS_PER_LINE == 0) {
+        out.newLine();
+      }
+    }
+    if (written % TERMS_PER_LINE != 0) {
+      out.newLine();
+    }
+  }
+
+  private static String sense(char sense) {
+    switch (sense) {
+      case ModelData.LESS_EQUAL:
+        return " <= ";
+
+      case ModelData.GREATER_EQUAL:
+        return " >= ";
+
+      case ModelData.EQUAL:
+        return " = ";
+
+      default:
+        throw new IllegalArgumentException(
+            LpWriter.class.getName() + ": unknown constraint sense '" + sense + "'.");
+    }
+  }
+
+}
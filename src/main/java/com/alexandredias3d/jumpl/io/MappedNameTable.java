@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Open-addressing table that numbers names in the order they are added. Names can be looked up
+ * straight from the field of a {@link TextCursor} over a mapped file, so repeated names in a file
+ * are resolved without creating strings. Names are kept and hashed as their UTF-8 bytes, the
+ * encoding of the files; the hash of an ASCII name is the same as {@link String#hashCode()}.
+ *
+ * <p>Unlike the name table of a {@link com.alexandredias3d.jumpl.api.ModelData}, it only lives
+ * while a file is read.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class MappedNameTable {
+
+  private String[] names = new String[16];
+  private int size;
+
+  /**
+   * UTF-8 bytes of the names, stored back to back so that a lookup touches a single array.
+   */
+  private byte[] pool = new byte[256];
+  private int[] offsets = new int[17];
+
+  /**
+   * Hash of the name stored in each slot in the upper half and its index plus one in the lower
+   * half, or zero for an empty slot.
+   */
+  private long[] slots = new long[32];
+
+  int size() {
+    return size;
+  }
+
+  String name(int index) {
+    return names[index];
+  }
+
+  /**
+   * Gets the names in the order they were added.
+   */
+  String[] names() {
+    return Arrays.copyOf(names, size);
+  }
+
+  /**
+   * Finds the index of the name in the current field of the cursor.
+   *
+   * @return index of the name, or -1 if it is not in the table
+   */
+  int find(TextCursor cursor) {
+    var buffer = cursor.buffer();
+    int start = cursor.fieldStart();
+    int length = cursor.fieldLength();
+    int hash = 0;
+    for (int i = start; i < start + length; i++) {
+      hash = 31 * hash + (buffer.get(i) & 0xff);
+    }
+
+    int mask = slots.length - 1;
+    for (int slot = mix(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+      if ((int) (slots[slot] >>> 32) != hash) {
+        continue;
+      }
+      int index = (int) slots[slot] - 1;
+      int offset = offsets[index];
+      if (offsets[index + 1] - offset != length) {
+        continue;
+      }
+      int i = 0;
+      while (i < length && pool[offset + i] == buffer.get(start + i)) {
+        i++;
+      }
+      if (i == length) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds the index of the name in the current field of the cursor, adding it if needed.
+   *
+   * @return index of the name
+   */
+  int findOrAdd(TextCursor cursor) {
+    int index = find(cursor);
+    return (index >= 0) ? index : add(cursor.fieldString());
+  }
+
+  /**
+   * Finds the index of a name.
+   *
+   * @return index of the name, or -1 if it is not in the table
+   */
+  int find(String name) {
+    int hash = hash(name);
+    int mask = slots.length - 1;
+    for (int slot = mix(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+      int index = (int) slots[slot] - 1;
+      if ((int) (slots[slot] >>> 32) == hash && names[index].equals(name)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds a name that is not in the table.
+   *
+   * @return index of the name
+   */
+  int add(String name) {
+    if (size == names.length) {
+      names = Arrays.copyOf(names, 2 * size);
+      offsets = Arrays.copyOf(offsets, 2 * size + 1);
+    }
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    int offset = offsets[size];
+    if (offset + bytes.length > pool.length) {
+      pool = Arrays.copyOf(pool, Math.max(2 * pool.length, offset + bytes.length));
+    }
+    System.arraycopy(bytes, 0, pool, offset, bytes.length);
+    offsets[size + 1] = offset + bytes.length;
+    names[size] = name;
+
+    if (2 * ++size > slots.length) {
+      long[] old = slots;
+      slots = new long[2 * old.length];
+      for (long entry : old) {
+        if (entry != 0) {
+          insert(entry);
+        }
+      }
+    }
+    insert(((long) hash(name) << 32) | size);
+    return size - 1;
+  }
+
+  private void insert(long entry) {
+    int mask = slots.length - 1;
+    int slot = mix((int) (entry >>> 32)) & mask;
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = entry;
+  }
+
+  /**
+   * Hashes the UTF-8 bytes of a name, as {@link #find(TextCursor)} hashes a field.
+   */
+  private static int hash(String name) {
+    int hash = 0;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (c >= 0x80) {
+        hash = 0;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+          hash = 31 * hash + (b & 0xff);
+        }
+        return hash;
+      }
+      hash = 31 * hash + c;
+    }
+    return hash;
+  }
+
+  private static int mix(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Text file that is read through memory mappings. A range of the file can be split into chunks
+ * that start at line boundaries and parsed by several threads; each chunk is mapped on its own, so
+ * files larger than 2 GB are supported.
+ *
+ * <p>A compressed file (with the ".gz" extension) cannot be mapped, so it is decompressed into a
+ * temporary file first, as large as the uncompressed text, which is deleted when the text is
+ * closed.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class MappedText implements Closeable {
+
+  /**
+   * Smallest chunk handed to a thread, so small files are parsed by a single one.
+   */
+  private static final long MIN_CHUNK = 1L << 20;
+
+  /**
+   * Largest chunk, kept well below the 2 GB limit of a mapping.
+   */
+  private static final long MAX_CHUNK = 1L << 28;
+
+  /**
+   * Amount of bytes mapped at a time while looking for the end of a line.
+   */
+  private static final int WINDOW = 1 << 12;
+
+  private final FileChannel channel;
+  private final long size;
+  private final Class<?> owner;
+
+  /**
+   * Opens a file for reading.
+   *
+   * @param file      path of the file
+   * @param directory directory of the decompressed copy of a compressed file, or null for the
+   *                  default temporary directory
+   * @param owner     class that reads the file, used in error messages
+   * @throws IOException if the file cannot be opened
+   */
+  MappedText(Path file, Path directory, Class<?> owner) throws IOException {
+    this.owner = owner;
+    if (Gzip.isCompressed(file)) {
+      Path inflated = Gzip.inflate(file, directory);
+      try {
+        this.channel = FileChannel.open(inflated, StandardOpenOption.READ,
+            StandardOpenOption.DELETE_ON_CLOSE);
+      } catch (IOException e) {
+        Files.deleteIfExists(inflated);
+        throw e;
+      }
+    } else {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+    this.size = channel.size();
+  }
+
+  long size() {
+    return size;
+  }
+
+  /**
+   * Maps a range of the file.
+   */
+  MappedByteBuffer map(long start, long end) throws IOException {
+    return channel.map(MapMode.READ_ONLY, start, end - start);
+  }
+
+  /**
+   * Creates a cursor over a range of the file.
+   */
+  TextCursor cursor(long start, long end) throws IOException {
+    return new TextCursor(map(start, end), start, owner);
+  }
+
+  /**
+   * Finds the first line that starts at or after the given position.
+   *
+   * @return start of the line, or the size of the file if there is none
+   */
+  long lineStart(long position) throws IOException {
+    if (position <= 0 || position >= size) {
+      return Math.max(0, Math.min(position, size));
+    }
+    for (long start = position - 1; start < size; start += WINDOW) {
+      var window = map(start, Math.min(size, start + WINDOW));
+      for (int i = 0; i < window.limit(); i++) {
+        if (window.get(i) == '\n') {
+          return start + i + 1;
+        }
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Splits a range of the file into chunks that start at line boundaries.
+   *
+   * @param start first byte of the range, which must start a line
+   * @param end   one past the last byte of the range, which must end a line or the file
+   * @return start of each chunk, followed by the end of the range
+   */
+  long[] split(long start, long end) throws IOException {
+    int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    long chunk = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, (end - start) / (4L * parallelism)));
+    var bounds = new ArrayList<Long>();
+    bounds.add(start);
+    for (long position = start + chunk; position < end; position += chunk) {
+      long bound = lineStart(position);
+      if (bound >= end) {
+        break;
+      }
+      if (bound > bounds.get(bounds.size() - 1)) {
+        bounds.add(bound);
+      }
+    }
+    bounds.add(end);
+    return bounds.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * Parses the chunks of a range of the file in parallel.
+   *
+   * @param bounds start of each chunk followed by the end of the range, as given by {@link #split}
+   * @param parser parser applied to each chunk
+   * @param <T>    result of the parser
+   * @return results of the chunks, in the order of the file
+   */
+  <T> List<T> parse(long[] bounds, ChunkParser<T> parser) throws IOException {
+    var tasks = new ArrayList<Callable<T>>(bounds.length - 1);
+    for (int c = 0; c + 1 < bounds.length; c++) {
+      long start = bounds[c];
+      long end = bounds[c + 1];
+      tasks.add(() -> {
+        try {
+          return parser.parse(cursor(start, end));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+
+    List<Future<T>> futures = (tasks.size() == 1) ? null
+        : ForkJoinPool.commonPool().invokeAll(tasks);
+    var results = new ArrayList<T>(tasks.size());
+    try {
+      for (int c = 0; c < tasks.size(); c++) {
+        results.add((futures == null) ? tasks.get(c).call() : futures.get(c).get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(owner.getName() + ": interrupted while reading the file.", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    } catch (Exception e) {
+      throw unwrap(e);
+    }
+    return results;
+  }
+
+  private static IOException unwrap(Throwable cause) {
+    if (cause instanceof UncheckedIOException) {
+      return ((UncheckedIOException) cause).getCause();
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IOException(cause);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Parser of a chunk of the file.
+   *
+   * @param <T> result of the parser
+   */
+  @FunctionalInterface
+  interface ChunkParser<T> {
+
+    /**
+     * Parses a chunk, which starts at the beginning of a line.
+     *
+     * @param cursor cursor at the start of the chunk
+     * @return result of the chunk
+     * @throws IOException if the chunk is malformed
+     */
+    T parse(TextCursor cursor) throws IOException;
+  }
+
+}
@@ -0,0 +1,705 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a model in the free MPS file format into a {@link ModelData}, which can then be loaded
+ * into any backend with {@link com.alexandredias3d.jumpl.api.Model#load(ModelData)}.
+ *
+ * <p>The file is memory-mapped and parsed in place. The section headers are located first, with
+ * the whole file split into chunks scanned in parallel; the COLUMNS section, which holds the
+ * matrix, is then parsed in parallel as well, each chunk into its own primitive arrays that are
+ * merged in file order. The other sections have one line per row or column and are read
+ * sequentially.
+ *
+ * <p>The first N row is the objective function and other N rows are ignored. Ranged rows are
+ * split into two constraints: the row keeps one side of the range and a constraint named after it
+ * with the suffix "_range" is added at the end for the other side. Bounds at or beyond 1e20 are
+ * infinite. Quadratic, SOS and indicator sections are not supported.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class MpsReader {
+
+  /**
+   * Magnitude from which bounds are infinite, as in CPLEX and Gurobi.
+   */
+  private static final double INFINITY = 1e20;
+
+  /**
+   * Row kind of the objective function.
+   */
+  private static final int OBJECTIVE = -1;
+
+  /**
+   * Row kind of the ignored N rows.
+   */
+  private static final int FREE = -2;
+
+  /**
+   * Marker state of the columns read before the first marker of a chunk.
+   */
+  private static final char UNKNOWN = '?';
+
+  private static final String[] BOUND_TYPES = {"UP", "LO", "FX", "FR", "MI", "PL", "BV", "LI",
+      "UI"};
+
+  private enum Section {
+    NAME, OBJSENSE, ROWS, COLUMNS, RHS, RANGES, BOUNDS, ENDATA
+  }
+
+  private static final String[] UNSUPPORTED = {"QUADOBJ", "QMATRIX", "QSECTION",
+      "QCMATRIX", "SOS", "INDICATORS", "CSECTION", "LAZYCONS", "USERCUTS", "GENERAL", "PWLOBJ"};
+
+  private final MappedText text;
+  private final MappedNameTable rows = new MappedNameTable();
+  private final MappedNameTable columns = new MappedNameTable();
+
+  private int objectiveSense = ModelData.MINIMIZE;
+  private double objectiveConstant;
+  private int numberOfConstraints;
+  private int[] rowKinds = new int[16];
+  private char[] senses = new char[16];
+  private double[] rightHandSides;
+  private double[] ranges;
+  private String[] constraintNames;
+
+  private char[] types = new char[16];
+  private double[] lowerBounds;
+  private double[] upperBounds;
+  private double[] objective;
+  private int[] rowStart;
+  private int[] columnIndices;
+  private double[] values;
+
+  private MpsReader(MappedText text) {
+    this.text = text;
+  }
+
+  /**
+   * Reads the model in the given free MPS file, which is decompressed first into the default
+   * temporary directory if its name ends with ".gz" (see {@link #read(Path, Path)}).
+   *
+   * @param file path of the MPS file
+   * @return model data of the file
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static ModelData read(Path file) throws IOException {
+    return read(file, null);
+  }
+
+  /**
+   * Reads the model in the given MPS file. If its name ends with ".gz", it is decompressed first
+   * into a temporary file in the given directory, which takes as much disk space as the
+   * uncompressed file and is deleted once the file is read.
+   *
+   * @param file      path of the MPS file
+   * @param directory directory of the temporary file, or null for the default temporary directory
+   * @return model data of the file
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static ModelData read(Path file, Path directory) throws IOException {
+    try (var text = new MappedText(file, directory, MpsReader.class)) {
+      return new MpsReader(text).read();
+    }
+  }
+
+  private ModelData read() throws IOException {
+    List<long[]> headers = new ArrayList<>();
+    for (List<long[]> found : text.parse(text.split(0, text.size()), MpsReader::findHeaders)) {
+      headers.addAll(found);
+    }
+
+    // Each header holds its position, the start of its data and its section.
+    long[] columnsRange = null;
+    List<long[]> afterColumns = new ArrayList<>();
+    for (int h = 0; h < headers.size(); h++) {
+      long[] header = headers.get(h);
+      long end = (h + 1 < headers.size()) ? headers.get(h + 1)[0] : text.size();
+      Section section = Section.values()[(int) header[2]];
+      switch (section) {
+        case OBJSENSE:
+          if (header[3] != 0) {
+            objectiveSense = (int) header[3];
+          }
+          readObjectiveSense(text.cursor(header[1], end));
+          break;
+
+        case ROWS:
+          readRows(text.cursor(header[1], end));
+          break;
+
+        case COLUMNS:
+          columnsRange = new long[]{header[1], end};
+          break;
+
+        case RHS:
+        case RANGES:
+        case BOUNDS:
+          afterColumns.add(new long[]{header[1], end, header[2]});
+          break;
+
+        default:
+          break;
+      }
+    }
+
+    rightHandSides = new double[numberOfConstraints];
+    ranges = new double[numberOfConstraints];
+    Arrays.fill(ranges, Double.NaN);
+    if (columnsRange != null) {
+      readColumns(columnsRange[0], columnsRange[1]);
+    } else {
+      readColumns(0, 0);
+    }
+    for (long[] range : afterColumns) {
+      var cursor = text.cursor(range[0], range[1]);
+      switch (Section.values()[(int) range[2]]) {
+        case RHS:
+          readRightHandSides(cursor, false);
+          break;
+
+        case RANGES:
+          readRightHandSides(cursor, true);
+          break;
+
+        default:
+          readBounds(cursor);
+          break;
+      }
+    }
+    return build();
+  }
+
+  /**
+   * Finds the section headers of a chunk, which are the lines that start with a section name in the
+   * first column.
+   */
+  private static List<long[]> findHeaders(TextCursor cursor) throws IOException {
+    List<long[]> headers = new ArrayList<>();
+    while (cursor.hasRemaining()) {
+      int lineStart = cursor.position();
+      byte first = cursor.peek();
+      if (TextCursor.isBlank(first) || first == '*' || first == '\n' || !cursor.nextField()) {
+        cursor.skipLine();
+        continue;
+      }
+      Section section = null;
+      for (Section candidate : Section.values()) {
+        if (cursor.fieldIs(candidate.name())) {
+          section = candidate;
+        }
+      }
+      if (section == null) {
+        for (String unsupported : UNSUPPORTED) {
+          if (cursor.fieldIs(unsupported)) {
+            throw cursor.error("unsupported section " + unsupported);
+          }
+        }
+        cursor.skipLine();
+        continue;
+      }
+      long sense = 0;
+      if (section == Section.OBJSENSE && cursor.nextField()) {
+        sense = objectiveSense(cursor);
+      }
+      cursor.skipLine();
+      headers.add(new long[]{cursor.offset() + lineStart, cursor.offset() + cursor.position(),
+          section.ordinal(), sense});
+    }
+    return headers;
+  }
+
+  private static int objectiveSense(TextCursor cursor) throws IOException {
+    if (cursor.fieldIs("MAX") || cursor.fieldIs("MAXIMIZE")) {
+      return ModelData.MAXIMIZE;
+    }
+    if (cursor.fieldIs("MIN") || cursor.fieldIs("MINIMIZE")) {
+      return ModelData.MINIMIZE;
+    }
+    throw cursor.error("unknown objective sense '" + cursor.fieldString() + "'");
+  }
+
+  private void readObjectiveSense(TextCursor cursor) throws IOException {
+    while (cursor.hasRemaining()) {
+      if (cursor.nextField()) {
+        objectiveSense = objectiveSense(cursor);
+      }
+      cursor.skipLine();
+    }
+  }
+
+  private void readRows(TextCursor cursor) throws IOException {
+    boolean objectiveFound = false;
+    while (cursor.hasRemaining()) {
+      if (!isDataLine(cursor)) {
+        continue;
+      }
+      char sense;
+      if (cursor.fieldIs("N")) {
+        sense = 'N';
+      } else if (cursor.fieldIs("L")) {
+        sense = ModelData.LESS_EQUAL;
+      } else if (cursor.fieldIs("G")) {
+        sense = ModelData.GREATER_EQUAL;
+      } else if (cursor.fieldIs("E")) {
+        sense = ModelData.EQUAL;
+      } else {
+        throw cursor.error("unknown row type '" + cursor.fieldString() + "'");
+      }
+      if (!cursor.nextField()) {
+        throw cursor.error("missing row name");
+      }
+      if (rows.find(cursor) >= 0) {
+        throw cursor.error("duplicate row '" + cursor.fieldString() + "'");
+      }
+      int row = rows.add(cursor.fieldString());
+      if (row == rowKinds.length) {
+        rowKinds = Arrays.copyOf(rowKinds, 2 * row);
+      }
+      if (sense != 'N') {
+        if (numberOfConstraints == senses.length) {
+          senses = Arrays.copyOf(senses, 2 * numberOfConstraints);
+        }
+        senses[numberOfConstraints] = sense;
+        rowKinds[row] = numberOfConstraints++;
+      } else {
+        rowKinds[row] = objectiveFound ? FREE : OBJECTIVE;
+        objectiveFound = true;
+      }
+      cursor.skipLine();
+    }
+
+    constraintNames = new String[numberOfConstraints];
+    for (int row = 0; row < rows.size(); row++) {
+      if (rowKinds[row] >= 0) {
+        constraintNames[rowKinds[row]] = rows.name(row);
+      }
+    }
+  }
+
+  /**
+   * Moves the cursor to the first field of the line, skipping blank and comment lines.
+   *
+   * @return false if the line was skipped
+   */
+  private static boolean isDataLine(TextCursor cursor) {
+    if (cursor.peek() == '*' || !cursor.nextField()) {
+      cursor.skipLine();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Entries of a chunk of the COLUMNS section, with the columns numbered from zero in the chunk.
+   */
+  private static final class ColumnChunk {
+
+    private final List<String> names = new ArrayList<>();
+    private char[] states = new char[16];
+    private char lastState = UNKNOWN;
+    private int size;
+    private int[] rows = new int[64];
+    private int[] columns = new int[64];
+    private double[] values = new double[64];
+    private int objectiveSize;
+    private int[] objectiveColumns = new int[16];
+    private double[] objectiveValues = new double[16];
+
+    void addColumn(String name, char state) {
+      if (names.size() == states.length) {
+        states = Arrays.copyOf(states, 2 * states.length);
+      }
+      states[names.size()] = state;
+      names.add(name);
+    }
+
+    void add(int row, double value) {
+      int column = names.size() - 1;
+      if (row == OBJECTIVE) {
+        if (objectiveSize == objectiveColumns.length) {
+          objectiveColumns = Arrays.copyOf(objectiveColumns, 2 * objectiveSize);
+          objectiveValues = Arrays.copyOf(objectiveValues, 2 * objectiveSize);
+        }
+        objectiveColumns[objectiveSize] = column;
+        objectiveValues[objectiveSize++] = value;
+      } else if (row >= 0) {
+        if (size == rows.length) {
+          rows = Arrays.copyOf(rows, 2 * size);
+          columns = Arrays.copyOf(columns, 2 * size);
+          values = Arrays.copyOf(values, 2 * size);
+        }
+        rows[size] = row;
+        columns[size] = column;
+        values[size++] = value;
+      }
+    }
+  }
+
+  private ColumnChunk parseColumns(TextCursor cursor) throws IOException {
+    var chunk = new ColumnChunk();
+    char state = UNKNOWN;
+    int nameStart = 0;
+    int nameEnd = 0;
+    var buffer = cursor.buffer();
+    while (cursor.hasRemaining()) {
+      if (!isDataLine(cursor)) {
+        continue;
+      }
+      int start = cursor.fieldStart();
+      int end = cursor.fieldEnd();
+      if (!cursor.nextField()) {
+        throw cursor.error("missing row");
+      }
+      if (cursor.fieldIs("'MARKER'") || cursor.fieldIs("MARKER")) {
+        if (!cursor.nextField()) {
+          throw cursor.error("missing marker type");
+        }
+        if (cursor.fieldIs("'INTORG'") || cursor.fieldIs("INTORG")) {
+          state = ModelData.INTEGER;
+        } else if (cursor.fieldIs("'INTEND'") || cursor.fieldIs("INTEND")) {
+          state = ModelData.CONTINUOUS;
+        } else {
+          throw cursor.error("unknown marker '" + cursor.fieldString() + "'");
+        }
+        chunk.lastState = state;
+        cursor.skipLine();
+        continue;
+      }
+
+      boolean same = chunk.names.size() > 0 && end - start == nameEnd - nameStart;
+      for (int i = 0; same && i < end - start; i++) {
+        same = buffer.get(start + i) == buffer.get(nameStart + i);
+      }
+      if (!same) {
+        int rowStart = cursor.fieldStart();
+        int rowEnd = cursor.fieldEnd();
+        cursor.setField(start, end);
+        chunk.addColumn(cursor.fieldString(), state);
+        cursor.setField(rowStart, rowEnd);
+        nameStart = start;
+        nameEnd = end;
+      }
+
+      do {
+        int row = rows.find(cursor);
+        if (row < 0) {
+          throw cursor.error("unknown row '" + cursor.fieldString() + "'");
+        }
+        if (!cursor.nextField()) {
+          throw cursor.error("missing value");
+        }
+        chunk.add(rowKinds[row], cursor.fieldNumber());
+      } while (cursor.nextField());
+      cursor.skipLine();
+    }
+    return chunk;
+  }
+
+  /**
+   * Parses the COLUMNS section in parallel and merges the chunks into the matrix in compressed
+   * sparse row format.
+   */
+  private void readColumns(long start, long end) throws IOException {
+    List<ColumnChunk> chunks = text.parse(text.split(start, end), this::parseColumns);
+
+    char state = ModelData.CONTINUOUS;
+    int nonZeros = 0;
+    int[][] maps = new int[chunks.size()][];
+    for (int c = 0; c < chunks.size(); c++) {
+      var chunk = chunks.get(c);
+      int[] map = new int[chunk.names.size()];
+      for (int j = 0; j < map.length; j++) {
+        String name = chunk.names.get(j);
+        int column = columns.find(name);
+        if (column < 0) {
+          column = columns.add(name);
+          if (column == types.length) {
+            types = Arrays.copyOf(types, 2 * column);
+          }
+          types[column] = (chunk.states[j] == UNKNOWN) ? state : chunk.states[j];
+        }
+        map[j] = column;
+      }
+      if (chunk.lastState != UNKNOWN) {
+        state = chunk.lastState;
+      }
+      maps[c] = map;
+      nonZeros += chunk.size;
+    }
+
+    int numberOfVariables = columns.size();
+    objective = new double[numberOfVariables];
+    lowerBounds = new double[numberOfVariables];
+    upperBounds = new double[numberOfVariables];
+    Arrays.fill(upperBounds, Double.POSITIVE_INFINITY);
+    rowStart = new int[numberOfConstraints + 1];
+    for (var chunk : chunks) {
+      for (int k = 0; k < chunk.size; k++) {
+        rowStart[chunk.rows[k] + 1]++;
+      }
+    }
+    for (int i = 0; i < numberOfConstraints; i++) {
+      rowStart[i + 1] += rowStart[i];
+    }
+    int[] next = Arrays.copyOf(rowStart, numberOfConstraints);
+    columnIndices = new int[nonZeros];
+    values = new double[nonZeros];
+    for (int c = 0; c < chunks.size(); c++) {
+      var chunk = chunks.get(c);
+      int[] map = maps[c];
+      for (int k = 0; k < chunk.size; k++) {
+        int position = next[chunk.rows[k]]++;
+        columnIndices[position] = map[chunk.columns[k]];
+        values[position] = chunk.values[k];
+      }
+      for (int k = 0; k < chunk.objectiveSize; k++) {
+        objective[map[chunk.objectiveColumns[k]]] += chunk.objectiveValues[k];
+      }
+      chunks.set(c, null);
+    }
+  }
+
+  /**
+   * Reads the RHS or the RANGES section. Each line may start with the name of the vector, which
+   * is ignored, followed by one or two pairs of row and value.
+   */
+  private void readRightHandSides(TextCursor cursor, boolean range) throws IOException {
+    int[] starts = new int[5];
+    int[] ends = new int[5];
+    while (cursor.hasRemaining()) {
+      if (!isDataLine(cursor)) {
+        continue;
+      }
+      int fields = readFields(cursor, starts, ends);
+      for (int f = fields % 2; f + 1 < fields; f += 2) {
+        cursor.setField(starts[f], ends[f]);
+        int row = rows.find(cursor);
+        if (row < 0) {
+          throw cursor.error("unknown row '" + cursor.fieldString() + "'");
+        }
+        cursor.setField(starts[f + 1], ends[f + 1]);
+        double value = cursor.fieldNumber();
+        int kind = rowKinds[row];
+        if (range && kind >= 0) {
+          ranges[kind] = value;
+        } else if (kind >= 0) {
+          rightHandSides[kind] = value;
+        } else if (kind == OBJECTIVE && !range) {
+          objectiveConstant = -value;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the remaining fields of a line, starting with the current one, and moves to the next
+   * line.
+   *
+   * @return number of fields
+   */
+  private static int readFields(TextCursor cursor, int[] starts, int[] ends) throws IOException {
+    int fields = 0;
+    do {
+      if (fields == starts.length) {
+        throw cursor.error("too many fields");
+      }
+      starts[fields] = cursor.fieldStart();
+      ends[fields++] = cursor.fieldEnd();
+    } while (cursor.nextField());
+    cursor.skipLine();
+    return fields;
+  }
+
+  private void readBounds(TextCursor cursor) throws IOException {
+    int[] starts = new int[5];
+    int[] ends = new int[5];
+    boolean[] lowerGiven = new boolean[columns.size()];
+    while (cursor.hasRemaining()) {
+      if (!isDataLine(cursor)) {
+        continue;
+      }
+      int fields = readFields(cursor, starts, ends);
+      cursor.setField(starts[0], ends[0]);
+      String type = boundType(cursor);
+      boolean valued = !type.equals("MI") && !type.equals("PL") && !type.equals("FR")
+          && !type.equals("BV");
+      int name = (fields == (valued ? 4 : 3) || fields == 4) ? 2 : 1;
+      if (fields <= name || (valued && fields <= name + 1)) {
+        throw cursor.error("missing bound field");
+      }
+      cursor.setField(starts[name], ends[name]);
+      int column = columns.find(cursor);
+      if (column < 0) {
+        throw cursor.error("unknown column '" + cursor.fieldString() + "'");
+      }
+      double value = 0.0;
+      if (valued) {
+        cursor.setField(starts[name + 1], ends[name + 1]);
+        value = cursor.fieldNumber();
+        if (Math.abs(value) >= INFINITY) {
+          value = Math.copySign(Double.POSITIVE_INFINITY, value);
+        }
+      }
+
+      switch (type) {
+        case "UI":
+          types[column] = ModelData.INTEGER;
+          // falls through
+        case "UP":
+          upperBounds[column] = value;
+          if (value < 0.0 && lowerBounds[column] == 0.0 && !lowerGiven[column]) {
+            lowerBounds[column] = Double.NEGATIVE_INFINITY;
+          }
+          break;
+
+        case "LI":
+          types[column] = ModelData.INTEGER;
+          // falls through
+        case "LO":
+          lowerBounds[column] = value;
+          lowerGiven[column] = true;
+          break;
+
+        case "FX":
+          lowerBounds[column] = value;
+          upperBounds[column] = value;
+          lowerGiven[column] = true;
+          break;
+
+        case "FR":
+          lowerBounds[column] = Double.NEGATIVE_INFINITY;
+          upperBounds[column] = Double.POSITIVE_INFINITY;
+          lowerGiven[column] = true;
+          break;
+
+        case "MI":
+          lowerBounds[column] = Double.NEGATIVE_INFINITY;
+          lowerGiven[column] = true;
+          break;
+
+        case "PL":
+          upperBounds[column] = Double.POSITIVE_INFINITY;
+          break;
+
+        case "BV":
+          types[column] = ModelData.BINARY;
+          lowerBounds[column] = 0.0;
+          upperBounds[column] = 1.0;
+          lowerGiven[column] = true;
+          break;
+
+        default:
+          throw new AssertionError(type);
+      }
+    }
+  }
+
+  private static String boundType(TextCursor cursor) throws IOException {
+    for (String type : BOUND_TYPES) {
+      if (cursor.fieldIs(type)) {
+        return type;
+      }
+    }
+    throw cursor.error("unsupported bound type '" + cursor.fieldString() + "'");
+  }
+
+  /**
+   * Builds the model data, splitting ranged rows in two constraints.
+   */
+  private ModelData build() {
+    int extra = 0;
+    for (int i = 0; i < numberOfConstraints; i++) {
+      extra += Double.isNaN(ranges[i]) ? 0 : 1;
+    }
+    int total = numberOfConstraints + extra;
+    senses = Arrays.copyOf(senses, total);
+    rightHandSides = Arrays.copyOf(rightHandSides, total);
+    constraintNames = Arrays.copyOf(constraintNames, total);
+    if (extra > 0) {
+      int nonZeros = rowStart[numberOfConstraints];
+      for (int i = 0; i < numberOfConstraints; i++) {
+        nonZeros += Double.isNaN(ranges[i]) ? 0 : rowStart[i + 1] - rowStart[i];
+      }
+      rowStart = Arrays.copyOf(rowStart, total + 1);
+      columnIndices = Arrays.copyOf(columnIndices, nonZeros);
+      values = Arrays.copyOf(values, nonZeros);
+      int row = numberOfConstraints;
+      for (int i = 0; i < numberOfConstraints; i++) {
+        if (Double.isNaN(ranges[i])) {
+          continue;
+        }
+        int length = rowStart[i + 1] - rowStart[i];
+        System.arraycopy(columnIndices, rowStart[i], columnIndices, rowStart[row], length);
+        System.arraycopy(values, rowStart[i], values, rowStart[row], length);
+        rowStart[row + 1] = rowStart[row] + length;
+        splitRange(i, row++);
+      }
+    }
+
+    var data = new ModelData();
+    int numberOfVariables = columns.size();
+    String[] names = columns.names();
+    int start = 0;
+    while (start < numberOfVariables) {
+      int end = start + 1;
+      while (end < numberOfVariables && types[end] == types[start]) {
+        end++;
+      }
+      data.addVariables(end - start, Arrays.copyOfRange(lowerBounds, start, end),
+          Arrays.copyOfRange(upperBounds, start, end), types[start],
+          Arrays.copyOfRange(names, start, end));
+      start = end;
+    }
+    data.addConstraints(total, rowStart, columnIndices, values, senses, rightHandSides,
+        constraintNames);
+    data.setObjectiveSense(objectiveSense);
+    data.setObjectiveConstant(objectiveConstant);
+    for (int j = 0; j < numberOfVariables; j++) {
+      if (objective[j] != 0.0) {
+        data.setObjectiveCoefficient(j, objective[j]);
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Turns the range of a row into the constraint of the row and the given extra constraint, using
+   * the rules of the MPS format for the interval [rhs, rhs + |range|] or [rhs - |range|, rhs].
+   */
+  private void splitRange(int row, int extra) {
+    double rhs = rightHandSides[row];
+    double range = ranges[row];
+    char sense = senses[row];
+    boolean upward = sense == ModelData.GREATER_EQUAL
+        || (sense == ModelData.EQUAL && range > 0.0);
+    senses[row] = upward ? ModelData.GREATER_EQUAL : ModelData.LESS_EQUAL;
+    senses[extra] = upward ? ModelData.LESS_EQUAL : ModelData.GREATER_EQUAL;
+    rightHandSides[extra] = upward ? rhs + Math.abs(range) : rhs - Math.abs(range);
+    constraintNames[extra] = constraintNames[row] + "_range";
+  }
+
+}
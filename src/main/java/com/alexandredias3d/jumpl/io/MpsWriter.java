@@ -0,0 +1,284 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes a {@link ModelData} in the free MPS file format read by CPLEX and Gurobi. The model is
+ * streamed through a fixed-size buffer; the only extra memory is an index of the nonzeros by
+ * column (four bytes per nonzero), as the COLUMNS section lists the matrix column by column.
+ *
+ * <p>Variables and constraints without a name are written as "x" and "c" followed by their index.
+ * The objective function is written as the row "obj" and its constant as the negated right-hand
+ * side of that row, which is how both solvers read it.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class MpsWriter {
+
+  /**
+   * Name of the objective function row.
+   */
+  private static final String OBJECTIVE = "obj";
+
+  /**
+   * Avoids class instantiation.
+   */
+  private MpsWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes the model data to the given file, replacing it if it already exists. The file is
+   * compressed with gzip if its name ends with ".gz".
+   *
+   * @param data model data to be written
+   * @param file path of the MPS file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(ModelData data, Path file) throws IOException {
+    try (var out = AsciiOutput.open(file)) {
+      write(data, out);
+    }
+  }
+
+  /**
+   * Writes the model data to the given writer. The writer is flushed, but not closed.
+   *
+   * @param data   model data to be written
+   * @param writer destination of the MPS text
+   * @throws IOException if the writer fails
+   */
+  public static void write(ModelData data, Writer writer) throws IOException {
+    try (var out = AsciiOutput.of(writer)) {
+      write(data, out);
+    }
+  }
+
+  private static void write(ModelData data, AsciiOutput out) throws IOException {
+    out.write("NAME jumpl");
+    out.newLine();
+    if (data.getObjectiveSense() == ModelData.MAXIMIZE) {
+      out.write("OBJSENSE");
+      out.newLine();
+      out.write("    MAX");
+      out.newLine();
+    }
+
+    out.write("ROWS");
+    out.newLine();
+    out.write(" N ");
+    out.write(OBJECTIVE);
+    out.newLine();
+    for (int i = 0; i < data.getNumberOfConstraints(); i++) {
+      out.write(' ');
+      out.write(rowType(data.getSense(i)));
+      out.write(' ');
+      out.writeConstraintName(data, i);
+      out.newLine();
+    }
+
+    writeColumns(out, data);
+    writeRightHandSides(out, data);
+
+    out.write("BOUNDS");
+    out.newLine();
+    for (int j = 0; j < data.getNumberOfVariables(); j++) {
+      writeBounds(out, data, j);
+    }
+
+    out.write("ENDATA");
+    out.newLine();
+  }
+
+  /**
+   * Writes the COLUMNS section, surrounding each run of integer and binary variables with markers.
+   */
+  private static void writeColumns(AsciiOutput out, ModelData data) throws IOException {
+    int numberOfVariables = data.getNumberOfVariables();
+    int numberOfConstraints = data.getNumberOfConstraints();
+    int[] rowStart = data.getRowStart();
+    int[] columns = data.getColumnIndices();
+    double[] values = data.getValues();
+    double[] objective = data.getObjectiveCoefficients();
+
+    int[] columnStart = new int[numberOfVariables + 1];
+    for (int k = 0; k < rowStart[numberOfConstraints]; k++) {
+      columnStart[columns[k] + 1]++;
+    }
+    for (int j = 0; j < numberOfVariables; j++) {
+      columnStart[j + 1] += columnStart[j];
+    }
+    int[] next = Arrays.copyOf(columnStart, numberOfVariables);
+    int[] nonZeros = new int[rowStart[numberOfConstraints]];
+    for (int k = 0; k < nonZeros.length; k++) {
+      nonZeros[next[columns[k]]++] = k;
+    }
+
+    out.write("COLUMNS");
+    out.newLine();
+    boolean integer = false;
+    for (int j = 0; j < numberOfVariables; j++) {
+      if (integer != (data.getType(j) != ModelData.CONTINUOUS)) {
+        integer = !integer;
+        out.write(integer ? " MARKER 'MARKER' 'INTORG'" : " MARKER 'MARKER' 'INTEND'");
+        out.newLine();
+      }
+      // Columns without any coefficient must still be declared for the BOUNDS section.
+      if (objective[j] != 0.0 || columnStart[j] == columnStart[j + 1]) {
+        writeEntry(out, data, j, OBJECTIVE, -1, objective[j]);
+      }
+      for (int p = columnStart[j]; p < columnStart[j + 1]; p++) {
+        int k = nonZeros[p];
+        writeEntry(out, data, j, null, rowOf(rowStart, numberOfConstraints, k), values[k]);
+      }
+    }
+    if (integer) {
+      out.write(" MARKER 'MARKER' 'INTEND'");
+      out.newLine();
+    }
+  }
+
+  private static void writeEntry(AsciiOutput out, ModelData data, int column, String rowName,
+      int row, double value) throws IOException {
+    out.write(' ');
+    out.writeVariableName(data, column);
+    out.write(' ');
+    if (rowName != null) {
+      out.write(rowName);
+    } else {
+      out.writeConstraintName(data, row);
+    }
+    out.write(' ');
+    out.writeNumber(value);
+    out.newLine();
+  }
+
+  /**
+   * Writes the RHS section, skipping zero right-hand sides.
+   */
+  private static void writeRightHandSides(AsciiOutput out, ModelData data) throws IOException {
+    out.write("RHS");
+    out.newLine();
+    double constant = data.getObjectiveConstant();
+    if (constant != 0.0) {
+      out.write(" RHS ");
+      out.write(OBJECTIVE);
+      out.write(' ');
+      out.writeNumber(-constant);
+      out.newLine();
+    }
+    for (int i = 0; i < data.getNumberOfConstraints(); i++) {
+      double rhs = data.getRightHandSide(i);
+      if (rhs != 0.0) {
+        out.write(" RHS ");
+        out.writeConstraintName(data, i);
+        out.write(' ');
+        out.writeNumber(rhs);
+        out.newLine();
+      }
+    }
+  }
+
+  /**
+   * Writes the bounds of a variable, skipping the default ones (zero and infinity for continuous
+   * variables). Integer variables always get an explicit upper bound, since some readers give
+   * integer variables declared between markers an upper bound of one.
+   */
+  private static void writeBounds(AsciiOutput out, ModelData data, int column)
+      throws IOException {
+    double lowerBound = data.getLowerBound(column);
+    double upperBound = data.getUpperBound(column);
+    char type = data.getType(column);
+    if (type == ModelData.BINARY && lowerBound == 0.0 && upperBound == 1.0) {
+      writeBound(out, data, "BV", column, Double.NaN);
+    } else if (lowerBound == upperBound) {
+      writeBound(out, data, "FX", column, lowerBound);
+    } else if (lowerBound == Double.NEGATIVE_INFINITY
+        && upperBound == Double.POSITIVE_INFINITY) {
+      writeBound(out, data, "FR", column, Double.NaN);
+    } else {
+      if (lowerBound == Double.NEGATIVE_INFINITY) {
+        writeBound(out, data, "MI", column, Double.NaN);
+      } else if (lowerBound != 0.0 || upperBound < 0.0) {
+        writeBound(out, data, "LO", column, lowerBound);
+      }
+      if (upperBound != Double.POSITIVE_INFINITY) {
+        writeBound(out, data, "UP", column, upperBound);
+      } else if (type != ModelData.CONTINUOUS) {
+        writeBound(out, data, "PL", column, Double.NaN);
+      }
+    }
+  }
+
+  /**
+   * Writes a line of the BOUNDS section, without a value if it is NaN.
+   */
+  private static void writeBound(AsciiOutput out, ModelData data, String type, int column,
+      double value) throws IOException {
+    out.write(' ');
+    out.write(type);
+    out.write(" BND ");
+    out.writeVariableName(data, column);
+    if (!Double.isNaN(value)) {
+      out.write(' ');
+      out.writeNumber(value);
+    }
+    out.newLine();
+  }
+
+  /**
+   * Finds the row that holds the given nonzero.
+   */
+  private static int rowOf(int[] rowStart, int numberOfConstraints, int nonZero) {
+    int low = 0;
+    int high = numberOfConstraints - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (rowStart[middle] <= nonZero) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  private static char rowType(char sense) {
+    switch (sense) {
+      case ModelData.LESS_EQUAL:
+        return 'L';
+
+      case ModelData.GREATER_EQUAL:
+        return 'G';
+
+      case ModelData.EQUAL:
+        return 'E';
+
+      default:
+        throw new IllegalArgumentException(
+            MpsWriter.class.getName() + ": unknown constraint sense '" + sense + "'.");
+    }
+  }
+
+}
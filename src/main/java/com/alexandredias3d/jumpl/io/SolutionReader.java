@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.NamingStrategy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads the solution files written by {@link SolutionWriter}: binary ".jsol" files, keyed by the
+ * index of the variables, and text ".sol" files (possibly compressed, with a further ".gz"
+ * extension), keyed by their names. The values are returned indexed as in a given model data,
+ * which can differ from the model that was solved, so a solution of yesterday's model can start
+ * the optimization of today's one.
+ *
+ * <p>In a text file, lines that start with '#' are comments and every other line holds the name
+ * of a variable and its value. Names that are not in the model data are ignored. The file is
+ * memory-mapped and its chunks are parsed in parallel, with names resolved in place against a
+ * table of the names of the model data.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class SolutionReader {
+
+  /**
+   * Avoids class instantiation.
+   */
+  private SolutionReader() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Reads a solution file.
+   *
+   * @param data model data whose variables receive the values
+   * @param file path of the solution file
+   * @return values indexed as the variables of the model data, NaN for the variables that are not
+   *     in the file
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static double[] read(ModelData data, Path file) throws IOException {
+    return read(data, file, null);
+  }
+
+  /**
+   * Reads a solution file. A text file whose name ends with ".gz" is decompressed first into a
+   * temporary file in the given directory, which is deleted once the file is read.
+   *
+   * @param data      model data whose variables receive the values
+   * @param file      path of the solution file
+   * @param directory directory of the temporary file, or null for the default temporary directory
+   * @return values indexed as the variables of the model data, NaN for the variables that are not
+   *     in the file
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static double[] read(ModelData data, Path file, Path directory) throws IOException {
+    var values = new double[data.getNumberOfVariables()];
+    Arrays.fill(values, Double.NaN);
+    if (isBinary(file)) {
+      readBinary(values, file);
+    } else {
+      readText(data, values, file, directory);
+    }
+    return values;
+  }
+
+  /**
+   * Checks whether a solution file is binary, which is given by the ".jsol" extension.
+   */
+  static boolean isBinary(Path file) {
+    return file.getFileName().toString().endsWith(".jsol");
+  }
+
+  private static void readBinary(double[] values, Path file) throws IOException {
+    try (var in = new BinaryInput(file, SolutionReader.class)) {
+      if (in.size() < BinaryFormat.SOLUTION_HEADER_SIZE) {
+        throw in.error("file too short for a binary solution");
+      }
+      var header = in.map(BinaryFormat.SOLUTION_HEADER_SIZE);
+      var magic = new byte[BinaryFormat.SOLUTION_MAGIC.length];
+      header.get(magic);
+      if (!Arrays.equals(magic, BinaryFormat.SOLUTION_MAGIC)) {
+        throw in.error("not a binary solution file");
+      }
+      int version = header.getInt();
+      if (version != BinaryFormat.VERSION) {
+        throw in.error(
+            "unsupported version " + version + " (expected " + BinaryFormat.VERSION + ")");
+      }
+      header.getInt();
+      long count = header.getLong();
+      if (count < 0 || in.size() < BinaryFormat.SOLUTION_HEADER_SIZE + 8 * count) {
+        throw in.error("truncated file");
+      }
+      double[] read = in.doubles((int) Math.min(count, values.length));
+      System.arraycopy(read, 0, values, 0, read.length);
+    }
+  }
+
+  private static void readText(ModelData data, double[] values, Path file, Path directory)
+      throws IOException {
+    int n = data.getNumberOfVariables();
+    var names = new MappedNameTable();
+    var columns = new int[n];
+    int size = 0;
+    for (int j = 0; j < n; j++) {
+      String name = (data.hasVariableName(j) || data.getNamingStrategy() == NamingStrategy.LAZY)
+          ? data.getVariableName(j) : "x" + j;
+      if (name != null && names.find(name) < 0) {
+        names.add(name);
+        columns[size++] = j;
+      }
+    }
+
+    try (var text = new MappedText(file, directory, SolutionReader.class)) {
+      for (Assignments chunk : text.parse(text.split(0, text.size()),
+          cursor -> readChunk(cursor, names))) {
+        for (int k = 0; k < chunk.size; k++) {
+          values[columns[chunk.names[k]]] = chunk.values[k];
+        }
+      }
+    }
+  }
+
+  private static Assignments readChunk(TextCursor cursor, MappedNameTable names)
+      throws IOException {
+    var chunk = new Assignments();
+    while (cursor.hasRemaining()) {
+      if (!cursor.nextField() || cursor.buffer().get(cursor.fieldStart()) == '#') {
+        cursor.skipLine();
+        continue;
+      }
+      int name = names.find(cursor);
+      if (!cursor.nextField()) {
+        throw cursor.error("missing value");
+      }
+      double value = cursor.fieldNumber();
+      if (cursor.nextField()) {
+        throw cursor.error("unexpected field '" + cursor.fieldString() + "'");
+      }
+      cursor.skipLine();
+      if (name >= 0) {
+        chunk.add(name, value);
+      }
+    }
+    return chunk;
+  }
+
+  /**
+   * Values read from a chunk of a text file, keyed by the index of the name in the table.
+   */
+  private static final class Assignments {
+
+    private int[] names = new int[16];
+    private double[] values = new double[16];
+    private int size;
+
+    void add(int name, double value) {
+      if (size == names.length) {
+        names = Arrays.copyOf(names, 2 * size);
+        values = Arrays.copyOf(values, 2 * size);
+      }
+      names[size] = name;
+      values[size] = value;
+      size++;
+    }
+  }
+
+}
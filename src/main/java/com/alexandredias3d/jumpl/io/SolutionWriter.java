@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes the values of all variables of a solution, to be read back by {@link SolutionReader}, for
+ * instance as a start for a later optimization. Two formats are chosen by the extension of the
+ * file:
+ *
+ * <ul>
+ *   <li>".jsol": binary file with the values indexed by variable, as described in {@link
+ *   BinaryFormat}, which is written and read in bulk;</li>
+ *   <li>any other extension: text file in the ".sol" format of Gurobi, with one line holding the
+ *   name and value of each variable after a comment with the objective function value. It is
+ *   compressed with gzip if its name ends with ".gz".</li>
+ * </ul>
+ *
+ * <p>Variables without a name are written as "x" followed by their index, as in the LP and MPS
+ * files.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class SolutionWriter {
+
+  /**
+   * Avoids class instantiation.
+   */
+  private SolutionWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes a solution to the given file, replacing it if it already exists.
+   *
+   * @param data           model data of the solution, which gives the names of the variables
+   * @param values         values of the variables, indexed as in the model data
+   * @param objectiveValue objective function value of the solution
+   * @param file           path of the solution file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(ModelData data, double[] values, double objectiveValue, Path file)
+      throws IOException {
+    int n = data.getNumberOfVariables();
+    if (SolutionReader.isBinary(file)) {
+      try (var out = new BinaryOutput(file)) {
+        var buffer = out.buffer();
+        buffer.put(BinaryFormat.SOLUTION_MAGIC);
+        buffer.putInt(BinaryFormat.VERSION);
+        buffer.putInt(0);
+        buffer.putLong(n);
+        buffer.putDouble(objectiveValue);
+        out.putDoubles(values, n);
+      }
+      return;
+    }
+
+    try (var out = AsciiOutput.open(file)) {
+      out.write("# Objective value = ");
+      out.writeNumber(objectiveValue);
+      out.newLine();
+      for (int j = 0; j < n; j++) {
+        out.writeVariableName(data, j);
+        out.write(' ');
+        out.writeNumber(values[j]);
+        out.newLine();
+      }
+    }
+  }
+
+}
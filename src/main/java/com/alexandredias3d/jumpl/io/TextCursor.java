@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cursor over the ASCII text of a mapped chunk of a file. Fields are located as ranges of the
+ * buffer and compared, hashed or parsed in place; a string is only created when a new name must be
+ * stored.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class TextCursor {
+
+  /**
+   * Largest mantissa that is exactly representable as a double.
+   */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  /**
+   * Powers of ten that are exactly representable as a double.
+   */
+  private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+      1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private final ByteBuffer buffer;
+  private final long offset;
+  private final String owner;
+  private final int limit;
+  private int position;
+  private int fieldStart;
+  private int fieldEnd;
+
+  /**
+   * Creates a cursor over the whole buffer.
+   *
+   * @param buffer text to be read
+   * @param offset position of the buffer in the file, used in error messages
+   * @param owner  class that reads the text, used in error messages
+   */
+  TextCursor(ByteBuffer buffer, long offset, Class<?> owner) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.owner = owner.getName();
+    this.limit = buffer.limit();
+  }
+
+  ByteBuffer buffer() {
+    return buffer;
+  }
+
+  long offset() {
+    return offset;
+  }
+
+  boolean hasRemaining() {
+    return position < limit;
+  }
+
+  /**
+   * Gets the byte at the cursor, or a line feed at the end of the buffer.
+   */
+  byte peek() {
+    return (position < limit) ? buffer.get(position) : (byte) '\n';
+  }
+
+  void advance() {
+    position++;
+  }
+
+  int position() {
+    return position;
+  }
+
+  /**
+   * Moves the cursor back to a position it has been at.
+   */
+  void rewind(int mark) {
+    position = mark;
+  }
+
+  /**
+   * Moves the cursor past the end of the current line.
+   */
+  void skipLine() {
+    while (position < limit && buffer.get(position++) != '\n') {
+      // Skips the rest of the line.
+    }
+  }
+
+  /**
+   * Skips spaces, tabs and carriage returns, stopping at the end of the line.
+   */
+  void skipBlanks() {
+    while (position < limit && isBlank(buffer.get(position))) {
+      position++;
+    }
+  }
+
+  /**
+   * Locates the next field of the current line, delimited by blanks.
+   *
+   * @return false if there are no more fields in the line
+   */
+  boolean nextField() {
+    skipBlanks();
+    if (position >= limit || buffer.get(position) == '\n') {
+      return false;
+    }
+    fieldStart = position;
+    while (position < limit && !isBlank(buffer.get(position)) && buffer.get(position) != '\n') {
+      position++;
+    }
+    fieldEnd = position;
+    return true;
+  }
+
+  /**
+   * Marks the given range of the buffer as the current field.
+   */
+  void setField(int start, int end) {
+    fieldStart = start;
+    fieldEnd = end;
+  }
+
+  int fieldStart() {
+    return fieldStart;
+  }
+
+  int fieldEnd() {
+    return fieldEnd;
+  }
+
+  int fieldLength() {
+    return fieldEnd - fieldStart;
+  }
+
+  /**
+   * Compares the current field with a keyword, ignoring case.
+   */
+  boolean fieldIs(String keyword) {
+    return rangeIs(fieldStart, fieldEnd, keyword);
+  }
+
+  private boolean rangeIs(int start, int end, String keyword) {
+    if (keyword.length() != end - start) {
+      return false;
+    }
+    for (int i = 0; i < keyword.length(); i++) {
+      int c = buffer.get(start + i);
+      if (Character.toUpperCase(c) != Character.toUpperCase(keyword.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  String fieldString() {
+    var bytes = new byte[fieldEnd - fieldStart];
+    buffer.get(fieldStart, bytes, 0, bytes.length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses the current field as a number. Decimal numbers with up to 15 significant digits and
+   * small exponents are converted in place with a single exact operation; other numbers are handed
+   * to {@link Double#parseDouble}.
+   *
+   * @return value of the field, which can be infinite
+   * @throws IOException if the field is not a number
+   */
+  double fieldNumber() throws IOException {
+    int i = fieldStart;
+    boolean negative = false;
+    if (i < fieldEnd && (buffer.get(i) == '+' || buffer.get(i) == '-')) {
+      negative = buffer.get(i++) == '-';
+    }
+    int start = i;
+    long mantissa = 0;
+    int exponent = 0;
+    boolean digits = false;
+    boolean exact = true;
+    for (boolean fraction = false; i < fieldEnd; i++) {
+      int c = buffer.get(i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (mantissa < MAX_EXACT_MANTISSA / 10) {
+          mantissa = mantissa * 10 + (c - '0');
+          exponent -= fraction ? 1 : 0;
+        } else {
+          exact = false;
+        }
+      } else if (c == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    if (!digits) {
+      if (rangeIs(start, fieldEnd, "inf") || rangeIs(start, fieldEnd, "infinity")) {
+        return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+      }
+      throw error("invalid number '" + fieldString() + "'");
+    }
+    if (i < fieldEnd && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+      int power = 0;
+      boolean negativePower = false;
+      if (++i < fieldEnd && (buffer.get(i) == '+' || buffer.get(i) == '-')) {
+        negativePower = buffer.get(i++) == '-';
+      }
+      if (i == fieldEnd) {
+        exact = false;
+      }
+      for (; i < fieldEnd && buffer.get(i) >= '0' && buffer.get(i) <= '9'; i++) {
+        power = Math.min(power * 10 + (buffer.get(i) - '0'), 100000);
+      }
+      exponent += negativePower ? -power : power;
+    }
+    if (i != fieldEnd) {
+      exact = false;
+    }
+
+    double value;
+    if (exact && mantissa == 0) {
+      value = 0.0;
+    } else if (exact && exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+      value = mantissa * POWERS_OF_TEN[exponent];
+    } else if (exact && exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+      value = mantissa / POWERS_OF_TEN[-exponent];
+    } else {
+      String text = fieldString();
+      try {
+        return Double.parseDouble(text);
+      } catch (NumberFormatException e) {
+        throw error("invalid number '" + text + "'");
+      }
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Creates an exception that points to the current field.
+   *
+   * @param message description of the error
+   * @return exception to be thrown by the caller
+   */
+  IOException error(String message) {
+    return new IOException(owner + ": " + message + " at byte " + (offset + fieldStart) + ".");
+  }
+
+  static boolean isBlank(int c) {
+    return c == ' ' || c == '\t' || c == '\r';
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+/**
+ * Snapshot of a simplex basis of a {@link JavaModel}: the variable that is basic in each row and
+ * the bound at which each nonbasic variable (structural or slack) is. A basis can be saved after
+ * an optimization and restored before another one of a model with the same rows and columns, so
+ * the simplex method restarts from it instead of from scratch.
+ *
+ * @author Alexandre H. T. Dias
+ * @see JavaModel#getBasis()
+ * @see JavaModel#setBasis(Basis)
+ */
+public final class Basis {
+
+  static final byte AT_LOWER = 0;
+  static final byte AT_UPPER = 1;
+  static final byte AT_ZERO = 2;
+  static final byte BASIC = 3;
+
+  /**
+   * Variable that is basic in each row (structural columns first, then the slacks).
+   */
+  private final int[] basic;
+
+  /**
+   * Status of each structural and slack variable.
+   */
+  private final byte[] status;
+
+  private final int columns;
+
+  Basis(int[] basic, byte[] status, int columns) {
+    this.basic = basic;
+    this.status = status;
+    this.columns = columns;
+  }
+
+  public int getNumberOfRows() {
+    return basic.length;
+  }
+
+  public int getNumberOfColumns() {
+    return columns;
+  }
+
+  /**
+   * Checks whether the given structural column is basic.
+   *
+   * @param column index of the variable in the model
+   * @return true if the variable is basic
+   */
+  public boolean isBasic(int column) {
+    return status[column] == BASIC;
+  }
+
+  int getBasic(int row) {
+    return basic[row];
+  }
+
+  byte getStatus(int variable) {
+    return status[variable];
+  }
+
+}
@@ -0,0 +1,841 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Branch-and-bound method for linear programs with integer (and binary) columns. Each node solves
+ * the linear relaxation with the bounds of its subproblem and, if the solution is fractional,
+ * branches on the most fractional integer column. Nodes are fork/join tasks, so idle workers of the
+ * pool steal the unexplored children of busy ones.
+ *
+ * <p>The incumbent (best integer solution) is shared by all workers and only replaced by a better
+ * one through compare-and-set. Nodes whose bound cannot improve it by more than the MIP gaps are
+ * pruned, and their bound is kept to report the best bound of the search.
+ *
+ * <p>A child differs from its parent only by a bound of the branching column, so its relaxation
+ * starts from the optimal basis of the parent's, which remains dual feasible, and usually takes a
+ * few dual simplex iterations instead of a solve from scratch. A node only keeps the bound changes
+ * made by the branchings from the root to it, not the bounds of every column.
+ *
+ * <p>{@link PrimalHeuristics} run on a separate thread, from the relaxation of the root node and
+ * then periodically from the ones of the nodes of the tree, and offer the solutions they find to
+ * the incumbent, so nodes are pruned earlier.
+ *
+ * <p>In deterministic mode (see {@link #setDeterministic(boolean)}), the tree is explored in
+ * rounds separated by barriers instead. Each round takes a fixed number of open nodes per worker,
+ * depth first, and solves their relaxations in parallel, pruning them against the incumbent of
+ * the start of the round. The results (children and integer solutions) are merged at the barrier
+ * in the order the nodes were taken, and the heuristics run within the rounds, so the search
+ * depends only on the model, the number of workers and the seed, not on the timing of threads.
+ * The open nodes are kept in a {@link NodeStore}, which spills them to a node file on disk past a
+ * memory limit (see {@link #setNodeFile(double, Path)}).
+ *
+ * <p>A problem without integer columns can also be solved by the {@link InteriorPoint} method,
+ * followed by a crossover to an optimal basis with the simplex method.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class BranchAndBound {
+
+  /**
+   * Distance to the nearest integer below which a value is considered integral.
+   */
+  private static final double INTEGRALITY_TOLERANCE = 1e-6;
+
+  /**
+   * Number of nodes between two runs of the heuristics in the tree.
+   */
+  private static final long HEURISTICS_FREQUENCY = 200;
+
+  /**
+   * Number of nodes per worker solved in each round of the deterministic mode.
+   */
+  private static final int NODES_PER_WORKER = 4;
+
+  private final LinearProgram lp;
+  private final boolean[] integer;
+  private final int numberOfIntegers;
+  private final double[] lowerBounds;
+  private final double[] upperBounds;
+
+  private double absoluteGap = 1e-10;
+  private double relativeGap = 1e-4;
+  private double timeLimit = Double.POSITIVE_INFINITY;
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+  private LpAlgorithm algorithm = LpAlgorithm.SIMPLEX;
+  private boolean crossover = true;
+  private boolean heuristics = true;
+  private boolean deterministic;
+  private long seed;
+  private double nodeMemoryLimit = Double.POSITIVE_INFINITY;
+  private Path nodeFileDirectory;
+  private long nodeLimit = Long.MAX_VALUE;
+  private BooleanSupplier stopCondition = () -> false;
+
+  private final AtomicReference<Incumbent> incumbent = new AtomicReference<>(Incumbent.NONE);
+  private final DoubleAccumulator prunedBound =
+      new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+  private final AtomicLong nodes = new AtomicLong();
+
+  /**
+   * Cost of the incumbent at the start of the current round of the deterministic mode.
+   */
+  private volatile double roundCutoff = Double.POSITIVE_INFINITY;
+
+  private Basis start;
+  private volatile Basis rootBasis;
+
+  /**
+   * Start solution given by the user, completed into the first incumbent before the search.
+   */
+  private double[] startSolution;
+
+  /**
+   * Bounds of the root node, from which the ones of the other nodes are computed.
+   */
+  private double[] rootLower;
+  private double[] rootUpper;
+
+  private PrimalHeuristics primalHeuristics;
+  private ExecutorService heuristicsThread;
+  private final AtomicBoolean heuristicsRunning = new AtomicBoolean();
+  private volatile boolean searchFinished;
+
+  private volatile boolean stopped;
+  private long deadline;
+  private SolveStatus status = SolveStatus.NO_SOLUTION;
+  private double bound = Double.NaN;
+
+  /**
+   * Creates a branch-and-bound method for the given linear program.
+   *
+   * @param lp   linear program to be solved
+   * @param data model data that gives the type of each column
+   */
+  BranchAndBound(LinearProgram lp, ModelData data) {
+    this(lp, integerColumns(lp, data), lp.lower, lp.upper);
+  }
+
+  /**
+   * Creates a branch-and-bound method for the given linear program with other bounds on its
+   * structural columns.
+   *
+   * @param lp          linear program to be solved
+   * @param integer     whether each structural column is integer
+   * @param lowerBounds lower bounds of the structural columns
+   * @param upperBounds upper bounds of the structural columns
+   */
+  BranchAndBound(LinearProgram lp, boolean[] integer, double[] lowerBounds,
+      double[] upperBounds) {
+    this.lp = lp;
+    this.integer = integer;
+    int count = 0;
+    for (int j = 0; j < lp.columns; j++) {
+      if (integer[j]) {
+        count++;
+      }
+    }
+    numberOfIntegers = count;
+    this.lowerBounds = lp.lower.clone();
+    this.upperBounds = lp.upper.clone();
+    System.arraycopy(lowerBounds, 0, this.lowerBounds, 0, lp.columns);
+    System.arraycopy(upperBounds, 0, this.upperBounds, 0, lp.columns);
+  }
+
+  private static boolean[] integerColumns(LinearProgram lp, ModelData data) {
+    var integer = new boolean[lp.columns];
+    for (int j = 0; j < lp.columns; j++) {
+      integer[j] = data.getType(j) != ModelData.CONTINUOUS;
+    }
+    return integer;
+  }
+
+  void setAbsoluteGap(double gap) {
+    absoluteGap = gap;
+  }
+
+  void setRelativeGap(double gap) {
+    relativeGap = gap;
+  }
+
+  void setTimeLimit(double seconds) {
+    timeLimit = seconds;
+  }
+
+  void setParallelism(int threads) {
+    parallelism = threads;
+  }
+
+  /**
+   * Sets whether the parallel search is deterministic. It is opportunistic by default: idle
+   * workers steal nodes from busy ones, so the order of the nodes, and possibly the optimal
+   * solution found, changes from run to run.
+   *
+   * @param enabled true to explore the tree in synchronized rounds
+   */
+  void setDeterministic(boolean enabled) {
+    deterministic = enabled;
+  }
+
+  /**
+   * Sets the memory used by the open nodes of the deterministic mode before they are written to
+   * a node file (by default, they are all kept in memory). The opportunistic mode explores the
+   * tree depth first on each worker, so it only keeps a few open nodes per level of the tree.
+   *
+   * @param memoryLimit memory limit (in bytes), or infinity for no node file
+   * @param directory   directory of the node file, or null for the default temporary directory
+   */
+  void setNodeFile(double memoryLimit, Path directory) {
+    nodeMemoryLimit = memoryLimit;
+    nodeFileDirectory = directory;
+  }
+
+  /**
+   * Sets the seed of the random numbers of the heuristics.
+   *
+   * @param seed random seed
+   */
+  void setRandomSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Sets the maximum amount of nodes explored by the search, after which it stops as if the time
+   * limit was reached.
+   *
+   * @param limit node limit
+   */
+  void setNodeLimit(long limit) {
+    nodeLimit = limit;
+  }
+
+  /**
+   * Sets whether the primal heuristics run during the search (the default).
+   *
+   * @param enabled true to run the heuristics
+   */
+  void setHeuristics(boolean enabled) {
+    heuristics = enabled;
+  }
+
+  /**
+   * Sets an extra condition, checked by every node, that stops the search when true.
+   *
+   * @param condition stop condition shared by several searches
+   */
+  void setStopCondition(BooleanSupplier condition) {
+    stopCondition = condition;
+  }
+
+  /**
+   * Sets the method that solves the problem when it has no integer columns. Relaxations of the
+   * branch-and-bound nodes are always solved by the simplex method.
+   *
+   * @param algorithm LP algorithm
+   * @param crossover whether a basic solution is computed from the interior-point solution
+   */
+  void setAlgorithm(LpAlgorithm algorithm, boolean crossover) {
+    this.algorithm = algorithm;
+    this.crossover = crossover;
+  }
+
+  /**
+   * Sets the basis from which the relaxation of the root node starts.
+   *
+   * @param basis starting basis (can be null)
+   */
+  void setBasis(Basis basis) {
+    start = basis;
+  }
+
+  /**
+   * Sets a start solution, from which the first incumbent is built before the search when the
+   * problem has integer columns.
+   *
+   * @param values values of the structural columns, NaN for the unknown ones (or null for none)
+   */
+  void setStartSolution(double[] values) {
+    startSolution = values;
+  }
+
+  /**
+   * Gets the optimal basis of the relaxation of the root node (or of the linear program).
+   *
+   * @return optimal basis, or null if the relaxation was not solved to optimality
+   */
+  Basis getBasis() {
+    return rootBasis;
+  }
+
+  /**
+   * Stops the search as soon as possible. Can be called from any thread.
+   */
+  void terminate() {
+    stopped = true;
+  }
+
+  /**
+   * Solves the problem. Without integer columns, only the linear program is solved.
+   *
+   * @return status of the optimization
+   */
+  SolveStatus solve() {
+    deadline = (timeLimit < Long.MAX_VALUE / 1e9)
+        ? System.nanoTime() + (long) (timeLimit * 1e9) : Long.MAX_VALUE;
+
+    double[] lower = lowerBounds.clone();
+    double[] upper = upperBounds.clone();
+    for (int j = 0; j < lp.columns; j++) {
+      if (integer[j]) {
+        lower[j] = Math.ceil(lower[j] - INTEGRALITY_TOLERANCE);
+        upper[j] = Math.floor(upper[j] + INTEGRALITY_TOLERANCE);
+      }
+    }
+
+    if (numberOfIntegers == 0) {
+      Basis basis = start;
+      if (algorithm == LpAlgorithm.BARRIER) {
+        var barrier = new InteriorPoint(lp, lower, upper);
+        barrier.setStopCondition(this::isStopped);
+        if (barrier.solve() == SolveStatus.OPTIMAL) {
+          if (!crossover) {
+            status = SolveStatus.OPTIMAL;
+            incumbent.set(new Incumbent(barrier.getCost(), barrier.getValues()));
+            bound = barrier.getCost();
+            return status;
+          }
+          basis = barrier.getBasis();
+        }
+      }
+      RevisedSimplex simplex = relaxation(lower, upper);
+      status = simplex.solve(basis);
+      if (status == SolveStatus.OPTIMAL) {
+        rootBasis = simplex.getBasis();
+      }
+      if (status.hasSolution()) {
+        incumbent.set(new Incumbent(simplex.getCost(), simplex.getValues()));
+        bound = (status == SolveStatus.OPTIMAL) ? simplex.getCost() : Double.NaN;
+      }
+      return status;
+    }
+
+    rootLower = lower;
+    rootUpper = upper;
+    var root = new Node(new int[0], new double[0], Double.NEGATIVE_INFINITY, start);
+    var pool = new ForkJoinPool(parallelism);
+    if (heuristics) {
+      primalHeuristics = new PrimalHeuristics(this, lp, integer,
+          () -> searchFinished || isStopped());
+      primalHeuristics.setRandomSeed(seed);
+      if (!deterministic) {
+        heuristicsThread = Executors.newSingleThreadExecutor(runnable -> {
+          var thread = new Thread(runnable, "jumpl-heuristics");
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+    try {
+      if (startSolution != null) {
+        var completion = (primalHeuristics != null) ? primalHeuristics
+            : new PrimalHeuristics(this, lp, integer, this::isStopped);
+        completion.completeStart(startSolution, lower, upper);
+      }
+      if (deterministic) {
+        searchInRounds(root, pool);
+      } else {
+        pool.invoke(root);
+      }
+    } finally {
+      pool.shutdown();
+      searchFinished = true;
+      awaitHeuristics();
+    }
+
+    Incumbent best = incumbent.get();
+    bound = Math.min(best.cost, prunedBound.get());
+    if (root.unbounded) {
+      status = SolveStatus.INFEASIBLE_OR_UNBOUNDED;
+    } else if (best != Incumbent.NONE) {
+      status = isStopped() ? SolveStatus.FEASIBLE : SolveStatus.OPTIMAL;
+    } else {
+      status = isStopped() ? SolveStatus.NO_SOLUTION : SolveStatus.INFEASIBLE;
+    }
+    return status;
+  }
+
+  SolveStatus getStatus() {
+    return status;
+  }
+
+  long getNodeCount() {
+    return nodes.get();
+  }
+
+  /**
+   * Gets the values of the structural columns in the incumbent.
+   *
+   * @return values of the best solution found, or null if there is none
+   */
+  double[] getValues() {
+    return incumbent.get().values;
+  }
+
+  /**
+   * Gets the objective function value of the incumbent, in terms of the original model.
+   *
+   * @return objective function value, or NaN if there is no solution
+   */
+  double getObjectiveValue() {
+    Incumbent best = incumbent.get();
+    return (best != Incumbent.NONE) ? lp.toModelObjective(best.cost) : Double.NaN;
+  }
+
+  /**
+   * Gets the best bound on the objective function value, in terms of the original model.
+   *
+   * @return objective function bound, or NaN if it is unknown
+   */
+  double getObjectiveBound() {
+    return Double.isInfinite(bound) ? Double.NaN : lp.toModelObjective(bound);
+  }
+
+  /**
+   * Gets the cost of the incumbent, i.e., its objective function value in the minimization
+   * problem solved.
+   *
+   * @return cost of the incumbent, or infinity if there is none
+   */
+  double getIncumbentCost() {
+    return incumbent.get().cost;
+  }
+
+  private boolean isStopped() {
+    return stopped || nodes.get() >= nodeLimit || stopCondition.getAsBoolean()
+        || System.nanoTime() > deadline;
+  }
+
+  /**
+   * Explores the tree in rounds of the deterministic mode. The open nodes are kept in a stack, so
+   * the tree is explored depth first as in the opportunistic mode.
+   */
+  private void searchInRounds(Node root, ForkJoinPool pool) {
+    int roundSize = NODES_PER_WORKER * pool.getParallelism();
+    long lastHeuristics = 0;
+    ForkJoinTask<?> heuristicsTask = null;
+    try (var open = new NodeStore(nodeMemoryLimit, nodeFileDirectory)) {
+      List<Node> round = List.of(root);
+      while (!round.isEmpty()) {
+        if (isStopped()) {
+          for (Node node = open.pop(Node::new); node != null; node = open.pop(Node::new)) {
+            prunedBound.accumulate(node.parentBound);
+          }
+          for (Node node : round) {
+            prunedBound.accumulate(node.parentBound);
+          }
+          return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(round);
+        if (heuristicsTask != null) {
+          tasks.add(heuristicsTask);
+          heuristicsTask = null;
+        }
+        roundCutoff = incumbent.get().cost;
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        // Barrier: the results are merged in the order the nodes were taken.
+        for (Node node : round) {
+          if (node.evaluated) {
+            nodes.incrementAndGet();
+          }
+          if (node.solution != null) {
+            offer(node.solutionCost, node.solution);
+          }
+        }
+        for (Node node : round) {
+          if (node.children != null && primalHeuristics != null && (node == root
+              || nodes.get() - lastHeuristics >= HEURISTICS_FREQUENCY)) {
+            lastHeuristics = nodes.get();
+            heuristicsTask = heuristicsTask(node);
+            break;
+          }
+        }
+        for (int k = round.size() - 1; k >= 0; k--) {
+          Node[] children = round.get(k).children;
+          if (children != null) {
+            for (int c = children.length - 1; c >= 0; c--) {
+              Node child = children[c];
+              open.push(child.changeColumns, child.changeValues, child.parentBound, child.basis);
+            }
+          }
+          round.get(k).release();
+        }
+
+        round = new ArrayList<>(roundSize);
+        for (Node node = open.pop(Node::new); node != null; node = open.pop(Node::new)) {
+          round.add(node);
+          if (round.size() == roundSize) {
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates the task that runs the heuristics from the relaxation of a node within the next
+   * round of the deterministic mode.
+   */
+  private ForkJoinTask<?> heuristicsTask(Node node) {
+    double[] values = node.relaxationValues;
+    Basis basis = node.relaxationBasis;
+    boolean root = node.parentBound == Double.NEGATIVE_INFINITY;
+    double[] lower = rootLower.clone();
+    double[] upper = rootUpper.clone();
+    node.bounds(lower, upper);
+    return ForkJoinTask.adapt(() -> {
+      if (root) {
+        primalHeuristics.runAtRoot(values, lower, upper, basis);
+      } else {
+        primalHeuristics.runInTree(values, lower, upper, basis);
+      }
+    });
+  }
+
+  /**
+   * Runs the heuristics from the relaxation of a node on their thread, unless they are already
+   * running.
+   */
+  private void runHeuristics(double[] values, double[] lower, double[] upper, Basis basis,
+      boolean root) {
+    if (primalHeuristics == null || !heuristicsRunning.compareAndSet(false, true)) {
+      return;
+    }
+    heuristicsThread.execute(() -> {
+      try {
+        if (root) {
+          primalHeuristics.runAtRoot(values, lower, upper, basis);
+        } else {
+          primalHeuristics.runInTree(values, lower, upper, basis);
+        }
+      } finally {
+        heuristicsRunning.set(false);
+      }
+    });
+  }
+
+  /**
+   * Stops the heuristics, which check {@link #searchFinished} at every simplex iteration, and
+   * waits for their last solution.
+   */
+  private void awaitHeuristics() {
+    if (heuristicsThread == null) {
+      return;
+    }
+    heuristicsThread.shutdown();
+    try {
+      heuristicsThread.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private RevisedSimplex relaxation(double[] lower, double[] upper) {
+    var simplex = new RevisedSimplex(lp, lower, upper);
+    simplex.setStopCondition(this::isStopped);
+    return simplex;
+  }
+
+  /**
+   * Replaces the incumbent by the given solution if it is better, retrying while other workers
+   * replace it concurrently.
+   */
+  void offer(double cost, double[] values) {
+    Incumbent candidate = null;
+    while (true) {
+      Incumbent current = incumbent.get();
+      if (cost >= current.cost) {
+        return;
+      }
+      if (candidate == null) {
+        candidate = new Incumbent(cost, values);
+      }
+      if (incumbent.compareAndSet(current, candidate)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Checks whether a node with the given bound cannot improve the incumbent by more than the
+   * gaps.
+   */
+  boolean canPrune(double nodeBound) {
+    double best = deterministic ? roundCutoff : incumbent.get().cost;
+    if (best == Double.POSITIVE_INFINITY) {
+      return false;
+    }
+    double tolerance = Math.max(absoluteGap, relativeGap * Math.abs(lp.toModelObjective(best)));
+    return nodeBound >= best - tolerance;
+  }
+
+  /**
+   * Best integer solution found so far. Instances are immutable, so they can be replaced by
+   * compare-and-set.
+   */
+  private static final class Incumbent {
+
+    static final Incumbent NONE = new Incumbent(Double.POSITIVE_INFINITY, null);
+
+    final double cost;
+    final double[] values;
+
+    Incumbent(double cost, double[] values) {
+      this.cost = cost;
+      this.values = values;
+    }
+
+  }
+
+  /**
+   * Subproblem given by bounds on the structural columns.
+   */
+  private final class Node extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Bound changes from the root to the node, encoded as in {@link NodeStore}: the column for a
+     * new upper bound and its complement for a new lower bound. A column appears at most once
+     * per direction, with its tightest bound.
+     */
+    private final int[] changeColumns;
+    private final double[] changeValues;
+
+    /**
+     * Bound of the parent node, which is also valid for this one.
+     */
+    private final double parentBound;
+
+    /**
+     * Optimal basis of the relaxation of the parent node, from which this one starts (if null,
+     * it starts from the one of the root).
+     */
+    private final Basis basis;
+
+    /**
+     * Set if the relaxation of the node is unbounded.
+     */
+    private boolean unbounded;
+
+    /**
+     * Results of the node in a round of the deterministic mode, merged at the barrier: whether
+     * its relaxation was solved, its children (preferred one first), and its integer solution.
+     */
+    private boolean evaluated;
+    private Node[] children;
+    private double[] solution;
+    private double solutionCost;
+
+    /**
+     * Relaxation of the node in the deterministic mode, from which the heuristics may run.
+     */
+    private double[] relaxationValues;
+    private Basis relaxationBasis;
+
+    /**
+     * Drops the results of the node once they are merged, so the explored part of the tree (which
+     * the root would otherwise reach through the children) can be collected.
+     */
+    private void release() {
+      children = null;
+      solution = null;
+      relaxationValues = null;
+      relaxationBasis = null;
+    }
+
+    Node(int[] changeColumns, double[] changeValues, double parentBound, Basis basis) {
+      this.changeColumns = changeColumns;
+      this.changeValues = changeValues;
+      this.parentBound = parentBound;
+      this.basis = basis;
+    }
+
+    /**
+     * Applies the bound changes of the node to the given bounds of the root.
+     */
+    private void bounds(double[] lower, double[] upper) {
+      for (int k = 0; k < changeColumns.length; k++) {
+        int column = changeColumns[k];
+        if (column >= 0) {
+          upper[column] = changeValues[k];
+        } else {
+          lower[~column] = changeValues[k];
+        }
+      }
+    }
+
+    /**
+     * Creates a child of the node with another bound on a column.
+     *
+     * @param column     branching column
+     * @param upperBound whether the upper bound of the column changes (or the lower one)
+     * @param value      new bound
+     * @param cost       optimal cost of the relaxation of this node
+     * @param optimal    optimal basis of the relaxation of this node
+     */
+    private Node child(int column, boolean upperBound, double value, double cost,
+        Basis optimal) {
+      int code = upperBound ? column : ~column;
+      int[] columns = changeColumns;
+      double[] values;
+      int position = 0;
+      while (position < columns.length && columns[position] != code) {
+        position++;
+      }
+      if (position < columns.length) {
+        values = changeValues.clone();
+      } else {
+        columns = Arrays.copyOf(columns, position + 1);
+        columns[position] = code;
+        values = Arrays.copyOf(changeValues, position + 1);
+      }
+      values[position] = value;
+      return new Node(columns, values, cost, optimal);
+    }
+
+    @Override
+    protected void compute() {
+      if (isStopped() || canPrune(parentBound)) {
+        prunedBound.accumulate(parentBound);
+        return;
+      }
+      if (deterministic) {
+        evaluated = true;
+      } else {
+        nodes.incrementAndGet();
+      }
+
+      double[] lower = rootLower.clone();
+      double[] upper = rootUpper.clone();
+      bounds(lower, upper);
+      RevisedSimplex simplex = relaxation(lower, upper);
+      SolveStatus relaxationStatus = simplex.solve((basis != null) ? basis : rootBasis);
+      if (relaxationStatus == SolveStatus.UNBOUNDED) {
+        unbounded = true;
+        return;
+      }
+      if (relaxationStatus != SolveStatus.OPTIMAL) {
+        if (relaxationStatus != SolveStatus.INFEASIBLE) {
+          prunedBound.accumulate(parentBound);
+        }
+        return;
+      }
+
+      Basis optimal = simplex.getBasis();
+      if (parentBound == Double.NEGATIVE_INFINITY) {
+        rootBasis = optimal;
+      }
+      double cost = simplex.getCost();
+      if (canPrune(cost)) {
+        prunedBound.accumulate(cost);
+        return;
+      }
+
+      double[] values = simplex.getValues();
+      int branching = mostFractional(values);
+      if (branching < 0) {
+        for (int j = 0; j < values.length; j++) {
+          if (integer[j]) {
+            values[j] = Math.rint(values[j]);
+          }
+        }
+        if (deterministic) {
+          solution = values;
+          solutionCost = cost;
+        } else {
+          offer(cost, values);
+        }
+        return;
+      }
+
+      if (deterministic) {
+        relaxationValues = values;
+        relaxationBasis = optimal;
+      } else if (parentBound == Double.NEGATIVE_INFINITY) {
+        runHeuristics(values, lower, upper, optimal, true);
+      } else if (nodes.get() % HEURISTICS_FREQUENCY == 0) {
+        runHeuristics(values, lower, upper, optimal, false);
+      }
+
+      double value = values[branching];
+      Node down = child(branching, true, Math.floor(value), cost, optimal);
+      Node up = child(branching, false, Math.ceil(value), cost, optimal);
+      boolean downFirst = value - Math.floor(value) < 0.5;
+      if (deterministic) {
+        children = downFirst ? new Node[]{down, up} : new Node[]{up, down};
+      } else if (downFirst) {
+        invokeAll(down, up);
+      } else {
+        invokeAll(up, down);
+      }
+    }
+
+    /**
+     * Gets the integer column whose value is the farthest from an integer.
+     *
+     * @return column to branch on, or -1 if all integer columns are integral
+     */
+    private int mostFractional(double[] values) {
+      int column = -1;
+      double best = INTEGRALITY_TOLERANCE;
+      for (int j = 0; j < values.length; j++) {
+        if (integer[j]) {
+          double fraction = values[j] - Math.floor(values[j]);
+          double distance = Math.min(fraction, 1.0 - fraction);
+          if (distance > best) {
+            best = distance;
+            column = j;
+          }
+        }
+      }
+      return column;
+    }
+
+  }
+
+}
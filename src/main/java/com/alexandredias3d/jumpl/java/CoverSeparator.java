@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Separates extended cover cuts of the knapsack constraints, i.e., the rows whose variables are
+ * all binary. Variables with negative coefficients are complemented, a cover C is chosen
+ * greedily by the optimal solution and made minimal, and the cut sum_{j in E(C)} x_j <= |C| - 1
+ * is extended to the variables whose coefficient is not smaller than any in the cover.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class CoverSeparator implements CutSeparator {
+
+  private static final double TOLERANCE = 1e-9;
+
+  @Override
+  public void separate(Relaxation relaxation, List<Cut> cuts) {
+    var coefficients = new double[relaxation.lp.columns];
+    for (int row = 0; row < relaxation.lp.rows; row++) {
+      if (!isKnapsack(relaxation, row)) {
+        continue;
+      }
+      double upperLimit = relaxation.upperLimit(row);
+      if (upperLimit < Double.POSITIVE_INFINITY) {
+        separate(relaxation, row, 1.0, upperLimit, coefficients, cuts);
+      }
+      double lowerLimit = relaxation.lowerLimit(row);
+      if (lowerLimit > Double.NEGATIVE_INFINITY) {
+        separate(relaxation, row, -1.0, -lowerLimit, coefficients, cuts);
+      }
+    }
+  }
+
+  private static boolean isKnapsack(Relaxation relaxation, int row) {
+    int start = relaxation.rowStart[row];
+    int end = relaxation.rowStart[row + 1];
+    if (end - start < 2) {
+      return false;
+    }
+    for (int k = start; k < end; k++) {
+      if (!relaxation.isBinary(relaxation.rowColumns[k])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Separates a cover cut of the knapsack sign * a_i'x <= capacity.
+   */
+  private static void separate(Relaxation relaxation, int row, double sign, double capacity,
+      double[] coefficients, List<Cut> cuts) {
+    int start = relaxation.rowStart[row];
+    int size = relaxation.rowStart[row + 1] - start;
+    var weights = new double[size];
+    var complemented = new boolean[size];
+    var values = new double[size];
+    List<Integer> items = new ArrayList<>(size);
+    double total = 0.0;
+    for (int k = 0; k < size; k++) {
+      double weight = sign * relaxation.rowValues[start + k];
+      double value = relaxation.values[relaxation.rowColumns[start + k]];
+      if (weight < 0.0) {
+        capacity -= weight;
+        weight = -weight;
+        value = 1.0 - value;
+        complemented[k] = true;
+      }
+      weights[k] = weight;
+      values[k] = value;
+      total += weight;
+      if (weight > 0.0) {
+        items.add(k);
+      }
+    }
+    if (capacity < 0.0 || total <= capacity + TOLERANCE) {
+      return;
+    }
+
+    // Greedy cover: items closest to one first, heaviest first among ties.
+    items.sort(Comparator.<Integer>comparingDouble(k -> 1.0 - values[k])
+        .thenComparingDouble(k -> -weights[k]));
+    var cover = new ArrayList<Integer>();
+    double weight = 0.0;
+    for (int k : items) {
+      cover.add(k);
+      weight += weights[k];
+      if (weight > capacity + TOLERANCE) {
+        break;
+      }
+    }
+
+    // Minimal cover: drops the items furthest from one while the rest is still a cover.
+    for (int c = cover.size() - 1; c >= 0; c--) {
+      int k = cover.get(c);
+      if (weight - weights[k] > capacity + TOLERANCE) {
+        weight -= weights[k];
+        cover.remove(c);
+      }
+    }
+    double activity = 0.0;
+    double heaviest = 0.0;
+    var inCover = new boolean[size];
+    for (int k : cover) {
+      activity += values[k];
+      heaviest = Math.max(heaviest, weights[k]);
+      inCover[k] = true;
+    }
+    if (activity <= cover.size() - 1) {
+      return;
+    }
+
+    Arrays.fill(coefficients, 0.0);
+    double rightHandSide = cover.size() - 1;
+    for (int k = 0; k < size; k++) {
+      if (inCover[k] || weights[k] >= heaviest) {
+        int column = relaxation.rowColumns[start + k];
+        if (complemented[k]) {
+          coefficients[column] -= 1.0;
+          rightHandSide -= 1.0;
+        } else {
+          coefficients[column] += 1.0;
+        }
+      }
+    }
+    Cut cut = Cut.of(coefficients, rightHandSide, relaxation);
+    if (cut != null) {
+      cuts.add(cut);
+    }
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.Arrays;
+
+/**
+ * Cut (valid inequality) of the form a'x <= b over the structural columns. Two cuts that are
+ * positive multiples of each other (up to rounding) are equal and have the same hash, which lets
+ * the {@link CutPool} discard duplicates.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class Cut {
+
+  /**
+   * Efficacy (violation divided by the norm of the coefficients) below which a cut is discarded.
+   */
+  private static final double MIN_EFFICACY = 1e-4;
+
+  /**
+   * Ratio to the largest coefficient below which a coefficient is removed.
+   */
+  private static final double ZERO_TOLERANCE = 1e-9;
+
+  /**
+   * Largest ratio between the largest and smallest coefficients of a cut.
+   */
+  private static final double MAX_DYNAMISM = 1e6;
+
+  /**
+   * Scale of the rounded normalized coefficients that identify a cut.
+   */
+  private static final double KEY_SCALE = 1e9;
+
+  final int[] columns;
+  final double[] coefficients;
+  final double rightHandSide;
+  final double efficacy;
+
+  private final long[] key;
+  private final int hash;
+
+  private Cut(int[] columns, double[] coefficients, double rightHandSide, double efficacy) {
+    this.columns = columns;
+    this.coefficients = coefficients;
+    this.rightHandSide = rightHandSide;
+    this.efficacy = efficacy;
+
+    double max = 0.0;
+    for (double coefficient : coefficients) {
+      max = Math.max(max, Math.abs(coefficient));
+    }
+    key = new long[coefficients.length + 1];
+    for (int k = 0; k < coefficients.length; k++) {
+      key[k] = Math.round(coefficients[k] / max * KEY_SCALE);
+    }
+    key[coefficients.length] = Math.round(rightHandSide / max * KEY_SCALE);
+    hash = 31 * Arrays.hashCode(columns) + Arrays.hashCode(key);
+  }
+
+  /**
+   * Creates the cut a'x <= b from dense coefficients. Tiny coefficients are removed, relaxing the
+   * right-hand side by the bounds of their columns.
+   *
+   * @param dense         coefficients of the structural columns (the array is not kept)
+   * @param rightHandSide right-hand side b
+   * @param relaxation    relaxation whose optimal solution the cut must cut off
+   * @return cut, or null if it is not violated enough or is numerically unsafe
+   */
+  static Cut of(double[] dense, double rightHandSide, Relaxation relaxation) {
+    LinearProgram lp = relaxation.lp;
+    double max = 0.0;
+    for (int j = 0; j < lp.columns; j++) {
+      max = Math.max(max, Math.abs(dense[j]));
+    }
+    if (max == 0.0 || Double.isNaN(max) || Double.isInfinite(max)) {
+      return null;
+    }
+
+    int size = 0;
+    double min = Double.POSITIVE_INFINITY;
+    double b = rightHandSide;
+    for (int j = 0; j < lp.columns; j++) {
+      double a = dense[j];
+      if (a == 0.0) {
+        continue;
+      }
+      if (Math.abs(a) < ZERO_TOLERANCE * max) {
+        double smallest = Math.min(a * lp.lower[j], a * lp.upper[j]);
+        if (Double.isInfinite(smallest) || Double.isNaN(smallest)) {
+          return null;
+        }
+        b -= smallest;
+      } else {
+        min = Math.min(min, Math.abs(a));
+        size++;
+      }
+    }
+    if (size == 0 || max / min > MAX_DYNAMISM || Double.isInfinite(b) || Double.isNaN(b)) {
+      return null;
+    }
+
+    var columns = new int[size];
+    var coefficients = new double[size];
+    double activity = 0.0;
+    double norm = 0.0;
+    int k = 0;
+    for (int j = 0; j < lp.columns; j++) {
+      double a = dense[j];
+      if (a != 0.0 && Math.abs(a) >= ZERO_TOLERANCE * max) {
+        columns[k] = j;
+        coefficients[k++] = a;
+        activity += a * relaxation.values[j];
+        norm += a * a;
+      }
+    }
+    double efficacy = (activity - b) / Math.sqrt(norm);
+    return (efficacy > MIN_EFFICACY) ? new Cut(columns, coefficients, b, efficacy) : null;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof Cut)) {
+      return false;
+    }
+    var cut = (Cut) other;
+    return hash == cut.hash && Arrays.equals(columns, cut.columns) && Arrays.equals(key, cut.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Solver-independent cutting-plane generator. Separates cuts from the linear relaxation of a
+ * {@link ModelData} in rounds: each round solves the relaxation with the cuts found so far
+ * (warm-started by dual simplex from the previous basis), separates the enabled families of
+ * {@link CutType} from its optimal solution and keeps the most efficacious ones. A pool discards
+ * cuts equal (up to a positive multiple) to the ones already kept. The rounds stop when no cut is
+ * found or the objective bound stalls.
+ *
+ * <p>The cuts are valid for every integer solution of the model, so they can be added to any
+ * model that holds it (see {@link #addCuts(Model)}) to tighten its formulation.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public final class CutGenerator {
+
+  /**
+   * Largest number of cuts added per round.
+   */
+  private static final int MAX_CUTS_PER_ROUND = 200;
+
+  /**
+   * Relative improvement of the objective bound below which the rounds stop.
+   */
+  private static final double MIN_IMPROVEMENT = 1e-4;
+
+  private final ModelData data;
+  private final CutPool pool = new CutPool();
+  private int rounds = 5;
+  private Set<CutType> types = EnumSet.allOf(CutType.class);
+  private double objectiveBound = Double.NaN;
+
+  /**
+   * Creates a cut generator for the given model data, which is not modified.
+   *
+   * @param data model data whose relaxation is tightened
+   */
+  public CutGenerator(ModelData data) {
+    this.data = data;
+  }
+
+  /**
+   * Sets the maximum number of separation rounds. Default is 5.
+   *
+   * @param rounds maximum number of rounds
+   */
+  public void setRounds(int rounds) {
+    if (rounds < 0) {
+      throw new IllegalArgumentException(
+          getClass().getName() + ": the number of rounds must not be negative.");
+    }
+    this.rounds = rounds;
+  }
+
+  /**
+   * Sets the families of cuts that are separated. Default is all of them.
+   *
+   * @param types types of cuts to be separated
+   */
+  public void setCutTypes(CutType... types) {
+    this.types = (types.length == 0) ? EnumSet.noneOf(CutType.class)
+        : EnumSet.copyOf(Arrays.asList(types));
+  }
+
+  /**
+   * Runs the separation rounds.
+   *
+   * @return number of cuts found
+   */
+  public int separate() {
+    var work = data.copy();
+    int n = work.getNumberOfVariables();
+    var integer = new boolean[n];
+    for (int j = 0; j < n; j++) {
+      integer[j] = work.getType(j) != ModelData.CONTINUOUS;
+    }
+    List<CutSeparator> separators = new ArrayList<>();
+    if (types.contains(CutType.GOMORY)) {
+      separators.add(new GomorySeparator());
+    }
+    if (types.contains(CutType.KNAPSACK_COVER)) {
+      separators.add(new CoverSeparator());
+    }
+    if (types.contains(CutType.MIR)) {
+      separators.add(new MirSeparator());
+    }
+
+    Basis basis = null;
+    for (int round = 0; ; round++) {
+      var lp = new LinearProgram(work);
+      var simplex = new RevisedSimplex(lp);
+      if (simplex.solve(basis) != SolveStatus.OPTIMAL) {
+        break;
+      }
+      double previous = objectiveBound;
+      objectiveBound = simplex.getObjectiveValue();
+      if (round == rounds || (round > 0
+          && Math.abs(objectiveBound - previous) <= MIN_IMPROVEMENT * (1.0 + Math.abs(previous)))) {
+        break;
+      }
+
+      var relaxation = new Relaxation(lp, integer, simplex);
+      List<Cut> found = new ArrayList<>();
+      for (CutSeparator separator : separators) {
+        separator.separate(relaxation, found);
+      }
+      found.sort(Comparator.comparingDouble((Cut cut) -> cut.efficacy).reversed());
+      int added = 0;
+      for (Cut cut : found) {
+        if (added == MAX_CUTS_PER_ROUND) {
+          break;
+        }
+        if (pool.add(cut)) {
+          work.addConstraint(cut.columns, cut.coefficients, cut.columns.length,
+              ModelData.LESS_EQUAL, cut.rightHandSide, null);
+          added++;
+        }
+      }
+      if (added == 0) {
+        break;
+      }
+      basis = extend(simplex.getBasis(), added);
+    }
+    return pool.size();
+  }
+
+  /**
+   * Extends a basis with the slacks of the new rows, which are basic.
+   */
+  private static Basis extend(Basis basis, int rows) {
+    if (basis == null) {
+      return null;
+    }
+    int n = basis.getNumberOfColumns();
+    int m = basis.getNumberOfRows();
+    var basic = new int[m + rows];
+    var statuses = new byte[n + m + rows];
+    for (int i = 0; i < m; i++) {
+      basic[i] = basis.getBasic(i);
+    }
+    for (int j = 0; j < n + m; j++) {
+      statuses[j] = basis.getStatus(j);
+    }
+    for (int i = m; i < m + rows; i++) {
+      basic[i] = n + i;
+      statuses[n + i] = Basis.BASIC;
+    }
+    return new Basis(basic, statuses, n);
+  }
+
+  /**
+   * Gets the number of cuts found by {@link #separate()}.
+   */
+  public int getNumberOfCuts() {
+    return pool.size();
+  }
+
+  /**
+   * Gets the objective function value of the relaxation with the cuts of the last round, in terms
+   * of the model.
+   *
+   * @return objective bound, or NaN if the relaxation was not solved to optimality
+   */
+  public double getObjectiveBound() {
+    return objectiveBound;
+  }
+
+  /**
+   * Adds the cuts found by {@link #separate()} to the given model, whose variables must be the
+   * ones of the model data (in the same order).
+   *
+   * @param model model to be tightened
+   */
+  public void addCuts(Model model) {
+    var rows = collectCuts();
+    if (rows != null) {
+      model.addConstraints(rows.rowStart, rows.columns, rows.coefficients, rows.sense,
+          rows.rightHandSide);
+    }
+  }
+
+  /**
+   * Adds the cuts found by {@link #separate()} to the given model data, whose columns must be the
+   * ones of the separated model data (in the same order), such as a {@link ModelData#copy() copy}
+   * of it. The cuts are appended as unnamed rows.
+   *
+   * @param target model data to be tightened
+   */
+  public void addCuts(ModelData target) {
+    var rows = collectCuts();
+    if (rows != null) {
+      target.addConstraints(rows.sense.length, rows.rowStart, rows.columns, rows.coefficients,
+          rows.sense, rows.rightHandSide, null);
+    }
+  }
+
+  /**
+   * Gathers the cuts of the pool as rows in compressed sparse row format.
+   *
+   * @return the cuts, or null if the pool is empty
+   */
+  private Rows collectCuts() {
+    int size = pool.size();
+    if (size == 0) {
+      return null;
+    }
+    var rows = new Rows(size);
+    for (int i = 0; i < size; i++) {
+      rows.rowStart[i + 1] = rows.rowStart[i] + pool.get(i).columns.length;
+    }
+    rows.columns = new int[rows.rowStart[size]];
+    rows.coefficients = new double[rows.rowStart[size]];
+    for (int i = 0; i < size; i++) {
+      Cut cut = pool.get(i);
+      System.arraycopy(cut.columns, 0, rows.columns, rows.rowStart[i], cut.columns.length);
+      System.arraycopy(cut.coefficients, 0, rows.coefficients, rows.rowStart[i],
+          cut.columns.length);
+      rows.sense[i] = ModelData.LESS_EQUAL;
+      rows.rightHandSide[i] = cut.rightHandSide;
+    }
+    return rows;
+  }
+
+  /**
+   * Cuts of the pool in compressed sparse row format.
+   */
+  private static final class Rows {
+
+    private final int[] rowStart;
+    private final char[] sense;
+    private final double[] rightHandSide;
+    private int[] columns;
+    private double[] coefficients;
+
+    private Rows(int size) {
+      rowStart = new int[size + 1];
+      sense = new char[size];
+      rightHandSide = new double[size];
+    }
+
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cuts kept by a {@link CutGenerator}, in the order they were added. A cut equal to a kept one
+ * (see {@link Cut#equals(Object)}) is discarded.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class CutPool {
+
+  private final Set<Cut> seen = new HashSet<>();
+  private final List<Cut> cuts = new ArrayList<>();
+
+  /**
+   * Adds a cut to the pool, unless it is already there.
+   *
+   * @param cut cut to be added
+   * @return true if the cut was added
+   */
+  boolean add(Cut cut) {
+    if (!seen.add(cut)) {
+      return false;
+    }
+    cuts.add(cut);
+    return true;
+  }
+
+  int size() {
+    return cuts.size();
+  }
+
+  Cut get(int index) {
+    return cuts.get(index);
+  }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.List;
+
+/**
+ * Separation procedure of a family of cuts.
+ *
+ * @author Alexandre H. T. Dias
+ */
+interface CutSeparator {
+
+  /**
+   * Looks for cuts of the family that are violated by the optimal solution of the relaxation.
+   *
+   * @param relaxation solved relaxation
+   * @param cuts       list that receives the cuts found
+   */
+  void separate(Relaxation relaxation, List<Cut> cuts);
+
+}
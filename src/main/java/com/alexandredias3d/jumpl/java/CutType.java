@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+/**
+ * Type of cut separated by a {@link CutGenerator}.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public enum CutType {
+
+  /**
+   * Gomory mixed-integer cuts, derived from the rows of the optimal simplex tableau whose basic
+   * variable is integer and fractional.
+   */
+  GOMORY,
+
+  /**
+   * Lifted (extended) cover cuts of the constraints whose variables are all binary.
+   */
+  KNAPSACK_COVER,
+
+  /**
+   * Mixed-integer rounding cuts of single constraints, with the integer variables complemented to
+   * their nearest bounds.
+   */
+  MIR
+
+}
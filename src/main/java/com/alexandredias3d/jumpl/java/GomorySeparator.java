@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Separates Gomory mixed-integer cuts from the optimal simplex tableau. Each row whose basic
+ * variable is integer and fractional gives one cut: the nonbasic variables are complemented to
+ * the bound they are at, the slacks are treated as continuous and substituted out afterward.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class GomorySeparator implements CutSeparator {
+
+  /**
+   * Smallest fractionality of a basic variable for its row to be used.
+   */
+  private static final double MIN_FRACTIONALITY = 0.01;
+
+  /**
+   * Largest number of tableau rows used per separation.
+   */
+  private static final int MAX_ROWS = 100;
+
+  private static final double ZERO = 1e-11;
+
+  @Override
+  public void separate(Relaxation relaxation, List<Cut> cuts) {
+    LinearProgram lp = relaxation.lp;
+    int n = lp.columns;
+    List<Integer> rows = new ArrayList<>();
+    for (int r = 0; r < lp.rows; r++) {
+      int basic = relaxation.simplex.getBasicVariable(r);
+      if (basic < n && relaxation.integer[basic]) {
+        double fraction = fractionalPart(relaxation.values[basic]);
+        if (fraction >= MIN_FRACTIONALITY && fraction <= 1.0 - MIN_FRACTIONALITY) {
+          rows.add(r);
+        }
+      }
+    }
+    rows.sort(Comparator.comparingDouble(row -> distanceToHalf(relaxation, row)));
+
+    var tableau = new double[n + lp.rows];
+    var coefficients = new double[n];
+    for (int r : rows.subList(0, Math.min(rows.size(), MAX_ROWS))) {
+      relaxation.simplex.getTableauRow(r, tableau);
+      Cut cut = cut(relaxation, relaxation.simplex.getBasicVariable(r), tableau, coefficients);
+      if (cut != null) {
+        cuts.add(cut);
+      }
+    }
+  }
+
+  /**
+   * Derives the Gomory mixed-integer cut of a tableau row x_k + sum a_j x_j = x_k*.
+   *
+   * @return cut, or null if the row gives none
+   */
+  private static Cut cut(Relaxation relaxation, int basic, double[] tableau,
+      double[] coefficients) {
+    LinearProgram lp = relaxation.lp;
+    int n = lp.columns;
+    double f0 = fractionalPart(relaxation.values[basic]);
+
+    // The cut is built as coefficients'x >= 1 - constant.
+    Arrays.fill(coefficients, 0.0);
+    double constant = 0.0;
+    for (int j = 0; j < n + lp.rows; j++) {
+      double a = tableau[j];
+      if (j == basic || Math.abs(a) < ZERO) {
+        continue;
+      }
+      double lower = lp.lower[j];
+      double upper = lp.upper[j];
+      if (lower == upper) {
+        continue;
+      }
+      double value = relaxation.values[j];
+      double sign;
+      double bound;
+      if (value == lower) {
+        sign = 1.0;
+        bound = lower;
+      } else if (value == upper) {
+        sign = -1.0;
+        bound = upper;
+      } else {
+        return null;
+      }
+
+      // t = sign * (x_j - bound) >= 0 has coefficient sign * a in the row.
+      double shifted = sign * a;
+      double gomory;
+      if (j < n && relaxation.integer[j]) {
+        double fraction = fractionalPart(shifted);
+        gomory = (fraction <= f0) ? fraction / f0 : (1.0 - fraction) / (1.0 - f0);
+      } else {
+        gomory = (shifted >= 0.0) ? shifted / f0 : -shifted / (1.0 - f0);
+      }
+      if (gomory == 0.0) {
+        continue;
+      }
+
+      double term = sign * gomory;
+      if (j < n) {
+        coefficients[j] += term;
+        constant -= term * bound;
+      } else {
+        // Slack of row i: s = b_i - a_i'x.
+        int row = j - n;
+        constant += term * (lp.rightHandSide[row] - bound);
+        for (int k = relaxation.rowStart[row]; k < relaxation.rowStart[row + 1]; k++) {
+          coefficients[relaxation.rowColumns[k]] -= term * relaxation.rowValues[k];
+        }
+      }
+    }
+
+    for (int j = 0; j < n; j++) {
+      coefficients[j] = -coefficients[j];
+    }
+    return Cut.of(coefficients, constant - 1.0, relaxation);
+  }
+
+  private static double distanceToHalf(Relaxation relaxation, int row) {
+    int basic = relaxation.simplex.getBasicVariable(row);
+    return Math.abs(fractionalPart(relaxation.values[basic]) - 0.5);
+  }
+
+  static double fractionalPart(double value) {
+    return value - Math.floor(value);
+  }
+
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Primal-dual interior-point method (Mehrotra's predictor-corrector) for a {@link
+ * LinearProgram}. Fixed columns (including the slacks of equality rows) are substituted, and the
+ * bounds of the other columns are kept implicitly: the iterates stay strictly inside them, with a
+ * dual variable for each finite bound. Each iteration solves the normal equations A D A' dy = r
+ * twice (predictor and corrector) with a single {@link SparseCholesky} factorization, which is
+ * computed in parallel.
+ *
+ * <p>The method does not detect infeasible or unbounded problems: it stops when its iterates
+ * diverge or the iteration limit is reached, and the problem is then left to the simplex method.
+ * {@link #getBasis()} gives a crossover basis guessed from the optimal solution (variables far
+ * from their bounds compared to their dual values are basic), from which {@link RevisedSimplex}
+ * reaches an optimal basic solution in a few iterations.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class InteriorPoint {
+
+  private static final double TOLERANCE = 1e-8;
+  private static final int ITERATION_LIMIT = 200;
+  private static final double STEP_FACTOR = 0.9995;
+  private static final double PRIMAL_REGULARIZATION = 1e-10;
+  private static final double DUAL_REGULARIZATION = 1e-10;
+  private static final double DIVERGENCE = 1e14;
+
+  private final LinearProgram lp;
+  private final int m;
+  private final int n;
+
+  /**
+   * Bounds of the structural columns followed by the ones of the slacks.
+   */
+  private final double[] lower;
+  private final double[] upper;
+
+  /**
+   * Structural or slack column of each column of the problem solved (the nonfixed ones), and the
+   * column of the problem solved of each structural or slack column (-1 if it is fixed).
+   */
+  private final int[] variable;
+  private final int[] column;
+  private final int columns;
+
+  private final int[] start;
+  private final int[] index;
+  private final double[] value;
+  private final double[] cost;
+  private final double[] rightHandSide;
+  private final boolean[] hasLower;
+  private final boolean[] hasUpper;
+  private double fixedCost;
+
+  private final double[] x;
+  private final double[] y;
+  private final double[] zl;
+  private final double[] zu;
+
+  private final double[] theta;
+  private final double[] primalResidual;
+  private final double[] dualResidual;
+  private final double[] dx;
+  private final double[] dy;
+  private final double[] dzl;
+  private final double[] dzu;
+  private final double[] rl;
+  private final double[] ru;
+
+  private volatile boolean terminated;
+  private BooleanSupplier stopCondition = () -> false;
+  private double timeLimit = Double.POSITIVE_INFINITY;
+  private int iterations;
+  private SolveStatus status = SolveStatus.NO_SOLUTION;
+
+  InteriorPoint(LinearProgram lp) {
+    this(lp, lp.lower, lp.upper);
+  }
+
+  /**
+   * Creates an interior-point method for the given linear program with other bounds on its
+   * structural columns.
+   *
+   * @param lp          linear program to be solved
+   * @param lowerBounds lower bounds of the structural columns
+   * @param upperBounds upper bounds of the structural columns
+   */
+  InteriorPoint(LinearProgram lp, double[] lowerBounds, double[] upperBounds) {
+    this.lp = lp;
+    m = lp.rows;
+    n = lp.columns;
+    lower = lp.lower.clone();
+    upper = lp.upper.clone();
+    System.arraycopy(lowerBounds, 0, lower, 0, n);
+    System.arraycopy(upperBounds, 0, upper, 0, n);
+
+    rightHandSide = lp.rightHandSide.clone();
+    column = new int[n + m];
+    int count = 0;
+    int nonzeros = 0;
+    for (int v = 0; v < n + m; v++) {
+      if (lower[v] == upper[v]) {
+        column[v] = -1;
+        if (v < n) {
+          fixedCost += lp.cost[v] * lower[v];
+          for (int k = lp.columnStart[v]; k < lp.columnStart[v + 1]; k++) {
+            rightHandSide[lp.rowIndices[k]] -= lp.values[k] * lower[v];
+          }
+        } else {
+          rightHandSide[v - n] -= lower[v];
+        }
+      } else {
+        column[v] = count++;
+        nonzeros += (v < n) ? lp.columnStart[v + 1] - lp.columnStart[v] : 1;
+      }
+    }
+    columns = count;
+
+    variable = new int[columns];
+    start = new int[columns + 1];
+    index = new int[nonzeros];
+    value = new double[nonzeros];
+    cost = new double[columns];
+    hasLower = new boolean[columns];
+    hasUpper = new boolean[columns];
+    int k = 0;
+    for (int v = 0; v < n + m; v++) {
+      int j = column[v];
+      if (j < 0) {
+        continue;
+      }
+      variable[j] = v;
+      start[j] = k;
+      if (v < n) {
+        for (int t = lp.columnStart[v]; t < lp.columnStart[v + 1]; t++) {
+          index[k] = lp.rowIndices[t];
+          value[k++] = lp.values[t];
+        }
+        cost[j] = lp.cost[v];
+      } else {
+        index[k] = v - n;
+        value[k++] = 1.0;
+      }
+      hasLower[j] = lower[v] != Double.NEGATIVE_INFINITY;
+      hasUpper[j] = upper[v] != Double.POSITIVE_INFINITY;
+    }
+    start[columns] = k;
+
+    x = new double[columns];
+    zl = new double[columns];
+    zu = new double[columns];
+    theta = new double[columns];
+    dualResidual = new double[columns];
+    dx = new double[columns];
+    dzl = new double[columns];
+    dzu = new double[columns];
+    rl = new double[columns];
+    ru = new double[columns];
+    y = new double[m];
+    primalResidual = new double[m];
+    dy = new double[m];
+  }
+
+  /**
+   * Sets the maximum amount of time spent by {@link #solve()}.
+   *
+   * @param seconds time limit (in seconds)
+   */
+  void setTimeLimit(double seconds) {
+    timeLimit = seconds;
+  }
+
+  /**
+   * Stops the optimization at the next iteration. Can be called from any thread.
+   */
+  void terminate() {
+    terminated = true;
+  }
+
+  /**
+   * Sets an extra condition, checked at every iteration, that stops the optimization when true.
+   *
+   * @param condition stop condition shared by several optimizations
+   */
+  void setStopCondition(BooleanSupplier condition) {
+    stopCondition = condition;
+  }
+
+  /**
+   * Solves the linear program.
+   *
+   * @return {@link SolveStatus#OPTIMAL}, {@link SolveStatus#INFEASIBLE} if a column has crossed
+   *     bounds, or {@link SolveStatus#NO_SOLUTION} if it was stopped, reached the iteration limit
+   *     or diverged
+   */
+  SolveStatus solve() {
+    long deadline = (timeLimit < Long.MAX_VALUE / 1e9)
+        ? System.nanoTime() + (long) (timeLimit * 1e9) : Long.MAX_VALUE;
+    for (int v = 0; v < n + m; v++) {
+      if (lower[v] > upper[v]) {
+        return status = SolveStatus.INFEASIBLE;
+      }
+    }
+
+    var cholesky = new SparseCholesky(m, start, index, value);
+    initialize(cholesky);
+    double costNorm = norm(cost);
+    double rightHandSideNorm = norm(rightHandSide);
+
+    for (iterations = 0; iterations < ITERATION_LIMIT; iterations++) {
+      if (terminated || stopCondition.getAsBoolean() || System.nanoTime() > deadline) {
+        return status = SolveStatus.NO_SOLUTION;
+      }
+      computeResiduals();
+      double mu = complementarity(0.0, 0.0);
+      double primal = primalObjective();
+      double dual = dualObjective();
+      if (norm(primalResidual) <= TOLERANCE * (1.0 + rightHandSideNorm)
+          && norm(dualResidual) <= TOLERANCE * (1.0 + costNorm)
+          && Math.abs(primal - dual) <= TOLERANCE * (1.0 + Math.abs(primal))) {
+        return status = SolveStatus.OPTIMAL;
+      }
+      if (norm(x) > DIVERGENCE || norm(y) > DIVERGENCE) {
+        return status = SolveStatus.NO_SOLUTION;
+      }
+
+      for (int j = 0; j < columns; j++) {
+        double d = PRIMAL_REGULARIZATION;
+        if (hasLower[j]) {
+          d += zl[j] / (x[j] - lower[variable[j]]);
+        }
+        if (hasUpper[j]) {
+          d += zu[j] / (upper[variable[j]] - x[j]);
+        }
+        theta[j] = 1.0 / d;
+      }
+      cholesky.factorize(theta, DUAL_REGULARIZATION);
+
+      for (int j = 0; j < columns; j++) {
+        rl[j] = hasLower[j] ? -(x[j] - lower[variable[j]]) * zl[j] : 0.0;
+        ru[j] = hasUpper[j] ? -(upper[variable[j]] - x[j]) * zu[j] : 0.0;
+      }
+      direction(cholesky);
+      double primalStep = primalStep();
+      double dualStep = dualStep();
+      double affine = complementarity(primalStep, dualStep);
+      double sigma = (mu > 0.0) ? Math.pow(affine / mu, 3) : 0.0;
+
+      for (int j = 0; j < columns; j++) {
+        if (hasLower[j]) {
+          rl[j] = sigma * mu - (x[j] - lower[variable[j]]) * zl[j] - dx[j] * dzl[j];
+        }
+        if (hasUpper[j]) {
+          ru[j] = sigma * mu - (upper[variable[j]] - x[j]) * zu[j] + dx[j] * dzu[j];
+        }
+      }
+      direction(cholesky);
+      primalStep = Math.min(1.0, STEP_FACTOR * primalStep());
+      dualStep = Math.min(1.0, STEP_FACTOR * dualStep());
+
+      for (int j = 0; j < columns; j++) {
+        x[j] += primalStep * dx[j];
+        zl[j] += dualStep * dzl[j];
+        zu[j] += dualStep * dzu[j];
+      }
+      for (int i = 0; i < m; i++) {
+        y[i] += dualStep * dy[i];
+      }
+    }
+    return status = SolveStatus.NO_SOLUTION;
+  }
+
+  SolveStatus getStatus() {
+    return status;
+  }
+
+  int getIterations() {
+    return iterations;
+  }
+
+  /**
+   * Gets the values of the structural variables.
+   *
+   * @return values indexed as the columns of the linear program
+   */
+  double[] getValues() {
+    var values = new double[n];
+    for (int v = 0; v < n; v++) {
+      values[v] = (column[v] >= 0) ? x[column[v]] : lower[v];
+    }
+    return values;
+  }
+
+  /**
+   * Gets the cost of the current solution, i.e., the objective function value of the
+   * minimization problem solved.
+   *
+   * @return cost of the current solution
+   */
+  double getCost() {
+    return primalObjective();
+  }
+
+  /**
+   * Guesses an optimal basis from the current solution: the m variables (structural or slack)
+   * with the largest ratio between their distance to a bound and its dual value are basic, and
+   * the other ones are at their nearest bound.
+   *
+   * @return crossover basis, which may be singular or not optimal
+   */
+  Basis getBasis() {
+    var score = new double[n + m];
+    var statuses = new byte[n + m];
+    for (int v = 0; v < n + m; v++) {
+      int j = column[v];
+      if (j < 0) {
+        score[v] = Double.NEGATIVE_INFINITY;
+        statuses[v] = Basis.AT_LOWER;
+        continue;
+      }
+      double toLower = hasLower[j] ? x[j] - lower[v] : Double.POSITIVE_INFINITY;
+      double toUpper = hasUpper[j] ? upper[v] - x[j] : Double.POSITIVE_INFINITY;
+      score[v] = Math.min(hasLower[j] ? toLower / Math.max(zl[j], Double.MIN_NORMAL)
+          : Double.POSITIVE_INFINITY, hasUpper[j] ? toUpper / Math.max(zu[j], Double.MIN_NORMAL)
+          : Double.POSITIVE_INFINITY);
+      if (hasLower[j] && toLower <= toUpper) {
+        statuses[v] = Basis.AT_LOWER;
+      } else if (hasUpper[j]) {
+        statuses[v] = Basis.AT_UPPER;
+      } else {
+        statuses[v] = Basis.AT_ZERO;
+      }
+    }
+
+    Integer[] order = new Integer[n + m];
+    for (int v = 0; v < n + m; v++) {
+      order[v] = v;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(v -> -score[v]));
+    var basic = new int[m];
+    for (int i = 0; i < m; i++) {
+      basic[i] = order[i];
+      statuses[order[i]] = Basis.BASIC;
+    }
+    return new Basis(basic, statuses, n);
+  }
+
+  /**
+   * Computes the starting point: the least-squares solution of A x = b moved inside the bounds,
+   * with positive dual values for the bounds.
+   */
+  private void initialize(SparseCholesky cholesky) {
+    Arrays.fill(theta, 1.0);
+    cholesky.factorize(theta, DUAL_REGULARIZATION);
+    double[] w = rightHandSide.clone();
+    cholesky.solve(w);
+    for (int j = 0; j < columns; j++) {
+      double estimate = 0.0;
+      for (int k = start[j]; k < start[j + 1]; k++) {
+        estimate += value[k] * w[index[k]];
+      }
+      double l = lower[variable[j]];
+      double u = upper[variable[j]];
+      if (hasLower[j] && hasUpper[j]) {
+        double ratio = (estimate - l) / (u - l);
+        x[j] = l + (u - l) * Math.max(0.1, Math.min(0.9, ratio));
+      } else if (hasLower[j]) {
+        x[j] = l + Math.max(estimate - l, 1.0);
+      } else if (hasUpper[j]) {
+        x[j] = u - Math.max(u - estimate, 1.0);
+      } else {
+        x[j] = estimate;
+      }
+      zl[j] = hasLower[j] ? 1.0 + Math.max(cost[j], 0.0) : 0.0;
+      zu[j] = hasUpper[j] ? 1.0 + Math.max(-cost[j], 0.0) : 0.0;
+    }
+    Arrays.fill(y, 0.0);
+  }
+
+  /**
+   * Computes b - Ax and c - A'y - zl + zu.
+   */
+  private void computeResiduals() {
+    System.arraycopy(rightHandSide, 0, primalResidual, 0, m);
+    for (int j = 0; j < columns; j++) {
+      double sum = 0.0;
+      for (int k = start[j]; k < start[j + 1]; k++) {
+        primalResidual[index[k]] -= value[k] * x[j];
+        sum += value[k] * y[index[k]];
+      }
+      dualResidual[j] = cost[j] - sum - zl[j] + zu[j];
+    }
+  }
+
+  /**
+   * Computes the Newton direction for the complementarity targets in {@link #rl} and {@link #ru},
+   * with the normal equations already factorized.
+   */
+  private void direction(SparseCholesky cholesky) {
+    System.arraycopy(primalResidual, 0, dy, 0, m);
+    for (int j = 0; j < columns; j++) {
+      double h = dualResidual[j];
+      if (hasLower[j]) {
+        h -= rl[j] / (x[j] - lower[variable[j]]);
+      }
+      if (hasUpper[j]) {
+        h += ru[j] / (upper[variable[j]] - x[j]);
+      }
+      dx[j] = h;
+      double scaled = theta[j] * h;
+      for (int k = start[j]; k < start[j + 1]; k++) {
+        dy[index[k]] += value[k] * scaled;
+      }
+    }
+    cholesky.solve(dy);
+    for (int j = 0; j < columns; j++) {
+      double sum = 0.0;
+      for (int k = start[j]; k < start[j + 1]; k++) {
+        sum += value[k] * dy[index[k]];
+      }
+      dx[j] = theta[j] * (sum - dx[j]);
+      dzl[j] = hasLower[j] ? (rl[j] - zl[j] * dx[j]) / (x[j] - lower[variable[j]]) : 0.0;
+      dzu[j] = hasUpper[j] ? (ru[j] + zu[j] * dx[j]) / (upper[variable[j]] - x[j]) : 0.0;
+    }
+  }
+
+  /**
+   * Gets the largest step along dx that keeps x inside its bounds.
+   */
+  private double primalStep() {
+    double step = 1.0;
+    for (int j = 0; j < columns; j++) {
+      if (hasLower[j] && dx[j] < 0.0) {
+        step = Math.min(step, (x[j] - lower[variable[j]]) / -dx[j]);
+      }
+      if (hasUpper[j] && dx[j] > 0.0) {
+        step = Math.min(step, (upper[variable[j]] - x[j]) / dx[j]);
+      }
+    }
+    return step;
+  }
+
+  /**
+   * Gets the largest step along (dzl, dzu) that keeps the dual values of the bounds nonnegative.
+   */
+  private double dualStep() {
+    double step = 1.0;
+    for (int j = 0; j < columns; j++) {
+      if (dzl[j] < 0.0) {
+        step = Math.min(step, zl[j] / -dzl[j]);
+      }
+      if (dzu[j] < 0.0) {
+        step = Math.min(step, zu[j] / -dzu[j]);
+      }
+    }
+    return step;
+  }
+
+  /**
+   * Gets the average complementarity product after the given steps along the current direction
+   * (the current one, for zero steps).
+   */
+  private double complementarity(double primalStep, double dualStep) {
+    double sum = 0.0;
+    int count = 0;
+    for (int j = 0; j < columns; j++) {
+      if (hasLower[j]) {
+        sum += (x[j] + primalStep * dx[j] - lower[variable[j]]) * (zl[j] + dualStep * dzl[j]);
+        count++;
+      }
+      if (hasUpper[j]) {
+        sum += (upper[variable[j]] - x[j] - primalStep * dx[j]) * (zu[j] + dualStep * dzu[j]);
+        count++;
+      }
+    }
+    return (count > 0) ? sum / count : 0.0;
+  }
+
+  private double primalObjective() {
+    double sum = fixedCost;
+    for (int j = 0; j < columns; j++) {
+      sum += cost[j] * x[j];
+    }
+    return sum;
+  }
+
+  private double dualObjective() {
+    double sum = fixedCost;
+    for (int i = 0; i < m; i++) {
+      sum += rightHandSide[i] * y[i];
+    }
+    for (int j = 0; j < columns; j++) {
+      if (hasLower[j]) {
+        sum += lower[variable[j]] * zl[j];
+      }
+      if (hasUpper[j]) {
+        sum -= upper[variable[j]] * zu[j];
+      }
+    }
+    return sum;
+  }
+
+  private static double norm(double[] vector) {
+    double max = 0.0;
+    for (double entry : vector) {
+      max = Math.max(max, Math.abs(entry));
+    }
+    return max;
+  }
+
+}
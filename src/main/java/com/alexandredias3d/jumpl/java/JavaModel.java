@@ -0,0 +1,668 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.BaseModel;
+import com.alexandredias3d.jumpl.api.DoubleParameter;
+import com.alexandredias3d.jumpl.api.IntParameter;
+import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
+import com.alexandredias3d.jumpl.api.Variable;
+import java.nio.file.Path;
+
+/**
+ * Pure-Java model, solved in process by a bounded revised simplex method and, if it has integer
+ * variables, a parallel branch-and-bound method. It needs no native library nor license:
+ * variables, constraints and the objective function are only recorded in its {@link ModelData},
+ * which is also its wrappee, and the linear program is built from it when the model is solved.
+ *
+ * <p>The optimal basis of each optimization is kept, so solving the model again after changing
+ * the bounds of variables (or the objective function) restarts from it by the dual (or primal)
+ * simplex method. It can also be saved and restored with {@link #getBasis()} and {@link
+ * #setBasis(Basis)}.
+ *
+ * <p>The branch-and-bound method is opportunistic by default; {@link
+ * IntParameter#DETERMINISTIC} makes it explore the tree in synchronized rounds, so the same
+ * model, number of threads ({@link IntParameter#THREADS}) and seed ({@link
+ * IntParameter#RANDOM_SEED}) always give the same result.
+ *
+ * <p>Linear programs can also be solved by a parallel interior-point method, see {@link
+ * #setLpAlgorithm(LpAlgorithm)}.
+ *
+ * @author Alexandre H. T. Dias
+ * @see RevisedSimplex
+ * @see BranchAndBound
+ */
+public class JavaModel extends BaseModel<ModelData> {
+
+  /**
+   * Branch-and-bound method of the current (or last) optimization.
+   */
+  private volatile BranchAndBound search;
+
+  /**
+   * Basis from which the next optimization starts.
+   */
+  private Basis basis;
+
+  /**
+   * Start solution of the next optimization, indexed by variable.
+   */
+  private double[] mipStart;
+
+  private double[] solution = new double[0];
+  private double objectiveValue = Double.NaN;
+  private double objectiveBound = Double.NaN;
+  private SolveStatus status = SolveStatus.NO_SOLUTION;
+  private double timeLimit = Double.POSITIVE_INFINITY;
+  private double absoluteGap = 1e-10;
+  private double relativeGap = 1e-4;
+  private int threads;
+  private int seed;
+  private boolean deterministic;
+  private double nodeFileStart = Double.POSITIVE_INFINITY;
+  private Path nodeFileDirectory;
+  private LpAlgorithm algorithm = LpAlgorithm.SIMPLEX;
+  private boolean crossover = true;
+  private boolean cuts;
+
+  public JavaModel() {
+    this("jumpl-java.lp");
+  }
+
+  public JavaModel(String outputFile) {
+    model = data;
+    this.outputFile = outputFile;
+  }
+
+  @Override
+  public void setObjectiveFunctionMinimize(LinearExpression expr) {
+    recordObjective(ModelData.MINIMIZE, expr);
+  }
+
+  @Override
+  public void setObjectiveFunctionMaximize(LinearExpression expr) {
+    recordObjective(ModelData.MAXIMIZE, expr);
+  }
+
+  @Override
+  public Variable addRealVariable(double lowerBound, double upperBound, String name) {
+    return recordVariable(new JavaVariable(), lowerBound, upperBound, ModelData.CONTINUOUS,
+        name);
+  }
+
+  @Override
+  public Variable addRealVariable(double lowerBound, double upperBound) {
+    return addRealVariable(lowerBound, upperBound, getVariableName());
+  }
+
+  @Override
+  public Variable addIntegerVariable(double lowerBound, double upperBound, String name) {
+    return recordVariable(new JavaVariable(), lowerBound, upperBound, ModelData.INTEGER,
+        name);
+  }
+
+  @Override
+  public Variable addIntegerVariable(double lowerBound, double upperBound) {
+    return addIntegerVariable(lowerBound, upperBound, getVariableName());
+  }
+
+  @Override
+  public Variable addBinaryVariable(String name) {
+    return recordVariable(new JavaVariable(), 0.0, 1.0, ModelData.BINARY, name);
+  }
+
+  @Override
+  public Variable addBinaryVariable() {
+    return addBinaryVariable(getVariableName());
+  }
+
+  private Variable[] addVariables(int n, double[] lowerBounds, double[] upperBounds, char type,
+      String[] names) {
+    var wrappers = new JavaVariable[n];
+    for (int j = 0; j < n; j++) {
+      wrappers[j] = new JavaVariable();
+    }
+    return recordVariables(wrappers, lowerBounds, upperBounds, type, names);
+  }
+
+  @Override
+  public Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    return addVariables(n, lowerBounds, upperBounds, ModelData.CONTINUOUS, names);
+  }
+
+  @Override
+  public Variable[] addRealVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addRealVariables(n, lowerBounds, upperBounds, getVariableNames(n));
+  }
+
+  @Override
+  public Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    return addVariables(n, lowerBounds, upperBounds, ModelData.INTEGER, names);
+  }
+
+  @Override
+  public Variable[] addIntegerVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addIntegerVariables(n, lowerBounds, upperBounds, getVariableNames(n));
+  }
+
+  @Override
+  public Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds,
+      String[] names) {
+    return addVariables(n, binaryBounds(n, lowerBounds, 0.0), binaryBounds(n, upperBounds, 1.0),
+        ModelData.BINARY, names);
+  }
+
+  @Override
+  public Variable[] addBinaryVariables(int n, double[] lowerBounds, double[] upperBounds) {
+    return addBinaryVariables(n, lowerBounds, upperBounds, getVariableNames(n));
+  }
+
+  @Override
+  public void addEqualConstraint(double value, LinearExpression expr, String name) {
+    recordConstraint(value, ModelData.EQUAL, expr, name);
+  }
+
+  @Override
+  public void addEqualConstraint(LinearExpression expr, double value, String name) {
+    recordConstraint(expr, ModelData.EQUAL, value, name);
+  }
+
+  @Override
+  public void addEqualConstraint(LinearExpression expr, Variable var, String name) {
+    recordConstraint(expr, ModelData.EQUAL, var, name);
+  }
+
+  @Override
+  public void addEqualConstraint(Variable var, LinearExpression expr, String name) {
+    recordConstraint(var, ModelData.EQUAL, expr, name);
+  }
+
+  @Override
+  public void addEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
+    recordConstraint(expr1, ModelData.EQUAL, expr2, name);
+  }
+
+  @Override
+  public void addEqualConstraint(double value, Variable var, String name) {
+    recordConstraint(value, ModelData.EQUAL, var, name);
+  }
+
+  @Override
+  public void addEqualConstraint(Variable var, double value, String name) {
+    recordConstraint(var, ModelData.EQUAL, value, name);
+  }
+
+  @Override
+  public void addEqualConstraint(Variable var1, Variable var2, String name) {
+    recordConstraint(var1, ModelData.EQUAL, var2, name);
+  }
+
+  @Override
+  public void addEqualConstraint(double value, LinearExpression expr) {
+    addEqualConstraint(value, expr, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(LinearExpression expr, double value) {
+    addEqualConstraint(expr, value, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(LinearExpression expr, Variable var) {
+    addEqualConstraint(expr, var, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(Variable var, LinearExpression expr) {
+    addEqualConstraint(var, expr, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(LinearExpression expr1, LinearExpression expr2) {
+    addEqualConstraint(expr1, expr2, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(double value, Variable var) {
+    addEqualConstraint(value, var, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(Variable var, double value) {
+    addEqualConstraint(var, value, getConstraintName());
+  }
+
+  @Override
+  public void addEqualConstraint(Variable var1, Variable var2) {
+    addEqualConstraint(var1, var2, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(double value, LinearExpression expr, String name) {
+    recordConstraint(value, ModelData.GREATER_EQUAL, expr, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(LinearExpression expr, double value, String name) {
+    recordConstraint(expr, ModelData.GREATER_EQUAL, value, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(LinearExpression expr, Variable var, String name) {
+    recordConstraint(expr, ModelData.GREATER_EQUAL, var, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(Variable var, LinearExpression expr, String name) {
+    recordConstraint(var, ModelData.GREATER_EQUAL, expr, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
+    recordConstraint(expr1, ModelData.GREATER_EQUAL, expr2, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(double value, Variable var, String name) {
+    recordConstraint(value, ModelData.GREATER_EQUAL, var, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(Variable var, double value, String name) {
+    recordConstraint(var, ModelData.GREATER_EQUAL, value, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(Variable var1, Variable var2, String name) {
+    recordConstraint(var1, ModelData.GREATER_EQUAL, var2, name);
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(double value, LinearExpression expr) {
+    addGreaterEqualConstraint(value, expr, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(LinearExpression expr, double value) {
+    addGreaterEqualConstraint(expr, value, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(LinearExpression expr, Variable var) {
+    addGreaterEqualConstraint(expr, var, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(Variable var, LinearExpression expr) {
+    addGreaterEqualConstraint(var, expr, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(LinearExpression expr1, LinearExpression expr2) {
+    addGreaterEqualConstraint(expr1, expr2, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(double value, Variable var) {
+    addGreaterEqualConstraint(value, var, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(Variable var, double value) {
+    addGreaterEqualConstraint(var, value, getConstraintName());
+  }
+
+  @Override
+  public void addGreaterEqualConstraint(Variable var1, Variable var2) {
+    addGreaterEqualConstraint(var1, var2, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(double value, LinearExpression expr, String name) {
+    recordConstraint(value, ModelData.LESS_EQUAL, expr, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(LinearExpression expr, double value, String name) {
+    recordConstraint(expr, ModelData.LESS_EQUAL, value, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(LinearExpression expr, Variable var, String name) {
+    recordConstraint(expr, ModelData.LESS_EQUAL, var, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(Variable var, LinearExpression expr, String name) {
+    recordConstraint(var, ModelData.LESS_EQUAL, expr, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(LinearExpression expr1, LinearExpression expr2, String name) {
+    recordConstraint(expr1, ModelData.LESS_EQUAL, expr2, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(double value, Variable var, String name) {
+    recordConstraint(value, ModelData.LESS_EQUAL, var, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(Variable var, double value, String name) {
+    recordConstraint(var, ModelData.LESS_EQUAL, value, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(Variable var1, Variable var2, String name) {
+    recordConstraint(var1, ModelData.LESS_EQUAL, var2, name);
+  }
+
+  @Override
+  public void addLessEqualConstraint(double value, LinearExpression expr) {
+    addLessEqualConstraint(value, expr, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(LinearExpression expr, double value) {
+    addLessEqualConstraint(expr, value, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(LinearExpression expr, Variable var) {
+    addLessEqualConstraint(expr, var, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(Variable var, LinearExpression expr) {
+    addLessEqualConstraint(var, expr, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(LinearExpression expr1, LinearExpression expr2) {
+    addLessEqualConstraint(expr1, expr2, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(double value, Variable var) {
+    addLessEqualConstraint(value, var, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(Variable var, double value) {
+    addLessEqualConstraint(var, value, getConstraintName());
+  }
+
+  @Override
+  public void addLessEqualConstraint(Variable var1, Variable var2) {
+    addLessEqualConstraint(var1, var2, getConstraintName());
+  }
+
+  @Override
+  public void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs, String[] names) {
+    recordConstraints(rowStart, colIndex, values, sense, rhs, names);
+  }
+
+  @Override
+  public void addConstraints(int[] rowStart, int[] colIndex, double[] values, char[] sense,
+      double[] rhs) {
+    addConstraints(rowStart, colIndex, values, sense, rhs, getConstraintNames(sense.length));
+  }
+
+  @Override
+  public LinearExpression createEmptyLinearExpression() {
+    return new SparseLinearExpression(this);
+  }
+
+  @Override
+  public void solve() {
+    if (!beforeSolve()) {
+      return;
+    }
+    var startTime = System.currentTimeMillis();
+    ModelData solved = data;
+    if (cuts && data.getNumberOfIntegerVariables() > 0) {
+      var generator = new CutGenerator(data);
+      generator.separate();
+      if (generator.getNumberOfCuts() > 0) {
+        solved = data.copy();
+        generator.addCuts(solved);
+      }
+    }
+    var current = new BranchAndBound(new LinearProgram(solved), solved);
+    current.setTimeLimit(timeLimit);
+    current.setAbsoluteGap(absoluteGap);
+    current.setRelativeGap(relativeGap);
+    current.setParallelism(
+        (threads > 0) ? threads : Runtime.getRuntime().availableProcessors());
+    current.setRandomSeed(seed);
+    current.setDeterministic(deterministic);
+    current.setNodeFile(nodeFileStart * 1e9, nodeFileDirectory);
+    current.setBasis(basis);
+    current.setStartSolution(mipStart);
+    current.setAlgorithm(algorithm, crossover);
+    search = current;
+    status = current.solve();
+    if (current.getBasis() != null && solved == data) {
+      basis = current.getBasis();
+    }
+    solution = status.hasSolution() ? current.getValues() : new double[0];
+    objectiveValue = current.getObjectiveValue();
+    objectiveBound = current.getObjectiveBound();
+    solvingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+    afterSolve(!status.hasSolution());
+  }
+
+  /**
+   * Gets the optimal basis of the last optimization (of the root relaxation, if the model has
+   * integer variables), from which the next one starts.
+   *
+   * @return optimal basis, or null if no optimization reached one
+   */
+  public Basis getBasis() {
+    return basis;
+  }
+
+  /**
+   * Sets the basis from which the next optimization starts. A basis of a model with a different
+   * amount of variables or constraints is ignored.
+   *
+   * @param basis basis saved by {@link #getBasis()}, or null to start from scratch
+   */
+  public void setBasis(Basis basis) {
+    this.basis = basis;
+  }
+
+  /**
+   * Keeps the start solution, which is completed into the first incumbent of the branch-and-bound
+   * of every later optimization: the integer variables with a value are fixed at it and the others
+   * are solved for by the relaxation or a small branch-and-bound. It is ignored by models without
+   * integer variables.
+   */
+  @Override
+  public void setMIPStart(double[] values) {
+    mipStart = values.clone();
+  }
+
+  /**
+   * Sets the directory of the node file, to which the open nodes of the deterministic
+   * branch-and-bound are written past {@link DoubleParameter#NODE_FILE_START} gigabytes.
+   *
+   * @param directory directory of the node file, or null for the default temporary directory
+   */
+  public void setNodeFileDirectory(Path directory) {
+    nodeFileDirectory = directory;
+  }
+
+  /**
+   * Sets the method that solves the model when it has no integer variables.
+   *
+   * @param algorithm LP algorithm ({@link LpAlgorithm#SIMPLEX} by default)
+   */
+  public void setLpAlgorithm(LpAlgorithm algorithm) {
+    this.algorithm = algorithm;
+  }
+
+  /**
+   * Sets whether the solution of the interior-point method is turned into an optimal basic
+   * solution by the simplex method (the default). Without crossover, the solution is an interior
+   * one, and no basis is saved for the next optimization.
+   *
+   * @param crossover whether the crossover is performed
+   */
+  public void setCrossover(boolean crossover) {
+    this.crossover = crossover;
+  }
+
+  /**
+   * Sets whether generic cuts (Gomory mixed-integer, knapsack cover and mixed-integer rounding)
+   * are separated from the linear relaxation before each optimization of a model with integer
+   * variables. They tighten a copy of the model data used only by that optimization, so the model
+   * itself (its constraints, names and exports) is left unchanged; the basis of such an
+   * optimization is not kept for the next one. They are off by default.
+   *
+   * @param cuts whether the generic cuts are added
+   * @see CutGenerator
+   */
+  public void setCuts(boolean cuts) {
+    this.cuts = cuts;
+  }
+
+  @Override
+  protected void terminateSolver() {
+    BranchAndBound current = search;
+    if (current != null) {
+      current.terminate();
+    }
+  }
+
+  @Override
+  public boolean dispose() {
+    boolean exported = finishExport();
+    search = null;
+    basis = null;
+    solution = new double[0];
+    return exported;
+  }
+
+  @Override
+  public void setParameter(DoubleParameter parameter, double value) {
+    switch (parameter) {
+      case ABSOLUTE_MIP_GAP:
+        absoluteGap = value;
+        break;
+
+      case RELATIVE_MIP_GAP:
+        relativeGap = value;
+        break;
+
+      case TIME_LIMIT:
+        timeLimit = value;
+        break;
+
+      case NODE_FILE_START:
+        nodeFileStart = value;
+        break;
+    }
+  }
+
+  @Override
+  public void setParameter(IntParameter parameter, int value) {
+    switch (parameter) {
+      case THREADS:
+        threads = value;
+        break;
+
+      case RANDOM_SEED:
+        seed = value;
+        break;
+
+      case DETERMINISTIC:
+        deterministic = value != 0;
+        break;
+    }
+  }
+
+  @Override
+  public double getObjectiveFunctionValue() {
+    return objectiveValue;
+  }
+
+  @Override
+  public double getObjectiveBound() {
+    return objectiveBound;
+  }
+
+  /**
+   * Gets the value of the given variable in the solution of the last optimization.
+   *
+   * @throws IllegalStateException if the last optimization found no solution, or the variable
+   *                               was added after it
+   */
+  @Override
+  public double getVariableValue(Variable variable) {
+    return solution[solutionIndex(variable)];
+  }
+
+  /**
+   * Gets the values of the given variables in the solution of the last optimization.
+   *
+   * @throws IllegalStateException if the last optimization found no solution, or a variable was
+   *                               added after it
+   */
+  @Override
+  public double[] getVariablesValues(Variable[] variables, double[] values) {
+    for (int j = 0; j < variables.length; j++) {
+      values[j] = solution[solutionIndex(variables[j])];
+    }
+    return values;
+  }
+
+  /**
+   * Gets the position of the value of a variable in the solution of the last optimization.
+   */
+  private int solutionIndex(Variable variable) {
+    int index = variable.getIndex();
+    if (solution.length == 0) {
+      throw new IllegalStateException(
+          getClass().getName() + ": the last optimization found no solution (status "
+              + getSolveStatus() + ").");
+    }
+    if (index >= solution.length) {
+      throw new IllegalStateException(getClass().getName() + ": variable " + index
+          + " was added after the last optimization.");
+    }
+    return index;
+  }
+
+  @Override
+  public int getStatus() {
+    return status.ordinal();
+  }
+
+  @Override
+  public SolveStatus getSolveStatus() {
+    return status;
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.BaseVariable;
+
+/**
+ * Variable of a {@link JavaModel}. It has no wrappee: its attributes are read from and written to
+ * the model data directly.
+ *
+ * @author Alexandre H. T. Dias
+ */
+public class JavaVariable extends BaseVariable<Void> {
+
+  @Override
+  public String getName() {
+    return recordedName();
+  }
+
+  @Override
+  public void setName(String name) {
+    recordName(name);
+  }
+
+  @Override
+  public double getLowerBound() {
+    return data.getLowerBound(index);
+  }
+
+  @Override
+  public void setLowerBound(double lowerBound) {
+    recordLowerBound(lowerBound);
+  }
+
+  @Override
+  public double getUpperBound() {
+    return data.getUpperBound(index);
+  }
+
+  @Override
+  public void setUpperBound(double upperBound) {
+    recordUpperBound(upperBound);
+  }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+
+/**
+ * Linear program in the computational form solved by {@link RevisedSimplex}: minimize c'x subject
+ * to Ax + s = b and l <= (x, s) <= u. Each row has a logical (slack) variable whose bounds encode
+ * the sense of the row, so every row is an equality and the slacks give an initial basis.
+ *
+ * <p>The constraint matrix is kept in compressed sparse column (column-major) format, which is the
+ * access pattern of the simplex method (pricing and column updates).
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class LinearProgram {
+
+  /**
+   * Number of rows (constraints).
+   */
+  final int rows;
+
+  /**
+   * Number of structural columns (variables of the model).
+   */
+  final int columns;
+
+  /**
+   * Start of each column in {@link #rowIndices} and {@link #values}, with columns + 1 entries.
+   */
+  final int[] columnStart;
+
+  final int[] rowIndices;
+  final double[] values;
+
+  /**
+   * Costs of the structural columns, negated for maximization problems.
+   */
+  final double[] cost;
+
+  /**
+   * Lower bounds of the structural columns followed by the ones of the logical columns.
+   */
+  final double[] lower;
+
+  /**
+   * Upper bounds of the structural columns followed by the ones of the logical columns.
+   */
+  final double[] upper;
+
+  final double[] rightHandSide;
+
+  /**
+   * Objective sense of the original model ({@link ModelData#MINIMIZE} or {@link
+   * ModelData#MAXIMIZE}).
+   */
+  final int sense;
+
+  final double objectiveConstant;
+
+  /**
+   * Builds the computational form of the given model data, transposing its row-major matrix.
+   *
+   * @param data model data to be solved
+   */
+  LinearProgram(ModelData data) {
+    rows = data.getNumberOfConstraints();
+    columns = data.getNumberOfVariables();
+    sense = data.getObjectiveSense();
+    objectiveConstant = data.getObjectiveConstant();
+
+    int[] rowStart = data.getRowStart();
+    int[] columnIndices = data.getColumnIndices();
+    double[] rowValues = data.getValues();
+    int nonZeros = rowStart[rows];
+
+    columnStart = new int[columns + 1];
+    for (int k = 0; k < nonZeros; k++) {
+      columnStart[columnIndices[k] + 1]++;
+    }
+    for (int j = 0; j < columns; j++) {
+      columnStart[j + 1] += columnStart[j];
+    }
+    rowIndices = new int[nonZeros];
+    values = new double[nonZeros];
+    int[] next = columnStart.clone();
+    for (int i = 0; i < rows; i++) {
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        int position = next[columnIndices[k]]++;
+        rowIndices[position] = i;
+        values[position] = rowValues[k];
+      }
+    }
+
+    cost = new double[columns];
+    lower = new double[columns + rows];
+    upper = new double[columns + rows];
+    for (int j = 0; j < columns; j++) {
+      cost[j] = sense * data.getObjectiveCoefficient(j);
+      lower[j] = data.getLowerBound(j);
+      upper[j] = data.getUpperBound(j);
+    }
+
+    rightHandSide = new double[rows];
+    for (int i = 0; i < rows; i++) {
+      rightHandSide[i] = data.getRightHandSide(i);
+      switch (data.getSense(i)) {
+        case ModelData.LESS_EQUAL:
+          upper[columns + i] = Double.POSITIVE_INFINITY;
+          break;
+
+        case ModelData.GREATER_EQUAL:
+          lower[columns + i] = Double.NEGATIVE_INFINITY;
+          break;
+
+        default:
+          break;
+      }
+    }
+  }
+
+  /**
+   * Creates a linear program that shares the constraints and bounds of the given one, with other
+   * costs.
+   */
+  private LinearProgram(LinearProgram source, double[] cost) {
+    rows = source.rows;
+    columns = source.columns;
+    columnStart = source.columnStart;
+    rowIndices = source.rowIndices;
+    values = source.values;
+    this.cost = cost;
+    lower = source.lower;
+    upper = source.upper;
+    rightHandSide = source.rightHandSide;
+    sense = ModelData.MINIMIZE;
+    objectiveConstant = 0.0;
+  }
+
+  /**
+   * Gets the linear program that minimizes another objective function over the same feasible
+   * set. The arrays are shared, not copied.
+   *
+   * @param cost costs of the structural columns
+   * @return linear program with the given costs
+   */
+  LinearProgram withCost(double[] cost) {
+    return new LinearProgram(this, cost);
+  }
+
+  /**
+   * Converts a value of the computational objective function back to the original model.
+   *
+   * @param value objective function value of the minimization problem
+   * @return objective function value of the model
+   */
+  double toModelObjective(double value) {
+    return sense * value + objectiveConstant;
+  }
+
+}
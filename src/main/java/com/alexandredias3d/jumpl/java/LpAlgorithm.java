@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+/**
+ * Defines the method that solves linear programs (and nothing else) in a {@link JavaModel}.
+ *
+ * @author Alexandre H. T. Dias
+ * @see JavaModel#setLpAlgorithm(LpAlgorithm)
+ */
+public enum LpAlgorithm {
+
+  /**
+   * Revised simplex method, which starts from the basis of the last optimization if there is one.
+   * This is the default algorithm.
+   */
+  SIMPLEX,
+
+  /**
+   * Primal-dual interior-point method, whose factorizations are computed in parallel. It is
+   * usually faster than the simplex method on large sparse linear programs. If it does not
+   * converge, the simplex method solves the linear program from scratch.
+   */
+  BARRIER
+
+}
@@ -0,0 +1,662 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.Arrays;
+
+/**
+ * Sparse LU factorization of a simplex basis, updated by the Forrest-Tomlin method when a column
+ * of the basis is replaced.
+ *
+ * <p>The factorization is computed by Gaussian elimination on the active submatrix, choosing
+ * pivots by the Markowitz criterion (fewest fill-in candidates) among the entries of the columns
+ * with the fewest nonzeros that pass a threshold test on their magnitude. It is kept as a file of
+ * eta vectors E and a matrix U that is upper triangular in the pivot order, with E B = U:
+ * {@link #ftran(double[], double[], boolean)} solves B x = b and {@link #btran(double[],
+ * double[])} solves B' y = c.
+ *
+ * <p>The vectors are dense, and each solve walks the whole eta file and pivot order, so it costs
+ * O(m) plus the nonzeros of the etas and of the columns (or rows) of U at the nonzero entries of
+ * the vector; a zero entry only skips its own column (or row). Hypersparse solves, which would
+ * find the nonzero entries of the solution by a depth-first search from those of the right-hand
+ * side and visit only them, are not implemented: every simplex iteration prices all variables,
+ * which already costs O(n + m).
+ *
+ * <p>When a column is replaced, its pivot is moved to the end of the pivot order, its column of U
+ * is replaced by the transformed entering column (the spike) and its row of U is eliminated by a
+ * row eta. The eta file grows with each update, so the basis must be factorized again from time
+ * to time.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class LuFactorization {
+
+  /**
+   * Smallest absolute value of a pivot.
+   */
+  private static final double PIVOT_TOLERANCE = 1e-11;
+
+  /**
+   * Smallest ratio between a pivot and the largest entry of its column in the active submatrix.
+   */
+  private static final double PIVOT_THRESHOLD = 0.1;
+
+  /**
+   * Amount of columns examined by the Markowitz search once a pivot candidate is found.
+   */
+  private static final int SEARCH_LIMIT = 4;
+
+  /**
+   * Largest relative difference between the new diagonal of an update and its expected value
+   * before the update is considered unstable.
+   */
+  private static final double UPDATE_TOLERANCE = 1e-8;
+
+  private final int m;
+
+  /**
+   * Off-diagonal entries of each row of U (positions and values), which is also the active
+   * submatrix during the factorization.
+   */
+  private final int[][] rowIndex;
+  private final double[][] rowValue;
+  private final int[] rowLength;
+
+  /**
+   * Off-diagonal entries of each column of U (rows and values). During the factorization only the
+   * rows of the active submatrix are kept, without values.
+   */
+  private final int[][] columnIndex;
+  private final double[][] columnValue;
+  private final int[] columnLength;
+
+  private final double[] diagonal;
+
+  /**
+   * Basis positions and rows left without a pivot by the last factorization of a singular basis.
+   */
+  private int deficiency;
+  private final int[] singularPositions;
+  private final int[] singularRows;
+
+  /**
+   * Basis position pivoted in each row, and row pivoted in each basis position.
+   */
+  private final int[] columnOf;
+  private final int[] rowOf;
+
+  /**
+   * Pivot order, as a doubly linked list of rows.
+   */
+  private final int[] next;
+  private final int[] previous;
+  private int head;
+  private int tail;
+
+  /**
+   * Position of each row in the pivot order; only their relative order matters.
+   */
+  private final int[] rank;
+  private int nextRank;
+
+  private int etas;
+  private int[] etaPivot = new int[16];
+  private boolean[] rowEta = new boolean[16];
+  private int[] etaStart = new int[17];
+  private int[] etaIndex = new int[64];
+  private double[] etaValue = new double[64];
+
+  /**
+   * Entering column transformed by the eta file in the last {@link #ftran(double[], double[],
+   * boolean)} that kept it.
+   */
+  private final double[] spike;
+
+  private final double[] work;
+  private final int[] mark;
+  private final int[] heap;
+  private final boolean[] inHeap;
+
+  /**
+   * Columns of the active submatrix grouped by their amount of nonzeros.
+   */
+  private final int[] bucketHead;
+  private final int[] bucketNext;
+  private final int[] bucketPrevious;
+
+  LuFactorization(int m) {
+    this.m = m;
+    rowIndex = new int[m][];
+    rowValue = new double[m][];
+    columnIndex = new int[m][];
+    columnValue = new double[m][];
+    for (int i = 0; i < m; i++) {
+      rowIndex[i] = new int[4];
+      rowValue[i] = new double[4];
+      columnIndex[i] = new int[4];
+      columnValue[i] = new double[4];
+    }
+    rowLength = new int[m];
+    columnLength = new int[m];
+    diagonal = new double[m];
+    singularPositions = new int[m];
+    singularRows = new int[m];
+    columnOf = new int[m];
+    rowOf = new int[m];
+    next = new int[m];
+    previous = new int[m];
+    rank = new int[m];
+    spike = new double[m];
+    work = new double[m];
+    mark = new int[m];
+    heap = new int[m];
+    inHeap = new boolean[m];
+    bucketHead = new int[m + 1];
+    bucketNext = new int[m];
+    bucketPrevious = new int[m];
+  }
+
+  /**
+   * Factorizes the basis whose columns, in basis position order, are given in compressed sparse
+   * column format.
+   *
+   * @param start start of each column in the other arrays (m + 1 entries)
+   * @param index row of each nonzero
+   * @param value value of each nonzero
+   * @throws IllegalStateException if the basis is (numerically) singular, in which case the
+   *                               positions and rows left without a pivot are given by {@link
+   *                               #getSingularPosition(int)} and {@link #getSingularRow(int)}
+   */
+  void factorize(int[] start, int[] index, double[] value) {
+    deficiency = 0;
+    etas = 0;
+    etaStart[0] = 0;
+    head = -1;
+    tail = -1;
+    Arrays.fill(rowLength, 0);
+    Arrays.fill(columnLength, 0);
+    for (int q = 0; q < m; q++) {
+      for (int k = start[q]; k < start[q + 1]; k++) {
+        if (value[k] != 0.0) {
+          int i = index[k];
+          appendToRow(i, q, value[k]);
+          appendToColumn(q, i, 0.0);
+        }
+      }
+    }
+
+    Arrays.fill(bucketHead, -1);
+    for (int q = 0; q < m; q++) {
+      link(q);
+    }
+    Arrays.fill(mark, -1);
+    Arrays.fill(rowOf, -1);
+    Arrays.fill(columnOf, -1);
+
+    for (int k = 0; k < m; k++) {
+      long pivot = choosePivot();
+      if (pivot < 0) {
+        for (int q = 0; q < m; q++) {
+          if (rowOf[q] < 0) {
+            singularPositions[deficiency++] = q;
+          }
+        }
+        deficiency = 0;
+        for (int i = 0; i < m; i++) {
+          if (columnOf[i] < 0) {
+            singularRows[deficiency++] = i;
+          }
+        }
+        throw new IllegalStateException(getClass().getName() + ": the basis is singular.");
+      }
+      int p = (int) (pivot / m);
+      int q = (int) (pivot % m);
+      eliminate(p, q);
+      columnOf[p] = q;
+      rowOf[q] = p;
+      rank[p] = k;
+      previous[p] = (k == 0) ? -1 : tail;
+      if (k == 0) {
+        head = p;
+      } else {
+        next[tail] = p;
+      }
+      next[p] = -1;
+      tail = p;
+    }
+    nextRank = m;
+
+    Arrays.fill(columnLength, 0);
+    for (int p = 0; p < m; p++) {
+      for (int k = 0; k < rowLength[p]; k++) {
+        appendToColumn(rowIndex[p][k], p, rowValue[p][k]);
+      }
+    }
+  }
+
+  /**
+   * Gets the rank deficiency found by the last factorization.
+   *
+   * @return amount of basis positions left without a pivot (zero if the basis is nonsingular)
+   */
+  int getRankDeficiency() {
+    return deficiency;
+  }
+
+  int getSingularPosition(int k) {
+    return singularPositions[k];
+  }
+
+  int getSingularRow(int k) {
+    return singularRows[k];
+  }
+
+  /**
+   * Solves B x = b, in O(m) plus the nonzeros of the etas and of the columns of U that are used.
+   *
+   * @param rhs       right-hand side b, indexed by row (overwritten)
+   * @param solution  solution x, indexed by basis position
+   * @param keepSpike true if b is a column entering the basis in the next {@link #update(int,
+   *                  double)}
+   */
+  void ftran(double[] rhs, double[] solution, boolean keepSpike) {
+    for (int e = 0; e < etas; e++) {
+      int p = etaPivot[e];
+      if (rowEta[e]) {
+        double sum = 0.0;
+        for (int k = etaStart[e]; k < etaStart[e + 1]; k++) {
+          sum += etaValue[k] * rhs[etaIndex[k]];
+        }
+        rhs[p] -= sum;
+      } else if (rhs[p] != 0.0) {
+        double value = rhs[p];
+        for (int k = etaStart[e]; k < etaStart[e + 1]; k++) {
+          rhs[etaIndex[k]] -= etaValue[k] * value;
+        }
+      }
+    }
+    if (keepSpike) {
+      System.arraycopy(rhs, 0, spike, 0, m);
+    }
+
+    for (int p = tail; p >= 0; p = previous[p]) {
+      int q = columnOf[p];
+      double value = rhs[p];
+      if (value != 0.0) {
+        value /= diagonal[p];
+        int[] rows = columnIndex[q];
+        double[] values = columnValue[q];
+        for (int k = 0; k < columnLength[q]; k++) {
+          rhs[rows[k]] -= values[k] * value;
+        }
+      }
+      solution[q] = value;
+    }
+  }
+
+  /**
+   * Solves B' y = c, in O(m) plus the nonzeros of the etas and of the rows of U that are used.
+   *
+   * @param rhs      right-hand side c, indexed by basis position (overwritten)
+   * @param solution solution y, indexed by row
+   */
+  void btran(double[] rhs, double[] solution) {
+    for (int p = head; p >= 0; p = next[p]) {
+      double value = rhs[columnOf[p]];
+      if (value != 0.0) {
+        value /= diagonal[p];
+        int[] positions = rowIndex[p];
+        double[] values = rowValue[p];
+        for (int k = 0; k < rowLength[p]; k++) {
+          rhs[positions[k]] -= values[k] * value;
+        }
+      }
+      solution[p] = value;
+    }
+
+    for (int e = etas - 1; e >= 0; e--) {
+      int p = etaPivot[e];
+      if (rowEta[e]) {
+        double value = solution[p];
+        if (value != 0.0) {
+          for (int k = etaStart[e]; k < etaStart[e + 1]; k++) {
+            solution[etaIndex[k]] -= etaValue[k] * value;
+          }
+        }
+      } else {
+        double sum = 0.0;
+        for (int k = etaStart[e]; k < etaStart[e + 1]; k++) {
+          sum += etaValue[k] * solution[etaIndex[k]];
+        }
+        solution[p] -= sum;
+      }
+    }
+  }
+
+  /**
+   * Replaces the column of a basis position by the spike kept by the last {@link
+   * #ftran(double[], double[], boolean)} (Forrest-Tomlin update).
+   *
+   * @param position basis position whose column is replaced
+   * @param pivot    entry of the solution of that ftran at the given position, which is the ratio
+   *                 between the new and the old diagonal
+   * @return false if the update was numerically unstable, in which case the basis must be
+   *     factorized again
+   */
+  boolean update(int position, double pivot) {
+    int t = rowOf[position];
+
+    for (int k = 0; k < columnLength[position]; k++) {
+      removeFromRow(columnIndex[position][k], position);
+    }
+    columnLength[position] = 0;
+
+    int heapSize = 0;
+    for (int k = 0; k < rowLength[t]; k++) {
+      int q = rowIndex[t][k];
+      removeFromColumn(q, t);
+      work[q] = rowValue[t][k];
+      heapSize = push(rowOf[q], heapSize);
+    }
+    rowLength[t] = 0;
+
+    for (int i = 0; i < m; i++) {
+      if (spike[i] != 0.0 && i != t) {
+        appendToColumn(position, i, spike[i]);
+        appendToRow(i, position, spike[i]);
+      }
+    }
+
+    double newDiagonal = spike[t];
+    int etaEnd = etaStart[etas];
+    while (heapSize > 0) {
+      int p = heap[0];
+      heapSize = pop(heapSize);
+      int q = columnOf[p];
+      double value = work[q];
+      work[q] = 0.0;
+      if (value == 0.0) {
+        continue;
+      }
+      double multiplier = value / diagonal[p];
+      etaEnd = appendEta(etaEnd, p, multiplier);
+      newDiagonal -= multiplier * spike[p];
+      for (int k = 0; k < rowLength[p]; k++) {
+        int j = rowIndex[p][k];
+        if (j != position) {
+          if (!inHeap[rowOf[j]]) {
+            heapSize = push(rowOf[j], heapSize);
+          }
+          work[j] -= multiplier * rowValue[p][k];
+        }
+      }
+    }
+    if (etaEnd > etaStart[etas]) {
+      finishEta(t, true, etaEnd);
+    }
+
+    double expected = pivot * diagonal[t];
+    diagonal[t] = newDiagonal;
+    columnOf[t] = position;
+    rank[t] = nextRank++;
+    if (t != tail) {
+      if (previous[t] >= 0) {
+        next[previous[t]] = next[t];
+      } else {
+        head = next[t];
+      }
+      previous[next[t]] = previous[t];
+      previous[t] = tail;
+      next[tail] = t;
+      next[t] = -1;
+      tail = t;
+    }
+    return newDiagonal != 0.0
+        && Math.abs(newDiagonal - expected) <= UPDATE_TOLERANCE * (1.0 + Math.abs(newDiagonal));
+  }
+
+  /**
+   * Chooses the next pivot of the factorization.
+   *
+   * @return pivot row times m plus pivot position, or -1 if the active submatrix has no
+   *     acceptable pivot
+   */
+  private long choosePivot() {
+    long best = -1;
+    long bestCost = Long.MAX_VALUE;
+    int searched = 0;
+    int found = m;
+    for (int count = 1; count <= m && count <= found + 1; count++) {
+      for (int q = bucketHead[count]; q >= 0; q = bucketNext[q]) {
+        double max = 0.0;
+        for (int k = 0; k < columnLength[q]; k++) {
+          max = Math.max(max, Math.abs(valueAt(columnIndex[q][k], q)));
+        }
+        for (int k = 0; k < columnLength[q]; k++) {
+          int i = columnIndex[q][k];
+          double value = Math.abs(valueAt(i, q));
+          if (value > PIVOT_TOLERANCE && value >= PIVOT_THRESHOLD * max) {
+            long cost = (long) (rowLength[i] - 1) * (count - 1);
+            if (cost < bestCost) {
+              bestCost = cost;
+              best = (long) i * m + q;
+              found = Math.min(found, count);
+            }
+          }
+        }
+        if (best >= 0 && (bestCost == 0 || ++searched >= SEARCH_LIMIT)) {
+          return best;
+        }
+      }
+    }
+    return best;
+  }
+
+  private double valueAt(int row, int position) {
+    int[] positions = rowIndex[row];
+    for (int k = 0; k < rowLength[row]; k++) {
+      if (positions[k] == position) {
+        return rowValue[row][k];
+      }
+    }
+    return 0.0;
+  }
+
+  /**
+   * Eliminates the pivot column from the other rows of the active submatrix, recording the
+   * multipliers as a column eta, and removes the pivot row and column from it.
+   */
+  private void eliminate(int p, int q) {
+    unlink(q);
+    double pivot = valueAt(p, q);
+    removeFromRow(p, q);
+    diagonal[p] = pivot;
+    int[] pivotRow = rowIndex[p];
+    double[] pivotValues = rowValue[p];
+    int pivotLength = rowLength[p];
+    for (int k = 0; k < pivotLength; k++) {
+      unlink(pivotRow[k]);
+    }
+
+    int etaEnd = etaStart[etas];
+    for (int c = 0; c < columnLength[q]; c++) {
+      int i = columnIndex[q][c];
+      if (i == p) {
+        continue;
+      }
+      double multiplier = valueAt(i, q) / pivot;
+      removeFromRow(i, q);
+      etaEnd = appendEta(etaEnd, i, multiplier);
+      if (multiplier == 0.0) {
+        continue;
+      }
+
+      for (int k = 0; k < rowLength[i]; k++) {
+        mark[rowIndex[i][k]] = k;
+      }
+      for (int k = 0; k < pivotLength; k++) {
+        int j = pivotRow[k];
+        double update = -multiplier * pivotValues[k];
+        if (mark[j] >= 0) {
+          rowValue[i][mark[j]] += update;
+        } else {
+          appendToRow(i, j, update);
+          appendToColumn(j, i, 0.0);
+        }
+      }
+      for (int k = 0; k < rowLength[i]; k++) {
+        mark[rowIndex[i][k]] = -1;
+      }
+    }
+    if (etaEnd > etaStart[etas]) {
+      finishEta(p, false, etaEnd);
+    }
+    columnLength[q] = 0;
+
+    for (int k = 0; k < pivotLength; k++) {
+      int j = pivotRow[k];
+      removeFromColumn(j, p);
+      link(j);
+    }
+  }
+
+  private void link(int q) {
+    int count = columnLength[q];
+    bucketPrevious[q] = -1;
+    bucketNext[q] = bucketHead[count];
+    if (bucketHead[count] >= 0) {
+      bucketPrevious[bucketHead[count]] = q;
+    }
+    bucketHead[count] = q;
+  }
+
+  private void unlink(int q) {
+    if (bucketPrevious[q] >= 0) {
+      bucketNext[bucketPrevious[q]] = bucketNext[q];
+    } else {
+      bucketHead[columnLength[q]] = bucketNext[q];
+    }
+    if (bucketNext[q] >= 0) {
+      bucketPrevious[bucketNext[q]] = bucketPrevious[q];
+    }
+  }
+
+  private void appendToRow(int row, int position, double value) {
+    int length = rowLength[row];
+    if (length == rowIndex[row].length) {
+      rowIndex[row] = Arrays.copyOf(rowIndex[row], 2 * length);
+      rowValue[row] = Arrays.copyOf(rowValue[row], 2 * length);
+    }
+    rowIndex[row][length] = position;
+    rowValue[row][length] = value;
+    rowLength[row] = length + 1;
+  }
+
+  private void appendToColumn(int position, int row, double value) {
+    int length = columnLength[position];
+    if (length == columnIndex[position].length) {
+      columnIndex[position] = Arrays.copyOf(columnIndex[position], 2 * length);
+      columnValue[position] = Arrays.copyOf(columnValue[position], 2 * length);
+    }
+    columnIndex[position][length] = row;
+    columnValue[position][length] = value;
+    columnLength[position] = length + 1;
+  }
+
+  private void removeFromRow(int row, int position) {
+    int last = --rowLength[row];
+    for (int k = 0; k <= last; k++) {
+      if (rowIndex[row][k] == position) {
+        rowIndex[row][k] = rowIndex[row][last];
+        rowValue[row][k] = rowValue[row][last];
+        return;
+      }
+    }
+    rowLength[row]++;
+  }
+
+  private void removeFromColumn(int position, int row) {
+    int last = --columnLength[position];
+    for (int k = 0; k <= last; k++) {
+      if (columnIndex[position][k] == row) {
+        columnIndex[position][k] = columnIndex[position][last];
+        columnValue[position][k] = columnValue[position][last];
+        return;
+      }
+    }
+    columnLength[position]++;
+  }
+
+  private int appendEta(int end, int index, double value) {
+    if (end == etaIndex.length) {
+      etaIndex = Arrays.copyOf(etaIndex, 2 * end);
+      etaValue = Arrays.copyOf(etaValue, 2 * end);
+    }
+    etaIndex[end] = index;
+    etaValue[end] = value;
+    return end + 1;
+  }
+
+  private void finishEta(int pivot, boolean row, int end) {
+    if (etas + 1 == etaPivot.length) {
+      etaPivot = Arrays.copyOf(etaPivot, 2 * etaPivot.length);
+      rowEta = Arrays.copyOf(rowEta, 2 * rowEta.length);
+      etaStart = Arrays.copyOf(etaStart, 2 * etaStart.length);
+    }
+    etaPivot[etas] = pivot;
+    rowEta[etas] = row;
+    etaStart[++etas] = end;
+  }
+
+  /**
+   * Adds a row to the binary heap of rows ordered by rank.
+   */
+  private int push(int row, int size) {
+    inHeap[row] = true;
+    int k = size;
+    while (k > 0 && rank[heap[(k - 1) / 2]] > rank[row]) {
+      heap[k] = heap[(k - 1) / 2];
+      k = (k - 1) / 2;
+    }
+    heap[k] = row;
+    return size + 1;
+  }
+
+  /**
+   * Removes the first row of the binary heap.
+   */
+  private int pop(int size) {
+    inHeap[heap[0]] = false;
+    int last = heap[--size];
+    int k = 0;
+    while (2 * k + 1 < size) {
+      int child = 2 * k + 1;
+      if (child + 1 < size && rank[heap[child + 1]] < rank[heap[child]]) {
+        child++;
+      }
+      if (rank[heap[child]] >= rank[last]) {
+        break;
+      }
+      heap[k] = heap[child];
+      k = child;
+    }
+    heap[k] = last;
+    return size;
+  }
+
+}
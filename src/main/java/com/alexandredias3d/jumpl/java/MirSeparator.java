@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Separates mixed-integer rounding cuts of single rows. A row a'x <= b is written as sum a'_j y_j
+ * - s <= beta, with each integer variable complemented to its nearest bound (x_j = l_j + y_j or
+ * x_j = u_j - y_j) and the continuous variables either dropped or aggregated into s >= 0. For a
+ * divisor d with f0 = frac(beta / d), the MIR inequality is sum F(a'_j / d) y_j - s / (d (1 -
+ * f0)) <= floor(beta / d), where F(a) = floor(a) + max(0, frac(a) - f0) / (1 - f0). The divisors
+ * tried are 1 and the coefficients of the integer variables away from their bounds.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class MirSeparator implements CutSeparator {
+
+  /**
+   * Smallest distance of f0 from 0 and 1.
+   */
+  private static final double MIN_FRACTIONALITY = 0.05;
+
+  /**
+   * Largest number of divisors tried per row, besides 1.
+   */
+  private static final int MAX_DIVISORS = 8;
+
+  private static final double ZERO = 1e-9;
+
+  @Override
+  public void separate(Relaxation relaxation, List<Cut> cuts) {
+    var terms = new Terms(relaxation.lp.columns);
+    for (int row = 0; row < relaxation.lp.rows; row++) {
+      double upperLimit = relaxation.upperLimit(row);
+      Cut best = null;
+      if (upperLimit < Double.POSITIVE_INFINITY) {
+        best = best(best, separate(relaxation, row, 1.0, upperLimit, terms));
+      }
+      double lowerLimit = relaxation.lowerLimit(row);
+      if (lowerLimit > Double.NEGATIVE_INFINITY) {
+        best = best(best, separate(relaxation, row, -1.0, -lowerLimit, terms));
+      }
+      if (best != null) {
+        cuts.add(best);
+      }
+    }
+  }
+
+  /**
+   * Terms of a row after the bound substitution, reused between rows.
+   */
+  private static final class Terms {
+
+    final int[] columns;
+    final double[] coefficients;
+    final double[] bounds;
+    final double[] signs;
+    final boolean[] continuous;
+    final double[] cut;
+    int size;
+
+    Terms(int n) {
+      columns = new int[n];
+      coefficients = new double[n];
+      bounds = new double[n];
+      signs = new double[n];
+      continuous = new boolean[n];
+      cut = new double[n];
+    }
+
+    void add(int column, double coefficient, double bound, double sign, boolean isContinuous) {
+      columns[size] = column;
+      coefficients[size] = coefficient;
+      bounds[size] = bound;
+      signs[size] = sign;
+      continuous[size++] = isContinuous;
+    }
+
+  }
+
+  /**
+   * Separates the best MIR cut of the row sign * a_i'x <= rightHandSide.
+   */
+  private static Cut separate(Relaxation relaxation, int row, double sign, double rightHandSide,
+      Terms terms) {
+    LinearProgram lp = relaxation.lp;
+    terms.size = 0;
+    double beta = rightHandSide;
+    boolean hasInteger = false;
+    for (int k = relaxation.rowStart[row]; k < relaxation.rowStart[row + 1]; k++) {
+      int j = relaxation.rowColumns[k];
+      double a = sign * relaxation.rowValues[k];
+      if (a == 0.0) {
+        continue;
+      }
+      double value = relaxation.values[j];
+      boolean integer = relaxation.integer[j];
+      double lower = integer ? Math.ceil(lp.lower[j] - ZERO) : lp.lower[j];
+      double upper = integer ? Math.floor(lp.upper[j] + ZERO) : lp.upper[j];
+      boolean useLower = lower > Double.NEGATIVE_INFINITY
+          && (upper == Double.POSITIVE_INFINITY || value - lower <= upper - value);
+      if (!useLower && upper == Double.POSITIVE_INFINITY) {
+        return null;
+      }
+      double bound = useLower ? lower : upper;
+      double bsign = useLower ? 1.0 : -1.0;
+
+      // x_j = bound + bsign * y_j, so a x_j = a bound + (bsign a) y_j.
+      beta -= a * bound;
+      double shifted = bsign * a;
+      if (integer) {
+        terms.add(j, shifted, bound, bsign, false);
+        hasInteger = true;
+      } else if (shifted < 0.0) {
+        terms.add(j, -shifted, bound, bsign, true);
+      }
+    }
+    if (!hasInteger || Double.isInfinite(beta) || Double.isNaN(beta)) {
+      return null;
+    }
+
+    var divisors = new double[MAX_DIVISORS + 1];
+    int count = 0;
+    divisors[count++] = 1.0;
+    for (int t = 0; t < terms.size && count < divisors.length; t++) {
+      if (terms.continuous[t]) {
+        continue;
+      }
+      double y = terms.signs[t] * (relaxation.values[terms.columns[t]] - terms.bounds[t]);
+      double divisor = Math.abs(terms.coefficients[t]);
+      if (y > ZERO && divisor > ZERO && !contains(divisors, count, divisor)) {
+        divisors[count++] = divisor;
+      }
+    }
+
+    Cut best = null;
+    for (int d = 0; d < count; d++) {
+      best = best(best, cut(relaxation, terms, beta, divisors[d]));
+    }
+    return best;
+  }
+
+  /**
+   * Builds the MIR cut with the given divisor and maps it back to the structural columns.
+   */
+  private static Cut cut(Relaxation relaxation, Terms terms, double beta, double divisor) {
+    double scaled = beta / divisor;
+    double f0 = GomorySeparator.fractionalPart(scaled);
+    if (f0 < MIN_FRACTIONALITY || f0 > 1.0 - MIN_FRACTIONALITY) {
+      return null;
+    }
+    double[] coefficients = terms.cut;
+    Arrays.fill(coefficients, 0.0);
+    double rightHandSide = Math.floor(scaled);
+    for (int t = 0; t < terms.size; t++) {
+      double g;
+      if (terms.continuous[t]) {
+        g = -terms.coefficients[t] / (divisor * (1.0 - f0));
+      } else {
+        double a = terms.coefficients[t] / divisor;
+        double fraction = GomorySeparator.fractionalPart(a);
+        g = Math.floor(a) + Math.max(0.0, fraction - f0) / (1.0 - f0);
+      }
+      // g y_j with y_j = sign * (x_j - bound).
+      double term = terms.signs[t] * g;
+      coefficients[terms.columns[t]] += term;
+      rightHandSide += term * terms.bounds[t];
+    }
+    return Cut.of(coefficients, rightHandSide, relaxation);
+  }
+
+  private static boolean contains(double[] values, int size, double value) {
+    for (int k = 0; k < size; k++) {
+      if (Math.abs(values[k] - value) <= ZERO * Math.max(1.0, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Cut best(Cut best, Cut candidate) {
+    return (candidate != null && (best == null || candidate.efficacy > best.efficacy))
+        ? candidate : best;
+  }
+
+}
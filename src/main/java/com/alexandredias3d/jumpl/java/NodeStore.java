@@ -0,0 +1,335 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stack of the open nodes of a branch-and-bound tree. A node is stored as the bound of its parent
+ * and the bound changes made by the branchings from the root to it, in primitive arrays shared by
+ * all the nodes, plus the basis from which its relaxation starts.
+ *
+ * <p>When the nodes in memory exceed the memory limit, the oldest half of them (the ones that
+ * will be explored last) is spilled to a node file, itself a stack of records in memory-mapped
+ * segments, and their bases are dropped. When the nodes in memory are exhausted, the most recent
+ * records of the file are loaded back, so the nodes are always popped in the reverse order of
+ * their pushes. The file is created on the first spill and deleted when the store is closed.
+ *
+ * <p>A bound change is encoded as the index of the column for a new upper bound and as its
+ * complement ({@code ~column}) for a new lower bound.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class NodeStore implements Closeable {
+
+  /**
+   * Size (in bytes) of each memory-mapped segment of the node file.
+   */
+  private static final int SEGMENT_SIZE = 1 << 26;
+
+  /**
+   * Size of a record of the file without its bound changes: the bound of the parent, the number
+   * of changes and, at the end, the number of changes again, so the file can be read backward.
+   */
+  private static final int RECORD_OVERHEAD = Double.BYTES + 2 * Integer.BYTES;
+
+  private static final int CHANGE_SIZE = Integer.BYTES + Double.BYTES;
+
+  /**
+   * Memory used by a node in memory besides its bound changes and basis.
+   */
+  private static final int NODE_OVERHEAD = Double.BYTES + Integer.BYTES + 8;
+
+  /**
+   * Receives the data of a popped node.
+   *
+   * @param <T> type of node
+   */
+  interface NodeFactory<T> {
+
+    T create(int[] columns, double[] values, double bound, Basis basis);
+
+  }
+
+  private final double memoryLimit;
+  private final Path directory;
+
+  private int size;
+  private double[] bounds = new double[16];
+  private Basis[] bases = new Basis[16];
+  private int[] starts = new int[17];
+  private int[] columns = new int[64];
+  private double[] values = new double[64];
+  private double memory;
+
+  private FileChannel file;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private int[] used = new int[1];
+  private int top;
+  private long spilled;
+
+  /**
+   * Creates a node store.
+   *
+   * @param memoryLimit memory (in bytes) used by the nodes in memory before they are spilled to
+   *                    the node file, or infinity to keep all of them in memory
+   * @param directory   directory of the node file, or null for the default temporary one
+   */
+  NodeStore(double memoryLimit, Path directory) {
+    this.memoryLimit = memoryLimit;
+    this.directory = directory;
+  }
+
+  boolean isEmpty() {
+    return size == 0 && spilled == 0;
+  }
+
+  /**
+   * Gets the number of nodes in the store.
+   */
+  long size() {
+    return size + spilled;
+  }
+
+  /**
+   * Gets the number of nodes in the node file.
+   */
+  long getSpilledCount() {
+    return spilled;
+  }
+
+  /**
+   * Pushes a node, spilling the oldest nodes to the node file if the memory limit is exceeded.
+   *
+   * @param columns encoded bound changes from the root to the node
+   * @param values  new bounds
+   * @param bound   bound of the parent node
+   * @param basis   basis from which the relaxation of the node starts (can be null)
+   */
+  void push(int[] columns, double[] values, double bound, Basis basis) {
+    add(columns, values, bound, basis);
+    if (memory > memoryLimit && size > 1) {
+      spill(size / 2);
+    }
+  }
+
+  /**
+   * Pops the most recently pushed node.
+   *
+   * @param factory creates the node from its data
+   * @param <T>     type of node
+   * @return node, or null if the store is empty
+   */
+  <T> T pop(NodeFactory<T> factory) {
+    if (size == 0) {
+      if (spilled == 0) {
+        return null;
+      }
+      load();
+    }
+    size--;
+    int start = starts[size];
+    int count = starts[size + 1] - start;
+    Basis basis = bases[size];
+    memory -= charge(size, count);
+    bases[size] = null;
+    return factory.create(Arrays.copyOfRange(columns, start, start + count),
+        Arrays.copyOfRange(values, start, start + count), bounds[size], basis);
+  }
+
+  @Override
+  public void close() {
+    segments.clear();
+    if (file != null) {
+      try {
+        file.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(
+            getClass().getName() + ": error while closing the node file.", e);
+      } finally {
+        file = null;
+      }
+    }
+  }
+
+  private void add(int[] changeColumns, double[] changeValues, double bound, Basis basis) {
+    int count = changeColumns.length;
+    if (size == bounds.length) {
+      bounds = Arrays.copyOf(bounds, 2 * size);
+      bases = Arrays.copyOf(bases, 2 * size);
+      starts = Arrays.copyOf(starts, 2 * size + 1);
+    }
+    int start = starts[size];
+    if (start + count > columns.length) {
+      int capacity = Math.max(2 * columns.length, start + count);
+      columns = Arrays.copyOf(columns, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+    System.arraycopy(changeColumns, 0, columns, start, count);
+    System.arraycopy(changeValues, 0, values, start, count);
+    bounds[size] = bound;
+    bases[size] = basis;
+    starts[size + 1] = start + count;
+    memory += charge(size, count);
+    size++;
+  }
+
+  /**
+   * Gets the memory charged to a node in memory. A basis is charged to the first of the
+   * consecutive nodes that share it (the children of the same node).
+   */
+  private double charge(int node, int count) {
+    double charge = NODE_OVERHEAD + (double) count * CHANGE_SIZE;
+    Basis basis = bases[node];
+    if (basis != null && (node == 0 || bases[node - 1] != basis)) {
+      int rows = basis.getNumberOfRows();
+      charge += Integer.BYTES * (double) rows + basis.getNumberOfColumns() + rows;
+    }
+    return charge;
+  }
+
+  /**
+   * Writes the given number of the oldest nodes in memory to the top of the node file.
+   */
+  private void spill(int count) {
+    for (int node = 0; node < count; node++) {
+      int start = starts[node];
+      write(start, starts[node + 1] - start, bounds[node]);
+    }
+    spilled += count;
+
+    int offset = starts[count];
+    int remaining = size - count;
+    System.arraycopy(bounds, count, bounds, 0, remaining);
+    System.arraycopy(bases, count, bases, 0, remaining);
+    Arrays.fill(bases, remaining, size, null);
+    System.arraycopy(columns, offset, columns, 0, starts[size] - offset);
+    System.arraycopy(values, offset, values, 0, starts[size] - offset);
+    for (int node = 0; node <= remaining; node++) {
+      starts[node] = starts[node + count] - offset;
+    }
+    size = remaining;
+    memory = 0.0;
+    for (int node = 0; node < size; node++) {
+      memory += charge(node, starts[node + 1] - starts[node]);
+    }
+  }
+
+  private void write(int start, int count, double bound) {
+    int length = RECORD_OVERHEAD + count * CHANGE_SIZE;
+    if (length > SEGMENT_SIZE) {
+      throw new IllegalStateException(
+          getClass().getName() + ": node with too many bound changes for the node file.");
+    }
+    if (segments.isEmpty() || used[top] + length > SEGMENT_SIZE) {
+      if (!segments.isEmpty()) {
+        top++;
+      }
+      if (top == segments.size()) {
+        map();
+      }
+    }
+    MappedByteBuffer segment = segments.get(top);
+    int position = used[top];
+    segment.putDouble(position, bound);
+    segment.putInt(position + Double.BYTES, count);
+    position += Double.BYTES + Integer.BYTES;
+    for (int k = start; k < start + count; k++) {
+      segment.putInt(position, columns[k]);
+      segment.putDouble(position + Integer.BYTES, values[k]);
+      position += CHANGE_SIZE;
+    }
+    segment.putInt(position, count);
+    used[top] = position + Integer.BYTES;
+  }
+
+  /**
+   * Maps a new segment at the end of the node file, creating the file if needed.
+   */
+  private void map() {
+    try {
+      if (file == null) {
+        Path path = (directory != null)
+            ? Files.createTempFile(directory, "jumpl-nodes", ".tmp")
+            : Files.createTempFile("jumpl-nodes", ".tmp");
+        file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+      }
+      MappedByteBuffer segment = file.map(MapMode.READ_WRITE,
+          (long) segments.size() * SEGMENT_SIZE, SEGMENT_SIZE);
+      segment.order(ByteOrder.nativeOrder());
+      segments.add(segment);
+      if (used.length < segments.size()) {
+        used = Arrays.copyOf(used, 2 * used.length);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          getClass().getName() + ": error while mapping the node file.", e);
+    }
+  }
+
+  /**
+   * Loads the most recent records of the node file back into memory, up to half of the memory
+   * limit, keeping their order.
+   */
+  private void load() {
+    List<double[]> loadedValues = new ArrayList<>();
+    List<int[]> loadedColumns = new ArrayList<>();
+    List<Double> loadedBounds = new ArrayList<>();
+    double loaded = 0.0;
+    while (spilled > 0 && (loadedBounds.isEmpty() || loaded < memoryLimit / 2)) {
+      while (used[top] == 0) {
+        top--;
+      }
+      MappedByteBuffer segment = segments.get(top);
+      int end = used[top];
+      int count = segment.getInt(end - Integer.BYTES);
+      int position = end - RECORD_OVERHEAD - count * CHANGE_SIZE;
+      used[top] = position;
+      loadedBounds.add(segment.getDouble(position));
+      position += Double.BYTES + Integer.BYTES;
+      var changeColumns = new int[count];
+      var changeValues = new double[count];
+      for (int k = 0; k < count; k++) {
+        changeColumns[k] = segment.getInt(position);
+        changeValues[k] = segment.getDouble(position + Integer.BYTES);
+        position += CHANGE_SIZE;
+      }
+      loadedColumns.add(changeColumns);
+      loadedValues.add(changeValues);
+      loaded += NODE_OVERHEAD + (double) count * CHANGE_SIZE;
+      spilled--;
+    }
+    for (int k = loadedBounds.size() - 1; k >= 0; k--) {
+      add(loadedColumns.get(k), loadedValues.get(k), loadedBounds.get(k), null);
+    }
+  }
+
+}
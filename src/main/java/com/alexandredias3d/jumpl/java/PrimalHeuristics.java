@@ -0,0 +1,399 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Primal heuristics of the {@link BranchAndBound} method, which look for integer solutions from
+ * the relaxation of a node and offer them to the shared incumbent of the search:
+ *
+ * <ul>
+ *   <li>the feasibility pump alternates between roundings of the relaxation and the closest
+ *   points of the relaxation to them (in the L1 distance over the integer columns at a bound),
+ *   until a point is integral;</li>
+ *   <li>fractional diving rounds the integer column closest to an integer and solves the
+ *   relaxation again, until it is integral or infeasible, and guided diving rounds the column
+ *   closest to the value it has in the incumbent, towards it;</li>
+ *   <li>RINS (relaxation induced neighborhood search) fixes the integer columns whose values in
+ *   the incumbent and in the relaxation agree, and solves the remaining subproblem by a small
+ *   branch-and-bound.</li>
+ * </ul>
+ *
+ * <p>Every relaxation starts from the basis of the previous one, so each step usually takes a few
+ * dual simplex iterations.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class PrimalHeuristics {
+
+  private static final double INTEGRALITY_TOLERANCE = 1e-6;
+  private static final int PUMP_ITERATIONS = 50;
+  private static final int PUMP_FLIPS = 10;
+
+  /**
+   * Minimum fraction of the integer columns fixed by RINS for its subproblem to be solved.
+   */
+  private static final double RINS_FIXED_FRACTION = 0.3;
+  private static final long RINS_NODE_LIMIT = 500;
+
+  private final BranchAndBound search;
+  private final LinearProgram lp;
+  private final boolean[] integer;
+  private final BooleanSupplier stopCondition;
+  private final Random random = new Random(0);
+
+  /**
+   * Creates the heuristics of the given search.
+   *
+   * @param search        search whose incumbent receives the solutions found
+   * @param lp            linear program of the search
+   * @param integer       whether each structural column is integer
+   * @param stopCondition condition that stops the heuristics when true
+   */
+  PrimalHeuristics(BranchAndBound search, LinearProgram lp, boolean[] integer,
+      BooleanSupplier stopCondition) {
+    this.search = search;
+    this.lp = lp;
+    this.integer = integer;
+    this.stopCondition = stopCondition;
+  }
+
+  /**
+   * Sets the seed of the random perturbations of the feasibility pump.
+   *
+   * @param seed random seed
+   */
+  void setRandomSeed(long seed) {
+    random.setSeed(seed);
+  }
+
+  /**
+   * Runs every heuristic from the relaxation of the root node: the feasibility pump (if there is
+   * no incumbent yet), fractional diving and, once there is an incumbent, guided diving and RINS.
+   */
+  void runAtRoot(double[] values, double[] lower, double[] upper, Basis basis) {
+    if (search.getValues() == null) {
+      feasibilityPump(values, lower, upper, basis);
+    }
+    dive(values, lower, upper, basis, false);
+    if (search.getValues() != null) {
+      dive(values, lower, upper, basis, true);
+      rins(values, lower, upper);
+    }
+  }
+
+  /**
+   * Runs a dive (guided, if there is an incumbent) and RINS from the relaxation of a node of the
+   * tree.
+   */
+  void runInTree(double[] values, double[] lower, double[] upper, Basis basis) {
+    boolean guided = search.getValues() != null;
+    dive(values, lower, upper, basis, guided);
+    if (guided) {
+      rins(values, lower, upper);
+    }
+  }
+
+  /**
+   * Runs the feasibility pump.
+   *
+   * @param values values of the optimal solution of the relaxation
+   * @param lower  lower bounds of the relaxation
+   * @param upper  upper bounds of the relaxation
+   * @param basis  optimal basis of the relaxation (can be null)
+   * @return true if an integer solution was found
+   */
+  boolean feasibilityPump(double[] values, double[] lower, double[] upper, Basis basis) {
+    int n = lp.columns;
+    double[] point = values;
+    double[] rounded = round(point, lower, upper);
+    var distance = new double[n];
+    Basis current = basis;
+    for (int iteration = 0; iteration < PUMP_ITERATIONS; iteration++) {
+      if (stopCondition.getAsBoolean()) {
+        return false;
+      }
+      if (isIntegral(point)) {
+        return polish(point, lower, upper);
+      }
+
+      for (int j = 0; j < n; j++) {
+        if (!integer[j]) {
+          distance[j] = 0.0;
+        } else if (rounded[j] <= lower[j]) {
+          distance[j] = 1.0;
+        } else if (rounded[j] >= upper[j]) {
+          distance[j] = -1.0;
+        } else {
+          distance[j] = 0.0;
+        }
+      }
+      var pump = new RevisedSimplex(lp.withCost(distance.clone()), lower, upper);
+      pump.setStopCondition(stopCondition);
+      if (pump.solve(current) != SolveStatus.OPTIMAL) {
+        return false;
+      }
+      point = pump.getValues();
+      current = pump.getBasis();
+
+      double[] next = round(point, lower, upper);
+      if (Arrays.equals(next, rounded)) {
+        flip(point, rounded, lower, upper);
+      } else {
+        rounded = next;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Flips the roundings of the integer columns farthest from the point, to leave a cycle of the
+   * feasibility pump.
+   */
+  private void flip(double[] point, double[] rounded, double[] lower, double[] upper) {
+    int count = PUMP_FLIPS / 2 + random.nextInt(PUMP_FLIPS);
+    Integer[] order = new Integer[lp.columns];
+    for (int j = 0; j < lp.columns; j++) {
+      order[j] = j;
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(Math.abs(point[b] - rounded[b]),
+        Math.abs(point[a] - rounded[a])));
+    for (int t = 0; t < count && t < order.length; t++) {
+      int j = order[t];
+      double difference = point[j] - rounded[j];
+      if (!integer[j] || Math.abs(difference) <= INTEGRALITY_TOLERANCE) {
+        break;
+      }
+      double flipped = rounded[j] + Math.signum(difference);
+      rounded[j] = Math.max(lower[j], Math.min(upper[j], flipped));
+    }
+  }
+
+  /**
+   * Dives from the relaxation of a node, changing a bound of one integer column at a time, with a
+   * single backtrack when the relaxation becomes infeasible.
+   *
+   * @param values values of the optimal solution of the relaxation
+   * @param lower  lower bounds of the relaxation
+   * @param upper  upper bounds of the relaxation
+   * @param basis  optimal basis of the relaxation (can be null)
+   * @param guided true to round towards the incumbent, which must exist
+   * @return true if an integer solution was found
+   */
+  boolean dive(double[] values, double[] lower, double[] upper, Basis basis, boolean guided) {
+    double[] reference = guided ? search.getValues() : null;
+    if (guided && reference == null) {
+      return false;
+    }
+    double[] diveLower = lower.clone();
+    double[] diveUpper = upper.clone();
+    double[] point = values;
+    Basis current = basis;
+    while (!stopCondition.getAsBoolean()) {
+      int column = -1;
+      double best = Double.POSITIVE_INFINITY;
+      boolean roundUp = false;
+      for (int j = 0; j < lp.columns; j++) {
+        double fraction = point[j] - Math.floor(point[j]);
+        if (!integer[j] || Math.min(fraction, 1.0 - fraction) <= INTEGRALITY_TOLERANCE) {
+          continue;
+        }
+        double score = guided ? Math.abs(point[j] - reference[j])
+            : Math.min(fraction, 1.0 - fraction);
+        if (score < best) {
+          best = score;
+          column = j;
+          roundUp = guided ? reference[j] > point[j] : fraction >= 0.5;
+        }
+      }
+      if (column < 0) {
+        if (point == values) {
+          return false;
+        }
+        return polish(point, diveLower, diveUpper);
+      }
+
+      double savedLower = diveLower[column];
+      double savedUpper = diveUpper[column];
+      RevisedSimplex simplex = null;
+      for (int attempt = 0; attempt < 2; attempt++) {
+        boolean up = roundUp != (attempt == 1);
+        diveLower[column] = up ? Math.ceil(point[column]) : savedLower;
+        diveUpper[column] = up ? savedUpper : Math.floor(point[column]);
+        simplex = new RevisedSimplex(lp, diveLower, diveUpper);
+        simplex.setStopCondition(stopCondition);
+        if (simplex.solve(current) == SolveStatus.OPTIMAL && !search.canPrune(simplex.getCost())) {
+          break;
+        }
+        simplex = null;
+      }
+      if (simplex == null) {
+        return false;
+      }
+      point = simplex.getValues();
+      current = simplex.getBasis();
+    }
+    return false;
+  }
+
+  /**
+   * Runs RINS from the relaxation of a node and the incumbent.
+   *
+   * @param values values of the optimal solution of the relaxation
+   * @param lower  lower bounds of the relaxation
+   * @param upper  upper bounds of the relaxation
+   * @return true if a better solution was found
+   */
+  boolean rins(double[] values, double[] lower, double[] upper) {
+    double[] reference = search.getValues();
+    if (reference == null) {
+      return false;
+    }
+    double[] subLower = lower.clone();
+    double[] subUpper = upper.clone();
+    int fixed = 0;
+    int count = 0;
+    for (int j = 0; j < lp.columns; j++) {
+      if (!integer[j]) {
+        continue;
+      }
+      count++;
+      double value = reference[j];
+      if (Math.abs(value - values[j]) <= INTEGRALITY_TOLERANCE && value >= lower[j]
+          && value <= upper[j]) {
+        subLower[j] = value;
+        subUpper[j] = value;
+        fixed++;
+      }
+    }
+    if (fixed < RINS_FIXED_FRACTION * count || fixed == count) {
+      return false;
+    }
+
+    double cutoff = search.getIncumbentCost();
+    var subproblem = new BranchAndBound(lp, integer, subLower, subUpper);
+    subproblem.setParallelism(1);
+    subproblem.setNodeLimit(RINS_NODE_LIMIT);
+    subproblem.setHeuristics(false);
+    subproblem.setStopCondition(stopCondition);
+    subproblem.offer(cutoff, reference);
+    subproblem.solve();
+    double cost = subproblem.getIncumbentCost();
+    if (cost < cutoff) {
+      search.offer(cost, subproblem.getValues());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Completes a start solution given by the user. The integer columns with a value are fixed at it,
+   * rounded into their bounds, and the other columns are solved for: by the relaxation if every
+   * integer column is fixed, or else by a branch-and-bound limited as the one of RINS. The
+   * solution found is offered to the incumbent.
+   *
+   * @param start values of the structural columns, NaN for the unknown ones
+   * @param lower lower bounds of the root node
+   * @param upper upper bounds of the root node
+   * @return true if the start solution was completed
+   */
+  boolean completeStart(double[] start, double[] lower, double[] upper) {
+    double[] point = new double[lp.columns];
+    double[] fixedLower = lower.clone();
+    double[] fixedUpper = upper.clone();
+    boolean complete = true;
+    for (int j = 0; j < lp.columns; j++) {
+      if (!integer[j]) {
+        continue;
+      }
+      if (j >= start.length || Double.isNaN(start[j])) {
+        complete = false;
+        continue;
+      }
+      point[j] = Math.max(lower[j], Math.min(upper[j], Math.rint(start[j])));
+      fixedLower[j] = point[j];
+      fixedUpper[j] = point[j];
+    }
+    if (complete) {
+      return polish(point, lower, upper);
+    }
+
+    var subproblem = new BranchAndBound(lp, integer, fixedLower, fixedUpper);
+    subproblem.setParallelism(1);
+    subproblem.setNodeLimit(RINS_NODE_LIMIT);
+    subproblem.setHeuristics(false);
+    subproblem.setStopCondition(stopCondition);
+    subproblem.solve();
+    double cost = subproblem.getIncumbentCost();
+    if (cost < Double.POSITIVE_INFINITY) {
+      search.offer(cost, subproblem.getValues());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Fixes the integer columns at the (integral) values of the point and solves the relaxation over
+   * the continuous columns, offering its solution to the incumbent.
+   */
+  private boolean polish(double[] point, double[] lower, double[] upper) {
+    double[] fixedLower = lower.clone();
+    double[] fixedUpper = upper.clone();
+    for (int j = 0; j < lp.columns; j++) {
+      if (integer[j]) {
+        fixedLower[j] = Math.rint(point[j]);
+        fixedUpper[j] = fixedLower[j];
+      }
+    }
+    var simplex = new RevisedSimplex(lp, fixedLower, fixedUpper);
+    simplex.setStopCondition(stopCondition);
+    if (simplex.solve() != SolveStatus.OPTIMAL) {
+      return false;
+    }
+    search.offer(simplex.getCost(), simplex.getValues());
+    return true;
+  }
+
+  /**
+   * Rounds the integer columns of the point to the nearest integer within their bounds. The
+   * continuous columns are left at zero, so roundings can be compared with each other.
+   */
+  private double[] round(double[] point, double[] lower, double[] upper) {
+    var rounded = new double[lp.columns];
+    for (int j = 0; j < lp.columns; j++) {
+      if (integer[j]) {
+        rounded[j] = Math.max(lower[j], Math.min(upper[j], Math.rint(point[j])));
+      }
+    }
+    return rounded;
+  }
+
+  private boolean isIntegral(double[] point) {
+    for (int j = 0; j < lp.columns; j++) {
+      if (integer[j] && Math.abs(point[j] - Math.rint(point[j])) > INTEGRALITY_TOLERANCE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
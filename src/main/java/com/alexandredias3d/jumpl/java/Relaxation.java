@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+/**
+ * Solved linear relaxation from which cuts are separated: its optimal solution, the bounds of its
+ * structural and slack variables, and its rows in compressed sparse row format. Row i is Ax + s =
+ * b with l_s <= s <= u_s, i.e., b - u_s <= a_i'x <= b - l_s.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class Relaxation {
+
+  final LinearProgram lp;
+  final RevisedSimplex simplex;
+  final boolean[] integer;
+
+  /**
+   * Optimal values of the n structural variables followed by the ones of the m slacks.
+   */
+  final double[] values;
+
+  final int[] rowStart;
+  final int[] rowColumns;
+  final double[] rowValues;
+
+  /**
+   * Creates the relaxation of an optimized linear program.
+   *
+   * @param lp      linear program
+   * @param integer whether each structural column is integer
+   * @param simplex simplex method that solved the linear program to optimality
+   */
+  Relaxation(LinearProgram lp, boolean[] integer, RevisedSimplex simplex) {
+    this.lp = lp;
+    this.integer = integer;
+    this.simplex = simplex;
+    values = simplex.getAllValues();
+
+    int m = lp.rows;
+    int nonzeros = lp.columnStart[lp.columns];
+    rowStart = new int[m + 1];
+    for (int k = 0; k < nonzeros; k++) {
+      rowStart[lp.rowIndices[k] + 1]++;
+    }
+    for (int i = 0; i < m; i++) {
+      rowStart[i + 1] += rowStart[i];
+    }
+    rowColumns = new int[nonzeros];
+    rowValues = new double[nonzeros];
+    int[] next = rowStart.clone();
+    for (int j = 0; j < lp.columns; j++) {
+      for (int k = lp.columnStart[j]; k < lp.columnStart[j + 1]; k++) {
+        int position = next[lp.rowIndices[k]]++;
+        rowColumns[position] = j;
+        rowValues[position] = lp.values[k];
+      }
+    }
+  }
+
+  /**
+   * Checks whether a variable (structural or slack) is a binary one, i.e., integer with bounds 0
+   * and 1.
+   */
+  boolean isBinary(int j) {
+    return j < lp.columns && integer[j] && lp.lower[j] == 0.0 && lp.upper[j] == 1.0;
+  }
+
+  /**
+   * Gets the upper limit of a row, b - l_s.
+   *
+   * @return upper limit, or infinity if the row has none
+   */
+  double upperLimit(int row) {
+    return lp.rightHandSide[row] - lp.lower[lp.columns + row];
+  }
+
+  /**
+   * Gets the lower limit of a row, b - u_s.
+   *
+   * @return lower limit, or minus infinity if the row has none
+   */
+  double lowerLimit(int row) {
+    return lp.rightHandSide[row] - lp.upper[lp.columns + row];
+  }
+
+}
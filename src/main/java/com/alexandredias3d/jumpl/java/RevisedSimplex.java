@@ -0,0 +1,982 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Bounded primal revised simplex method for a {@link LinearProgram}. Nonbasic variables are kept
+ * at one of their bounds (or at zero, if free), so bounds are handled implicitly instead of as
+ * extra rows. The basis is kept as a sparse {@link LuFactorization}, updated at each iteration
+ * and computed from scratch periodically to limit the growth of its eta file and the accumulation
+ * of rounding errors.
+ *
+ * <p>Phase one starts from the slack basis. Rows whose slack would violate its bounds get an
+ * artificial variable, and the sum of the artificial variables is minimized. Phase two then
+ * minimizes the objective function with the artificial variables fixed at zero. Dantzig's rule
+ * chooses the entering variable, and Bland's rule is used after a long sequence of degenerate
+ * iterations to avoid cycling.
+ *
+ * <p>The method can also start from a given {@link Basis}, e.g., the optimal one of the same
+ * linear program before some bounds changed. If the basis is dual feasible (nonbasic variables
+ * with both bounds finite are moved to the bound that makes them so), the dual simplex method
+ * restores primal feasibility; if it is primal feasible, phase two starts from it directly;
+ * otherwise the costs of the dual infeasible variables are shifted for the dual simplex method,
+ * and phase two then continues from the feasible basis it reaches with the original costs. A
+ * singular basis is repaired by replacing the columns left without a pivot by slacks.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class RevisedSimplex {
+
+  private static final double FEASIBILITY_TOLERANCE = 1e-9;
+  private static final double OPTIMALITY_TOLERANCE = 1e-9;
+  private static final double PIVOT_TOLERANCE = 1e-9;
+  private static final double PHASE_ONE_TOLERANCE = 1e-7;
+  private static final double TIE_TOLERANCE = 1e-12;
+
+  /**
+   * Amount of iterations between two factorizations of the basis from scratch.
+   */
+  private static final int REFACTORIZATION_FREQUENCY = 100;
+
+  /**
+   * Amount of consecutive degenerate iterations after which Bland's rule is used.
+   */
+  private static final int DEGENERATE_LIMIT = 50;
+
+  private final LinearProgram lp;
+
+  /**
+   * Number of rows.
+   */
+  private final int m;
+
+  /**
+   * Number of structural columns. Column n + i is the slack of row i and column n + m + i is its
+   * artificial variable.
+   */
+  private final int n;
+
+  private final int total;
+
+  private final double[] lower;
+  private final double[] upper;
+  private final double[] cost;
+  private final double[] x;
+
+  /**
+   * Coefficient of the artificial variable of each row (zero if the row has none).
+   */
+  private final double[] artificialSign;
+
+  /**
+   * Variable that is basic in each row.
+   */
+  private final int[] basis;
+
+  /**
+   * Row in which each variable is basic, or -1 if it is nonbasic.
+   */
+  private final int[] position;
+
+  private final LuFactorization factorization;
+
+  /**
+   * Columns of the basis, in compressed sparse column format, given to the factorization.
+   */
+  private final int[] basisStart;
+  private int[] basisIndex;
+  private double[] basisValue;
+
+  /**
+   * Dense work vector of length m.
+   */
+  private final double[] work;
+
+  private final double[] duals;
+  private final double[] alpha;
+
+  /**
+   * Row of the basis inverse of the leaving variable in the dual simplex method.
+   */
+  private final double[] rho;
+
+  private volatile boolean terminated;
+  private BooleanSupplier stopCondition = () -> false;
+  private double timeLimit = Double.POSITIVE_INFINITY;
+  private long deadline;
+  private int iterations;
+  private int degenerate;
+  private SolveStatus status = SolveStatus.NO_SOLUTION;
+
+  RevisedSimplex(LinearProgram lp) {
+    this(lp, lp.lower, lp.upper);
+  }
+
+  /**
+   * Creates a simplex method for the given linear program with other bounds on its structural
+   * columns, e.g., the ones of a node of a branch-and-bound tree.
+   *
+   * @param lp          linear program to be solved
+   * @param lowerBounds lower bounds of the structural columns
+   * @param upperBounds upper bounds of the structural columns
+   */
+  RevisedSimplex(LinearProgram lp, double[] lowerBounds, double[] upperBounds) {
+    this.lp = lp;
+    m = lp.rows;
+    n = lp.columns;
+    total = n + 2 * m;
+    lower = Arrays.copyOf(lp.lower, total);
+    upper = Arrays.copyOf(lp.upper, total);
+    System.arraycopy(lowerBounds, 0, lower, 0, n);
+    System.arraycopy(upperBounds, 0, upper, 0, n);
+    cost = new double[total];
+    x = new double[total];
+    artificialSign = new double[m];
+    basis = new int[m];
+    position = new int[total];
+    factorization = new LuFactorization(m);
+    basisStart = new int[m + 1];
+    basisIndex = new int[Math.max(1, lp.values.length + m)];
+    basisValue = new double[basisIndex.length];
+    work = new double[m];
+    duals = new double[m];
+    alpha = new double[m];
+    rho = new double[m];
+  }
+
+  /**
+   * Sets the maximum amount of time spent by {@link #solve()}.
+   *
+   * @param seconds time limit (in seconds)
+   */
+  void setTimeLimit(double seconds) {
+    timeLimit = seconds;
+  }
+
+  /**
+   * Stops the optimization at the next iteration. Can be called from any thread.
+   */
+  void terminate() {
+    terminated = true;
+  }
+
+  /**
+   * Sets an extra condition, checked at every iteration, that stops the optimization when true.
+   *
+   * @param condition stop condition shared by several optimizations
+   */
+  void setStopCondition(BooleanSupplier condition) {
+    stopCondition = condition;
+  }
+
+  /**
+   * Solves the linear program from scratch.
+   *
+   * @return {@link SolveStatus#OPTIMAL}, {@link SolveStatus#INFEASIBLE} or {@link
+   *     SolveStatus#UNBOUNDED}, or {@link SolveStatus#FEASIBLE} and {@link SolveStatus#NO_SOLUTION}
+   *     if it was stopped in phase two and in phase one, respectively
+   */
+  SolveStatus solve() {
+    return solve(null);
+  }
+
+  /**
+   * Solves the linear program starting from the given basis, if it fits the linear program and is
+   * primal or dual feasible, or from scratch otherwise.
+   *
+   * @param start starting basis (can be null)
+   * @return status of the optimization (see {@link #solve()})
+   */
+  SolveStatus solve(Basis start) {
+    deadline = (timeLimit < Long.MAX_VALUE / 1e9)
+        ? System.nanoTime() + (long) (timeLimit * 1e9) : Long.MAX_VALUE;
+    for (int j = 0; j < n; j++) {
+      if (lower[j] > upper[j]) {
+        return status = SolveStatus.INFEASIBLE;
+      }
+    }
+    if (start != null && restore(start)) {
+      SolveStatus warm = warmStart();
+      if (warm != null) {
+        return status = warm;
+      }
+    }
+
+    Arrays.fill(cost, 0.0);
+    boolean artificial = initialize();
+
+    if (artificial) {
+      for (int i = 0; i < m; i++) {
+        cost[n + m + i] = (artificialSign[i] != 0.0) ? 1.0 : 0.0;
+      }
+      SolveStatus phaseOne = iterate(true);
+      if (phaseOne != SolveStatus.OPTIMAL) {
+        return status = SolveStatus.NO_SOLUTION;
+      }
+      if (infeasibility() > PHASE_ONE_TOLERANCE * (1.0 + maxRightHandSide())) {
+        return status = SolveStatus.INFEASIBLE;
+      }
+      for (int i = 0; i < m; i++) {
+        cost[n + m + i] = 0.0;
+        upper[n + m + i] = 0.0;
+      }
+      refactorize();
+    }
+
+    System.arraycopy(lp.cost, 0, cost, 0, n);
+    SolveStatus phaseTwo = iterate(false);
+    return status = (phaseTwo == SolveStatus.NO_SOLUTION) ? SolveStatus.FEASIBLE : phaseTwo;
+  }
+
+  /**
+   * Gets the current basis, to be given to a later optimization of the same linear program.
+   *
+   * @return current basis, or null if an artificial variable is still basic
+   */
+  Basis getBasis() {
+    var basic = new int[m];
+    for (int i = 0; i < m; i++) {
+      if (basis[i] >= n + m) {
+        return null;
+      }
+      basic[i] = basis[i];
+    }
+    var statuses = new byte[n + m];
+    for (int j = 0; j < n + m; j++) {
+      if (position[j] >= 0) {
+        statuses[j] = Basis.BASIC;
+      } else if (x[j] == lower[j]) {
+        statuses[j] = Basis.AT_LOWER;
+      } else if (x[j] == upper[j]) {
+        statuses[j] = Basis.AT_UPPER;
+      } else {
+        statuses[j] = Basis.AT_ZERO;
+      }
+    }
+    return new Basis(basic, statuses, n);
+  }
+
+  SolveStatus getStatus() {
+    return status;
+  }
+
+  int getIterations() {
+    return iterations;
+  }
+
+  /**
+   * Gets the values of the structural and slack variables.
+   *
+   * @return values of the n structural variables followed by the ones of the m slacks
+   */
+  double[] getAllValues() {
+    return Arrays.copyOf(x, n + m);
+  }
+
+  /**
+   * Gets the variable (structural, slack or artificial) that is basic in a row.
+   *
+   * @param row row of the basis
+   * @return basic variable
+   */
+  int getBasicVariable(int row) {
+    return basis[row];
+  }
+
+  /**
+   * Computes a row of the simplex tableau, i.e., row r of B^-1 [A I], for the structural and
+   * slack variables. The basic variable of the row has a unit entry, and the other basic
+   * variables have zero entries.
+   *
+   * @param row    row of the basis
+   * @param result entries of the n + m variables
+   */
+  void getTableauRow(int row, double[] result) {
+    Arrays.fill(work, 0.0);
+    work[row] = 1.0;
+    factorization.btran(work, rho);
+    for (int j = 0; j < n + m; j++) {
+      result[j] = (position[j] >= 0) ? 0.0 : rowEntry(j);
+    }
+    if (basis[row] < n + m) {
+      result[basis[row]] = 1.0;
+    }
+  }
+
+  /**
+   * Gets the values of the structural variables.
+   *
+   * @return values indexed as the columns of the linear program
+   */
+  double[] getValues() {
+    return Arrays.copyOf(x, n);
+  }
+
+  /**
+   * Gets the objective function value of the current solution, in terms of the original model.
+   *
+   * @return objective function value
+   */
+  double getObjectiveValue() {
+    return lp.toModelObjective(getCost());
+  }
+
+  /**
+   * Gets the cost of the current solution, i.e., the objective function value of the
+   * minimization problem solved.
+   *
+   * @return cost of the current solution
+   */
+  double getCost() {
+    double value = 0.0;
+    for (int j = 0; j < n; j++) {
+      value += lp.cost[j] * x[j];
+    }
+    return value;
+  }
+
+  /**
+   * Makes the given basis the current one, with the artificial variables fixed at zero and the
+   * nonbasic variables at the bound given by the basis (clipped to their current bounds).
+   *
+   * @return false if the basis does not fit the linear program or could not be repaired
+   */
+  private boolean restore(Basis start) {
+    if (start.getNumberOfRows() != m || start.getNumberOfColumns() != n) {
+      return false;
+    }
+    Arrays.fill(position, -1);
+    for (int i = 0; i < m; i++) {
+      int j = start.getBasic(i);
+      if (j < 0 || j >= n + m || position[j] >= 0) {
+        return false;
+      }
+      basis[i] = j;
+      position[j] = i;
+    }
+    for (int i = 0; i < m; i++) {
+      int art = n + m + i;
+      artificialSign[i] = 0.0;
+      lower[art] = 0.0;
+      upper[art] = 0.0;
+      x[art] = 0.0;
+    }
+    for (int j = 0; j < n + m; j++) {
+      if (position[j] < 0) {
+        x[j] = nonbasicValue(j, start.getStatus(j));
+      }
+    }
+
+    Arrays.fill(cost, 0.0);
+    System.arraycopy(lp.cost, 0, cost, 0, n);
+    try {
+      refactorize();
+    } catch (IllegalStateException e) {
+      repair();
+      try {
+        refactorize();
+      } catch (IllegalStateException again) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Replaces the variables of the basis positions left without a pivot by the last factorization
+   * by the slacks of the rows left without a pivot, which makes the basis nonsingular.
+   */
+  private void repair() {
+    for (int k = 0; k < factorization.getRankDeficiency(); k++) {
+      int slot = factorization.getSingularPosition(k);
+      int slack = n + factorization.getSingularRow(k);
+      int out = basis[slot];
+      if (position[slack] >= 0) {
+        continue;
+      }
+      basis[slot] = slack;
+      position[slack] = slot;
+      position[out] = -1;
+      x[out] = nonbasicValue(out, Basis.AT_LOWER);
+    }
+  }
+
+  private double nonbasicValue(int j, byte bound) {
+    double value;
+    if (bound == Basis.AT_UPPER) {
+      value = (upper[j] != Double.POSITIVE_INFINITY) ? upper[j] : initialValue(lower[j], upper[j]);
+    } else if (bound == Basis.AT_LOWER) {
+      value = initialValue(lower[j], upper[j]);
+    } else {
+      value = 0.0;
+    }
+    return Math.max(lower[j], Math.min(upper[j], value));
+  }
+
+  /**
+   * Optimizes from the restored basis: by the dual simplex method if it is dual feasible (or
+   * after shifting costs, if it is neither primal nor dual feasible), then by phase two.
+   *
+   * @return status of the optimization, or null if it must start from scratch
+   */
+  private SolveStatus warmStart() {
+    computeDuals();
+    boolean dualFeasible = makeDualFeasible();
+    if (!dualFeasible && primalInfeasibility() > FEASIBILITY_TOLERANCE) {
+      shiftCosts();
+      dualFeasible = makeDualFeasible();
+    }
+    if (dualFeasible) {
+      SolveStatus dual = dualIterate();
+      System.arraycopy(lp.cost, 0, cost, 0, n);
+      Arrays.fill(cost, n, total, 0.0);
+      if (dual != SolveStatus.OPTIMAL) {
+        return dual;
+      }
+    }
+    SolveStatus phaseTwo = iterate(false);
+    return (phaseTwo == SolveStatus.NO_SOLUTION) ? SolveStatus.FEASIBLE : phaseTwo;
+  }
+
+  /**
+   * Moves each nonbasic variable with two finite bounds to the one that makes its reduced cost
+   * dual feasible, and checks the reduced costs of the other nonbasic variables. The duals must
+   * be up to date.
+   *
+   * @return true if the basis is dual feasible
+   */
+  private boolean makeDualFeasible() {
+    boolean feasible = true;
+    boolean moved = false;
+    for (int j = 0; j < n + m; j++) {
+      if (position[j] >= 0 || lower[j] == upper[j]) {
+        continue;
+      }
+      double d = reducedCost(j);
+      if (lower[j] != Double.NEGATIVE_INFINITY && upper[j] != Double.POSITIVE_INFINITY) {
+        double value = (d >= 0.0) ? lower[j] : upper[j];
+        if (x[j] != value) {
+          x[j] = value;
+          moved = true;
+        }
+      } else if ((d < -OPTIMALITY_TOLERANCE && x[j] < upper[j])
+          || (d > OPTIMALITY_TOLERANCE && x[j] > lower[j])) {
+        feasible = false;
+      }
+    }
+    if (moved) {
+      computeBasicValues();
+    }
+    return feasible;
+  }
+
+  /**
+   * Shifts the cost of each nonbasic variable whose reduced cost is dual infeasible (and that
+   * cannot be moved to its other bound) so that its reduced cost becomes zero. The duals must be
+   * up to date.
+   */
+  private void shiftCosts() {
+    for (int j = 0; j < n + m; j++) {
+      if (position[j] >= 0 || lower[j] == upper[j]) {
+        continue;
+      }
+      double d = reducedCost(j);
+      if ((d < -OPTIMALITY_TOLERANCE && x[j] < upper[j])
+          || (d > OPTIMALITY_TOLERANCE && x[j] > lower[j])) {
+        cost[j] -= d;
+      }
+    }
+  }
+
+  /**
+   * Gets the largest violation of a bound by a basic variable.
+   */
+  private double primalInfeasibility() {
+    double max = 0.0;
+    for (int i = 0; i < m; i++) {
+      int j = basis[i];
+      max = Math.max(max, Math.max(lower[j] - x[j], x[j] - upper[j]));
+    }
+    return max;
+  }
+
+  /**
+   * Performs dual simplex iterations until the basis is primal feasible, the dual is unbounded
+   * (the linear program is infeasible) or a stop request. The basis must be dual feasible.
+   *
+   * @return {@link SolveStatus#OPTIMAL}, {@link SolveStatus#INFEASIBLE}, {@link
+   *     SolveStatus#NO_SOLUTION} (stopped), or null if the iteration limit was reached
+   */
+  private SolveStatus dualIterate() {
+    int limit = iterations + 100 * (m + n) + 10_000;
+    degenerate = 0;
+    while (true) {
+      if (terminated || stopCondition.getAsBoolean() || System.nanoTime() > deadline) {
+        return SolveStatus.NO_SOLUTION;
+      }
+      if (iterations >= limit) {
+        return null;
+      }
+      if (iterations > 0 && iterations % REFACTORIZATION_FREQUENCY == 0) {
+        refactorize();
+      }
+
+      boolean bland = degenerate > DEGENERATE_LIMIT;
+      int leaving = chooseLeaving(bland);
+      if (leaving < 0) {
+        return SolveStatus.OPTIMAL;
+      }
+      computeDuals();
+      Arrays.fill(work, 0.0);
+      work[leaving] = 1.0;
+      factorization.btran(work, rho);
+      int out = basis[leaving];
+      double target = (x[out] < lower[out]) ? lower[out] : upper[out];
+      double delta = x[out] - target;
+      int entering = chooseDualEntering(delta, bland);
+      iterations++;
+      if (entering < 0) {
+        return SolveStatus.INFEASIBLE;
+      }
+
+      computeColumn(entering);
+      double length = delta / alpha[leaving];
+      for (int i = 0; i < m; i++) {
+        x[basis[i]] -= alpha[i] * length;
+      }
+      x[entering] += length;
+      x[out] = target;
+      replace(leaving, entering);
+    }
+  }
+
+  /**
+   * Chooses the leaving row of the dual simplex method: the one whose basic variable violates its
+   * bounds the most (or the one of the first such variable, with Bland's rule).
+   *
+   * @return leaving row, or -1 if the basis is primal feasible
+   */
+  private int chooseLeaving(boolean bland) {
+    int leaving = -1;
+    double best = FEASIBILITY_TOLERANCE;
+    for (int i = 0; i < m; i++) {
+      int j = basis[i];
+      double violation = Math.max(lower[j] - x[j], x[j] - upper[j]);
+      if (violation > FEASIBILITY_TOLERANCE) {
+        if (bland ? leaving < 0 || j < basis[leaving] : violation > best) {
+          best = violation;
+          leaving = i;
+        }
+      }
+    }
+    return leaving;
+  }
+
+  /**
+   * Chooses the entering variable of the dual simplex method (dual ratio test): among the
+   * nonbasic variables that can move the leaving one towards its violated bound, the one whose
+   * reduced cost reaches zero first, preferring larger pivots on ties.
+   *
+   * @param delta amount by which the leaving variable exceeds its violated bound
+   * @return entering variable, or -1 if there is none (the linear program is infeasible)
+   */
+  private int chooseDualEntering(double delta, boolean bland) {
+    int entering = -1;
+    double minimum = Double.POSITIVE_INFINITY;
+    double pivot = 0.0;
+    for (int j = 0; j < n + m; j++) {
+      if (position[j] >= 0 || lower[j] == upper[j]) {
+        continue;
+      }
+      double a = rowEntry(j);
+      if (Math.abs(a) < PIVOT_TOLERANCE) {
+        continue;
+      }
+      boolean increases = (delta > 0.0) == (a > 0.0);
+      if (increases ? x[j] >= upper[j] : x[j] <= lower[j]) {
+        continue;
+      }
+      double d = reducedCost(j);
+      double ratio = Math.max(0.0, increases ? d : -d) / Math.abs(a);
+      if (x[j] > lower[j] && x[j] < upper[j]) {
+        ratio = Math.abs(d) / Math.abs(a);
+      }
+      if (ratio < minimum - TIE_TOLERANCE
+          || (ratio <= minimum + TIE_TOLERANCE && !bland && Math.abs(a) > pivot)) {
+        minimum = ratio;
+        pivot = Math.abs(a);
+        entering = j;
+      }
+    }
+    if (entering >= 0) {
+      degenerate = (minimum == 0.0) ? degenerate + 1 : 0;
+    }
+    return entering;
+  }
+
+  /**
+   * Computes the entry of a column in the row of the leaving variable, i.e., rho' a_j.
+   */
+  private double rowEntry(int j) {
+    if (j >= n) {
+      return rho[j - n];
+    }
+    double value = 0.0;
+    for (int k = lp.columnStart[j]; k < lp.columnStart[j + 1]; k++) {
+      value += rho[lp.rowIndices[k]] * lp.values[k];
+    }
+    return value;
+  }
+
+  /**
+   * Places the structural variables at a finite bound (or at zero, if free) and builds the initial
+   * basis of slacks, using an artificial variable for each row whose slack would be infeasible.
+   *
+   * @return true if any artificial variable was needed
+   */
+  private boolean initialize() {
+    for (int j = 0; j < n; j++) {
+      x[j] = initialValue(lower[j], upper[j]);
+    }
+
+    double[] residual = lp.rightHandSide.clone();
+    for (int j = 0; j < n; j++) {
+      if (x[j] != 0.0) {
+        for (int k = lp.columnStart[j]; k < lp.columnStart[j + 1]; k++) {
+          residual[lp.rowIndices[k]] -= lp.values[k] * x[j];
+        }
+      }
+    }
+
+    Arrays.fill(position, -1);
+    boolean artificial = false;
+    for (int i = 0; i < m; i++) {
+      int slack = n + i;
+      int art = n + m + i;
+      double value = residual[i];
+      if (value >= lower[slack] - FEASIBILITY_TOLERANCE
+          && value <= upper[slack] + FEASIBILITY_TOLERANCE) {
+        x[slack] = value;
+        basis[i] = slack;
+        lower[art] = 0.0;
+        upper[art] = 0.0;
+        artificialSign[i] = 0.0;
+      } else {
+        x[slack] = Math.max(lower[slack], Math.min(upper[slack], value));
+        double excess = value - x[slack];
+        artificialSign[i] = (excess > 0.0) ? 1.0 : -1.0;
+        x[art] = Math.abs(excess);
+        lower[art] = 0.0;
+        upper[art] = Double.POSITIVE_INFINITY;
+        basis[i] = art;
+        artificial = true;
+      }
+      position[basis[i]] = i;
+    }
+    factorize();
+    return artificial;
+  }
+
+  private static double initialValue(double lowerBound, double upperBound) {
+    if (lowerBound != Double.NEGATIVE_INFINITY) {
+      return lowerBound;
+    }
+    return (upperBound != Double.POSITIVE_INFINITY) ? upperBound : 0.0;
+  }
+
+  /**
+   * Performs simplex iterations with the current costs until optimality, unboundedness or a stop
+   * request.
+   *
+   * @param phaseOne true if the sum of artificial variables is being minimized, in which case the
+   *                 phase also ends as soon as it reaches zero
+   * @return {@link SolveStatus#OPTIMAL}, {@link SolveStatus#UNBOUNDED} or {@link
+   *     SolveStatus#NO_SOLUTION} (stopped)
+   */
+  private SolveStatus iterate(boolean phaseOne) {
+    int limit = iterations + 100 * (m + n) + 10_000;
+    degenerate = 0;
+    while (true) {
+      if (phaseOne && infeasibility() == 0.0) {
+        return SolveStatus.OPTIMAL;
+      }
+      if (terminated || stopCondition.getAsBoolean() || iterations >= limit
+          || System.nanoTime() > deadline) {
+        return SolveStatus.NO_SOLUTION;
+      }
+      if (iterations > 0 && iterations % REFACTORIZATION_FREQUENCY == 0) {
+        refactorize();
+      }
+
+      computeDuals();
+      boolean bland = degenerate > DEGENERATE_LIMIT;
+      int entering = chooseEntering(bland);
+      if (entering < 0) {
+        return SolveStatus.OPTIMAL;
+      }
+      iterations++;
+      if (!step(entering, bland)) {
+        return SolveStatus.UNBOUNDED;
+      }
+    }
+  }
+
+  /**
+   * Computes the dual values y = c_B' B^-1.
+   */
+  private void computeDuals() {
+    for (int i = 0; i < m; i++) {
+      work[i] = cost[basis[i]];
+    }
+    factorization.btran(work, duals);
+  }
+
+  /**
+   * Computes the reduced cost c_j - y'a_j of a column.
+   */
+  private double reducedCost(int j) {
+    if (j < n) {
+      double value = cost[j];
+      for (int k = lp.columnStart[j]; k < lp.columnStart[j + 1]; k++) {
+        value -= duals[lp.rowIndices[k]] * lp.values[k];
+      }
+      return value;
+    }
+    if (j < n + m) {
+      return cost[j] - duals[j - n];
+    }
+    int row = j - n - m;
+    return cost[j] - artificialSign[row] * duals[row];
+  }
+
+  /**
+   * Chooses the entering variable: the nonbasic variable whose reduced cost improves the objective
+   * function the most (or the first one, with Bland's rule) and that can move in that direction.
+   *
+   * @return entering variable, or -1 if the basis is optimal
+   */
+  private int chooseEntering(boolean bland) {
+    int entering = -1;
+    double best = OPTIMALITY_TOLERANCE;
+    for (int j = 0; j < total; j++) {
+      if (position[j] >= 0 || lower[j] == upper[j]) {
+        continue;
+      }
+      double d = reducedCost(j);
+      if ((d < -OPTIMALITY_TOLERANCE && x[j] < upper[j])
+          || (d > OPTIMALITY_TOLERANCE && x[j] > lower[j])) {
+        if (bland) {
+          return j;
+        }
+        if (Math.abs(d) > best) {
+          best = Math.abs(d);
+          entering = j;
+        }
+      }
+    }
+    return entering;
+  }
+
+  /**
+   * Computes alpha = B^-1 a_j, keeping a_j to update the factorization if j enters the basis.
+   */
+  private void computeColumn(int j) {
+    Arrays.fill(work, 0.0);
+    subtractColumn(work, j, -1.0);
+    factorization.ftran(work, alpha, true);
+  }
+
+  /**
+   * Moves the entering variable as far as the bounds of the basic variables (ratio test) and its
+   * own bounds allow, then updates the basis if a basic variable reached a bound first.
+   *
+   * @return false if the entering variable can move indefinitely (unbounded problem)
+   */
+  private boolean step(int entering, boolean bland) {
+    double direction = (reducedCost(entering) < 0.0) ? 1.0 : -1.0;
+    computeColumn(entering);
+
+    double minimum = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < m; i++) {
+      double limit = limit(i, direction);
+      if (limit < minimum) {
+        minimum = limit;
+      }
+    }
+
+    int leaving = -1;
+    if (minimum < Double.POSITIVE_INFINITY) {
+      for (int i = 0; i < m; i++) {
+        if (limit(i, direction) > minimum + TIE_TOLERANCE) {
+          continue;
+        }
+        if (leaving < 0 || (bland ? basis[i] < basis[leaving]
+            : Math.abs(alpha[i]) > Math.abs(alpha[leaving]))) {
+          leaving = i;
+        }
+      }
+    }
+
+    double flip = upper[entering] - lower[entering];
+    double length = Math.min(minimum, flip);
+    if (length == Double.POSITIVE_INFINITY) {
+      return false;
+    }
+
+    if (length > 0.0) {
+      for (int i = 0; i < m; i++) {
+        x[basis[i]] -= direction * alpha[i] * length;
+      }
+      x[entering] += direction * length;
+      degenerate = 0;
+    } else {
+      degenerate++;
+    }
+
+    if (flip <= minimum) {
+      x[entering] = (direction > 0.0) ? upper[entering] : lower[entering];
+      return true;
+    }
+
+    int out = basis[leaving];
+    x[out] = (-direction * alpha[leaving] < 0.0) ? lower[out] : upper[out];
+    replace(leaving, entering);
+    return true;
+  }
+
+  /**
+   * Gets how far the entering variable can move before the basic variable of the given row
+   * reaches one of its bounds.
+   */
+  private double limit(int row, double direction) {
+    if (Math.abs(alpha[row]) < PIVOT_TOLERANCE) {
+      return Double.POSITIVE_INFINITY;
+    }
+    int variable = basis[row];
+    double rate = -direction * alpha[row];
+    double distance = (rate < 0.0) ? x[variable] - lower[variable] : upper[variable] - x[variable];
+    return Math.max(0.0, distance / Math.abs(rate));
+  }
+
+  /**
+   * Replaces the variable of the given row of the basis by the entering one, whose column is the
+   * last one computed by {@link #computeColumn(int)}. The basis is factorized again if the update
+   * of the factorization is unstable.
+   */
+  private void replace(int row, int entering) {
+    int out = basis[row];
+    basis[row] = entering;
+    position[entering] = row;
+    position[out] = -1;
+    if (!factorization.update(row, alpha[row])) {
+      refactorize();
+    }
+  }
+
+  /**
+   * Factorizes the basis from scratch and recomputes the values of the basic variables from the
+   * nonbasic ones.
+   *
+   * @throws IllegalStateException if the basis is singular
+   */
+  private void refactorize() {
+    factorize();
+    computeBasicValues();
+  }
+
+  /**
+   * Factorizes the basis from scratch.
+   *
+   * @throws IllegalStateException if the basis is singular
+   */
+  private void factorize() {
+    int nonzeros = 0;
+    for (int i = 0; i < m; i++) {
+      basisStart[i] = nonzeros;
+      int j = basis[i];
+      if (j < n) {
+        for (int k = lp.columnStart[j]; k < lp.columnStart[j + 1]; k++) {
+          basisIndex[nonzeros] = lp.rowIndices[k];
+          basisValue[nonzeros++] = lp.values[k];
+        }
+      } else if (j < n + m) {
+        basisIndex[nonzeros] = j - n;
+        basisValue[nonzeros++] = 1.0;
+      } else {
+        basisIndex[nonzeros] = j - n - m;
+        basisValue[nonzeros++] = artificialSign[j - n - m];
+      }
+    }
+    basisStart[m] = nonzeros;
+    factorization.factorize(basisStart, basisIndex, basisValue);
+  }
+
+  /**
+   * Computes the values of the basic variables, x_B = B^-1 (b - N x_N).
+   */
+  private void computeBasicValues() {
+    double[] residual = lp.rightHandSide.clone();
+    for (int j = 0; j < total; j++) {
+      if (position[j] < 0 && x[j] != 0.0) {
+        subtractColumn(residual, j, x[j]);
+      }
+    }
+    factorization.ftran(residual, work, false);
+    for (int i = 0; i < m; i++) {
+      x[basis[i]] = work[i];
+    }
+  }
+
+  private void subtractColumn(double[] vector, int j, double value) {
+    if (j < n) {
+      for (int k = lp.columnStart[j]; k < lp.columnStart[j + 1]; k++) {
+        vector[lp.rowIndices[k]] -= lp.values[k] * value;
+      }
+    } else if (j < n + m) {
+      vector[j - n] -= value;
+    } else {
+      vector[j - n - m] -= artificialSign[j - n - m] * value;
+    }
+  }
+
+  /**
+   * Gets the sum of the artificial variables.
+   */
+  private double infeasibility() {
+    double sum = 0.0;
+    for (int i = 0; i < m; i++) {
+      if (artificialSign[i] != 0.0) {
+        sum += x[n + m + i];
+      }
+    }
+    return sum;
+  }
+
+  private double maxRightHandSide() {
+    double max = 0.0;
+    for (double value : lp.rightHandSide) {
+      max = Math.max(max, Math.abs(value));
+    }
+    return max;
+  }
+
+}
@@ -0,0 +1,556 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Sparse Cholesky factorization L L' of matrices A W A' + r I, where A is a fixed sparse matrix
+ * and W a positive diagonal that changes at each factorization, i.e., the normal equations of an
+ * interior-point method.
+ *
+ * <p>The pattern is analyzed once: rows are ordered by the minimum degree heuristic on the graph
+ * of A A', whose elimination also gives the pattern of each column of L. Consecutive columns
+ * with nested patterns form supernodes, stored as dense column-major blocks. The numeric
+ * factorization is left-looking by supernode: a supernode is computed once all its descendants in
+ * the elimination tree are, so independent subtrees are factorized in parallel by the common
+ * {@link ForkJoinPool}, each task climbing the tree as long as it completes the last child of a
+ * supernode.
+ *
+ * <p>Pivots that are tiny compared to the diagonal of the matrix (as the weights of the normal
+ * equations approach zero and infinity) are replaced by a huge value, which sets the
+ * corresponding component of the solution to zero instead of breaking down.
+ *
+ * @author Alexandre H. T. Dias
+ */
+final class SparseCholesky {
+
+  private static final double PIVOT_TOLERANCE = 1e-30;
+  private static final double HUGE_PIVOT = 1e128;
+
+  /**
+   * Largest amount of columns of a supernode.
+   */
+  private static final int MAX_WIDTH = 64;
+
+  /**
+   * Amount of rows below which the factorization is sequential.
+   */
+  private static final int PARALLEL_THRESHOLD = 2_000;
+
+  private final int m;
+
+  /**
+   * Original row of each position of the ordering.
+   */
+  private final int[] permutation;
+
+  private final int supernodes;
+  private final int[] first;
+  private final int[] width;
+  private final int[] height;
+  private final int[] parent;
+  private final int[] children;
+
+  /**
+   * Rows (in the new order) of each supernode, from rowStart[s] to rowStart[s + 1].
+   */
+  private final int[] rowStart;
+  private final int[] rows;
+
+  /**
+   * Supernodes whose columns update each supernode, from updaterStart[s] to updaterStart[s + 1].
+   */
+  private final int[] updaterStart;
+  private final int[] updaters;
+
+  private final int[] valueStart;
+  private final double[] values;
+
+  /**
+   * Position in {@link #values} of each product of two entries of a column of A, and the value of
+   * that product.
+   */
+  private final int[] pairStart;
+  private final int[] pairTarget;
+  private final double[] pairProduct;
+
+  private final int[] diagonalTarget;
+  private final double[] diagonal;
+  private final double[] work;
+  private final int maxHeight;
+
+  /**
+   * Analyzes the pattern of A A' for the given matrix.
+   *
+   * @param m           number of rows of A
+   * @param columnStart start of each column of A (n + 1 entries)
+   * @param rowIndices  row of each nonzero of A
+   * @param entries     value of each nonzero of A
+   */
+  SparseCholesky(int m, int[] columnStart, int[] rowIndices, double[] entries) {
+    this.m = m;
+    int n = columnStart.length - 1;
+    int[][] pattern = eliminate(buildGraph(m, columnStart, rowIndices));
+
+    permutation = new int[m];
+    var inverse = new int[m];
+    for (int k = 0; k < m; k++) {
+      permutation[k] = pattern[m][k];
+      inverse[pattern[m][k]] = k;
+    }
+    var columnPattern = new int[m][];
+    for (int k = 0; k < m; k++) {
+      int[] below = pattern[permutation[k]];
+      var labels = new int[below.length];
+      for (int t = 0; t < below.length; t++) {
+        labels[t] = inverse[below[t]];
+      }
+      Arrays.sort(labels);
+      columnPattern[k] = labels;
+    }
+
+    var supernodeOf = new int[m];
+    var firstColumn = new int[m + 1];
+    int count = 0;
+    for (int k = 0; k < m; k++) {
+      boolean merge = k > 0 && k - firstColumn[count - 1] < MAX_WIDTH
+          && columnPattern[k - 1].length == columnPattern[k].length + 1
+          && columnPattern[k - 1][0] == k;
+      if (!merge) {
+        firstColumn[count++] = k;
+      }
+      supernodeOf[k] = count - 1;
+    }
+    supernodes = count;
+    first = Arrays.copyOf(firstColumn, count + 1);
+    first[count] = m;
+
+    width = new int[count];
+    height = new int[count];
+    parent = new int[count];
+    children = new int[count];
+    rowStart = new int[count + 1];
+    valueStart = new int[count + 1];
+    int highest = 0;
+    for (int s = 0; s < count; s++) {
+      width[s] = first[s + 1] - first[s];
+      int[] below = columnPattern[first[s + 1] - 1];
+      height[s] = width[s] + below.length;
+      highest = Math.max(highest, height[s]);
+      parent[s] = (below.length > 0) ? supernodeOf[below[0]] : -1;
+      if (parent[s] >= 0) {
+        children[parent[s]]++;
+      }
+      rowStart[s + 1] = rowStart[s] + height[s];
+      long end = valueStart[s] + (long) height[s] * width[s];
+      if (end > Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException(getClass().getName() + ": the factor is too large.");
+      }
+      valueStart[s + 1] = (int) end;
+    }
+    maxHeight = highest;
+
+    rows = new int[rowStart[count]];
+    for (int s = 0; s < count; s++) {
+      int offset = rowStart[s];
+      for (int c = 0; c < width[s]; c++) {
+        rows[offset + c] = first[s] + c;
+      }
+      int[] below = columnPattern[first[s + 1] - 1];
+      System.arraycopy(below, 0, rows, offset + width[s], below.length);
+    }
+
+    updaterStart = new int[count + 1];
+    for (int s = 0; s < count; s++) {
+      int previous = -1;
+      for (int k = rowStart[s] + width[s]; k < rowStart[s + 1]; k++) {
+        int target = supernodeOf[rows[k]];
+        if (target != previous) {
+          updaterStart[target + 1]++;
+          previous = target;
+        }
+      }
+    }
+    for (int s = 0; s < count; s++) {
+      updaterStart[s + 1] += updaterStart[s];
+    }
+    updaters = new int[updaterStart[count]];
+    var fill = Arrays.copyOf(updaterStart, count);
+    for (int s = 0; s < count; s++) {
+      int previous = -1;
+      for (int k = rowStart[s] + width[s]; k < rowStart[s + 1]; k++) {
+        int target = supernodeOf[rows[k]];
+        if (target != previous) {
+          updaters[fill[target]++] = s;
+          previous = target;
+        }
+      }
+    }
+
+    values = new double[valueStart[count]];
+    diagonal = new double[m];
+    work = new double[m];
+    diagonalTarget = new int[m];
+    for (int k = 0; k < m; k++) {
+      int s = supernodeOf[k];
+      int c = k - first[s];
+      diagonalTarget[k] = valueStart[s] + c * height[s] + c;
+    }
+
+    pairStart = new int[n + 1];
+    for (int j = 0; j < n; j++) {
+      int size = columnStart[j + 1] - columnStart[j];
+      pairStart[j + 1] = pairStart[j] + size * (size + 1) / 2;
+    }
+    pairTarget = new int[pairStart[n]];
+    pairProduct = new double[pairStart[n]];
+    int pair = 0;
+    for (int j = 0; j < n; j++) {
+      for (int a = columnStart[j]; a < columnStart[j + 1]; a++) {
+        for (int b = columnStart[j]; b <= a; b++) {
+          int row = inverse[rowIndices[a]];
+          int column = inverse[rowIndices[b]];
+          if (row < column) {
+            int swap = row;
+            row = column;
+            column = swap;
+          }
+          int s = supernodeOf[column];
+          int local = Arrays.binarySearch(rows, rowStart[s], rowStart[s + 1], row) - rowStart[s];
+          pairTarget[pair] = valueStart[s] + (column - first[s]) * height[s] + local;
+          pairProduct[pair++] = entries[a] * entries[b];
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds the adjacency lists of the graph of A A', without loops.
+   */
+  private static int[][] buildGraph(int m, int[] columnStart, int[] rowIndices) {
+    int n = columnStart.length - 1;
+    var rowCount = new int[m + 1];
+    for (int k = 0; k < columnStart[n]; k++) {
+      rowCount[rowIndices[k] + 1]++;
+    }
+    for (int i = 0; i < m; i++) {
+      rowCount[i + 1] += rowCount[i];
+    }
+    var rowColumns = new int[columnStart[n]];
+    var fill = Arrays.copyOf(rowCount, m);
+    for (int j = 0; j < n; j++) {
+      for (int k = columnStart[j]; k < columnStart[j + 1]; k++) {
+        rowColumns[fill[rowIndices[k]]++] = j;
+      }
+    }
+
+    var graph = new int[m][];
+    var mark = new int[m];
+    Arrays.fill(mark, -1);
+    var buffer = new int[m];
+    for (int i = 0; i < m; i++) {
+      int size = 0;
+      mark[i] = i;
+      for (int t = rowCount[i]; t < rowCount[i + 1]; t++) {
+        int j = rowColumns[t];
+        for (int k = columnStart[j]; k < columnStart[j + 1]; k++) {
+          int r = rowIndices[k];
+          if (mark[r] != i) {
+            mark[r] = i;
+            buffer[size++] = r;
+          }
+        }
+      }
+      graph[i] = Arrays.copyOf(buffer, size);
+    }
+    return graph;
+  }
+
+  /**
+   * Orders the vertices of the graph by the minimum degree heuristic, eliminating them one at a
+   * time.
+   *
+   * @return the neighbors of each vertex when it was eliminated (the pattern of its column of L),
+   *     followed by the elimination order
+   */
+  private static int[][] eliminate(int[][] graph) {
+    int m = graph.length;
+    var length = new int[m];
+    var head = new int[m];
+    var next = new int[m];
+    var previous = new int[m];
+    Arrays.fill(head, -1);
+    for (int v = 0; v < m; v++) {
+      length[v] = graph[v].length;
+      link(v, length[v], head, next, previous);
+    }
+
+    var pattern = new int[m + 1][];
+    var order = new int[m];
+    var mark = new int[m];
+    Arrays.fill(mark, -1);
+    int stamp = 0;
+    int minimum = 0;
+    for (int k = 0; k < m; k++) {
+      while (head[minimum] < 0) {
+        minimum++;
+      }
+      int v = head[minimum];
+      unlink(v, length[v], head, next, previous);
+      order[k] = v;
+      int[] neighbors = Arrays.copyOf(graph[v], length[v]);
+      pattern[v] = neighbors;
+      graph[v] = null;
+
+      for (int u : neighbors) {
+        unlink(u, length[u], head, next, previous);
+        stamp++;
+        int[] adjacent = graph[u];
+        int size = 0;
+        for (int t = 0; t < length[u]; t++) {
+          if (adjacent[t] != v) {
+            adjacent[size++] = adjacent[t];
+            mark[adjacent[t]] = stamp;
+          }
+        }
+        mark[u] = stamp;
+        for (int w : neighbors) {
+          if (mark[w] != stamp) {
+            if (size == adjacent.length) {
+              adjacent = Arrays.copyOf(adjacent, Math.max(4, 2 * size));
+            }
+            adjacent[size++] = w;
+            mark[w] = stamp;
+          }
+        }
+        graph[u] = adjacent;
+        length[u] = size;
+        link(u, size, head, next, previous);
+        minimum = Math.min(minimum, size);
+      }
+    }
+    pattern[m] = order;
+    return pattern;
+  }
+
+  private static void link(int v, int degree, int[] head, int[] next, int[] previous) {
+    previous[v] = -1;
+    next[v] = head[degree];
+    if (head[degree] >= 0) {
+      previous[head[degree]] = v;
+    }
+    head[degree] = v;
+  }
+
+  private static void unlink(int v, int degree, int[] head, int[] next, int[] previous) {
+    if (previous[v] >= 0) {
+      next[previous[v]] = next[v];
+    } else {
+      head[degree] = next[v];
+    }
+    if (next[v] >= 0) {
+      previous[next[v]] = previous[v];
+    }
+  }
+
+  /**
+   * Factorizes A W A' + r I.
+   *
+   * @param weights        diagonal W, one weight per column of A
+   * @param regularization value r added to the diagonal
+   */
+  void factorize(double[] weights, double regularization) {
+    Arrays.fill(values, 0.0);
+    for (int j = 0; j < weights.length; j++) {
+      double weight = weights[j];
+      if (weight != 0.0) {
+        for (int p = pairStart[j]; p < pairStart[j + 1]; p++) {
+          values[pairTarget[p]] += weight * pairProduct[p];
+        }
+      }
+    }
+    for (int k = 0; k < m; k++) {
+      values[diagonalTarget[k]] += regularization;
+      diagonal[k] = values[diagonalTarget[k]];
+    }
+
+    if (m < PARALLEL_THRESHOLD) {
+      var buffer = new int[maxHeight];
+      for (int s = 0; s < supernodes; s++) {
+        factorize(s, buffer);
+      }
+      return;
+    }
+
+    var pending = new AtomicIntegerArray(children);
+    var leaves = new ArrayList<Climb>();
+    for (int s = 0; s < supernodes; s++) {
+      if (children[s] == 0) {
+        leaves.add(new Climb(s, pending));
+      }
+    }
+    ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(leaves)));
+  }
+
+  /**
+   * Solves L L' x = b.
+   *
+   * @param rhs right-hand side b, replaced by the solution x
+   */
+  void solve(double[] rhs) {
+    for (int k = 0; k < m; k++) {
+      work[k] = rhs[permutation[k]];
+    }
+    for (int s = 0; s < supernodes; s++) {
+      int h = height[s];
+      int base = valueStart[s];
+      int offset = rowStart[s];
+      for (int c = 0; c < width[s]; c++) {
+        int column = base + c * h;
+        double value = work[first[s] + c] / values[column + c];
+        work[first[s] + c] = value;
+        if (value != 0.0) {
+          for (int i = c + 1; i < h; i++) {
+            work[rows[offset + i]] -= values[column + i] * value;
+          }
+        }
+      }
+    }
+    for (int s = supernodes - 1; s >= 0; s--) {
+      int h = height[s];
+      int base = valueStart[s];
+      int offset = rowStart[s];
+      for (int c = width[s] - 1; c >= 0; c--) {
+        int column = base + c * h;
+        double sum = work[first[s] + c];
+        for (int i = c + 1; i < h; i++) {
+          sum -= values[column + i] * work[rows[offset + i]];
+        }
+        work[first[s] + c] = sum / values[column + c];
+      }
+    }
+    for (int k = 0; k < m; k++) {
+      rhs[permutation[k]] = work[k];
+    }
+  }
+
+  /**
+   * Computes the columns of a supernode: applies the updates of its descendants, then
+   * factorizes its dense block.
+   *
+   * @param buffer work array with room for the rows of any supernode
+   */
+  private void factorize(int s, int[] buffer) {
+    int h = height[s];
+    int base = valueStart[s];
+    int offset = rowStart[s];
+
+    for (int u = updaterStart[s]; u < updaterStart[s + 1]; u++) {
+      int k = updaters[u];
+      int hk = height[k];
+      int wk = width[k];
+      int baseK = valueStart[k];
+      int offsetK = rowStart[k];
+      int start = Arrays.binarySearch(rows, offsetK + wk, offsetK + hk, first[s]);
+      start = ((start >= 0) ? start : -start - 1) - offsetK;
+      int end = start;
+      while (end < hk && rows[offsetK + end] < first[s + 1]) {
+        end++;
+      }
+
+      int local = 0;
+      for (int i = start; i < hk; i++) {
+        while (rows[offset + local] != rows[offsetK + i]) {
+          local++;
+        }
+        buffer[i - start] = local;
+      }
+
+      for (int c = start; c < end; c++) {
+        int column = base + (rows[offsetK + c] - first[s]) * h;
+        for (int i = c; i < hk; i++) {
+          double sum = 0.0;
+          for (int t = 0; t < wk; t++) {
+            sum += values[baseK + t * hk + i] * values[baseK + t * hk + c];
+          }
+          values[column + buffer[i - start]] -= sum;
+        }
+      }
+    }
+
+    for (int c = 0; c < width[s]; c++) {
+      int column = base + c * h;
+      for (int t = 0; t < c; t++) {
+        double factor = values[base + t * h + c];
+        if (factor != 0.0) {
+          for (int i = c; i < h; i++) {
+            values[column + i] -= values[base + t * h + i] * factor;
+          }
+        }
+      }
+      double pivot = values[column + c];
+      if (pivot <= PIVOT_TOLERANCE * Math.max(1.0, diagonal[first[s] + c])) {
+        pivot = HUGE_PIVOT;
+      }
+      pivot = Math.sqrt(pivot);
+      values[column + c] = pivot;
+      for (int i = c + 1; i < h; i++) {
+        values[column + i] /= pivot;
+      }
+    }
+  }
+
+  /**
+   * Factorizes a supernode and then, while it completes the last child of its parent, the
+   * parent.
+   */
+  private final class Climb extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int start;
+    private final AtomicIntegerArray pending;
+
+    Climb(int start, AtomicIntegerArray pending) {
+      this.start = start;
+      this.pending = pending;
+    }
+
+    @Override
+    protected void compute() {
+      var buffer = new int[maxHeight];
+      int s = start;
+      while (s >= 0) {
+        factorize(s, buffer);
+        int up = parent[s];
+        if (up < 0 || pending.decrementAndGet(up) != 0) {
+          return;
+        }
+        s = up;
+      }
+    }
+
+  }
+
+}
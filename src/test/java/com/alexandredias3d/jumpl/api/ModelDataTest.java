@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the ModelData class. Checks that variables, constraints and the objective function are
+ * stored in the expected columnar layout.
+ */
+public class ModelDataTest {
+
+  private static final int VAR_NUM = 3;
+  private static final double EPSILON = 0.00000001;
+
+  private final double[] lbs = {0.0, -1.0, 0.0};
+  private final double[] ubs = {10.0, 1.0, 1.0};
+  private final char[] types = {ModelData.CONTINUOUS, ModelData.INTEGER, ModelData.BINARY};
+  private final String[] varNames = {"x", "y", "z"};
+
+  private ModelData data;
+
+  @BeforeMethod
+  public void setUp() {
+    this.data = new ModelData();
+    for (int j = 0; j < ModelDataTest.VAR_NUM; j++) {
+      this.data.addVariable(this.lbs[j], this.ubs[j], this.types[j], this.varNames[j]);
+    }
+  }
+
+  @Test
+  public void testAddVariable() {
+    assertEquals(this.data.getNumberOfVariables(), ModelDataTest.VAR_NUM);
+    assertEquals(this.data.getNumberOfIntegerVariables(), 2);
+    for (int j = 0; j < ModelDataTest.VAR_NUM; j++) {
+      assertEquals(this.data.getLowerBound(j), this.lbs[j], ModelDataTest.EPSILON);
+      assertEquals(this.data.getUpperBound(j), this.ubs[j], ModelDataTest.EPSILON);
+      assertEquals(this.data.getType(j), this.types[j]);
+      assertEquals(this.data.getVariableName(j), this.varNames[j]);
+    }
+  }
+
+  @Test
+  public void testAddVariables() {
+    int first = this.data.addVariables(2, new double[]{1.0, 2.0}, new double[]{3.0, 4.0},
+        ModelData.INTEGER, null);
+
+    assertEquals(first, ModelDataTest.VAR_NUM);
+    assertEquals(this.data.getNumberOfVariables(), ModelDataTest.VAR_NUM + 2);
+    assertEquals(this.data.getNumberOfIntegerVariables(), 4);
+    assertEquals(this.data.getLowerBound(first + 1), 2.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getUpperBound(first + 1), 4.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getType(first), ModelData.INTEGER);
+    assertEquals(this.data.getVariableName(first), null);
+  }
+
+  @Test
+  public void testLazyNames() {
+    this.data.addVariables(2, new double[]{0.0, 0.0}, new double[]{1.0, 1.0},
+        ModelData.CONTINUOUS, null);
+    this.data.addConstraint(new int[]{0}, new double[]{1.0}, 1, ModelData.EQUAL, 0.0, null);
+
+    this.data.setNaming(NamingStrategy.LAZY, "v%d", "r%d");
+    assertEquals(this.data.getVariableName(1), "y");
+    assertEquals(this.data.getVariableName(ModelDataTest.VAR_NUM + 1), "v4");
+    assertFalse(this.data.hasVariableName(ModelDataTest.VAR_NUM + 1));
+    assertEquals(this.data.getConstraintName(0), "r0");
+
+    this.data.setNaming(NamingStrategy.NONE, "v%d", "r%d");
+    assertEquals(this.data.getVariableName(2), "z");
+    assertNull(this.data.getVariableName(ModelDataTest.VAR_NUM));
+    assertNull(this.data.getConstraintName(0));
+  }
+
+  @Test
+  public void testAddConstraint() {
+    this.data.addConstraint(new int[]{0, 2}, new double[]{1.0, 2.0}, 2, ModelData.LESS_EQUAL, 5.0,
+        "c0");
+    this.data.addConstraint(new int[]{1}, new double[]{-1.0}, 1, ModelData.EQUAL, 0.0, "c1");
+
+    assertEquals(this.data.getNumberOfConstraints(), 2);
+    assertEquals(this.data.getNumberOfNonZeros(), 3);
+
+    int[] rowStart = this.data.getRowStart();
+    assertEquals(rowStart[0], 0);
+    assertEquals(rowStart[1], 2);
+    assertEquals(rowStart[2], 3);
+    assertEquals(this.data.getColumnIndices()[2], 1);
+    assertEquals(this.data.getValues()[1], 2.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getSense(0), ModelData.LESS_EQUAL);
+    assertEquals(this.data.getRightHandSide(0), 5.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getConstraintName(1), "c1");
+  }
+
+  @Test
+  public void testAddConstraints() {
+    int first = this.data.addConstraints(2, new int[]{0, 3, 4}, new int[]{0, 2, 0, 1},
+        new double[]{1.0, 2.0, 3.0, -1.0}, new char[]{ModelData.LESS_EQUAL, ModelData.EQUAL},
+        new double[]{5.0, 0.0}, null);
+
+    assertEquals(first, 0);
+    assertEquals(this.data.getNumberOfConstraints(), 2);
+    assertEquals(this.data.getNumberOfNonZeros(), 3);
+    assertEquals(this.data.getRowStart()[1], 2);
+    assertEquals(this.data.getValues()[0], 4.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getSense(1), ModelData.EQUAL);
+    assertEquals(this.data.getConstraintName(0), null);
+  }
+
+  @Test
+  public void testMergeDuplicateTerms() {
+    this.data.addTerm(0, 1.0);
+    this.data.addTerm(1, 3.0);
+    this.data.addTerm(0, 2.0);
+    this.data.addTerm(1, -3.0);
+    this.data.addConstraint(ModelData.GREATER_EQUAL, 1.0, null);
+
+    assertEquals(this.data.getNumberOfNonZeros(), 1);
+    assertEquals(this.data.getColumnIndices()[0], 0);
+    assertEquals(this.data.getValues()[0], 3.0, ModelDataTest.EPSILON);
+  }
+
+  @Test
+  public void testSetObjective() {
+    this.data.setObjective(ModelData.MAXIMIZE, new int[]{0, 1, 0}, new double[]{1.0, 2.0, 3.0}, 3,
+        4.0);
+
+    assertEquals(this.data.getObjectiveSense(), ModelData.MAXIMIZE);
+    assertEquals(this.data.getObjectiveConstant(), 4.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getObjectiveCoefficient(0), 4.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getObjectiveCoefficient(1), 2.0, ModelDataTest.EPSILON);
+    assertEquals(this.data.getObjectiveCoefficient(2), 0.0, ModelDataTest.EPSILON);
+  }
+
+  @Test
+  public void testCopy() {
+    var copy = this.data.copy();
+    this.data.setUpperBound(0, 20.0);
+    this.data.setVariableName(1, "w");
+
+    assertEquals(copy.getNumberOfVariables(), ModelDataTest.VAR_NUM);
+    assertEquals(copy.getUpperBound(0), this.ubs[0], ModelDataTest.EPSILON);
+    assertEquals(copy.getVariableName(1), "y");
+    assertNotEquals(copy.fingerprint(), this.data.fingerprint());
+  }
+
+  @Test
+  public void testFingerprint() {
+    var other = new ModelData();
+    for (int j = 0; j < ModelDataTest.VAR_NUM; j++) {
+      other.addVariable(this.lbs[j], this.ubs[j], this.types[j], null);
+    }
+    assertEquals(other.fingerprint(), this.data.fingerprint());
+
+    other.setUpperBound(0, 20.0);
+    assertNotEquals(other.fingerprint(), this.data.fingerprint());
+  }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the races of the ModelFactory class. Races pure-Java models of a small knapsack
+ * problem, whose formulation can be slowed down or made to fail.
+ */
+public class ModelFactoryTest {
+
+  private static final double EPSILON = 0.000001;
+
+  /**
+   * Number of formulations created by the current test.
+   */
+  private static final AtomicInteger created = new AtomicInteger();
+
+  /**
+   * Knapsack problem whose optimum is 13.
+   */
+  public static class Knapsack extends BaseFormulation {
+
+    protected Variable[] x;
+
+    public Knapsack(Model model) {
+      super(model);
+    }
+
+    @Override
+    protected void putVariables() {
+      x = model.addBinaryVariables(3, new double[]{0.0, 0.0, 0.0}, new double[]{1.0, 1.0, 1.0});
+    }
+
+    @Override
+    protected void putConstraints() {
+      LinearExpression weight = model.createEmptyLinearExpression();
+      weight.addTerm(3.0, x[0]);
+      weight.addTerm(4.0, x[1]);
+      weight.addTerm(5.0, x[2]);
+      model.addLessEqualConstraint(weight, 8.0);
+    }
+
+    @Override
+    protected void putObjectiveFunction() {
+      LinearExpression value = model.createEmptyLinearExpression();
+      value.addTerm(5.0, x[0]);
+      value.addTerm(6.0, x[1]);
+      value.addTerm(8.0, x[2]);
+      model.setObjectiveFunctionMaximize(value);
+    }
+
+  }
+
+  /**
+   * Knapsack formulation that takes long to be populated, so the deadline is reached before it is
+   * solved.
+   */
+  public static class LatePopulation extends Knapsack {
+
+    public LatePopulation(Model model) {
+      super(model);
+    }
+
+    @Override
+    protected void preOptimization() {
+      pause();
+    }
+
+  }
+
+  /**
+   * Knapsack formulation that takes long to finish after it is solved, so the deadline is reached
+   * while it post-processes the solution.
+   */
+  public static class LatePostOptimization extends Knapsack {
+
+    public LatePostOptimization(Model model) {
+      super(model);
+    }
+
+    @Override
+    protected void postOptimization() {
+      pause();
+    }
+
+  }
+
+  /**
+   * Knapsack formulation whose first instance fails.
+   */
+  public static class FirstFails extends Knapsack {
+
+    public FirstFails(Model model) {
+      super(model);
+    }
+
+    @Override
+    protected void preOptimization() {
+      if (created.getAndIncrement() == 0) {
+        throw new IllegalArgumentException("failing run");
+      }
+    }
+
+  }
+
+  /**
+   * Knapsack formulation with a smaller capacity, whose optimum is 8 while the one of its
+   * relaxation is fractional, tightened by the generic cuts.
+   */
+  public static class GenericCuts extends Knapsack {
+
+    public GenericCuts(Model model) {
+      super(model);
+    }
+
+    @Override
+    protected void putConstraints() {
+      LinearExpression weight = model.createEmptyLinearExpression();
+      weight.addTerm(3.0, x[0]);
+      weight.addTerm(4.0, x[1]);
+      weight.addTerm(5.0, x[2]);
+      model.addLessEqualConstraint(weight, 6.0);
+    }
+
+    @Override
+    protected boolean usesGenericCuts() {
+      return true;
+    }
+
+  }
+
+  private static void pause() {
+    try {
+      Thread.sleep(500);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @BeforeMethod
+  public void setUpModelFactory() {
+    ModelFactoryTest.created.set(0);
+  }
+
+  @Test
+  public void testWinner() {
+    Knapsack winner = ModelFactory.raceIn(Knapsack.class, 60.0, Solver.JAVA, Solver.JAVA);
+    assertNotNull(winner);
+    assertEquals(winner.getModel().getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(winner.getModel().getObjectiveFunctionValue(), 13.0, ModelFactoryTest.EPSILON);
+  }
+
+  @Test
+  public void testDeadlineBeforeSolve() {
+    assertNull(ModelFactory.raceIn(LatePopulation.class, 0.05, Solver.JAVA, Solver.JAVA));
+  }
+
+  @Test
+  public void testDeadlineAfterSolve() {
+    Knapsack winner = ModelFactory.raceIn(LatePostOptimization.class, 0.25, Solver.JAVA);
+    assertNotNull(winner);
+    assertEquals(winner.getModel().getObjectiveFunctionValue(), 13.0, ModelFactoryTest.EPSILON);
+
+    // The termination requested at the deadline must not skip the next optimization.
+    Model model = winner.getModel();
+    model.addLessEqualConstraint(winner.x[2], 0.0);
+    model.solve();
+    assertEquals(model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(model.getObjectiveFunctionValue(), 11.0, ModelFactoryTest.EPSILON);
+  }
+
+  @Test
+  public void testGenericCuts() {
+    GenericCuts winner = ModelFactory.raceIn(GenericCuts.class, 60.0, Solver.JAVA);
+    assertNotNull(winner);
+    assertTrue(winner.getModel().getModelData().getNumberOfConstraints() > 1);
+    assertEquals(winner.getModel().getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(winner.getModel().getObjectiveFunctionValue(), 8.0, ModelFactoryTest.EPSILON);
+  }
+
+  @Test
+  public void testFailingRun() {
+    Knapsack winner = ModelFactory.raceIn(FirstFails.class, 60.0, Solver.JAVA, Solver.JAVA);
+    assertNotNull(winner);
+    assertEquals(winner.getModel().getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(winner.getModel().getObjectiveFunctionValue(), 13.0, ModelFactoryTest.EPSILON);
+    assertEquals(ModelFactoryTest.created.get(), 2);
+  }
+
+  @Test
+  public void testEveryRunFails() {
+    try {
+      ModelFactory.raceIn(FirstFails.class, 60.0, Solver.JAVA);
+      fail();
+    } catch (IllegalStateException e) {
+      assertSame(e.getCause().getClass(), IllegalArgumentException.class);
+      assertEquals(e.getCause().getMessage(), "failing run");
+    }
+  }
+
+  @Test
+  public void testInterrupted() {
+    Thread.currentThread().interrupt();
+    try {
+      assertNull(ModelFactory.raceIn(LatePopulation.class, 60.0, Solver.JAVA, Solver.JAVA));
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.alexandredias3d.jumpl.java.JavaModel;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the Presolve class. Checks each reduction on small models and that the solution of
+ * the reduced model is mapped back to the original variables.
+ */
+public class PresolveTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  private ModelData data;
+
+  @BeforeMethod
+  public void setUp() {
+    this.data = new ModelData();
+    this.data.addVariable(2.0, 2.0, ModelData.CONTINUOUS, "x");
+    this.data.addVariable(0.0, 10.0, ModelData.CONTINUOUS, "y");
+    this.data.addVariable(0.0, 10.0, ModelData.INTEGER, "z");
+  }
+
+  @Test
+  public void testRemoveFixedVariableAndSingletonRow() {
+    this.data.addConstraint(new int[]{1}, new double[]{2.0}, 1, ModelData.LESS_EQUAL, 7.0, null);
+    this.data.addConstraint(new int[]{0, 1, 2}, new double[]{1.0, 1.0, 1.0}, 3,
+        ModelData.LESS_EQUAL, 10.0, "c1");
+    this.data.setObjective(ModelData.MAXIMIZE, new int[]{0, 1, 2}, new double[]{3.0, 1.0, 1.0},
+        3, 0.0);
+    var presolve = new Presolve(this.data);
+    ModelData reduced = presolve.getReducedModel();
+
+    assertFalse(presolve.isInfeasible());
+    assertEquals(presolve.getNumberOfRemovedVariables(), 1);
+    assertEquals(presolve.getNumberOfRemovedConstraints(), 1);
+    assertEquals(presolve.getReducedIndex(0), -1);
+    assertEquals(presolve.getReducedIndex(1), 0);
+    assertEquals(reduced.getUpperBound(0), 3.5, PresolveTest.EPSILON);
+    assertEquals(reduced.getRightHandSide(0), 8.0, PresolveTest.EPSILON);
+    assertEquals(reduced.getConstraintName(0), "c1");
+    assertEquals(reduced.getObjectiveConstant(), 6.0, PresolveTest.EPSILON);
+  }
+
+  @Test
+  public void testTightenBoundsByActivity() {
+    this.data.addConstraint(new int[]{1, 2}, new double[]{1.0, 2.0}, 2, ModelData.LESS_EQUAL,
+        5.0, null);
+    this.data.addConstraint(new int[]{1, 2}, new double[]{1.0, 1.0}, 2, ModelData.LESS_EQUAL,
+        100.0, null);
+    var presolve = new Presolve(this.data);
+    ModelData reduced = presolve.getReducedModel();
+
+    assertEquals(reduced.getNumberOfConstraints(), 1);
+    assertEquals(reduced.getUpperBound(0), 5.0, PresolveTest.EPSILON);
+    assertEquals(reduced.getUpperBound(1), 2.0, PresolveTest.EPSILON);
+  }
+
+  @Test
+  public void testMergeParallelRows() {
+    this.data.addConstraint(new int[]{1, 2}, new double[]{2.0, -2.0}, 2, ModelData.LESS_EQUAL,
+        8.0, null);
+    this.data.addConstraint(new int[]{2, 1}, new double[]{1.0, -1.0}, 2, ModelData.LESS_EQUAL,
+        -4.0, null);
+    var presolve = new Presolve(this.data);
+    ModelData reduced = presolve.getReducedModel();
+
+    assertEquals(reduced.getNumberOfConstraints(), 1);
+    assertEquals(reduced.getSense(0), ModelData.EQUAL);
+    assertEquals(reduced.getRightHandSide(0), 8.0, PresolveTest.EPSILON);
+  }
+
+  @Test
+  public void testDetectInfeasibility() {
+    this.data.addConstraint(new int[]{1, 2}, new double[]{1.0, 1.0}, 2, ModelData.GREATER_EQUAL,
+        25.0, null);
+    var presolve = new Presolve(this.data);
+
+    assertTrue(presolve.isInfeasible());
+    assertEquals(presolve.solve(new JavaModel()).getStatus(), SolveStatus.INFEASIBLE);
+  }
+
+  @Test
+  public void testSolve() {
+    var model = new JavaModel();
+    model.setNamingStrategy(NamingStrategy.NONE);
+    Variable x = model.addRealVariable(0.0, 4.0);
+    Variable y = model.addRealVariable(1.0, 1.0);
+    Variable z = model.addIntegerVariable(0.0, 10.0);
+    LinearExpression first = model.createEmptyLinearExpression();
+    first.addTerm(1.0, x);
+    first.addTerm(1.0, y);
+    first.addTerm(2.0, z);
+    model.addLessEqualConstraint(first, 9.5);
+    LinearExpression objective = model.createEmptyLinearExpression();
+    objective.addTerm(1.0, x);
+    objective.addTerm(1.0, y);
+    objective.addTerm(3.0, z);
+    model.setObjectiveFunctionMaximize(objective);
+
+    SolveResult result = new Presolve(model.getModelData()).solve(new JavaModel());
+    assertEquals(result.getStatus(), SolveStatus.OPTIMAL);
+    assertEquals(result.getObjectiveValue(), 13.5, PresolveTest.EPSILON);
+    assertEquals(result.getValue(x), 0.5, PresolveTest.EPSILON);
+    assertEquals(result.getValue(y), 1.0, PresolveTest.EPSILON);
+    assertEquals(result.getValue(z), 4.0, PresolveTest.EPSILON);
+  }
+
+}
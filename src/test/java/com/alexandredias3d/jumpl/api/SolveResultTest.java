@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the SolveResult class. Checks the relative gap computed from the objective function
+ * value and its bound.
+ */
+public class SolveResultTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  @Test
+  public void testGap() {
+    var result = new SolveResult(SolveStatus.FEASIBLE, -40.0, -50.0, 1.0, new double[]{1.0});
+    assertEquals(result.getGap(), 0.25, SolveResultTest.EPSILON);
+    assertEquals(result.getValues()[0], 1.0, SolveResultTest.EPSILON);
+  }
+
+  @Test
+  public void testGapOfZeroObjective() {
+    var optimal = new SolveResult(SolveStatus.OPTIMAL, 0.0, 0.0, 1.0, new double[0]);
+    var feasible = new SolveResult(SolveStatus.FEASIBLE, 0.0, -1.0, 1.0, new double[0]);
+    var none = new SolveResult(SolveStatus.NO_SOLUTION, Double.NaN, Double.NaN, 1.0,
+        new double[0]);
+
+    assertEquals(optimal.getGap(), 0.0, SolveResultTest.EPSILON);
+    assertEquals(feasible.getGap(), Double.POSITIVE_INFINITY);
+    assertTrue(Double.isNaN(none.getGap()));
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.api;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the SparseLinearExpression class. Checks that duplicate terms are merged in place and
+ * that zero coefficients are dropped, both with few terms and with enough terms to use hashing.
+ */
+public class SparseLinearExpressionTest {
+
+  private static final int TERM_NUM = 1000;
+  private static final double EPSILON = 0.00000001;
+
+  private SparseLinearExpression expr;
+
+  @BeforeMethod
+  public void setUp() {
+    this.expr = new SparseLinearExpression(null);
+  }
+
+  @Test
+  public void testAddConstant() {
+    this.expr.addConstant(2.0);
+    this.expr.addConstant(-0.5);
+    assertEquals(this.expr.getConstant(), 1.5, SparseLinearExpressionTest.EPSILON);
+  }
+
+  @Test
+  public void testMergeSmallExpression() {
+    this.expr.addTerm(1.0, 3);
+    this.expr.addTerm(2.0, 5);
+    this.expr.addTerm(0.0, 7);
+    this.expr.addTerm(4.0, 3);
+
+    assertEquals(this.expr.getSize(), 2);
+    assertEquals(this.expr.getIndices()[0], 3);
+    assertEquals(this.expr.getCoefficients()[0], 5.0, SparseLinearExpressionTest.EPSILON);
+  }
+
+  @Test
+  public void testMergeLargeExpression() {
+    for (int repeat = 0; repeat < 3; repeat++) {
+      for (int j = 0; j < SparseLinearExpressionTest.TERM_NUM; j++) {
+        this.expr.addTerm(j, j);
+      }
+    }
+
+    // Index 0 only ever got zero coefficients
+    assertEquals(this.expr.getSize(), SparseLinearExpressionTest.TERM_NUM - 1);
+    for (int k = 0; k < this.expr.getSize(); k++) {
+      assertEquals(this.expr.getCoefficients()[k], 3.0 * this.expr.getIndices()[k],
+          SparseLinearExpressionTest.EPSILON);
+    }
+  }
+
+  @Test
+  public void testDropZeroCoefficients() {
+    for (int j = 0; j < SparseLinearExpressionTest.TERM_NUM; j++) {
+      this.expr.addTerm(1.0, j);
+    }
+    for (int j = 0; j < SparseLinearExpressionTest.TERM_NUM; j += 2) {
+      this.expr.addTerm(-1.0, j);
+    }
+
+    assertEquals(this.expr.getSize(), SparseLinearExpressionTest.TERM_NUM / 2);
+    assertEquals(this.expr.getIndices()[0], 1);
+
+    // Dropped terms can be added again after compaction
+    this.expr.addTerm(2.0, 0);
+    this.expr.addTerm(1.0, 1);
+    assertEquals(this.expr.getSize(), SparseLinearExpressionTest.TERM_NUM / 2 + 1);
+    assertEquals(this.expr.getCoefficients()[0], 2.0, SparseLinearExpressionTest.EPSILON);
+  }
+
+  @Test
+  public void testAddExpression() {
+    var other = new SparseLinearExpression(null);
+    other.addTerm(1.0, 0);
+    other.addTerm(-2.0, 1);
+    other.addConstant(3.0);
+
+    this.expr.addTerm(2.0, 1);
+    this.expr.add(other);
+    this.expr.add(this.expr);
+
+    assertEquals(this.expr.getSize(), 1);
+    assertEquals(this.expr.getIndices()[0], 0);
+    assertEquals(this.expr.getCoefficients()[0], 2.0, SparseLinearExpressionTest.EPSILON);
+    assertEquals(this.expr.getConstant(), 6.0, SparseLinearExpressionTest.EPSILON);
+  }
+
+  @Test
+  public void testAddExpressionWithCancelledTerm() {
+    var other = new SparseLinearExpression(null);
+    other.addTerm(1.0, 4);
+    other.addTerm(2.0, 5);
+    other.addTerm(-1.0, 4);
+
+    // The cancelled term is still stored by the other expression, which was not compacted
+    this.expr.add(other);
+
+    assertEquals(this.expr.getSize(), 1);
+    assertEquals(this.expr.getIndices()[0], 5);
+    assertEquals(this.expr.getCoefficients()[0], 2.0, SparseLinearExpressionTest.EPSILON);
+  }
+
+}
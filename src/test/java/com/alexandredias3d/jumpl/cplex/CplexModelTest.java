@@ -23,6 +23,8 @@ import static org.testng.Assert.assertTrue;
 
 import com.alexandredias3d.jumpl.api.LinearExpression;
 import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
 import com.alexandredias3d.jumpl.api.Variable;
 import ilog.concert.IloException;
 import ilog.concert.IloLinearNumExpr;
@@ -32,6 +34,7 @@ import ilog.concert.IloObjectiveSense;
 import ilog.concert.IloRange;
 import ilog.cplex.IloCplex;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -221,6 +224,37 @@ public class CplexModelTest {
       }
     }
 
+    this.assertVariables(type, names);
+  }
+
+  private void testAddVariablesInBulkUtil(IloNumVarType type, String[] names) {
+    double[] lowerBounds = new double[CplexModelTest.VAR_NUM];
+    double[] upperBounds = new double[CplexModelTest.VAR_NUM];
+    Arrays.fill(lowerBounds, this.lbs.get(type));
+    Arrays.fill(upperBounds, this.ubs.get(type));
+
+    Variable[] added = null;
+    if (IloNumVarType.Float.equals(type)) {
+      added = (names != null)
+          ? this.modelWrapper.addRealVariables(CplexModelTest.VAR_NUM, lowerBounds, upperBounds,
+          names) : this.modelWrapper.addRealVariables(CplexModelTest.VAR_NUM, lowerBounds,
+          upperBounds);
+    } else if (IloNumVarType.Int.equals(type)) {
+      added = (names != null)
+          ? this.modelWrapper.addIntegerVariables(CplexModelTest.VAR_NUM, lowerBounds, upperBounds,
+          names) : this.modelWrapper.addIntegerVariables(CplexModelTest.VAR_NUM, lowerBounds,
+          upperBounds);
+    } else if (IloNumVarType.Bool.equals(type)) {
+      added = (names != null)
+          ? this.modelWrapper.addBinaryVariables(CplexModelTest.VAR_NUM, null, null, names)
+          : this.modelWrapper.addBinaryVariables(CplexModelTest.VAR_NUM, null, null);
+    }
+    this.varWrappers.addAll(Arrays.asList(added));
+
+    this.assertVariables(type, names);
+  }
+
+  private void assertVariables(IloNumVarType type, String[] names) {
     try {
 
       // This test cannot be performed in a similar fashion to the one performed in Gurobi since the IloCplex
@@ -244,7 +278,7 @@ public class CplexModelTest {
     } catch (IloException e) {
       e.printStackTrace();
       System.err.println(
-          this.getClass().getName() + " : error in testAddVariablesUtil method for type ." + type);
+          this.getClass().getName() + " : error in assertVariables method for type ." + type);
     }
   }
 
@@ -278,10 +312,65 @@ public class CplexModelTest {
     this.testAddVariablesUtil(IloNumVarType.Bool, null);
   }
 
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddRealNamedVariables() {
+    this.testAddVariablesInBulkUtil(IloNumVarType.Float, this.varNames);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddRealUnnamedVariables() {
+    this.testAddVariablesInBulkUtil(IloNumVarType.Float, null);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddIntegerNamedVariables() {
+    this.testAddVariablesInBulkUtil(IloNumVarType.Int, this.varNames);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddIntegerUnnamedVariables() {
+    this.testAddVariablesInBulkUtil(IloNumVarType.Int, null);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddBinaryNamedVariables() {
+    this.testAddVariablesInBulkUtil(IloNumVarType.Bool, this.varNames);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddBinaryUnnamedVariables() {
+    this.testAddVariablesInBulkUtil(IloNumVarType.Bool, null);
+  }
+
   private String getConstraintName() {
     return String.format(this.constrBaseNameFormat, this.currentConstraintIndex++);
   }
 
+  @Test(groups = {"addConstraintsGroup"})
+  public void testAddConstraints() {
+    Variable[] added = this.modelWrapper.addRealVariables(CplexModelTest.VAR_NUM,
+        new double[]{0.0, 0.0}, new double[]{this.constantValue, this.constantValue});
+    int[] rowStart = {0, 2, 3};
+    int[] colIndex = {added[0].getIndex(), added[1].getIndex(), added[1].getIndex()};
+    double[] values = {this.exprCoeffs[0][0], this.exprCoeffs[0][1], this.exprCoeffs[1][0]};
+    char[] sense = {ModelData.LESS_EQUAL, ModelData.GREATER_EQUAL};
+    double[] rhs = {this.constantValue, 0.0};
+
+    this.modelWrapper.addConstraints(rowStart, colIndex, values, sense, rhs,
+        new String[]{this.getConstraintName(), this.getConstraintName()});
+    this.modelWrapper.addConstraints(rowStart, colIndex, values, sense, rhs);
+
+    // The rows are added through an IloLPMatrix, so they are checked in the model data and in the
+    // number of rows extracted by CPLEX.
+    ModelData data = this.modelWrapper.getModelData();
+    assertEquals(data.getNumberOfConstraints(), 4);
+    assertEquals(data.getNumberOfNonZeros(), 6);
+    assertEquals(data.getSense(3), ModelData.GREATER_EQUAL);
+    assertEquals(data.getRightHandSide(2), this.constantValue, CplexModelTest.EPSILON);
+    assertEquals(data.getConstraintName(2), "c0");
+    assertEquals(this.modelWrappee.getNrows(), 4);
+  }
+
   @Test(groups = {"addConstraintsGroup"})
   public void testAddEqualConstraint() {
     // Asserts addition of named equal constraints
@@ -492,10 +581,9 @@ public class CplexModelTest {
   @Test
   public void testCreateEmptyLinearExpression() {
     try {
-      assertEquals(
-          ((CplexLinearExpression) this.modelWrapper.createEmptyLinearExpression()).getWrappee()
-              .getConstant(),
-          this.modelWrappee.linearIntExpr().getConstant());
+      var expr = (SparseLinearExpression) this.modelWrapper.createEmptyLinearExpression();
+      assertEquals(expr.getSize(), 0);
+      assertEquals(expr.getConstant(), this.modelWrappee.linearIntExpr().getConstant());
     } catch (IloException e) {
       e.printStackTrace();
       System.err.println(this.getClass().getName() + ": error in testCreateLinearExpression().");
@@ -549,6 +637,22 @@ public class CplexModelTest {
     this.modelWrapper.solve();
   }
 
+  @Test(groups = {"solveProblemGroup"})
+  public void testGetVariablesValues() {
+    this.modelProblem(IloObjectiveSense.Maximize);
+    this.modelWrapper.solve();
+
+    Variable[] variables = this.varWrappers.toArray(new Variable[0]);
+    double[] values = this.modelWrapper.getVariablesValues(variables);
+    double[] filled = new double[variables.length];
+    assertTrue(this.modelWrapper.getVariablesValues(variables, filled) == filled);
+    for (int j = 0; j < variables.length; j++) {
+      double value = this.modelWrapper.getVariableValue(variables[j]);
+      assertEquals(values[j], value, CplexModelTest.EPSILON);
+      assertEquals(filled[j], value, CplexModelTest.EPSILON);
+    }
+  }
+
   @Test
   public void testGetWrappee() {
     assertNotNull(this.modelWrappee);
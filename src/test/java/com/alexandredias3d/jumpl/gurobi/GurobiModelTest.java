@@ -23,6 +23,7 @@ import static org.testng.Assert.assertTrue;
 
 import com.alexandredias3d.jumpl.api.LinearExpression;
 import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.SparseLinearExpression;
 import com.alexandredias3d.jumpl.api.Variable;
 import gurobi.GRB;
 import gurobi.GRBException;
@@ -30,6 +31,7 @@ import gurobi.GRBLinExpr;
 import gurobi.GRBModel;
 import gurobi.GRBVar;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.testng.annotations.AfterMethod;
@@ -235,6 +237,43 @@ public class GurobiModelTest {
       }
     }
 
+    this.assertVariables(type, names);
+  }
+
+  private void testAddVariablesInBulkUtil(char type, String[] names) {
+    double[] lowerBounds = new double[GurobiModelTest.VAR_NUM];
+    double[] upperBounds = new double[GurobiModelTest.VAR_NUM];
+    Arrays.fill(lowerBounds, this.lbs.get(type));
+    Arrays.fill(upperBounds, this.ubs.get(type));
+
+    Variable[] added = null;
+    switch (type) {
+      case GRB.CONTINUOUS:
+        added = (names != null)
+            ? this.modelWrapper.addRealVariables(GurobiModelTest.VAR_NUM, lowerBounds, upperBounds,
+            names) : this.modelWrapper.addRealVariables(GurobiModelTest.VAR_NUM, lowerBounds,
+            upperBounds);
+        break;
+
+      case GRB.INTEGER:
+        added = (names != null)
+            ? this.modelWrapper.addIntegerVariables(GurobiModelTest.VAR_NUM, lowerBounds,
+            upperBounds, names) : this.modelWrapper.addIntegerVariables(GurobiModelTest.VAR_NUM,
+            lowerBounds, upperBounds);
+        break;
+
+      case GRB.BINARY:
+        added = (names != null)
+            ? this.modelWrapper.addBinaryVariables(GurobiModelTest.VAR_NUM, null, null, names)
+            : this.modelWrapper.addBinaryVariables(GurobiModelTest.VAR_NUM, null, null);
+        break;
+    }
+    this.varWrappers.addAll(Arrays.asList(added));
+
+    this.assertVariables(type, names);
+  }
+
+  private void assertVariables(char type, String[] names) {
     try {
       // Updates the model
       this.modelWrappee.update();
@@ -298,6 +337,36 @@ public class GurobiModelTest {
     this.testAddVariablesUtil(GRB.BINARY, null);
   }
 
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddRealNamedVariables() {
+    this.testAddVariablesInBulkUtil(GRB.CONTINUOUS, this.varNames);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddRealUnnamedVariables() {
+    this.testAddVariablesInBulkUtil(GRB.CONTINUOUS, null);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddIntegerNamedVariables() {
+    this.testAddVariablesInBulkUtil(GRB.INTEGER, this.varNames);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddIntegerUnnamedVariables() {
+    this.testAddVariablesInBulkUtil(GRB.INTEGER, null);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddBinaryNamedVariables() {
+    this.testAddVariablesInBulkUtil(GRB.BINARY, this.varNames);
+  }
+
+  @Test(groups = {"addVariablesGroup"})
+  public void testAddBinaryUnnamedVariables() {
+    this.testAddVariablesInBulkUtil(GRB.BINARY, null);
+  }
+
   private void testConstraintsType(char[] constraintTypes, char expectedType) {
     for (char constraintType : constraintTypes) {
       assertEquals(constraintType, expectedType);
@@ -316,6 +385,38 @@ public class GurobiModelTest {
     return String.format(this.constrBaseNameFormat, this.currentConstraintIndex++);
   }
 
+  @Test(groups = {"addConstraintsGroup"})
+  public void testAddConstraints() {
+    Variable[] added = this.modelWrapper.addRealVariables(GurobiModelTest.VAR_NUM,
+        new double[]{0.0, 0.0}, new double[]{this.constantValue, this.constantValue});
+    int[] rowStart = {0, 2, 3};
+    int[] colIndex = {added[0].getIndex(), added[1].getIndex(), added[1].getIndex()};
+    double[] values = {this.exprCoeffs[0][0], this.exprCoeffs[0][1], this.exprCoeffs[1][0]};
+    char[] sense = {GRB.LESS_EQUAL, GRB.LESS_EQUAL};
+    double[] rhs = {this.constantValue, 0.0};
+
+    this.modelWrapper.addConstraints(rowStart, colIndex, values, sense, rhs,
+        new String[]{this.getConstraintName(), this.getConstraintName()});
+    this.modelWrapper.addConstraints(rowStart, colIndex, values, sense, rhs);
+
+    try {
+      GRBModel model = this.modelWrappee;
+      model.update();
+
+      assertEquals(model.get(GRB.IntAttr.NumConstrs), 4);
+      this.testConstraintsType(model.get(GRB.CharAttr.Sense, model.getConstrs()),
+          GRB.LESS_EQUAL);
+      this.testConstraintsName(model.get(GRB.StringAttr.ConstrName, model.getConstrs()));
+      double[] constrRhs = model.get(GRB.DoubleAttr.RHS, model.getConstrs());
+      for (int i = 0; i < constrRhs.length; i++) {
+        assertEquals(constrRhs[i], rhs[i % rhs.length], GurobiModelTest.EPSILON);
+      }
+    } catch (GRBException e) {
+      e.printStackTrace();
+      System.err.println(this.getClass().getName() + ": error in testAddConstraints method.");
+    }
+  }
+
   @Test(groups = {"addConstraintsGroup"})
   public void testAddEqualConstraint() {
     // Asserts addition of named equal constraints
@@ -480,10 +581,9 @@ public class GurobiModelTest {
 
   @Test
   public void testCreateEmptyLinearExpression() {
-    assertEquals(
-        ((GurobiLinearExpression) this.modelWrapper.createEmptyLinearExpression()).getWrappee()
-            .size(),
-        new GRBLinExpr().size());
+    var expr = (SparseLinearExpression) this.modelWrapper.createEmptyLinearExpression();
+    assertEquals(expr.getSize(), new GRBLinExpr().size());
+    assertEquals(expr.getConstant(), new GRBLinExpr().getConstant(), GurobiModelTest.EPSILON);
   }
 
   /**
@@ -537,6 +637,22 @@ public class GurobiModelTest {
     this.modelWrapper.solve();
   }
 
+  @Test(groups = {"solveProblemGroup"})
+  public void testGetVariablesValues() {
+    this.modelProblem(GRB.MAXIMIZE);
+    this.modelWrapper.solve();
+
+    Variable[] variables = this.varWrappers.toArray(new Variable[0]);
+    double[] values = this.modelWrapper.getVariablesValues(variables);
+    double[] filled = new double[variables.length];
+    assertTrue(this.modelWrapper.getVariablesValues(variables, filled) == filled);
+    for (int j = 0; j < variables.length; j++) {
+      double value = this.modelWrapper.getVariableValue(variables[j]);
+      assertEquals(values[j], value, GurobiModelTest.EPSILON);
+      assertEquals(filled[j], value, GurobiModelTest.EPSILON);
+    }
+  }
+
   @Test
   public void testGetWrappee() {
     assertNotNull(this.modelWrappee);
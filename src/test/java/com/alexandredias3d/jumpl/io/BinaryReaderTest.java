@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the BinaryReader class. Reads files written by the BinaryWriter, and rejects files of
+ * another version.
+ */
+public class BinaryReaderTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  @Test
+  public void testReadWrittenFile() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "x");
+    data.addVariable(-1.0, 5.0, ModelData.INTEGER, "y");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+    data.addConstraint(new int[]{0, 1, 2}, new double[]{1.0, -2.5, 0.1}, 3, ModelData.LESS_EQUAL,
+        4.0, null);
+    data.addConstraint(new int[]{2}, new double[]{1.0}, 1, ModelData.GREATER_EQUAL, 1.0, "cover");
+    data.setObjective(ModelData.MAXIMIZE, new int[]{0, 2}, new double[]{3.0, -1.0}, 2, -0.5);
+
+    var file = Files.createTempFile("jumpl", ".jmd");
+    try {
+      BinaryWriter.write(data, file);
+      ModelData read = BinaryReader.read(file);
+
+      assertEquals(read.fingerprint(), data.fingerprint());
+      assertEquals(read.getNumberOfIntegerVariables(), 2);
+      assertEquals(read.getObjectiveSense(), ModelData.MAXIMIZE);
+      assertEquals(read.getObjectiveConstant(), -0.5, EPSILON);
+      assertEquals(read.getVariableName(1), "y");
+      assertFalse(read.hasVariableName(2));
+      assertFalse(read.hasConstraintName(0));
+      assertEquals(read.getConstraintName(1), "cover");
+
+      read.addVariable(0.0, 2.0, ModelData.CONTINUOUS, "z");
+      read.addConstraint(new int[]{3, 3}, new double[]{1.0, 1.0}, 2, ModelData.EQUAL, 2.0, null);
+      assertEquals(read.getNumberOfNonZeros(), 5);
+      assertEquals(read.getValues()[4], 2.0, EPSILON);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadEmptyModel() throws IOException {
+    var file = Files.createTempFile("jumpl", ".jmd");
+    try {
+      BinaryWriter.write(new ModelData(), file);
+      ModelData read = BinaryReader.read(file);
+
+      assertEquals(read.getNumberOfVariables(), 0);
+      assertEquals(read.getNumberOfConstraints(), 0);
+      assertEquals(read.fingerprint(), new ModelData().fingerprint());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testUnsupportedVersion() throws IOException {
+    var file = Files.createTempFile("jumpl", ".jmd");
+    try {
+      BinaryWriter.write(new ModelData(), file);
+      try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        var version = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        channel.write(version.putInt(0, BinaryFormat.VERSION + 1), BinaryFormat.MAGIC.length);
+      }
+      assertThrows(IOException.class, () -> BinaryReader.read(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
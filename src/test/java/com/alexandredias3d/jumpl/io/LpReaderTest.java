@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the LpReader class. Reads a hand-written file with comments, expressions split across
+ * lines and every bound form, and files written by the LpWriter, plain and compressed.
+ */
+public class LpReaderTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  @Test
+  public void testRead() throws IOException {
+    ModelData data = read("\\ comment\n"
+        + "Maximize\n"
+        + " profit: 3 x + 2y\n"
+        + "   - z + 1.5\n"
+        + "Subject To\n"
+        + " cap: x + y + z <= 4 \\ end of row\n"
+        + " -x + 2 <= 1e1\n"
+        + " bal:\n"
+        + "  y - w = -1\n"
+        + "Bounds\n"
+        + " -1 <= y <= 5\n"
+        + " z free\n"
+        + " w >= -inf\n"
+        + " x <= 1e30\n"
+        + "Generals\n"
+        + " y\n"
+        + "Binary\n"
+        + " w\n"
+        + "End\n");
+
+    assertEquals(data.getObjectiveSense(), ModelData.MAXIMIZE);
+    assertEquals(data.getObjectiveConstant(), 1.5, EPSILON);
+    assertEquals(data.getNumberOfVariables(), 4);
+    assertEquals(data.getVariableName(3), "w");
+    assertEquals(data.getObjectiveCoefficient(1), 2.0, EPSILON);
+    assertEquals(data.getObjectiveCoefficient(2), -1.0, EPSILON);
+    assertEquals(data.getUpperBound(0), Double.POSITIVE_INFINITY);
+    assertEquals(data.getLowerBound(1), -1.0, EPSILON);
+    assertEquals(data.getUpperBound(1), 5.0, EPSILON);
+    assertEquals(data.getType(1), ModelData.INTEGER);
+    assertEquals(data.getLowerBound(2), Double.NEGATIVE_INFINITY);
+    assertEquals(data.getType(3), ModelData.BINARY);
+    assertEquals(data.getLowerBound(3), 0.0, EPSILON);
+    assertEquals(data.getUpperBound(3), 1.0, EPSILON);
+
+    assertEquals(data.getNumberOfConstraints(), 3);
+    assertEquals(data.getConstraintName(0), "cap");
+    assertNull(data.getConstraintName(1));
+    assertEquals(data.getSense(1), ModelData.LESS_EQUAL);
+    assertEquals(data.getRightHandSide(1), 8.0, EPSILON);
+    assertEquals(data.getValues()[3], -1.0, EPSILON);
+    assertEquals(data.getSense(2), ModelData.EQUAL);
+    assertEquals(data.getRightHandSide(2), -1.0, EPSILON);
+    assertEquals(data.getColumnIndices()[5], 3);
+  }
+
+  @Test
+  public void testReadWrittenFile() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "x");
+    data.addVariable(-1.0, 5.0, ModelData.INTEGER, "y");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+    data.addVariable(Double.NEGATIVE_INFINITY, 2.0, ModelData.CONTINUOUS, null);
+    data.addConstraint(new int[]{0, 1, 3}, new double[]{1.0, -2.5, 0.1}, 3, ModelData.LESS_EQUAL,
+        4.0, "cap");
+    data.addConstraint(new int[]{2}, new double[]{1.0}, 1, ModelData.GREATER_EQUAL, 1.0, null);
+    data.setObjective(ModelData.MINIMIZE, new int[]{0, 1, 2, 3}, new double[]{3.0, 1, -1.0, 2},
+        4, -0.5);
+
+    var file = Files.createTempFile("jumpl", ".lp");
+    try {
+      LpWriter.write(data, file);
+      ModelData read = LpReader.read(file);
+
+      assertEquals(read.fingerprint(), data.fingerprint());
+      assertEquals(read.getObjectiveConstant(), -0.5, EPSILON);
+      assertEquals(read.getVariableName(2), "x2");
+      assertEquals(read.getConstraintName(1), "c1");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadIsolatedVariable() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "x");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, "y");
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "slack");
+    data.addConstraint(new int[]{0, 1}, new double[]{1.0, 2.0}, 2, ModelData.LESS_EQUAL, 3.0,
+        null);
+    data.setObjective(ModelData.MAXIMIZE, new int[]{0}, new double[]{1.0}, 1, 0.0);
+
+    for (String suffix : new String[]{".lp", ".lp.gz"}) {
+      var file = Files.createTempFile("jumpl", suffix);
+      try {
+        LpWriter.write(data, file);
+        ModelData read = LpReader.read(file);
+
+        assertEquals(read.getNumberOfVariables(), 3);
+        assertEquals(read.getVariableName(2), "slack");
+        assertEquals(read.fingerprint(), data.fingerprint());
+      } finally {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Test
+  public void testReadCompressedFile() throws IOException {
+    var data = new ModelData();
+    int n = 20000;
+    for (int j = 0; j < n; j++) {
+      data.addVariable(0.0, j % 10 + 1.0, (j % 3 == 0) ? ModelData.INTEGER : ModelData.CONTINUOUS,
+          null);
+      data.setObjectiveCoefficient(j, j % 5 + 1.0);
+    }
+    for (int i = 0; i < n; i++) {
+      data.addConstraint(new int[]{i, (7 * i + 1) % n, (13 * i + 5) % n},
+          new double[]{1.0, -0.5 * i, 2.25}, 3, ModelData.LESS_EQUAL, i, null);
+    }
+    data.setObjectiveSense(ModelData.MAXIMIZE);
+
+    var file = Files.createTempFile("jumpl", ".lp.gz");
+    try {
+      LpWriter.write(data, file);
+      byte[] magic = new byte[2];
+      try (var in = Files.newInputStream(file)) {
+        assertEquals(in.read(magic), 2);
+      }
+      assertEquals(magic, new byte[]{(byte) 0x1f, (byte) 0x8b});
+
+      assertEquals(LpReader.read(file).fingerprint(), data.fingerprint());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadCompressedFileInDirectory() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, 4.0, ModelData.INTEGER, "x");
+    data.addVariable(1.0, 2.0, ModelData.CONTINUOUS, "y");
+    data.setObjectiveCoefficient(0, 1.0);
+    data.setObjectiveCoefficient(1, 2.0);
+    data.addConstraint(new int[]{0, 1}, new double[]{1.0, 1.0}, 2, ModelData.LESS_EQUAL, 5.0,
+        "c");
+
+    var directory = Files.createTempDirectory("jumpl");
+    var file = directory.resolve("model.lp.gz");
+    try {
+      LpWriter.write(data, file);
+      assertEquals(LpReader.read(file, directory).fingerprint(), data.fingerprint());
+
+      // The decompressed copy is deleted once the file is read
+      try (var files = Files.list(directory)) {
+        assertEquals(files.count(), 1L);
+      }
+    } finally {
+      Files.delete(file);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testReadNonAsciiNames() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, 10.0, ModelData.INTEGER, "preço");
+    data.addVariable(0.0, 5.0, ModelData.CONTINUOUS, "größe");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, "\uD83D\uDE00");
+    data.addConstraint(new int[]{0, 1, 2}, new double[]{1.0, 2.0, 3.0}, 3, ModelData.LESS_EQUAL,
+        8.0, "capacité");
+    data.addConstraint(new int[]{0, 2}, new double[]{1.0, -1.0}, 2, ModelData.GREATER_EQUAL, 0.0,
+        "равенство");
+    data.setObjective(ModelData.MAXIMIZE, new int[]{0, 1, 2}, new double[]{1.0, 1.0, 1.0}, 3,
+        0.0);
+
+    var file = Files.createTempFile("jumpl", ".lp");
+    try {
+      LpWriter.write(data, file);
+      ModelData read = LpReader.read(file);
+
+      assertEquals(read.fingerprint(), data.fingerprint());
+      assertEquals(read.getVariableName(0), "preço");
+      assertEquals(read.getVariableName(1), "größe");
+      assertEquals(read.getVariableName(2), "\uD83D\uDE00");
+      assertEquals(read.getConstraintName(0), "capacité");
+      assertEquals(read.getConstraintName(1), "равенство");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testQuadraticObjective() {
+    assertThrows(IOException.class, () -> read("Minimize\n obj: [ x ^ 2 ] / 2\nEnd\n"));
+  }
+
+  private static ModelData read(String text) throws IOException {
+    Path file = Files.createTempFile("jumpl", ".lp");
+    try {
+      Files.writeString(file, text, StandardCharsets.US_ASCII);
+      return LpReader.read(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
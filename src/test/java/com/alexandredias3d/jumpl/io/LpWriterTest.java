@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import static org.testng.Assert.assertEquals;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the LpWriter class. Checks the text written for a small model with every type of
+ * variable and constraint sense.
+ */
+public class LpWriterTest {
+
+  @Test
+  public void testWrite() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "x");
+    data.addVariable(-1.0, 5.0, ModelData.INTEGER, "y");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+    data.addConstraint(new int[]{0, 1}, new double[]{1.0, -2.5}, 2, ModelData.LESS_EQUAL, 4.0,
+        "cap");
+    data.addConstraint(new int[]{2}, new double[]{1.0}, 1, ModelData.GREATER_EQUAL, 1.0, null);
+    data.setObjective(ModelData.MAXIMIZE, new int[]{0, 2}, new double[]{3.0, -1.0}, 2, 2.0);
+
+    var writer = new StringWriter();
+    LpWriter.write(data, writer);
+
+    assertEquals(writer.toString().replace(System.lineSeparator(), "\n"), "Maximize\n"
+        + " obj: + 3 x - 1 x2 + 2\n"
+        + "Subject To\n"
+        + " cap: + 1 x - 2.5 y <= 4\n"
+        + " c1: + 1 x2 >= 1\n"
+        + "Bounds\n"
+        + " -1 <= y <= 5\n"
+        + "Generals\n"
+        + " y\n"
+        + "Binaries\n"
+        + " x2\n"
+        + "End\n");
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the MpsReader class. Reads a hand-written file with every section and bound type, and
+ * a file written by the MpsWriter.
+ */
+public class MpsReaderTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  @Test
+  public void testRead() throws IOException {
+    ModelData data = read("NAME test\n"
+        + "OBJSENSE MAX\n"
+        + "ROWS\n"
+        + "* comment\n"
+        + " N obj\n"
+        + " L cap\n"
+        + " E bal\n"
+        + " N other\n"
+        + "COLUMNS\n"
+        + " x obj 3 cap 1\n"
+        + " x other 9\n"
+        + " MARKER 'MARKER' 'INTORG'\n"
+        + " y cap -2.5 bal 1.25e1\n"
+        + " MARKER 'MARKER' 'INTEND'\n"
+        + " z bal -1\n"
+        + "RHS\n"
+        + " RHS obj -2 cap 4\n"
+        + " bal 1\n"
+        + "RANGES\n"
+        + " RNG bal -3\n"
+        + "BOUNDS\n"
+        + " UP BND y 5\n"
+        + " UP BND z -1\n"
+        + " BV x\n"
+        + "ENDATA\n");
+
+    assertEquals(data.getObjectiveSense(), ModelData.MAXIMIZE);
+    assertEquals(data.getObjectiveConstant(), 2.0, EPSILON);
+    assertEquals(data.getNumberOfVariables(), 3);
+    assertEquals(data.getVariableName(1), "y");
+    assertEquals(data.getType(0), ModelData.BINARY);
+    assertEquals(data.getType(1), ModelData.INTEGER);
+    assertEquals(data.getType(2), ModelData.CONTINUOUS);
+    assertEquals(data.getObjectiveCoefficient(0), 3.0, EPSILON);
+    assertEquals(data.getUpperBound(0), 1.0, EPSILON);
+    assertEquals(data.getUpperBound(1), 5.0, EPSILON);
+    assertEquals(data.getLowerBound(2), Double.NEGATIVE_INFINITY);
+    assertEquals(data.getUpperBound(2), -1.0, EPSILON);
+
+    assertEquals(data.getNumberOfConstraints(), 3);
+    assertEquals(data.getConstraintName(0), "cap");
+    assertEquals(data.getSense(0), ModelData.LESS_EQUAL);
+    assertEquals(data.getRightHandSide(0), 4.0, EPSILON);
+    assertEquals(data.getValues()[1], -2.5, EPSILON);
+    assertEquals(data.getSense(1), ModelData.LESS_EQUAL);
+    assertEquals(data.getRightHandSide(1), 1.0, EPSILON);
+    assertEquals(data.getValues()[2], 12.5, EPSILON);
+    assertEquals(data.getConstraintName(2), "bal_range");
+    assertEquals(data.getSense(2), ModelData.GREATER_EQUAL);
+    assertEquals(data.getRightHandSide(2), -2.0, EPSILON);
+    assertEquals(data.getRowStart()[3] - data.getRowStart()[2], 2);
+  }
+
+  @Test
+  public void testReadWrittenFile() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "x");
+    data.addVariable(-1.0, 5.0, ModelData.INTEGER, "y");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+    data.addVariable(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS,
+        null);
+    data.addConstraint(new int[]{0, 1, 3}, new double[]{1.0, -2.5, 0.1}, 3, ModelData.LESS_EQUAL,
+        4.0, "cap");
+    data.addConstraint(new int[]{2}, new double[]{1.0}, 1, ModelData.GREATER_EQUAL, 1.0, null);
+    data.setObjective(ModelData.MINIMIZE, new int[]{0, 2}, new double[]{3.0, -1.0}, 2, -0.5);
+
+    var file = Files.createTempFile("jumpl", ".mps");
+    try {
+      MpsWriter.write(data, file);
+      ModelData read = MpsReader.read(file);
+
+      assertEquals(read.fingerprint(), data.fingerprint());
+      assertEquals(read.getObjectiveConstant(), -0.5, EPSILON);
+      assertEquals(read.getVariableName(3), "x3");
+      assertEquals(read.getConstraintName(1), "c1");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testReadNonAsciiNames() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, 10.0, ModelData.INTEGER, "preço");
+    data.addVariable(0.0, 5.0, ModelData.CONTINUOUS, "größe");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, "\uD83D\uDE00");
+    data.addConstraint(new int[]{0, 1, 2}, new double[]{1.0, 2.0, 3.0}, 3, ModelData.LESS_EQUAL,
+        8.0, "capacité");
+    data.addConstraint(new int[]{0, 2}, new double[]{1.0, -1.0}, 2, ModelData.GREATER_EQUAL, 0.0,
+        "равенство");
+    data.setObjective(ModelData.MAXIMIZE, new int[]{0, 1, 2}, new double[]{1.0, 1.0, 1.0}, 3,
+        0.0);
+
+    var file = Files.createTempFile("jumpl", ".mps");
+    try {
+      MpsWriter.write(data, file);
+      ModelData read = MpsReader.read(file);
+
+      assertEquals(read.fingerprint(), data.fingerprint());
+      assertEquals(read.getVariableName(0), "preço");
+      assertEquals(read.getVariableName(1), "größe");
+      assertEquals(read.getVariableName(2), "\uD83D\uDE00");
+      assertEquals(read.getConstraintName(0), "capacité");
+      assertEquals(read.getConstraintName(1), "равенство");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testUnknownRow() {
+    assertThrows(IOException.class, () -> read("ROWS\n N obj\nCOLUMNS\n x cap 1\nENDATA\n"));
+  }
+
+  @Test
+  public void testCorruptCompressedFile() throws IOException {
+    Path file = Files.createTempFile("jumpl", ".mps.gz");
+    try {
+      Files.writeString(file, "ROWS\n N obj\nENDATA\n", StandardCharsets.US_ASCII);
+      assertThrows(IOException.class, () -> MpsReader.read(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static ModelData read(String text) throws IOException {
+    Path file = Files.createTempFile("jumpl", ".mps");
+    try {
+      Files.writeString(file, text, StandardCharsets.US_ASCII);
+      return MpsReader.read(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
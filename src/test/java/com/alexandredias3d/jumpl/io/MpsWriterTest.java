@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import static org.testng.Assert.assertEquals;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the MpsWriter class. Checks the text written for small models with every type of
+ * variable, bound and constraint sense.
+ */
+public class MpsWriterTest {
+
+  @Test
+  public void testWrite() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS, "x");
+    data.addVariable(-1.0, 5.0, ModelData.INTEGER, "y");
+    data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+    data.addConstraint(new int[]{0, 1}, new double[]{1.0, -2.5}, 2, ModelData.LESS_EQUAL, 4.0,
+        "cap");
+    data.addConstraint(new int[]{2}, new double[]{1.0}, 1, ModelData.GREATER_EQUAL, 1.0, null);
+    data.setObjective(ModelData.MAXIMIZE, new int[]{0, 2}, new double[]{3.0, -1.0}, 2, 2.0);
+
+    var writer = new StringWriter();
+    MpsWriter.write(data, writer);
+
+    assertEquals(writer.toString(), "NAME jumpl\n"
+        + "OBJSENSE\n"
+        + "    MAX\n"
+        + "ROWS\n"
+        + " N obj\n"
+        + " L cap\n"
+        + " G c1\n"
+        + "COLUMNS\n"
+        + " x obj 3\n"
+        + " x cap 1\n"
+        + " MARKER 'MARKER' 'INTORG'\n"
+        + " y cap -2.5\n"
+        + " x2 obj -1\n"
+        + " x2 c1 1\n"
+        + " MARKER 'MARKER' 'INTEND'\n"
+        + "RHS\n"
+        + " RHS obj -2\n"
+        + " RHS cap 4\n"
+        + " RHS c1 1\n"
+        + "BOUNDS\n"
+        + " LO BND y -1\n"
+        + " UP BND y 5\n"
+        + " BV BND x2\n"
+        + "ENDATA\n");
+  }
+
+  @Test
+  public void testWriteFile() throws IOException {
+    var data = new ModelData();
+    data.addVariable(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, ModelData.CONTINUOUS,
+        null);
+    data.addVariable(0.0, Double.POSITIVE_INFINITY, ModelData.INTEGER, null);
+    data.addVariable(Double.NEGATIVE_INFINITY, 0.5, ModelData.CONTINUOUS, null);
+    data.addVariable(2.0, 2.0, ModelData.CONTINUOUS, null);
+    data.addConstraint(new int[]{2, 0}, new double[]{0.25, 1.0}, 2, ModelData.EQUAL, 0.0, null);
+    data.setObjective(ModelData.MINIMIZE, new int[]{1}, new double[]{1.0}, 1, 0.0);
+
+    var file = Files.createTempFile("jumpl", ".mps");
+    try {
+      MpsWriter.write(data, file);
+      assertEquals(Files.readString(file, StandardCharsets.US_ASCII), "NAME jumpl\n"
+          + "ROWS\n"
+          + " N obj\n"
+          + " E c0\n"
+          + "COLUMNS\n"
+          + " x0 c0 1\n"
+          + " MARKER 'MARKER' 'INTORG'\n"
+          + " x1 obj 1\n"
+          + " MARKER 'MARKER' 'INTEND'\n"
+          + " x2 c0 0.25\n"
+          + " x3 obj 0\n"
+          + "RHS\n"
+          + "BOUNDS\n"
+          + " FR BND x0\n"
+          + " PL BND x1\n"
+          + " MI BND x2\n"
+          + " UP BND x2 0.5\n"
+          + " FX BND x3 2\n"
+          + "ENDATA\n");
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
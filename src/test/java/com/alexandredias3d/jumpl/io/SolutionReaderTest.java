@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the SolutionReader class. Reads text solutions by name into a model that differs from
+ * the one that was solved, and binary solutions by index, as written by the SolutionWriter.
+ */
+public class SolutionReaderTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  @Test
+  public void testReadText() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, 1.0, ModelData.BINARY, "open");
+    data.addVariable(0.0, 10.0, ModelData.CONTINUOUS, null);
+    data.addVariable(0.0, 10.0, ModelData.INTEGER, "extra");
+
+    double[] values = read(data, "# Objective value = 12\n"
+        + "\n"
+        + "x1 2.5\n"
+        + "gone 7\n"
+        + "open 1\n");
+
+    assertEquals(values[0], 1.0, EPSILON);
+    assertEquals(values[1], 2.5, EPSILON);
+    assertTrue(Double.isNaN(values[2]));
+  }
+
+  @Test
+  public void testReadNonAsciiNames() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, 10.0, ModelData.INTEGER, "preço");
+    data.addVariable(0.0, 5.0, ModelData.CONTINUOUS, "größe");
+
+    double[] values = read(data, "größe 1.5\npreço 3\n");
+
+    assertEquals(values, new double[]{3.0, 1.5}, EPSILON);
+  }
+
+  @Test
+  public void testMalformedLine() {
+    var data = new ModelData();
+    data.addVariable(0.0, 1.0, ModelData.BINARY, "open");
+    assertThrows(IOException.class, () -> read(data, "open 1 2\n"));
+  }
+
+  @Test
+  public void testReadWrittenFiles() throws IOException {
+    var data = new ModelData();
+    data.addVariable(0.0, 1.0, ModelData.BINARY, "open");
+    data.addVariable(Double.NEGATIVE_INFINITY, 10.0, ModelData.CONTINUOUS, null);
+    data.addVariable(0.0, 10.0, ModelData.INTEGER, null);
+    double[] solution = {1.0, -0.1, 3.0};
+
+    for (String extension : new String[]{".sol", ".sol.gz", ".jsol"}) {
+      var file = Files.createTempFile("jumpl", extension);
+      try {
+        SolutionWriter.write(data, solution, 2.9, file);
+        double[] values = SolutionReader.read(data, file);
+
+        assertEquals(values, solution, EPSILON);
+      } finally {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private static double[] read(ModelData data, String text) throws IOException {
+    Path file = Files.createTempFile("jumpl", ".sol");
+    try {
+      Files.writeString(file, text, StandardCharsets.UTF_8);
+      return SolutionReader.read(data, file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+}
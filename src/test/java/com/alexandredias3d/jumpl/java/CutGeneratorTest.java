@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.alexandredias3d.jumpl.api.DoubleParameter;
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.util.Random;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the CutGenerator. Separates cuts from the relaxation of a two-dimensional knapsack
+ * problem, small enough to enumerate, and checks that no integer solution is cut off while the
+ * objective bound gets tighter.
+ */
+public class CutGeneratorTest {
+
+  private static final int ITEMS = 12;
+  private static final double CAPACITY = 250.0;
+  private static final double EPSILON = 0.000001;
+
+  private ModelData data;
+  private double relaxationBound;
+  private double optimum;
+
+  @BeforeMethod
+  public void setUpCutGenerator() {
+    var random = new Random(4);
+    this.data = new ModelData();
+    for (int j = 0; j < CutGeneratorTest.ITEMS; j++) {
+      this.data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+      this.data.setObjectiveCoefficient(j, 10 + random.nextInt(90));
+    }
+    this.data.setObjectiveSense(ModelData.MAXIMIZE);
+    for (int i = 0; i < 2; i++) {
+      for (int j = 0; j < CutGeneratorTest.ITEMS; j++) {
+        this.data.addTerm(j, 10 + random.nextInt(90));
+      }
+      this.data.addConstraint(ModelData.LESS_EQUAL, CutGeneratorTest.CAPACITY, null);
+    }
+
+    var root = new RevisedSimplex(new LinearProgram(this.data));
+    assertEquals(root.solve(), SolveStatus.OPTIMAL);
+    this.relaxationBound = root.getObjectiveValue();
+    this.optimum = Double.NEGATIVE_INFINITY;
+    for (int subset = 0; subset < (1 << CutGeneratorTest.ITEMS); subset++) {
+      if (isFeasible(this.data, 2, subset)) {
+        this.optimum = Math.max(this.optimum, value(subset));
+      }
+    }
+  }
+
+  private double value(int subset) {
+    double value = 0.0;
+    for (int j = 0; j < CutGeneratorTest.ITEMS; j++) {
+      if ((subset & (1 << j)) != 0) {
+        value += this.data.getObjectiveCoefficient(j);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Checks whether the items of the subset satisfy the first rows of the model data.
+   */
+  private static boolean isFeasible(ModelData model, int rows, int subset) {
+    int[] rowStart = model.getRowStart();
+    for (int i = 0; i < rows; i++) {
+      double activity = 0.0;
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        if ((subset & (1 << model.getColumnIndices()[k])) != 0) {
+          activity += model.getValues()[k];
+        }
+      }
+      if (activity > model.getRightHandSide(i) + CutGeneratorTest.EPSILON) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Separates cuts of the given types and checks that they are valid and tighten the bound.
+   */
+  private void assertValidCuts(CutType... types) {
+    var generator = new CutGenerator(this.data);
+    generator.setCutTypes(types);
+    int cuts = generator.separate();
+    assertEquals(generator.getNumberOfCuts(), cuts);
+    assertTrue(cuts > 0);
+    assertTrue(generator.getObjectiveBound() < this.relaxationBound - CutGeneratorTest.EPSILON);
+    assertTrue(generator.getObjectiveBound() >= this.optimum - CutGeneratorTest.EPSILON);
+
+    var model = new JavaModel();
+    model.load(this.data);
+    generator.addCuts(model);
+    ModelData tightened = model.getModelData();
+    assertEquals(tightened.getNumberOfConstraints(), 2 + cuts);
+    for (int subset = 0; subset < (1 << CutGeneratorTest.ITEMS); subset++) {
+      if (isFeasible(this.data, 2, subset)) {
+        assertTrue(isFeasible(tightened, 2 + cuts, subset));
+      }
+    }
+  }
+
+  @Test
+  public void testGomoryCuts() {
+    assertValidCuts(CutType.GOMORY);
+  }
+
+  @Test
+  public void testKnapsackCoverCuts() {
+    assertValidCuts(CutType.KNAPSACK_COVER);
+  }
+
+  @Test
+  public void testMirCuts() {
+    assertValidCuts(CutType.MIR);
+  }
+
+  @Test
+  public void testCutsOnCopy() {
+    var generator = new CutGenerator(this.data);
+    int cuts = generator.separate();
+    var tightened = this.data.copy();
+    generator.addCuts(tightened);
+    assertEquals(tightened.getNumberOfConstraints(), 2 + cuts);
+    assertEquals(this.data.getNumberOfConstraints(), 2);
+    for (int subset = 0; subset < (1 << CutGeneratorTest.ITEMS); subset++) {
+      if (isFeasible(this.data, 2, subset)) {
+        assertTrue(isFeasible(tightened, 2 + cuts, subset));
+      }
+    }
+  }
+
+  @Test
+  public void testOptimumWithCuts() {
+    var model = new JavaModel();
+    model.load(this.data);
+    model.setCuts(true);
+    model.setParameter(DoubleParameter.RELATIVE_MIP_GAP, 0.0);
+    model.solve();
+    assertEquals(model.getModelData().getNumberOfConstraints(), 2);
+    assertEquals(model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(model.getObjectiveFunctionValue(), this.optimum, CutGeneratorTest.EPSILON);
+  }
+
+}
@@ -0,0 +1,684 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.alexandredias3d.jumpl.api.DoubleParameter;
+import com.alexandredias3d.jumpl.api.ExportPolicy;
+import com.alexandredias3d.jumpl.api.IntParameter;
+import com.alexandredias3d.jumpl.api.LinearExpression;
+import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.SolveResult;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import com.alexandredias3d.jumpl.api.Variable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the JavaModel. Solves small linear programs whose optimal solutions are known and
+ * checks the status reported for infeasible and unbounded ones.
+ */
+public class JavaModelTest {
+
+  private static final double EPSILON = 0.000001;
+
+  private Model model;
+
+  @BeforeMethod
+  public void setUpJavaModel() {
+    this.model = new JavaModel();
+  }
+
+  private LinearExpression expression(double[] coefficients, Variable... variables) {
+    LinearExpression expr = this.model.createEmptyLinearExpression();
+    for (int j = 0; j < variables.length; j++) {
+      expr.addTerm(coefficients[j], variables[j]);
+    }
+    return expr;
+  }
+
+  @Test
+  public void testSolveMaximizationProblem() {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "x");
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "y");
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 8);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 1}, x, y), 6);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{16, 10}, x, y));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), 52.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(x), 2.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(y), 2.0, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testImportModel() throws IOException {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "x");
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "y");
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 8);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 1}, x, y), 6);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{16, 10}, x, y));
+
+    for (String extension : new String[]{".lp", ".mps", ".jmd", ".mps.gz"}) {
+      Path file = Files.createTempFile("jumpl", extension);
+      try {
+        this.model.exportModel(file.toString());
+        var imported = new JavaModel();
+        Variable[] variables = imported.importModel(file.toString());
+        imported.solve();
+
+        assertEquals(imported.getSolveStatus(), SolveStatus.OPTIMAL);
+        assertEquals(imported.getObjectiveFunctionValue(), 52.0, JavaModelTest.EPSILON);
+        assertEquals(imported.getVariableValue(variables[1]), 2.0, JavaModelTest.EPSILON);
+      } finally {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Test
+  public void testResolveAfterBoundChange() {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "x");
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "y");
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 8);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 1}, x, y), 6);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{16, 10}, x, y));
+    this.model.solve();
+    assertNotNull(((JavaModel) this.model).getBasis());
+
+    x.setUpperBound(1);
+    this.model.solve();
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), 46.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(x), 1.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(y), 3.0, JavaModelTest.EPSILON);
+
+    y.setLowerBound(5);
+    this.model.solve();
+    assertEquals(this.model.getSolveStatus(), SolveStatus.INFEASIBLE);
+  }
+
+  @Test
+  public void testSetBasis() {
+    var other = new JavaModel();
+    for (JavaModel lp : new JavaModel[]{(JavaModel) this.model, other}) {
+      Variable x = lp.addRealVariable(0, Double.POSITIVE_INFINITY);
+      Variable y = lp.addRealVariable(0, Double.POSITIVE_INFINITY);
+      LinearExpression first = lp.createEmptyLinearExpression();
+      first.addTerm(2, x);
+      first.addTerm(2, y);
+      lp.addLessEqualConstraint(first, 8);
+      LinearExpression second = lp.createEmptyLinearExpression();
+      second.addTerm(2, x);
+      second.addTerm(1, y);
+      lp.addLessEqualConstraint(second, 6);
+      LinearExpression objective = lp.createEmptyLinearExpression();
+      objective.addTerm(16, x);
+      objective.addTerm(10, y);
+      lp.setObjectiveFunctionMaximize(objective);
+    }
+    this.model.solve();
+    Basis basis = ((JavaModel) this.model).getBasis();
+    assertEquals(basis.getNumberOfRows(), 2);
+    assertEquals(basis.getNumberOfColumns(), 2);
+    assertTrue(basis.isBasic(0) && basis.isBasic(1));
+
+    other.setBasis(basis);
+    other.solve();
+    assertEquals(other.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(other.getObjectiveFunctionValue(), 52.0, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testSolveByBarrier() {
+    ((JavaModel) this.model).setLpAlgorithm(LpAlgorithm.BARRIER);
+    Variable x = this.model.addRealVariable(1, 3);
+    Variable y = this.model.addRealVariable(Double.NEGATIVE_INFINITY, 10);
+    Variable z = this.model.addRealVariable(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    this.model.addEqualConstraint(expression(new double[]{1, 1}, x, y), 5);
+    this.model.addEqualConstraint(z, x);
+    this.model.setObjectiveFunctionMinimize(expression(new double[]{1, -1, 1}, x, y, z));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), -2.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(x), 1.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(y), 4.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(z), 1.0, JavaModelTest.EPSILON);
+    assertNotNull(((JavaModel) this.model).getBasis());
+  }
+
+  @Test
+  public void testSolveByBarrierWithoutCrossover() {
+    ((JavaModel) this.model).setLpAlgorithm(LpAlgorithm.BARRIER);
+    ((JavaModel) this.model).setCrossover(false);
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "x");
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "y");
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 8);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 1}, x, y), 6);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{16, 10}, x, y));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), 52.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(x), 2.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(y), 2.0, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testSolveMinimizationProblem() {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY);
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY);
+    this.model.addGreaterEqualConstraint(expression(new double[]{1, 2}, x, y), 4);
+    this.model.addGreaterEqualConstraint(expression(new double[]{3, 1}, x, y), 6);
+    LinearExpression objective = expression(new double[]{1, 1}, x, y);
+    objective.addConstant(1);
+    this.model.setObjectiveFunctionMinimize(objective);
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), 3.8, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(x), 1.6, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(y), 1.2, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testSolveBoundedProblem() {
+    Variable x = this.model.addRealVariable(1, 3);
+    Variable y = this.model.addRealVariable(Double.NEGATIVE_INFINITY, 10);
+    Variable z = this.model.addRealVariable(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    this.model.addEqualConstraint(expression(new double[]{1, 1}, x, y), 5);
+    this.model.addEqualConstraint(z, x);
+    this.model.setObjectiveFunctionMinimize(expression(new double[]{1, -1, 1}, x, y, z));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), -2.0, JavaModelTest.EPSILON);
+    double[] values = this.model.getSolveResult().getValues();
+    assertEquals(values[x.getIndex()], 1.0, JavaModelTest.EPSILON);
+    assertEquals(values[y.getIndex()], 4.0, JavaModelTest.EPSILON);
+    assertEquals(values[z.getIndex()], 1.0, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testSolveAssignmentProblem() {
+    int n = 7;
+    var random = new Random(7);
+    var cost = new double[n][n];
+    var assign = new Variable[n][n];
+    LinearExpression objective = this.model.createEmptyLinearExpression();
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        cost[i][j] = random.nextInt(100);
+        assign[i][j] = this.model.addRealVariable(0, 1);
+        objective.addTerm(cost[i][j], assign[i][j]);
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      LinearExpression row = this.model.createEmptyLinearExpression();
+      LinearExpression column = this.model.createEmptyLinearExpression();
+      for (int j = 0; j < n; j++) {
+        row.addTerm(1, assign[i][j]);
+        column.addTerm(1, assign[j][i]);
+      }
+      this.model.addEqualConstraint(row, 1);
+      this.model.addEqualConstraint(column, 1);
+    }
+    this.model.setObjectiveFunctionMinimize(objective);
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), bestAssignment(cost, 0, new boolean[n]),
+        JavaModelTest.EPSILON);
+  }
+
+  /**
+   * Finds the cost of the best assignment of the remaining rows by enumeration.
+   */
+  private static double bestAssignment(double[][] cost, int row, boolean[] used) {
+    if (row == cost.length) {
+      return 0.0;
+    }
+    double best = Double.POSITIVE_INFINITY;
+    for (int j = 0; j < cost.length; j++) {
+      if (!used[j]) {
+        used[j] = true;
+        best = Math.min(best, cost[row][j] + bestAssignment(cost, row + 1, used));
+        used[j] = false;
+      }
+    }
+    return best;
+  }
+
+  @Test
+  public void testSolveInfeasibleProblem() {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY);
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY);
+    this.model.addLessEqualConstraint(expression(new double[]{1, 1}, x, y), 1);
+    this.model.addGreaterEqualConstraint(expression(new double[]{1, 1}, x, y), 2);
+    this.model.setObjectiveFunctionMinimize(expression(new double[]{1, 1}, x, y));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.INFEASIBLE);
+    try {
+      this.model.getVariableValue(x);
+      fail();
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().contains("no solution"));
+    }
+    try {
+      this.model.getVariablesValues(new Variable[]{x, y});
+      fail();
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().contains("no solution"));
+    }
+  }
+
+  @Test
+  public void testSolveUnboundedProblem() {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY);
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY);
+    this.model.addLessEqualConstraint(expression(new double[]{1, -1}, x, y), 1);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{1, 0}, x, y));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.UNBOUNDED);
+  }
+
+  @Test
+  public void testTerminateBeforeSolve() {
+    Variable x = this.model.addRealVariable(0, 1);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{1}, x));
+    this.model.terminate();
+    this.model.solve();
+    assertEquals(this.model.getSolveStatus(), SolveStatus.NO_SOLUTION);
+
+    this.model.solve();
+    assertEquals(this.model.getObjectiveFunctionValue(), 1.0, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testSolveAsync() throws InterruptedException, ExecutionException {
+    Variable x = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "x");
+    Variable y = this.model.addRealVariable(0, Double.POSITIVE_INFINITY, "y");
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 8);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 1}, x, y), 6);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{16, 10}, x, y));
+
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      SolveResult result = this.model.solveAsync(executor).get();
+      assertEquals(result.getStatus(), SolveStatus.OPTIMAL);
+      assertEquals(result.getObjectiveValue(), 52.0, JavaModelTest.EPSILON);
+      assertEquals(result.getValues(), new double[]{2.0, 2.0}, JavaModelTest.EPSILON);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSolveAsyncFailure() throws InterruptedException {
+    var failure = new IllegalStateException("solver failure");
+    this.model = new JavaModel() {
+      @Override
+      public void solve() {
+        throw failure;
+      }
+    };
+
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<SolveResult> future = this.model.solveAsync(executor);
+      try {
+        future.get();
+        fail();
+      } catch (ExecutionException e) {
+        assertSame(e.getCause(), failure);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCancelSolveAsync() throws InterruptedException {
+    var started = new CountDownLatch(1);
+    var terminated = new CountDownLatch(1);
+    this.model = new JavaModel() {
+      @Override
+      public void solve() {
+        started.countDown();
+        try {
+          terminated.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.solve();
+      }
+
+      @Override
+      public void terminate() {
+        super.terminate();
+        terminated.countDown();
+      }
+    };
+    Variable x = this.model.addRealVariable(0, 1);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{1}, x));
+
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<SolveResult> future = this.model.solveAsync(executor);
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      assertTrue(future.cancel(true));
+      assertEquals(terminated.getCount(), 0L);
+      assertTrue(future.isCancelled());
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    // The terminated optimization was skipped, and the next one is not
+    assertEquals(this.model.getSolveStatus(), SolveStatus.NO_SOLUTION);
+    this.model.solve();
+    assertEquals(this.model.getObjectiveFunctionValue(), 1.0, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testCancelSolveAsyncBeforeStart() throws InterruptedException {
+    Variable x = this.model.addRealVariable(0, 1);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{1}, x));
+
+    var executor = Executors.newSingleThreadExecutor();
+    var blocker = new CountDownLatch(1);
+    try {
+      executor.execute(() -> {
+        try {
+          blocker.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      Future<SolveResult> future = this.model.solveAsync(executor);
+      assertTrue(future.cancel(true));
+      blocker.countDown();
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    // A cancellation before the optimization has started does not terminate the model
+    this.model.solve();
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), 1.0, JavaModelTest.EPSILON);
+  }
+
+  /**
+   * Builds a model that writes itself to the given file, feasible or not.
+   */
+  private void buildExportedModel(Path file, boolean feasible) {
+    this.model = new JavaModel(file.toString());
+    Variable x = this.model.addRealVariable(0, 1, "x");
+    this.model.addGreaterEqualConstraint(expression(new double[]{1}, x), feasible ? 0 : 2);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{1}, x));
+  }
+
+  @Test
+  public void testExportPolicyOnDemand() throws IOException {
+    Path directory = Files.createTempDirectory("jumpl");
+    Path file = directory.resolve("model.lp");
+    try {
+      buildExportedModel(file, false);
+      this.model.setExportPolicy(ExportPolicy.ON_DEMAND);
+      this.model.solve();
+      assertFalse(Files.exists(file));
+
+      // An explicit export writes the model whatever the policy
+      this.model.exportModel();
+      assertTrue(Files.exists(file));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testExportPolicyOnFailure() throws IOException {
+    Path directory = Files.createTempDirectory("jumpl");
+    Path file = directory.resolve("model.lp");
+    try {
+      buildExportedModel(file, true);
+      this.model.setExportPolicy(ExportPolicy.ON_FAILURE);
+      this.model.solve();
+      assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+      assertFalse(Files.exists(file));
+
+      buildExportedModel(file, false);
+      this.model.setExportPolicy(ExportPolicy.ON_FAILURE);
+      this.model.solve();
+      assertEquals(this.model.getSolveStatus(), SolveStatus.INFEASIBLE);
+      assertTrue(Files.exists(file));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testExportPolicyAsync() throws IOException {
+    Path directory = Files.createTempDirectory("jumpl");
+    Path file = directory.resolve("model.lp");
+    try {
+      buildExportedModel(file, true);
+      this.model.setExportPolicy(ExportPolicy.ASYNC);
+      this.model.solve();
+      assertTrue(this.model.dispose());
+      assertEquals(new JavaModel().importModel(file.toString()).length, 1);
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testExportPolicyAsyncFailure() throws IOException {
+    Path directory = Files.createTempDirectory("jumpl");
+    try {
+      buildExportedModel(directory.resolve("missing").resolve("model.lp"), true);
+      this.model.setExportPolicy(ExportPolicy.ASYNC);
+      this.model.solve();
+      this.model.solve();
+      assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+      try {
+        this.model.exportModel(directory.resolve("model.lp").toString());
+        fail();
+      } catch (UncheckedIOException e) {
+        assertTrue(e.getMessage().contains("model.lp"));
+      }
+      assertTrue(Files.exists(directory.resolve("model.lp")));
+      Files.delete(directory.resolve("model.lp"));
+
+      // The error is thrown once, and a failure left at disposal is reported by it
+      this.model.exportModel(directory.resolve("model.lp").toString());
+      Files.delete(directory.resolve("model.lp"));
+      this.model.solve();
+      assertFalse(this.model.dispose());
+    } finally {
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testSolveIntegerProblem() {
+    Variable x = this.model.addIntegerVariable(0, 10);
+    Variable y = this.model.addIntegerVariable(0, 10);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 9);
+    this.model.addLessEqualConstraint(expression(new double[]{4, -2}, x, y), 5);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{3, 2}, x, y));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), 10.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(x), 2.0, JavaModelTest.EPSILON);
+    assertEquals(this.model.getVariableValue(y), 2.0, JavaModelTest.EPSILON);
+    assertTrue(this.model.getObjectiveBound() >= 10.0 - JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testSolutionFileAsMipStart() throws IOException {
+    Variable x = this.model.addIntegerVariable(0, 10);
+    Variable y = this.model.addIntegerVariable(0, 10);
+    this.model.addLessEqualConstraint(expression(new double[]{2, 2}, x, y), 9);
+    this.model.addLessEqualConstraint(expression(new double[]{4, -2}, x, y), 5);
+    this.model.setObjectiveFunctionMaximize(expression(new double[]{3, 2}, x, y));
+    this.model.solve();
+
+    Path file = Files.createTempFile("jumpl", ".sol");
+    try {
+      this.model.writeSolution(file.toString());
+      double[] values = this.model.readSolution(file.toString());
+      assertEquals(values, this.model.getSolveResult().getValues(), JavaModelTest.EPSILON);
+
+      this.model.loadMIPStart(file.toString());
+      this.model.solve();
+      assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+      assertEquals(this.model.getObjectiveFunctionValue(), 10.0, JavaModelTest.EPSILON);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testSolveKnapsackProblem() {
+    int n = 20;
+    var random = new Random(12);
+    var weight = new int[n];
+    var profit = new int[n];
+    LinearExpression capacity = this.model.createEmptyLinearExpression();
+    LinearExpression objective = this.model.createEmptyLinearExpression();
+    Variable[] items = this.model.addBinaryVariables(n, null, null);
+    for (int j = 0; j < n; j++) {
+      weight[j] = 1 + random.nextInt(30);
+      profit[j] = 1 + random.nextInt(30);
+      capacity.addTerm(weight[j], items[j]);
+      objective.addTerm(profit[j], items[j]);
+    }
+    int limit = 100;
+    this.model.addLessEqualConstraint(capacity, limit);
+    this.model.setObjectiveFunctionMaximize(objective);
+    this.model.setParameter(DoubleParameter.RELATIVE_MIP_GAP, 0.0);
+    this.model.solve();
+
+    var best = new int[limit + 1];
+    for (int j = 0; j < n; j++) {
+      for (int c = limit; c >= weight[j]; c--) {
+        best[c] = Math.max(best[c], best[c - weight[j]] + profit[j]);
+      }
+    }
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    assertEquals(this.model.getObjectiveFunctionValue(), best[limit], JavaModelTest.EPSILON);
+  }
+
+  /**
+   * Solves a two-dimensional knapsack problem with several optimal solutions (the profits are
+   * all 1, 2 or 3) in a new model.
+   *
+   * @param deterministic whether the search is deterministic
+   * @param nodeFileStart memory (in gigabytes) of the open nodes before they go to a node file
+   * @return values of the variables in the solution found
+   */
+  private double[] solveEqualProfitKnapsack(boolean deterministic, double nodeFileStart) {
+    this.model = new JavaModel();
+    int n = 30;
+    var random = new Random(5);
+    Variable[] items = this.model.addBinaryVariables(n, null, null);
+    for (int i = 0; i < 2; i++) {
+      LinearExpression capacity = this.model.createEmptyLinearExpression();
+      for (int j = 0; j < n; j++) {
+        capacity.addTerm(10 + random.nextInt(20), items[j]);
+      }
+      this.model.addLessEqualConstraint(capacity, 201);
+    }
+    LinearExpression objective = this.model.createEmptyLinearExpression();
+    for (int j = 0; j < n; j++) {
+      objective.addTerm(1 + random.nextInt(3), items[j]);
+    }
+    this.model.setObjectiveFunctionMaximize(objective);
+    this.model.setParameter(DoubleParameter.RELATIVE_MIP_GAP, 0.0);
+    this.model.setParameter(IntParameter.THREADS, 4);
+    this.model.setParameter(IntParameter.RANDOM_SEED, 3);
+    this.model.setParameter(IntParameter.DETERMINISTIC, deterministic ? 1 : 0);
+    this.model.setParameter(DoubleParameter.NODE_FILE_START, nodeFileStart);
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.OPTIMAL);
+    var values = new double[n];
+    for (int j = 0; j < n; j++) {
+      values[j] = this.model.getVariableValue(items[j]);
+    }
+    return values;
+  }
+
+  @Test
+  public void testDeterministicSearch() {
+    double[] first = solveEqualProfitKnapsack(true, Double.POSITIVE_INFINITY);
+    double optimum = this.model.getObjectiveFunctionValue();
+    for (int run = 0; run < 3; run++) {
+      assertTrue(Arrays.equals(solveEqualProfitKnapsack(true, Double.POSITIVE_INFINITY), first));
+    }
+    solveEqualProfitKnapsack(false, Double.POSITIVE_INFINITY);
+    assertEquals(this.model.getObjectiveFunctionValue(), optimum, JavaModelTest.EPSILON);
+  }
+
+  @Test
+  public void testDeterministicSearchWithNodeFile() {
+    solveEqualProfitKnapsack(true, Double.POSITIVE_INFINITY);
+    double optimum = this.model.getObjectiveFunctionValue();
+    double[] first = solveEqualProfitKnapsack(true, 1e-7);
+    assertEquals(this.model.getObjectiveFunctionValue(), optimum, JavaModelTest.EPSILON);
+    assertTrue(Arrays.equals(solveEqualProfitKnapsack(true, 1e-7), first));
+  }
+
+  @Test
+  public void testSolveInfeasibleIntegerProblem() {
+    Variable x = this.model.addIntegerVariable(0, 10);
+    this.model.addEqualConstraint(expression(new double[]{2}, x), 3);
+    this.model.setObjectiveFunctionMinimize(expression(new double[]{1}, x));
+    this.model.solve();
+
+    assertEquals(this.model.getSolveStatus(), SolveStatus.INFEASIBLE);
+  }
+
+}
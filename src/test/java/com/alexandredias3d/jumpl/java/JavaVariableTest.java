@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+
+import com.alexandredias3d.jumpl.api.Model;
+import com.alexandredias3d.jumpl.api.Variable;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the JavaVariable. Checks that the attributes are read from and written to the model
+ * data.
+ */
+public class JavaVariableTest {
+
+  private static final double EPSILON = 0.00000001;
+
+  private Model model;
+  private Variable variable;
+
+  @BeforeMethod
+  public void setUpJavaVariable() {
+    this.model = new JavaModel();
+    this.variable = this.model.addRealVariable(0.0, 10.0, "var");
+  }
+
+  @Test
+  public void testName() {
+    assertEquals(this.variable.getName(), "var");
+    this.variable.setName("other");
+    assertEquals(this.variable.getName(), "other");
+    assertEquals(this.model.getModelData().getVariableName(this.variable.getIndex()), "other");
+  }
+
+  @Test
+  public void testBounds() {
+    this.variable.setLowerBound(-1.0);
+    this.variable.setUpperBound(5.0);
+    assertEquals(this.variable.getLowerBound(), -1.0, JavaVariableTest.EPSILON);
+    assertEquals(this.variable.getUpperBound(), 5.0, JavaVariableTest.EPSILON);
+    assertEquals(this.model.getModelData().getUpperBound(this.variable.getIndex()), 5.0,
+        JavaVariableTest.EPSILON);
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the LuFactorization. Solves systems with random sparse bases, before and after
+ * replacing some of their columns, and checks the residuals.
+ */
+public class LuFactorizationTest {
+
+  private static final int SIZE = 60;
+  private static final double EPSILON = 0.0000001;
+
+  private Random random;
+  private double[][] columns;
+  private LuFactorization factorization;
+
+  @BeforeMethod
+  public void setUpLuFactorization() {
+    this.random = new Random(5);
+    this.columns = new double[LuFactorizationTest.SIZE][];
+    for (int q = 0; q < LuFactorizationTest.SIZE; q++) {
+      this.columns[q] = randomColumn((q * 7) % LuFactorizationTest.SIZE);
+    }
+    this.factorization = new LuFactorization(LuFactorizationTest.SIZE);
+  }
+
+  /**
+   * Creates a sparse column with a large entry in the given row and a few small ones.
+   */
+  private double[] randomColumn(int row) {
+    var column = new double[LuFactorizationTest.SIZE];
+    column[row] = 4.0 + this.random.nextDouble();
+    for (int k = 0; k < 3; k++) {
+      column[this.random.nextInt(LuFactorizationTest.SIZE)] += this.random.nextDouble() - 0.5;
+    }
+    return column;
+  }
+
+  private void factorize() {
+    int n = LuFactorizationTest.SIZE;
+    var start = new int[n + 1];
+    var index = new int[n * n];
+    var value = new double[n * n];
+    int nonzeros = 0;
+    for (int q = 0; q < n; q++) {
+      start[q] = nonzeros;
+      for (int i = 0; i < n; i++) {
+        if (this.columns[q][i] != 0.0) {
+          index[nonzeros] = i;
+          value[nonzeros++] = this.columns[q][i];
+        }
+      }
+    }
+    start[n] = nonzeros;
+    this.factorization.factorize(start, index, value);
+  }
+
+  private void assertSolves() {
+    int n = LuFactorizationTest.SIZE;
+    var b = new double[n];
+    var c = new double[n];
+    for (int i = 0; i < n; i++) {
+      b[i] = this.random.nextDouble();
+      c[i] = this.random.nextDouble();
+    }
+
+    var x = new double[n];
+    this.factorization.ftran(b.clone(), x, false);
+    for (int i = 0; i < n; i++) {
+      double sum = 0.0;
+      for (int q = 0; q < n; q++) {
+        sum += this.columns[q][i] * x[q];
+      }
+      assertEquals(sum, b[i], LuFactorizationTest.EPSILON);
+    }
+
+    var y = new double[n];
+    this.factorization.btran(c.clone(), y);
+    for (int q = 0; q < n; q++) {
+      double sum = 0.0;
+      for (int i = 0; i < n; i++) {
+        sum += this.columns[q][i] * y[i];
+      }
+      assertEquals(sum, c[q], LuFactorizationTest.EPSILON);
+    }
+  }
+
+  @Test
+  public void testSolve() {
+    factorize();
+    assertSolves();
+  }
+
+  @Test
+  public void testUpdate() {
+    factorize();
+    var alpha = new double[LuFactorizationTest.SIZE];
+    int updates = 0;
+    for (int update = 0; update < 40; update++) {
+      int position = this.random.nextInt(LuFactorizationTest.SIZE);
+      double[] column = randomColumn((position * 7) % LuFactorizationTest.SIZE);
+      this.factorization.ftran(column.clone(), alpha, true);
+      if (Math.abs(alpha[position]) < 0.01) {
+        continue;
+      }
+      assertTrue(this.factorization.update(position, alpha[position]));
+      this.columns[position] = column;
+      assertSolves();
+      updates++;
+    }
+    assertTrue(updates >= 20);
+  }
+
+  @Test
+  public void testSingularBasis() {
+    this.columns[1] = this.columns[0].clone();
+    assertThrows(IllegalStateException.class, this::factorize);
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the NodeStore. Pushes and pops random nodes, with a memory limit small enough for
+ * most of them to be spilled to the node file, and compares them with the ones kept in a deque.
+ */
+public class NodeStoreTest {
+
+  /**
+   * Node as given to and returned by the store.
+   */
+  private static final class StoredNode {
+
+    final int[] columns;
+    final double[] values;
+    final double bound;
+    final Basis basis;
+
+    StoredNode(int[] columns, double[] values, double bound, Basis basis) {
+      this.columns = columns;
+      this.values = values;
+      this.bound = bound;
+      this.basis = basis;
+    }
+
+  }
+
+  private static StoredNode randomNode(Random random, Basis basis) {
+    int depth = random.nextInt(30);
+    var columns = new int[depth];
+    var values = new double[depth];
+    for (int k = 0; k < depth; k++) {
+      columns[k] = random.nextBoolean() ? random.nextInt(1000) : ~random.nextInt(1000);
+      values[k] = random.nextInt(100) / 4.0;
+    }
+    return new StoredNode(columns, values, random.nextGaussian(), basis);
+  }
+
+  @Test
+  public void testNodesArePoppedInReverseOrder() {
+    var basis = new Basis(new int[]{0}, new byte[]{Basis.BASIC, Basis.AT_LOWER}, 1);
+    var random = new Random(8);
+    Deque<StoredNode> expected = new ArrayDeque<>();
+    try (var store = new NodeStore(Double.POSITIVE_INFINITY, null)) {
+      for (int k = 0; k < 100; k++) {
+        var node = randomNode(random, basis);
+        store.push(node.columns, node.values, node.bound, node.basis);
+        expected.push(node);
+      }
+      assertEquals(store.size(), 100);
+      assertEquals(store.getSpilledCount(), 0);
+      while (!expected.isEmpty()) {
+        StoredNode node = store.pop(StoredNode::new);
+        StoredNode reference = expected.pop();
+        assertEquals(node.columns, reference.columns);
+        assertEquals(node.values, reference.values);
+        assertEquals(node.bound, reference.bound);
+        assertEquals(node.basis, basis);
+      }
+      assertTrue(store.isEmpty());
+      assertNull(store.pop(StoredNode::new));
+    }
+  }
+
+  @Test
+  public void testSpillToNodeFile() throws IOException {
+    Path directory = Files.createTempDirectory("jumpl-test");
+    var random = new Random(9);
+    Deque<StoredNode> expected = new ArrayDeque<>();
+    boolean spilled = false;
+    try (var store = new NodeStore(2000.0, directory)) {
+      for (int step = 0; step < 20000; step++) {
+        if (expected.isEmpty() || random.nextInt(3) > 0) {
+          var node = randomNode(random, null);
+          store.push(node.columns, node.values, node.bound, node.basis);
+          expected.push(node);
+        } else {
+          StoredNode node = store.pop(StoredNode::new);
+          StoredNode reference = expected.pop();
+          assertEquals(node.columns, reference.columns);
+          assertEquals(node.values, reference.values);
+          assertEquals(node.bound, reference.bound);
+        }
+        spilled |= store.getSpilledCount() > 0;
+        assertEquals(store.size(), expected.size());
+      }
+      while (!expected.isEmpty()) {
+        assertEquals(store.pop(StoredNode::new).bound, expected.pop().bound);
+      }
+      assertTrue(store.isEmpty());
+    }
+    assertTrue(spilled);
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(files.count(), 0);
+    }
+    Files.delete(directory);
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.alexandredias3d.jumpl.api.ModelData;
+import com.alexandredias3d.jumpl.api.SolveStatus;
+import java.util.Arrays;
+import java.util.Random;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the PrimalHeuristics. Runs each heuristic from the root relaxation of a
+ * two-dimensional knapsack problem and completes a partial start solution, checking that the
+ * solutions offered are feasible.
+ */
+public class PrimalHeuristicsTest {
+
+  private static final int ITEMS = 30;
+  private static final double EPSILON = 0.000001;
+
+  private ModelData data;
+  private LinearProgram lp;
+  private BranchAndBound search;
+  private PrimalHeuristics heuristics;
+  private RevisedSimplex root;
+
+  @BeforeMethod
+  public void setUpPrimalHeuristics() {
+    var random = new Random(2);
+    this.data = new ModelData();
+    for (int j = 0; j < PrimalHeuristicsTest.ITEMS; j++) {
+      this.data.addVariable(0.0, 1.0, ModelData.BINARY, null);
+      this.data.setObjectiveCoefficient(j, 10 + random.nextInt(90));
+    }
+    this.data.setObjectiveSense(ModelData.MAXIMIZE);
+    for (int i = 0; i < 2; i++) {
+      for (int j = 0; j < PrimalHeuristicsTest.ITEMS; j++) {
+        this.data.addTerm(j, 10 + random.nextInt(90));
+      }
+      this.data.addConstraint(ModelData.LESS_EQUAL, 500.0, null);
+    }
+
+    this.lp = new LinearProgram(this.data);
+    this.search = new BranchAndBound(this.lp, this.data);
+    var integer = new boolean[PrimalHeuristicsTest.ITEMS];
+    Arrays.fill(integer, true);
+    this.heuristics = new PrimalHeuristics(this.search, this.lp, integer, () -> false);
+    this.root = new RevisedSimplex(this.lp);
+    assertEquals(this.root.solve(), SolveStatus.OPTIMAL);
+  }
+
+  private void assertIncumbentFeasible() {
+    double[] values = this.search.getValues();
+    assertNotNull(values);
+    for (int j = 0; j < PrimalHeuristicsTest.ITEMS; j++) {
+      assertEquals(values[j], Math.rint(values[j]), PrimalHeuristicsTest.EPSILON);
+    }
+    int[] rowStart = this.data.getRowStart();
+    for (int i = 0; i < 2; i++) {
+      double activity = 0.0;
+      for (int k = rowStart[i]; k < rowStart[i + 1]; k++) {
+        activity += this.data.getValues()[k] * values[this.data.getColumnIndices()[k]];
+      }
+      assertTrue(activity <= 500.0 + PrimalHeuristicsTest.EPSILON);
+    }
+  }
+
+  @Test
+  public void testFeasibilityPump() {
+    assertTrue(this.heuristics.feasibilityPump(this.root.getValues(), this.lp.lower,
+        this.lp.upper, this.root.getBasis()));
+    assertIncumbentFeasible();
+  }
+
+  @Test
+  public void testFractionalDiving() {
+    assertTrue(this.heuristics.dive(this.root.getValues(), this.lp.lower, this.lp.upper,
+        this.root.getBasis(), false));
+    assertIncumbentFeasible();
+  }
+
+  @Test
+  public void testGuidedDivingAndRins() {
+    this.heuristics.feasibilityPump(this.root.getValues(), this.lp.lower, this.lp.upper,
+        this.root.getBasis());
+    double pumped = this.search.getIncumbentCost();
+
+    this.heuristics.dive(this.root.getValues(), this.lp.lower, this.lp.upper,
+        this.root.getBasis(), true);
+    this.heuristics.rins(this.root.getValues(), this.lp.lower, this.lp.upper);
+    assertTrue(this.search.getIncumbentCost() <= pumped);
+    assertTrue(
+        this.search.getIncumbentCost() >= this.root.getCost() - PrimalHeuristicsTest.EPSILON);
+    assertIncumbentFeasible();
+  }
+
+  @Test
+  public void testCompleteStart() {
+    var start = new double[PrimalHeuristicsTest.ITEMS];
+    Arrays.fill(start, Double.NaN);
+    start[0] = 1.0;
+    start[1] = 0.0;
+    assertTrue(this.heuristics.completeStart(start, this.lp.lower, this.lp.upper));
+    assertIncumbentFeasible();
+    assertEquals(this.search.getValues()[0], 1.0, PrimalHeuristicsTest.EPSILON);
+    assertEquals(this.search.getValues()[1], 0.0, PrimalHeuristicsTest.EPSILON);
+
+    Arrays.fill(start, 1.0);
+    assertFalse(this.heuristics.completeStart(start, this.lp.lower, this.lp.upper));
+  }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Alexandre H. T. Dias
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alexandredias3d.jumpl.java;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Random;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the SparseCholesky. Factorizes the normal equations of random sparse matrices, small
+ * enough to be factorized sequentially and large enough to be factorized in parallel, and checks
+ * the residuals of their solutions.
+ */
+public class SparseCholeskyTest {
+
+  private static final double EPSILON = 0.0000001;
+
+  private Random random;
+  private int rows;
+  private int[] start;
+  private int[] index;
+  private double[] value;
+
+  @BeforeMethod
+  public void setUpSparseCholesky() {
+    this.random = new Random(3);
+  }
+
+  /**
+   * Creates a matrix with an identity block and, for each row, a column with entries in that row
+   * and in a few nearby ones.
+   */
+  private void createMatrix(int m) {
+    this.rows = m;
+    this.start = new int[2 * m + 1];
+    this.index = new int[5 * m];
+    this.value = new double[5 * m];
+    int nonzeros = 0;
+    for (int j = 0; j < m; j++) {
+      this.start[j] = nonzeros;
+      this.index[nonzeros] = j;
+      this.value[nonzeros++] = 1.0;
+    }
+    for (int j = 0; j < m; j++) {
+      this.start[m + j] = nonzeros;
+      for (int offset = 0; offset < 4 && j + offset < m; offset++) {
+        this.index[nonzeros] = j + offset;
+        this.value[nonzeros++] = this.random.nextDouble() - 0.5;
+      }
+    }
+    this.start[2 * m] = nonzeros;
+  }
+
+  private void assertSolves() {
+    int m = this.rows;
+    int n = this.start.length - 1;
+    var weights = new double[n];
+    for (int j = 0; j < n; j++) {
+      weights[j] = 0.01 + this.random.nextDouble();
+    }
+    var b = new double[m];
+    for (int i = 0; i < m; i++) {
+      b[i] = this.random.nextDouble();
+    }
+
+    var cholesky = new SparseCholesky(m, this.start, this.index, this.value);
+    cholesky.factorize(weights, 0.0);
+    double[] y = b.clone();
+    cholesky.solve(y);
+
+    var product = new double[m];
+    for (int j = 0; j < n; j++) {
+      double sum = 0.0;
+      for (int k = this.start[j]; k < this.start[j + 1]; k++) {
+        sum += this.value[k] * y[this.index[k]];
+      }
+      for (int k = this.start[j]; k < this.start[j + 1]; k++) {
+        product[this.index[k]] += this.value[k] * weights[j] * sum;
+      }
+    }
+    for (int i = 0; i < m; i++) {
+      assertEquals(product[i], b[i], SparseCholeskyTest.EPSILON);
+    }
+  }
+
+  @Test
+  public void testSolve() {
+    createMatrix(60);
+    assertSolves();
+  }
+
+  @Test
+  public void testParallelSolve() {
+    createMatrix(5000);
+    assertSolves();
+  }
+
+}